@@ -31,7 +31,8 @@ data class BlockTrace(
   val transactionTraces: List<TransactionTrace>,
   val feesByTransaction: Map<Transaction, Wei>,
   val totalTransactionsFees: Wei,
-  val jsonTrace: String
+  // utf-8 encoded json, only produced when tracing in flat mode
+  val jsonTrace: Bytes?
 )
 
 data class TransactionTrace(
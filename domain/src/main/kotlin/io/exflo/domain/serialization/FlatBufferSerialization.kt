@@ -111,6 +111,7 @@ import io.exflo.domain.fb.events.Sent
 import io.exflo.domain.fb.events.TransferBatch
 import io.exflo.domain.fb.events.TransferSingle
 import io.exflo.domain.fb.events.URI
+import java.nio.ByteBuffer
 import io.exflo.domain.BalanceDelta as ExfloBalanceDelta
 import io.exflo.domain.BlockTrace as ExfloBlockTrace
 import io.exflo.domain.ContractCreated as ExfloContractCreated
@@ -379,7 +380,7 @@ fun BesuBlockBody.toFlatBuffer(
     }
     .let { offsetArray -> createTransactionsVector(bb, offsetArray.toIntArray()) }
 
-  val jsonTraceOffset = trace?.let { bb.createString(it.jsonTrace) }
+  val jsonTraceOffset = trace?.jsonTrace?.let { bb.createString(ByteBuffer.wrap(it.toArrayUnsafe())) }
 
   startBlockBody(bb)
 
@@ -57,6 +57,8 @@ dependencies {
 
   implementation("com.tinder.statemachine:statemachine")
 
+  implementation("com.google.guava:guava")
+
   runtimeOnly("org.apache.logging.log4j:log4j-core")
 
   testApi(project(":testutil"))
@@ -37,6 +37,8 @@ import org.hyperledger.besu.plugin.BesuContext
 import org.hyperledger.besu.plugin.BesuPlugin
 import org.hyperledger.besu.plugin.services.PicoCLIOptions
 import org.hyperledger.besu.plugin.services.StorageService
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory
+import org.hyperledger.besu.plugin.services.metrics.MetricCategoryRegistry
 import org.hyperledger.besu.plugin.services.storage.PrivacyKeyValueStorageFactory
 import org.koin.core.KoinApplication
 import org.koin.core.context.startKoin
@@ -44,6 +46,7 @@ import org.koin.core.context.stopKoin
 import org.koin.core.module.Module
 import org.koin.dsl.module
 import picocli.CommandLine
+import java.util.Optional
 
 @Suppress("MemberVisibilityCanBePrivate")
 abstract class ExfloPlugin<T : ExfloCliOptions> : BesuPlugin {
@@ -80,6 +83,11 @@ abstract class ExfloPlugin<T : ExfloCliOptions> : BesuPlugin {
 
     registerStorageInterceptors()
 
+    // categories must be known before besu creates its metrics system for them to be enabled with --metrics-category
+    context
+      .getService(MetricCategoryRegistry::class.java)
+      .ifPresent { it.addMetricCategory(ExfloMetricCategory) }
+
     log.info("Plugin registered")
   }
 
@@ -157,7 +165,7 @@ abstract class ExfloPlugin<T : ExfloCliOptions> : BesuPlugin {
         single { protocolSchedule }
         single { genesisState }
         single { ScheduleBasedBlockHeaderFunctions.create(get<ProtocolSchedule<Void>>()) }
-        single { ChainTracker(get(), get(), get(), get(), get()) }
+        single { ChainTracker(get(), get(), get(), get(), get(), get()) }
       }
 
       // implementation specific DI modules which we combine with other standard modules
@@ -209,12 +217,33 @@ interface ExfloCliOptions {
 
   var maxForkSize: Int
 
+  var blockCacheSize: Long
+
+  var traceMode: TraceMode
+
   enum class ProcessableEntity {
     HEADER,
     BODY,
     RECEIPTS,
     TRACES
   }
+
+  enum class TraceMode {
+    // parity style flat traces, including the full json trace
+    FLAT,
+    // only call, create and self destruct frames, without the json trace
+    LIGHT
+  }
+}
+
+/**
+ * Metric category of the metrics reported by exflo plugins, enabled by including it in besu's --metrics-category.
+ */
+object ExfloMetricCategory : MetricCategory {
+
+  override fun getName(): String = "exflo"
+
+  override fun getApplicationPrefix(): Optional<String> = Optional.empty()
 }
 
 object ExfloCliDefaultOptions {
@@ -222,4 +251,6 @@ object ExfloCliDefaultOptions {
   const val EXFLO_KAFKA_PLUGIN_ID: String = "exflo-kafka"
 
   const val MAX_FORK_SIZE: Int = 192
+
+  const val BLOCK_CACHE_SIZE_MB: Long = 256L
 }
@@ -20,6 +20,8 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.type.TypeFactory
 import com.fasterxml.jackson.module.kotlin.KotlinModule
 import io.exflo.ingestion.storage.KeyValueStores
+import io.exflo.ingestion.tracker.AccountResolver
+import io.exflo.ingestion.tracker.BlockCache
 import io.exflo.ingestion.tracker.BlockReader
 import org.hyperledger.besu.ethereum.chain.Blockchain
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage
@@ -33,6 +35,7 @@ import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage
 import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem
 import org.hyperledger.besu.plugin.BesuContext
 import org.hyperledger.besu.plugin.services.BesuConfiguration
@@ -88,23 +91,26 @@ object KoinModules {
       )
     }
 
-    single<MetricsSystem> { NoOpMetricsSystem() }
+    single {
+      get<BesuContext>().getService(MetricsSystem::class.java).get()
+    }
 
     single<Blockchain> {
+      // besu already reports the metrics of its own blockchain instance, registering them again would clash
       DefaultBlockchain.createMutable(
         get<GenesisState>().block,
         get<BlockchainStorage>(),
-        get<MetricsSystem>()
+        NoOpMetricsSystem()
       )
     }
 
-    single {
+    single<WorldStateStorage> {
       val segmentedStorage = KeyValueStores[KeyValueSegmentIdentifier.WORLD_STATE]
       WorldStateKeyValueStorage(segmentedStorage)
     }
 
     single {
-      val worldStateStorage = get<WorldStateKeyValueStorage>()
+      val worldStateStorage = get<WorldStateStorage>()
       val worldStatePreImageStorage = WorldStatePreimageKeyValueStorage(LimitedInMemoryKeyValueStorage(5000L))
       WorldStateArchive(worldStateStorage, worldStatePreImageStorage)
     }
@@ -116,6 +122,10 @@ object KoinModules {
 
     single { TransactionSimulator(get(), get(), get()) }
 
-    single { BlockReader() }
+    single { BlockCache(get<ExfloCliOptions>().blockCacheSize * 1024 * 1024, get()) }
+
+    single { AccountResolver(get()) }
+
+    single { BlockReader(get<ExfloCliOptions>().traceMode) }
   }
 }
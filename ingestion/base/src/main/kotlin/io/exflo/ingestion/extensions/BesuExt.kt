@@ -22,6 +22,7 @@ import io.exflo.domain.ContractEvent
 import io.exflo.domain.DeltaType
 import io.exflo.ingestion.core.InMemoryAccount
 import io.exflo.ingestion.tokens.events.LogParser
+import io.exflo.ingestion.tracker.AccountResolver
 import org.hyperledger.besu.cli.config.EthNetworkConfig
 import org.hyperledger.besu.config.GenesisConfigFile
 import org.hyperledger.besu.ethereum.core.Account
@@ -29,7 +30,6 @@ import org.hyperledger.besu.ethereum.core.Address
 import org.hyperledger.besu.ethereum.core.BlockHeader
 import org.hyperledger.besu.ethereum.core.Hash
 import org.hyperledger.besu.ethereum.core.TransactionReceipt
-import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive
 import java.util.stream.Collectors
 
 fun TransactionReceipt.contractEvents(): List<ContractEvent> = LogParser.parse(this)
@@ -157,9 +157,13 @@ fun BlockTrace.toBalanceDeltas(
   return rewardBalanceDeltas + txsBalanceDeltas + txFeesBalanceDeltas
 }
 
+/**
+ * Resolves the accounts touched by the block's transactions together with the accounts of the coinbase and ommer
+ * miners that received rewards, looking them all up in a single deduplicated batch.
+ */
 fun BlockTrace.touchedAccounts(
   networkConfig: EthNetworkConfig,
-  worldStateArchive: WorldStateArchive
+  accountResolver: AccountResolver
 ): List<Account> {
 
   val block = this.block
@@ -167,14 +171,25 @@ fun BlockTrace.touchedAccounts(
   val body = block.body
   val transactionTraces = this.transactionTraces
 
-  val worldState = worldStateArchive.get(header.stateRoot).get()
+  // start with the coinbase
+  val minersByHash = mutableMapOf(header.hash to header.coinbase)
+
+  // add in the ommers
+  body.ommers.forEach { ommer -> minersByHash += ommer.hash to ommer.coinbase }
+
+  val minerAddresses = this.rewards.keys.mapNotNull { hash -> minersByHash[hash] }
 
-  val txAccounts = when {
+  val allAccounts = when {
     // TODO handle hard forks
 
-    block.header.number > BlockHeader.GENESIS_BLOCK_NUMBER -> transactionTraces
-      .flatMap { txTrace -> txTrace.touchedAccounts.map { address -> address to worldState[address] } }
-      .toMap()
+    header.number > BlockHeader.GENESIS_BLOCK_NUMBER -> {
+
+      val addresses = LinkedHashSet<Address>()
+      transactionTraces.forEach { txTrace -> addresses += txTrace.touchedAccounts }
+      addresses += minerAddresses
+
+      accountResolver.accounts(header.stateRoot, addresses)
+    }
 
     // For genesis block we need to pull the pre allocations
     else -> GenesisConfigFile.fromConfig(networkConfig.genesisConfig)
@@ -182,27 +197,11 @@ fun BlockTrace.touchedAccounts(
       .map { InMemoryAccount.fromGenesisAllocation(it) }
       .collect(Collectors.toList())
       .map { inMemoryAccount -> inMemoryAccount.address to inMemoryAccount }
-      .toMap()
-  }
-
-  val allAccounts = txAccounts.let { map ->
-
-    // start with the coinbase
-    val minersByHash = mutableMapOf(block.header.hash to block.header.coinbase)
-
-    // add in the ommers
-    body.ommers.forEach { ommer -> minersByHash += ommer.hash to ommer.coinbase }
-
-    map + this.rewards
-      .map { (hash, _) ->
-        val address = minersByHash[hash]
-        address to worldState[address]
-      }.toMap()
+      .toMap() + accountResolver.accounts(header.stateRoot, minerAddresses)
   }
 
   return allAccounts
     // Even if EIP158 is not enabled, we avoid serializing any empty / dead / unnecessary accounts
-    .filterValues { it != null }
     .filterNot { (_, acc) -> acc.isEmpty }
     .values
     .toList()
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracer
+
+import io.exflo.domain.ContractCreated
+import io.exflo.domain.ContractDestroyed
+import io.exflo.domain.InternalTransaction
+import io.exflo.ingestion.tokens.TokenDetector
+import org.apache.tuweni.bytes.Bytes
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.core.Gas
+import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.ethereum.core.Transaction
+import org.hyperledger.besu.ethereum.core.Wei
+import org.hyperledger.besu.ethereum.mainnet.TransactionProcessor
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator
+import org.hyperledger.besu.ethereum.vm.ExceptionalHaltException
+import org.hyperledger.besu.ethereum.vm.MessageFrame
+import org.hyperledger.besu.ethereum.vm.OperationTracer
+import org.hyperledger.besu.ethereum.vm.Words
+import java.util.IdentityHashMap
+import java.util.Optional
+import io.exflo.domain.TransactionTrace as ExfloTransactionTrace
+
+/**
+ * [OperationTracer] which only records the call, create and self destruct frames of a transaction, producing the same
+ * [ExfloTransactionTrace] as a [TransactionTraceParser] fed with flat traces, without building the intermediate
+ * trace frames and flat traces.
+ *
+ * Child frames are only referenced until they complete, at which point the fields the trace needs are copied into
+ * their [FrameRecord] and the frame is released.
+ *
+ * A new instance must be used for each transaction.
+ */
+class ExfloOperationTracer(
+  private val transactionSimulator: TransactionSimulator,
+  private val blockHash: Hash
+) : OperationTracer {
+
+  // the root call or create counts as the first flat trace entry
+  private var programCounter = 1
+
+  private val records = ArrayList<FrameRecord>()
+
+  // maps a child message frame which has not yet completed to the index of the record which created it
+  private val recordIndexByFrame = IdentityHashMap<MessageFrame, Int>()
+
+  // the frame seen by the previous call, child frames can only have completed once execution moves to another frame
+  private var currentFrame: MessageFrame? = null
+
+  @Throws(ExceptionalHaltException::class)
+  override fun traceExecution(
+    frame: MessageFrame,
+    currentGasCost: Optional<Gas>,
+    executeOperation: OperationTracer.ExecuteOperation
+  ) {
+
+    if (frame !== currentFrame) {
+      settleCompletedFrames()
+      currentFrame = frame
+    }
+
+    val opcode = frame.currentOperation.opcode
+
+    if (opcode == SELFDESTRUCT) {
+
+      programCounter += 1
+
+      val contractAddress = frame.recipientAddress
+      val refundAddress = Words.toAddress(frame.getStackItem(0))
+      val refundAmount = frame.worldState.get(contractAddress)?.balance ?: Wei.ZERO
+
+      records.add(
+        FrameRecord(
+          FrameType.SELFDESTRUCT,
+          programCounter,
+          parentIndex(frame),
+          frame.messageStackDepth,
+          contractAddress,
+          refundAddress,
+          refundAmount
+        )
+      )
+    }
+
+    val stackSize = frame.messageFrameStack.size
+
+    executeOperation.execute()
+
+    if (opcode !in CHILD_FRAME_OPCODES) return
+
+    programCounter += 1
+
+    // a child frame is only pushed when the call or create actually takes place
+    if (frame.messageFrameStack.size <= stackSize) return
+
+    val child = frame.messageFrameStack.peekFirst()
+
+    val type = when (opcode) {
+      CALL -> FrameType.CALL
+      CREATE, CREATE2 -> FrameType.CREATE
+      else -> FrameType.OTHER
+    }
+
+    recordIndexByFrame[child] = records.size
+
+    records.add(
+      FrameRecord(
+        type,
+        programCounter,
+        parentIndex(frame),
+        child.messageStackDepth,
+        child.senderAddress,
+        child.recipientAddress,
+        child.value
+      )
+    )
+  }
+
+  fun toTransactionTrace(transaction: Transaction, result: TransactionProcessor.Result): ExfloTransactionTrace {
+
+    // frames which completed after the last traced operation, such as a call made by the final instruction
+    settleCompletedFrames()
+    currentFrame = null
+
+    val contractsCreated = mutableListOf<ContractCreated>()
+    val contractsDestroyed = mutableListOf<ContractDestroyed>()
+    val internalTransactions = mutableListOf<InternalTransaction>()
+    val touchedAccounts = mutableSetOf<Address>()
+
+    // a failed transaction reverts every frame within it
+    if (result.isSuccessful) {
+
+      if (transaction.isContractCreation) {
+        val contractAddress = transaction.contractAddress().get()
+        contractsCreated.add(
+          detect(transaction.hash, transaction.sender, contractAddress, result.output, transaction.value, 1)
+        )
+        touchedAccounts.add(transaction.sender)
+        touchedAccounts.add(contractAddress)
+      }
+
+      // records are in execution order so a parent is always validated before its children
+      val valid = BooleanArray(records.size)
+
+      records.forEachIndexed { idx, record ->
+
+        val parentValid = record.parentIndex == ROOT || valid[record.parentIndex]
+        valid[idx] = parentValid && record.succeeded
+
+        if (!valid[idx]) return@forEachIndexed
+
+        when (record.type) {
+
+          FrameType.CALL ->
+            if (record.value != Wei.ZERO) {
+              internalTransactions.add(
+                InternalTransaction(transaction.hash, record.from, record.to, record.value, record.pc)
+              )
+              touchedAccounts.add(record.from)
+              touchedAccounts.add(record.to)
+            }
+
+          FrameType.CREATE -> {
+            contractsCreated.add(
+              detect(transaction.hash, record.from, record.to, record.output, record.value, record.pc)
+            )
+            touchedAccounts.add(record.from)
+            touchedAccounts.add(record.to)
+          }
+
+          FrameType.SELFDESTRUCT -> {
+            contractsDestroyed.add(
+              ContractDestroyed(transaction.hash, record.from, record.to, record.value, record.pc)
+            )
+            touchedAccounts.add(record.from)
+            touchedAccounts.add(record.to)
+          }
+
+          FrameType.OTHER -> {
+            // delegate, static and code calls carry no value transfer of their own
+          }
+        }
+      }
+    }
+
+    return ExfloTransactionTrace(
+      transaction,
+      result,
+      contractsCreated,
+      contractsDestroyed,
+      internalTransactions,
+      touchedAccounts
+    )
+  }
+
+  private fun parentIndex(frame: MessageFrame): Int = recordIndexByFrame[frame] ?: ROOT
+
+  /**
+   * Copies the outcome of every child frame which has completed into its record and drops the frame. Only frames on
+   * the current message stack can still be pending, so this is bounded by the call depth.
+   */
+  private fun settleCompletedFrames() {
+    val iterator = recordIndexByFrame.entries.iterator()
+    while (iterator.hasNext()) {
+      val (child, idx) = iterator.next()
+      when (child.state) {
+        MessageFrame.State.COMPLETED_SUCCESS -> {
+          records[idx].complete(true, child.outputData)
+          iterator.remove()
+        }
+        MessageFrame.State.COMPLETED_FAILED -> {
+          records[idx].complete(false, Bytes.EMPTY)
+          iterator.remove()
+        }
+        else -> {
+          // still executing or suspended waiting on its own children
+        }
+      }
+    }
+  }
+
+  private fun detect(
+    transactionHash: Hash,
+    originatorAddress: Address,
+    contractAddress: Address,
+    code: Bytes,
+    amount: Wei,
+    pc: Int
+  ): ContractCreated {
+
+    val (type, capabilities, metadata) = TokenDetector(
+      transactionSimulator,
+      blockHash,
+      contractAddress,
+      code
+    ).detect()
+
+    return ContractCreated(
+      transactionHash,
+      originatorAddress,
+      contractAddress,
+      code,
+      amount,
+      type,
+      capabilities,
+      metadata,
+      pc
+    )
+  }
+
+  private enum class FrameType {
+    CALL,
+    CREATE,
+    SELFDESTRUCT,
+    OTHER
+  }
+
+  /**
+   * For calls and creates [succeeded] and [output] are taken from the child frame once it completes, a frame which
+   * never completes is treated as failed. For self destructs the addresses are the destroyed contract and the refund
+   * address and the record always succeeds.
+   */
+  private class FrameRecord(
+    val type: FrameType,
+    val pc: Int,
+    val parentIndex: Int,
+    val depth: Int,
+    val from: Address,
+    val to: Address,
+    val value: Wei
+  ) {
+
+    var succeeded: Boolean = type == FrameType.SELFDESTRUCT
+      private set
+
+    var output: Bytes = Bytes.EMPTY
+      private set
+
+    fun complete(succeeded: Boolean, output: Bytes) {
+      this.succeeded = succeeded
+      this.output = output
+    }
+  }
+
+  companion object {
+
+    private const val ROOT = -1
+
+    private const val CREATE = 0xF0
+    private const val CALL = 0xF1
+    private const val CALLCODE = 0xF2
+    private const val DELEGATECALL = 0xF4
+    private const val CREATE2 = 0xF5
+    private const val STATICCALL = 0xFA
+    private const val SELFDESTRUCT = 0xFF
+
+    private val CHILD_FRAME_OPCODES = setOf(CREATE, CALL, CALLCODE, DELEGATECALL, CREATE2, STATICCALL)
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracer
+
+import org.apache.tuweni.bytes.Bytes
+import java.io.OutputStream
+import java.util.Arrays
+
+/**
+ * A growable byte sink which flat traces are streamed into as utf-8 json. Instances are intended to be reused per
+ * thread, and the backing array is discarded on [reset] whenever an unusually large block has grown it beyond
+ * [retainedCapacity], so that a single outlier does not pin a large buffer for the lifetime of the thread.
+ *
+ * Below that cap the buffer is halved whenever [SHRINK_AFTER_RESETS] consecutive traces have used less than a quarter
+ * of it, so it tracks recent trace sizes rather than staying at the largest one seen.
+ */
+class JsonTraceBuffer(
+  private val initialCapacity: Int = DEFAULT_INITIAL_CAPACITY,
+  private val retainedCapacity: Int = DEFAULT_RETAINED_CAPACITY
+) : OutputStream() {
+
+  private var buffer = ByteArray(initialCapacity)
+  private var count = 0
+
+  // consecutive resets where less than a quarter of the buffer was used
+  private var underusedResets = 0
+
+  val size: Int
+    get() = count
+
+  override fun write(b: Int) {
+    ensureCapacity(count + 1)
+    buffer[count++] = b.toByte()
+  }
+
+  override fun write(b: ByteArray, off: Int, len: Int) {
+    ensureCapacity(count + len)
+    System.arraycopy(b, off, buffer, count, len)
+    count += len
+  }
+
+  /**
+   * Copies the bytes written so far into an exactly sized array.
+   */
+  fun toBytes(): Bytes = Bytes.wrap(Arrays.copyOf(buffer, count))
+
+  /**
+   * Current size of the backing array.
+   */
+  val capacity: Int
+    get() = buffer.size
+
+  fun reset() {
+
+    val used = count
+    count = 0
+
+    when {
+      buffer.size > retainedCapacity -> {
+        buffer = ByteArray(initialCapacity)
+        underusedResets = 0
+      }
+      buffer.size > initialCapacity && used < buffer.size / 4 -> {
+        underusedResets += 1
+        if (underusedResets >= SHRINK_AFTER_RESETS) {
+          buffer = ByteArray((buffer.size / 2).coerceAtLeast(initialCapacity))
+          underusedResets = 0
+        }
+      }
+      else -> underusedResets = 0
+    }
+  }
+
+  private fun ensureCapacity(minCapacity: Int) {
+    if (minCapacity <= buffer.size) return
+    require(minCapacity > 0) { "json trace exceeds the maximum buffer size" }
+    val newCapacity = (buffer.size.toLong() shl 1).coerceAtLeast(minCapacity.toLong()).coerceAtMost(MAX_CAPACITY)
+    buffer = Arrays.copyOf(buffer, newCapacity.toInt())
+  }
+
+  companion object {
+    const val DEFAULT_INITIAL_CAPACITY = 64 * 1024
+    const val DEFAULT_RETAINED_CAPACITY = 4 * 1024 * 1024
+    const val SHRINK_AFTER_RESETS = 16
+    private const val MAX_CAPACITY = Int.MAX_VALUE - 8L
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.Account
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage
+import org.hyperledger.besu.services.kvstore.LimitedInMemoryKeyValueStorage
+import java.util.Optional
+import java.util.stream.Collectors
+
+/**
+ * Resolves batches of accounts against the world state for a given state root.
+ *
+ * Addresses are deduplicated before being looked up and larger batches are split into chunks which are resolved in
+ * parallel, each chunk against its own world state view so that no trie instance is shared between threads. Account
+ * trie nodes are content addressed so a small node cache is shared by all lookups, which keeps the upper levels of the
+ * trie in memory across the lookups for a block and across consecutive state roots.
+ */
+class AccountResolver(
+  worldStateStorage: WorldStateStorage,
+  nodeCacheSize: Long = DEFAULT_NODE_CACHE_SIZE
+) {
+
+  private val nodeCache: Cache<Bytes32, Bytes> = CacheBuilder.newBuilder()
+    .maximumSize(nodeCacheSize)
+    .build()
+
+  private val worldStateArchive = WorldStateArchive(
+    CachingWorldStateStorage(worldStateStorage, nodeCache),
+    // lookups are read only so preimages are never written
+    WorldStatePreimageKeyValueStorage(LimitedInMemoryKeyValueStorage(1L))
+  )
+
+  /**
+   * Returns the accounts which exist for [addresses] at [stateRoot], in the order the addresses were first provided.
+   */
+  fun accounts(stateRoot: Hash, addresses: Iterable<Address>): Map<Address, Account> {
+
+    val distinct = addresses.distinct()
+    if (distinct.isEmpty()) return emptyMap()
+
+    val resolved = when {
+      distinct.size <= PARALLEL_THRESHOLD -> resolve(stateRoot, distinct)
+      else -> distinct
+        .chunked(PARALLEL_THRESHOLD)
+        .parallelStream()
+        .map { chunk -> resolve(stateRoot, chunk) }
+        .collect(Collectors.toList())
+        .fold(mutableMapOf<Address, Account>()) { acc, chunk -> acc.apply { putAll(chunk) } }
+    }
+
+    return distinct
+      .mapNotNull { address -> resolved[address]?.let { address to it } }
+      .toMap()
+  }
+
+  private fun resolve(stateRoot: Hash, addresses: List<Address>): Map<Address, Account> {
+
+    val worldState = requireNotNull(worldStateArchive.get(stateRoot).orElse(null)) {
+      "world state not available, state root = $stateRoot"
+    }
+
+    return addresses
+      .mapNotNull { address -> worldState[address]?.let { address to it } }
+      .toMap()
+  }
+
+  fun invalidateAll() = nodeCache.invalidateAll()
+
+  /**
+   * Serves account trie nodes from the shared node cache, deferring everything else to the underlying storage.
+   */
+  private class CachingWorldStateStorage(
+    private val delegate: WorldStateStorage,
+    private val nodeCache: Cache<Bytes32, Bytes>
+  ) : WorldStateStorage by delegate {
+
+    override fun getAccountStateTrieNode(nodeHash: Bytes32): Optional<Bytes> =
+      nodeCache.getIfPresent(nodeHash)
+        ?.let { Optional.of(it) }
+        ?: delegate.getAccountStateTrieNode(nodeHash).also { node -> node.ifPresent { nodeCache.put(nodeHash, it) } }
+  }
+
+  companion object {
+    const val DEFAULT_NODE_CACHE_SIZE = 16384L
+    private const val PARALLEL_THRESHOLD = 32
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.Weigher
+import com.google.common.util.concurrent.ExecutionError
+import com.google.common.util.concurrent.UncheckedExecutionException
+import io.exflo.ingestion.ExfloMetricCategory
+import org.hyperledger.besu.ethereum.core.Block
+import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.ethereum.core.TransactionReceipt
+import org.hyperledger.besu.plugin.services.MetricsSystem
+import java.util.concurrent.ExecutionException
+
+/**
+ * Bounded cache of decoded blocks and receipts keyed by block hash, shared by all readers of a [BlockReader].
+ *
+ * Entries are weighed by their approximate size in bytes and evicted once [maxSizeBytes] is exceeded, with the budget
+ * being split evenly between blocks and receipts. A max size of zero disables caching.
+ *
+ * Loads are atomic per hash, concurrent readers of a missing entry wait for a single load rather than each decoding it.
+ */
+class BlockCache(
+  maxSizeBytes: Long,
+  metricsSystem: MetricsSystem
+) {
+
+  private val blocks: Cache<Hash, Block> = CacheBuilder.newBuilder()
+    .maximumWeight(maxSizeBytes / 2)
+    .weigher(Weigher<Hash, Block> { _, block -> estimateSize(block) })
+    .recordStats()
+    .build()
+
+  private val receipts: Cache<Hash, List<TransactionReceipt>> = CacheBuilder.newBuilder()
+    .maximumWeight(maxSizeBytes / 2)
+    .weigher(Weigher<Hash, List<TransactionReceipt>> { _, receipts -> estimateSize(receipts) })
+    .recordStats()
+    .build()
+
+  init {
+
+    listOf("block" to blocks, "receipts" to receipts)
+      .forEach { (name, cache) ->
+        metricsSystem.createLongGauge(ExfloMetricCategory, "${name}_cache_hits", "Decoded $name cache hits") {
+          cache.stats().hitCount()
+        }
+        metricsSystem.createLongGauge(ExfloMetricCategory, "${name}_cache_misses", "Decoded $name cache misses") {
+          cache.stats().missCount()
+        }
+        metricsSystem.createLongGauge(ExfloMetricCategory, "${name}_cache_evictions", "Decoded $name cache evictions") {
+          cache.stats().evictionCount()
+        }
+      }
+  }
+
+  fun block(hash: Hash, loader: (Hash) -> Block?): Block? = blocks.load(hash, loader)
+
+  fun receipts(hash: Hash, loader: (Hash) -> List<TransactionReceipt>?): List<TransactionReceipt>? =
+    receipts.load(hash, loader)
+
+  /**
+   * Returns a cached block without recording a miss if it is absent.
+   */
+  fun cachedBlock(hash: Hash): Block? = blocks.asMap()[hash]
+
+  fun invalidateAll() {
+    blocks.invalidateAll()
+    receipts.invalidateAll()
+  }
+
+  override fun toString(): String = "BlockCache(blocks = ${blocks.stats()}, receipts = ${receipts.stats()})"
+
+  /**
+   * Loads through the cache so that only one load per key is in flight. A loader returning null is not cached and the
+   * unwrapped cause of a failed load is rethrown.
+   */
+  private fun <V : Any> Cache<Hash, V>.load(hash: Hash, loader: (Hash) -> V?): V? =
+    try {
+      get(hash) { loader(hash) }
+    } catch (ex: CacheLoader.InvalidCacheLoadException) {
+      null
+    } catch (ex: ExecutionException) {
+      throw ex.cause ?: ex
+    } catch (ex: UncheckedExecutionException) {
+      throw ex.cause ?: ex
+    } catch (ex: ExecutionError) {
+      throw ex.cause ?: ex
+    }
+
+  // avoids re-encoding the block, transactions are weighed by their payload which dominates their size
+  private fun estimateSize(block: Block): Int =
+    block.body.transactions.fold(HEADER_BYTES * (1 + block.body.ommers.size)) { size, transaction ->
+      size + TRANSACTION_OVERHEAD_BYTES + transaction.payload.size()
+    }
+
+  private fun estimateSize(receipts: List<TransactionReceipt>): Int =
+    receipts.fold(RECEIPTS_OVERHEAD_BYTES) { size, receipt ->
+      size + RECEIPT_OVERHEAD_BYTES +
+        receipt.logs.sumBy { log -> LOG_OVERHEAD_BYTES + log.data.size() + (log.topics.size * 32) }
+    }
+
+  companion object {
+
+    // rough allowances for object headers and references on top of the encoded sizes
+    private const val HEADER_BYTES = 1024
+    private const val TRANSACTION_OVERHEAD_BYTES = 512
+    private const val RECEIPTS_OVERHEAD_BYTES = 64
+    private const val RECEIPT_OVERHEAD_BYTES = 512
+    private const val LOG_OVERHEAD_BYTES = 128
+  }
+}
@@ -16,14 +16,19 @@
 
 package io.exflo.ingestion.tracker
 
+import com.fasterxml.jackson.core.JsonEncoding
+import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.databind.ObjectMapper
-import com.fasterxml.jackson.databind.node.ArrayNode
 import io.exflo.domain.BlockTrace
 import io.exflo.domain.FullBlock
+import io.exflo.ingestion.ExfloCliOptions.TraceMode
 import io.exflo.ingestion.extensions.toBalanceDeltas
 import io.exflo.ingestion.extensions.touchedAccounts
+import io.exflo.ingestion.tracer.ExfloOperationTracer
+import io.exflo.ingestion.tracer.JsonTraceBuffer
 import io.exflo.ingestion.tracer.TransactionTraceParser
 import org.apache.logging.log4j.LogManager
+import org.apache.tuweni.bytes.Bytes
 import org.apache.tuweni.units.bigints.UInt256
 import org.hyperledger.besu.cli.config.EthNetworkConfig
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace
@@ -41,20 +46,22 @@ import org.hyperledger.besu.ethereum.core.Wei
 import org.hyperledger.besu.ethereum.debug.TraceOptions
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator
+import org.hyperledger.besu.ethereum.vm.BlockHashLookup
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer
-import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive
 import org.koin.core.KoinComponent
 import org.koin.core.inject
+import kotlin.math.min
 import io.exflo.domain.TransactionTrace as ExfloTransactionTrace
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockReplay as BesuBlockReplay
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer as BesuBlockTracer
 
-class BlockReader : KoinComponent {
+class BlockReader(
+  private val traceMode: TraceMode = TraceMode.FLAT
+) : KoinComponent {
 
   private val blockchainStorage: BlockchainStorage by inject()
 
   private val networkConfig: EthNetworkConfig by inject()
-  private val worldStateArchive: WorldStateArchive by inject()
   private val protocolSchedule: ProtocolSchedule<*> by inject()
   private val objectMapper: ObjectMapper by inject()
 
@@ -62,6 +69,12 @@ class BlockReader : KoinComponent {
 
   private val besuBlockReplay: BesuBlockReplay by inject()
 
+  private val blockCache: BlockCache by inject()
+
+  private val accountResolver: AccountResolver by inject()
+
+  private val jsonTraceBuffers = ThreadLocal.withInitial { JsonTraceBuffer() }
+
   private val log = LogManager.getLogger()
 
   fun chainHead(): Hash? = blockchainStorage.chainHead.orElse(null)
@@ -87,10 +100,14 @@ class BlockReader : KoinComponent {
         if (withHeader) requireNotNull(totalDifficulty(it.hash)) { "totalDifficulty not found" } else null
 
       val body = if (withBody) it.body else null
-      val receipts =
-        if (withBody && withReceipts) requireNotNull(receipts(it.hash)) { "receipts not found" } else emptyList()
 
-      val trace = if (withTrace) requireNotNull(trace(it.hash)) { "trace not found" } else null
+      // receipts are read at most once as they are needed for both the body and the trace
+      val blockReceipts =
+        if ((withBody && withReceipts) || withTrace) requireNotNull(receipts(it.hash)) { "receipts not found" } else null
+
+      val receipts = if (withBody && withReceipts) blockReceipts!! else emptyList()
+
+      val trace = if (withTrace) trace(it, blockReceipts!!) else null
       val touchedAccounts = trace?.let { t -> touchedAccounts(t) }
       val balanceDeltas = trace?.toBalanceDeltas(
         it.hash,
@@ -109,70 +126,193 @@ class BlockReader : KoinComponent {
       )
     }
 
+  /**
+   * Reads the blocks for a range of block numbers in a single pass, reusing the decoded block and receipts for
+   * every requested entity. The result is ordered by block number and stops at the first number without a canonical block.
+   */
+  fun fullBlocks(
+    range: LongRange,
+    withHeader: Boolean = true,
+    withBody: Boolean = true,
+    withReceipts: Boolean = true,
+    withTrace: Boolean = true
+  ): List<FullBlock> =
+    blocks(range)
+      .mapTo(ArrayList(rangeSize(range))) { block ->
+        requireNotNull(fullBlock(block, withHeader, withBody, withReceipts, withTrace)) { "block not found" }
+      }
+
+  /**
+   * Resolves the canonical hashes for a range of block numbers, stopping at the first number without a canonical hash.
+   */
+  fun hashes(range: LongRange): List<Hash> {
+
+    val hashes = ArrayList<Hash>(rangeSize(range))
+
+    for (number in range) {
+      val hash = blockchainStorage.getBlockHash(number).orElse(null) ?: break
+      hashes.add(hash)
+    }
+
+    return hashes
+  }
+
+  fun headers(range: LongRange): List<BlockHeader> =
+    hashes(range)
+      .mapTo(ArrayList(rangeSize(range))) { hash -> requireNotNull(header(hash)) { "header not found, hash = $hash" } }
+
+  fun blocks(range: LongRange): List<Block> =
+    hashes(range)
+      .mapTo(ArrayList(rangeSize(range))) { hash -> requireNotNull(block(hash)) { "block not found, hash = $hash" } }
+
+  private fun rangeSize(range: LongRange): Int =
+    if (range.isEmpty()) 0 else min(range.last - range.first + 1, MAX_RANGE_SIZE).toInt()
+
+  /**
+   * Reads up to [count] headers starting from [head] and walking backwards via parent hashes.
+   */
   fun headersFrom(head: Hash, count: Int): List<BlockHeader> {
 
-    var hash = head
-    var headers = listOf<BlockHeader>()
+    val cursor = headerCursor(head)
+    val headers = ArrayList<BlockHeader>(count)
 
-    do {
-      val header = this.header(hash)
-      header?.let { h ->
-        headers = headers + h
-        hash = h.parentHash
-      }
-    } while (header != null && header.number >= BlockHeader.GENESIS_BLOCK_NUMBER && headers.size < count)
+    while (headers.size < count && cursor.hasNext()) {
+      headers.add(cursor.next())
+    }
 
-    return headers.toList()
+    return headers
   }
 
+  /**
+   * Returns a cursor which lazily walks backwards from [head] via parent hashes until the genesis block is reached.
+   */
+  fun headerCursor(head: Hash): Iterator<BlockHeader> = HeaderCursor(head)
+
+  /**
+   * Returns a cursor which lazily walks backwards from the canonical block at [number] via parent hashes until the genesis
+   * block is reached.
+   */
+  fun headerCursor(number: Long): Iterator<BlockHeader> =
+    HeaderCursor(blockchainStorage.getBlockHash(number).orElse(null))
+
   fun header(hash: Hash): BlockHeader? =
-    blockchainStorage.getBlockHeader(hash).orElse(null)
+    blockCache.cachedBlock(hash)?.header ?: blockchainStorage.getBlockHeader(hash).orElse(null)
 
   fun header(number: Long): BlockHeader? =
     blockchainStorage.getBlockHash(number)
-      .flatMap { hash -> blockchainStorage.getBlockHeader(hash) }
+      .map { hash -> header(hash) }
       .orElse(null)
 
-  fun body(hash: Hash): BlockBody? =
-    blockchainStorage.getBlockBody(hash).orElse(null)
+  fun body(hash: Hash): BlockBody? = block(hash)?.body
 
+  /**
+   * Blocks are decoded once and shared via the [BlockCache] so that subsequent stages reading the same block avoid
+   * the storage lookups and RLP decoding.
+   */
   fun block(hash: Hash): Block? =
-    header(hash)?.let { header -> Block(header, requireNotNull(body(hash)) { "body not found" }) }
+    blockCache.block(hash) { h ->
+      blockchainStorage.getBlockHeader(h)
+        .map { header -> Block(header, requireNotNull(blockchainStorage.getBlockBody(h).orElse(null)) { "body not found" }) }
+        .orElse(null)
+    }
 
   fun receipts(hash: Hash): List<TransactionReceipt>? =
-    blockchainStorage.getTransactionReceipts(hash).orElse(null)
+    blockCache.receipts(hash) { h -> blockchainStorage.getTransactionReceipts(h).orElse(null) }
 
   fun trace(hash: Hash): BlockTrace? =
     block(hash)
-      ?.let { block -> Pair(block, requireNotNull(receipts(hash)) { "receipts not found" }) }
-      ?.let { (block, receipts) ->
+      ?.let { block -> trace(block, requireNotNull(receipts(hash)) { "receipts not found" }) }
+
+  fun trace(block: Block, receipts: List<TransactionReceipt>, traceMode: TraceMode = this.traceMode): BlockTrace {
+
+    val (exfloTxTraces, jsonTrace) = when (traceMode) {
+      TraceMode.FLAT -> flatTransactionTraces(block)
+      TraceMode.LIGHT -> Pair(lightTransactionTraces(block), null)
+    }
+
+    val rewardsMap = rewards(block)
+
+    val feesByTransaction = feesByTransaction(block, receipts)
+    val transactionFees = totalTransactionFees(feesByTransaction)
+
+    return BlockTrace(block, rewardsMap, exfloTxTraces, feesByTransaction, transactionFees, jsonTrace)
+  }
+
+  /**
+   * Flat traces are streamed into a per thread [JsonTraceBuffer] as they are generated rather than being accumulated
+   * in a json tree, so only the utf-8 encoded output is held for the block.
+   */
+  private fun flatTransactionTraces(block: Block): Pair<List<ExfloTransactionTrace>, Bytes> {
+
+    val buffer = jsonTraceBuffers.get()
+
+    try {
+
+      val exfloTxTraces = objectMapper.factory
+        .createGenerator(buffer, JsonEncoding.UTF8)
+        .use { generator ->
+
+          generator.writeStartArray()
+
+          val traceOptions = TraceOptions(false, false, true)
+
+          val exfloTxTraces = BesuBlockTracer(besuBlockReplay)
+            .trace(block.hash, DebugOperationTracer(traceOptions))
+            .orElse(null)
+            ?.let { blockTrace ->
+              generateTracesFromTransactionTraceAndBlock(blockTrace.transactionTraces, block, generator)
+            } ?: emptyList()
 
-        val resultArrayNode = objectMapper.createArrayNode()
+          generator.writeEndArray()
 
-        val traceOptions = TraceOptions(false, false, true)
+          exfloTxTraces
+        }
 
-        val exfloTxTraces = BesuBlockTracer(besuBlockReplay)
-          .trace(hash, DebugOperationTracer(traceOptions))
-          .orElse(null)
-          ?.let { blockTrace ->
+      return Pair(exfloTxTraces, buffer.toBytes())
+    } finally {
+      buffer.reset()
+    }
+  }
+
+  /**
+   * Replays the block with an [ExfloOperationTracer] per transaction, which records the call, create and self destruct
+   * frames directly instead of going through debug trace frames and flat traces.
+   */
+  private fun lightTransactionTraces(block: Block): List<ExfloTransactionTrace> {
+
+    val exfloTxTraces = ArrayList<ExfloTransactionTrace>(block.body.transactions.size)
 
-            generateTracesFromTransactionTraceAndBlock(
-              blockTrace.transactionTraces, block, resultArrayNode
-            )
-          } ?: emptyList()
+    besuBlockReplay.block(
+      block.hash,
+      BesuBlockReplay.TransactionAction<TransactionTrace> { transaction, header, blockchain, worldState, transactionProcessor ->
 
-        val rewardsMap = rewards(block)
+        val tracer = ExfloOperationTracer(transactionSimulator, header.hash)
 
-        val feesByTransaction = feesByTransaction(block, receipts)
-        val transactionFees = totalTransactionFees(feesByTransaction)
+        val result = transactionProcessor.processTransaction(
+          blockchain,
+          worldState.updater(),
+          header,
+          transaction,
+          header.coinbase,
+          tracer,
+          BlockHashLookup(header, blockchain),
+          false
+        )
 
-        BlockTrace(block, rewardsMap, exfloTxTraces, feesByTransaction, transactionFees, resultArrayNode.toString())
+        exfloTxTraces.add(tracer.toTransactionTrace(transaction, result))
+
+        // the besu trace is only a placeholder as the block replay requires one
+        TransactionTrace(transaction, result, emptyList())
       }
+    )
+
+    return exfloTxTraces
+  }
 
   private fun generateTracesFromTransactionTraceAndBlock(
     transactionTraces: List<TransactionTrace>,
     block: Block,
-    resultArrayNode: ArrayNode
+    generator: JsonGenerator
   ): List<ExfloTransactionTrace> =
     transactionTraces.map { txTrace ->
 
@@ -184,7 +324,7 @@ class BlockReader : KoinComponent {
 
       traceStream.forEachOrdered { trace ->
         txTraceParser.apply(trace as FlatTrace)
-        resultArrayNode.addPOJO(trace)
+        objectMapper.writeValue(generator, trace)
       }
 
       ExfloTransactionTrace(
@@ -229,6 +369,9 @@ class BlockReader : KoinComponent {
   }
 
   private fun feesByTransaction(block: Block, receipts: List<TransactionReceipt>): Map<Transaction, Wei> {
+
+    require(block.body.transactions.size == receipts.size) { "Transactions & receipts size mismatch" }
+
     var cumulativeGasUsed = 0L
 
     return block.body
@@ -252,5 +395,37 @@ class BlockReader : KoinComponent {
   fun totalDifficulty(hash: Hash): UInt256? =
     blockchainStorage.getTotalDifficulty(hash).map { it.toUInt256() }.orElse(null)
 
-  fun touchedAccounts(trace: BlockTrace): List<Account> = trace.touchedAccounts(networkConfig, worldStateArchive)
+  fun touchedAccounts(trace: BlockTrace): List<Account> = trace.touchedAccounts(networkConfig, accountResolver)
+
+  /**
+   * Reads one header per step, only holding on to the hash of the next header to be read.
+   */
+  private inner class HeaderCursor(private var nextHash: Hash?) : Iterator<BlockHeader> {
+
+    private var nextHeader: BlockHeader? = null
+
+    override fun hasNext(): Boolean {
+      if (nextHeader == null) {
+        nextHeader = nextHash?.let { header(it) }
+      }
+      return nextHeader != null
+    }
+
+    override fun next(): BlockHeader {
+
+      if (!hasNext()) throw NoSuchElementException()
+
+      val header = nextHeader!!
+      nextHeader = null
+      nextHash = if (header.number == BlockHeader.GENESIS_BLOCK_NUMBER) null else header.parentHash
+
+      return header
+    }
+  }
+
+  companion object {
+
+    // upper bound on the capacity pre-allocated for range reads
+    private const val MAX_RANGE_SIZE = 8192L
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import org.hyperledger.besu.ethereum.core.Hash
+import kotlin.math.min
+
+/**
+ * Fixed size ring buffer of the most recently observed canonical block hashes, indexed by block number.
+ *
+ * Each new head is reconciled by walking back through its ancestors only until a block already known to be canonical
+ * is reached, so the cost of an update is proportional to the number of new blocks plus the depth of any fork rather
+ * than to the size of the buffer.
+ */
+class CanonicalHashRing(private val capacity: Int) {
+
+  init {
+    require(capacity > 0) { "capacity must be greater than zero" }
+  }
+
+  private val numbers = LongArray(capacity) { -1L }
+  private val hashes = arrayOfNulls<Hash>(capacity)
+
+  private var headNumber = -1L
+
+  operator fun get(number: Long): Hash? {
+    if (number < 0L) return null
+    val idx = index(number)
+    return if (numbers[idx] == number) hashes[idx] else null
+  }
+
+  /**
+   * Records [newHead] as the canonical head, resolving ancestors with [headerByHash] until one which is already known is
+   * reached or the capacity is exhausted. Returns the lowest block number whose previously observed canonical hash is
+   * no longer canonical, or null if [newHead] simply extends the chain.
+   */
+  fun update(newHead: BlockHeader, headerByHash: (Hash) -> BlockHeader?): Long? {
+
+    var reorgNumber: Long? = null
+
+    // the chain got shorter, anything above the new head is no longer canonical
+    if (headNumber > newHead.number) {
+      val last = min(headNumber, newHead.number + capacity)
+      for (number in last downTo newHead.number + 1) {
+        if (remove(number)) reorgNumber = number
+      }
+    }
+
+    var header: BlockHeader? = newHead
+    var count = 0
+
+    while (header != null && count < capacity) {
+
+      val known = get(header.number)
+      if (known == header.hash) break
+      if (known != null) reorgNumber = header.number
+
+      put(header.number, header.hash)
+
+      if (header.number == BlockHeader.GENESIS_BLOCK_NUMBER) break
+
+      header = headerByHash(header.parentHash)
+      count += 1
+    }
+
+    headNumber = newHead.number
+
+    return reorgNumber
+  }
+
+  private fun put(number: Long, hash: Hash) {
+    val idx = index(number)
+    numbers[idx] = number
+    hashes[idx] = hash
+  }
+
+  private fun remove(number: Long): Boolean {
+    val idx = index(number)
+    if (numbers[idx] != number) return false
+    numbers[idx] = -1L
+    hashes[idx] = null
+    return true
+  }
+
+  private fun index(number: Long): Int = (number % capacity).toInt()
+}
@@ -20,22 +20,36 @@ import io.exflo.ingestion.ExfloCliOptions
 import org.apache.logging.log4j.LogManager
 import org.hyperledger.besu.cli.config.EthNetworkConfig
 import org.hyperledger.besu.ethereum.chain.Blockchain
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage
 import org.hyperledger.besu.ethereum.core.BlockHeader
 import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.plugin.data.BlockHeader as PluginBlockHeader
 import org.hyperledger.besu.plugin.data.SyncStatus
 import org.hyperledger.besu.plugin.services.BesuEvents
 import java.math.BigInteger
+import java.time.Duration
 import java.util.Optional
+import java.util.TreeMap
 import java.util.concurrent.locks.ReentrantLock
 import kotlin.math.max
 import kotlin.math.min
 
+/**
+ * Tracks which blocks have been processed between the tail, the highest block number for which it and every block
+ * before it has been committed, and the head of the local chain.
+ *
+ * Blocks can be consumed sequentially with [poll] and [commit], or concurrently by leasing ranges with [lease] which
+ * can be committed in any order. Committed ranges above the tail are held until the gap below them has been filled, at
+ * which point the tail advances over the contiguous prefix. The two styles of consumption should not be mixed.
+ */
 class ChainTracker(
   private val blockchain: Blockchain,
+  private val blockchainStorage: BlockchainStorage,
   cliOptions: ExfloCliOptions,
   networkConfig: EthNetworkConfig,
   storeFactory: StoreFactory,
-  private val besuEvents: BesuEvents
+  private val besuEvents: BesuEvents,
+  leaseTimeout: Duration = DEFAULT_LEASE_TIMEOUT
 ) {
 
   private val log = LogManager.getLogger()
@@ -47,10 +61,34 @@ class ChainTracker(
 
   private val syncListener = SyncListener()
   private val syncListenerId: Long
+  private val blockListenerId: Long
 
   private val lock = ReentrantLock()
 
-  private var numbersToDelete = emptyList<LongRange>()
+  // recently observed canonical hashes, used to detect reorgs without re-walking maxForkSize headers on every event
+  private val canonicalHashes = CanonicalHashRing(maxForkSize)
+
+  // highest block number which has been handed out by poll or lease
+  private var highestIssued = -1L
+
+  // numbers of blocks which need to be removed due to forks, merged into a single span as everything above the start
+  // of the earliest fork will be processed again anyway
+  private var numbersToDelete: LongRange? = null
+
+  private val leaseTimeoutNanos = leaseTimeout.toNanos()
+
+  private var nextLeaseId = 0L
+
+  // next block number which has never been leased
+  private var nextLeaseNumber: Long
+
+  private val outstandingLeases = HashMap<Long, OutstandingLease>()
+
+  // ranges which need to be leased again as a previous lease expired or was invalidated, keyed by start
+  private val pendingRanges = TreeMap<Long, Long>()
+
+  // ranges above the tail which have been committed but are not yet contiguous with it, keyed by start
+  private val committedRanges = TreeMap<Long, Long>()
 
   @Volatile
   var head: Long = 0L
@@ -75,8 +113,15 @@ class ChainTracker(
     }
 
     store.setTail(initialTail)
+    nextLeaseNumber = initialTail + 1
 
-    // register a sync listener
+    // compare hashes recorded during a previous run against the canonical chain in case a fork happened while offline
+    findFork(max(0L, head - maxForkSize + 1), max(head, initialTail))?.let { fork(it) }
+
+    // register for new canonical heads. Our blockchain instance reads the storage besu writes to but never has blocks
+    // added to it, so blocks at the chain tip are followed through besu's propagation events, with sync status changes
+    // covering blocks imported whilst syncing
+    blockListenerId = besuEvents.addBlockPropagatedListener(BlockListener())
     syncListenerId = besuEvents.addSyncStatusListener(syncListener)
 
     log.info("Initialised. Tail = {}, head = {}", initialTail, head)
@@ -92,22 +137,9 @@ class ChainTracker(
 
           val blockHash = blockchain.getBlockHashByNumber(number).get()
           store.setBlockHash(number, blockHash)
+          highestIssued = max(highestIssued, number)
 
-          val numbersToDelete =
-            when (this.numbersToDelete.isEmpty()) {
-              true -> null
-              false -> this.numbersToDelete
-                .reduce { memo, next ->
-                  LongRange(
-                    min(memo.start, next.start),
-                    max(memo.endInclusive, next.endInclusive)
-                  )
-                }
-            }
-
-          this.numbersToDelete = emptyList()
-
-          Pair(number, numbersToDelete)
+          Pair(number, drainNumbersToDelete())
         }
         false -> null
       }
@@ -136,46 +168,209 @@ class ChainTracker(
     }
   }
 
-  fun stop() {
-    blockchain.removeObserver(syncListenerId)
-    store.stop()
+  /**
+   * Leases a range of at most [maxSize] blocks for processing, preferring ranges whose previous lease expired or was
+   * invalidated over new ones. Returns null when there is nothing left to lease.
+   */
+  fun lease(maxSize: Int): Lease? {
+
+    require(maxSize > 0) { "maxSize must be greater than zero" }
+
+    lock.lock()
+    try {
+
+      expireLeases()
+
+      val range = nextPendingRange(maxSize) ?: nextNewRange(maxSize) ?: return null
+
+      // record hashes for fork detection
+      for (number in range) {
+        store.setBlockHash(number, blockchain.getBlockHashByNumber(number).get())
+      }
+      highestIssued = max(highestIssued, range.last)
+
+      val lease = Lease(nextLeaseId++, range, drainNumbersToDelete())
+      outstandingLeases[lease.id] = OutstandingLease(lease, System.nanoTime() + leaseTimeoutNanos)
+
+      return lease
+    } finally {
+      lock.unlock()
+    }
   }
 
-  private fun updateHead(newHead: BlockHeader) {
+  /**
+   * Commits a leased range, advancing the tail if the range completes a contiguous prefix above it. Returns false if
+   * the lease is no longer valid, either because it expired or because a fork was detected which overlaps its range,
+   * in which case the range will be leased again.
+   */
+  fun commit(lease: Lease): Boolean {
+
     lock.lock()
     try {
-      head = newHead.number
 
-      // check for divergence
+      outstandingLeases.remove(lease.id) ?: return false
 
-      var count = 0
-      var currentHeader = newHead
-      var forkHeader = currentHeader
+      committedRanges[lease.range.first] = lease.range.last
 
-      do {
-        val cachedHash = store.getBlockHash(currentHeader.number)
+      var newTail = tail
+      while (committedRanges.isNotEmpty() && committedRanges.firstKey() == newTail + 1) {
+        newTail = committedRanges.pollFirstEntry().value
+      }
 
-        if (cachedHash != null && cachedHash != currentHeader.hash) {
-          forkHeader = currentHeader
-        }
+      if (newTail != tail) {
+        store.setTail(newTail)
+        store.removeBlockHashesBefore(newTail - maxForkSize)
+      }
+
+      return true
+    } finally {
+      lock.unlock()
+    }
+  }
+
+  /**
+   * Returns a leased range so that it can be leased again, e.g. when processing it failed.
+   */
+  fun release(lease: Lease) {
+    lock.lock()
+    try {
+      outstandingLeases.remove(lease.id)?.let { pendingRanges[lease.range.first] = lease.range.last }
+    } finally {
+      lock.unlock()
+    }
+  }
 
-        if (currentHeader.number == BlockHeader.GENESIS_BLOCK_NUMBER) break
+  private fun expireLeases() {
 
-        currentHeader = blockchain.getBlockHeader(currentHeader.parentHash).get()
-        count += 1
-      } while (count < maxForkSize)
+    val now = System.nanoTime()
 
-      if (forkHeader != newHead) {
+    val expired = outstandingLeases.values.filter { it.deadline - now < 0 }
+    if (expired.isEmpty()) return
 
-        // reset tail and add to numbers to delete
-        numbersToDelete = numbersToDelete + listOf(LongRange(forkHeader.number, newHead.number))
-        store.setTail(forkHeader.number - 1L)
+    expired.forEach { outstanding ->
+      val range = outstanding.lease.range
+      log.warn("Lease expired, range = {}", range)
+      outstandingLeases.remove(outstanding.lease.id)
+      pendingRanges[range.first] = range.last
+    }
+  }
+
+  private fun nextPendingRange(maxSize: Int): LongRange? {
+
+    val (start, end) = pendingRanges.pollFirstEntry() ?: return null
+
+    val last = min(end, start + maxSize - 1)
+    if (last < end) pendingRanges[last + 1] = end
+
+    return LongRange(start, last)
+  }
+
+  private fun nextNewRange(maxSize: Int): LongRange? {
+
+    val start = max(nextLeaseNumber, tail + 1)
+    if (start > head) return null
+
+    val range = LongRange(start, min(head, start + maxSize - 1))
+    nextLeaseNumber = range.last + 1
+
+    return range
+  }
+
+  private fun drainNumbersToDelete(): LongRange? {
+    val numbersToDelete = this.numbersToDelete
+    this.numbersToDelete = null
+    return numbersToDelete
+  }
+
+  /**
+   * Discards all progress from [number] onwards. Leases overlapping it are invalidated, with any part of their range
+   * below [number] being queued to be leased again.
+   */
+  private fun rewindTo(number: Long) {
+
+    outstandingLeases.values
+      .filter { it.lease.range.last >= number }
+      .forEach { outstanding ->
+        val range = outstanding.lease.range
+        outstandingLeases.remove(outstanding.lease.id)
+        if (range.first < number) pendingRanges[range.first] = number - 1
       }
+
+    listOf(pendingRanges, committedRanges).forEach { ranges ->
+      ranges.tailMap(number, true).clear()
+      ranges.lowerEntry(number)
+        ?.takeIf { (_, end) -> end >= number }
+        ?.let { (start, _) -> ranges[start] = number - 1 }
+    }
+
+    nextLeaseNumber = min(nextLeaseNumber, number)
+
+    if (tail >= number) store.setTail(number - 1L)
+  }
+
+  fun stop() {
+    besuEvents.removeBlockPropagatedListener(blockListenerId)
+    besuEvents.removeSyncStatusListener(syncListenerId)
+    store.stop()
+  }
+
+  private fun updateHead(newHead: BlockHeader) {
+    lock.lock()
+    try {
+
+      // only walks back as far as the last block we already know to be canonical
+      val reorgNumber = canonicalHashes.update(newHead) { hash -> blockchain.getBlockHeader(hash).orElse(null) }
+
+      head = newHead.number
+
+      // recorded hashes can only differ from the canonical chain where the ring has seen it change, so only the
+      // numbers from the reorg onwards need to be compared
+      reorgNumber
+        ?.let { findFork(max(0L, it), highestIssued) }
+        ?.let { fork(it) }
     } finally {
       lock.unlock()
     }
   }
 
+  /**
+   * Returns the lowest number within [from] and [to] whose recorded hash differs from the canonical hash, i.e. the first
+   * block handed out for processing which has been affected by a fork, or null if there is none.
+   *
+   * Numbers without a known canonical hash, such as those above a head which has moved back, are not treated as forked.
+   * If the chain is extended past them again with different blocks the mismatch is detected at that point.
+   */
+  private fun findFork(from: Long, to: Long): Long? =
+    (from..to).firstOrNull { number ->
+      val recorded = store.getBlockHash(number)
+      val canonical = canonicalHashes[number]
+      recorded != null && canonical != null && recorded != canonical
+    }
+
+  private fun fork(number: Long) {
+
+    val last = max(head, highestIssued)
+    log.info("Fork detected, number = {}, head = {}", number, head)
+
+    // reset tail, invalidate overlapping leases and add to numbers to delete
+    numbersToDelete = numbersToDelete
+      ?.let { LongRange(min(it.first, number), max(it.last, last)) }
+      ?: LongRange(number, last)
+
+    highestIssued = min(highestIssued, number - 1)
+    rewindTo(number)
+  }
+
+  private inner class BlockListener : BesuEvents.BlockPropagatedListener {
+    override fun onBlockPropagated(blockHeader: PluginBlockHeader) {
+      // a block may be propagated before besu has imported it, so the canonical head is read back from storage rather
+      // than taken from the event, with the next block catching up on anything imported in the meantime
+      blockchainStorage.chainHead
+        .flatMap { hash -> blockchain.getBlockHeader(hash) }
+        .ifPresent { updateHead(it) }
+    }
+  }
+
   private inner class SyncListener : BesuEvents.SyncStatusListener {
     override fun onSyncStatusChanged(syncStatus: Optional<SyncStatus>) {
       if (!syncStatus.isPresent) return
@@ -184,6 +379,15 @@ class ChainTracker(
     }
   }
 
+  data class Lease(
+    val id: Long,
+    val range: LongRange,
+    // numbers of blocks which need to be removed due to a fork, if any
+    val numbersToDelete: LongRange?
+  )
+
+  private class OutstandingLease(val lease: Lease, val deadline: Long)
+
   interface StoreFactory {
     fun create(networkId: BigInteger): Store
   }
@@ -205,4 +409,8 @@ class ChainTracker(
 
     fun stop()
   }
+
+  companion object {
+    val DEFAULT_LEASE_TIMEOUT: Duration = Duration.ofMinutes(5)
+  }
 }
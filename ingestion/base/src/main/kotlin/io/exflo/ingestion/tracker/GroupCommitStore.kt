@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import org.apache.logging.log4j.LogManager
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Base for [ChainTracker.Store] implementations which apply updates in memory and persist them in the background.
+ *
+ * Updates only mark the store as dirty and are flushed at most once per [flushInterval], so a burst of commits costs a
+ * single sync instead of one per block. Updates made after the last flush can be lost on a crash, which is covered by
+ * the chain tracker rewinding its tail by the max fork size whenever it is restarted.
+ */
+abstract class GroupCommitStore(private val flushInterval: Duration) : ChainTracker.Store {
+
+  private val log = LogManager.getLogger()
+
+  private val dirty = AtomicBoolean(false)
+
+  private val executor = Executors.newSingleThreadScheduledExecutor { runnable ->
+    Thread(runnable, "exflo-chain-tracker-flush").apply { isDaemon = true }
+  }
+
+  init {
+    val intervalMs = flushInterval.toMillis()
+    executor.scheduleWithFixedDelay({ flushIfDirty() }, intervalMs, intervalMs, TimeUnit.MILLISECONDS)
+  }
+
+  protected fun markDirty() = dirty.set(true)
+
+  /**
+   * Persists all updates made since the previous flush. Only ever invoked from a single thread.
+   */
+  protected abstract fun flush()
+
+  /**
+   * Releases any underlying resources once the final flush has completed.
+   */
+  protected open fun close() {}
+
+  private fun flushIfDirty() {
+    if (!dirty.getAndSet(false)) return
+    try {
+      flush()
+    } catch (t: Throwable) {
+      dirty.set(true)
+      log.error("Failed to flush chain tracker state", t)
+    }
+  }
+
+  override fun stop() {
+    executor.shutdown()
+    executor.awaitTermination(flushInterval.toMillis() * 2, TimeUnit.MILLISECONDS)
+    flushIfDirty()
+    close()
+  }
+
+  companion object {
+    val DEFAULT_FLUSH_INTERVAL: Duration = Duration.ofSeconds(1)
+  }
+}
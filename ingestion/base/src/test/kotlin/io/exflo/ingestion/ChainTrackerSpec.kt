@@ -30,8 +30,22 @@ import io.kotlintest.specs.FunSpec
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.slot
+import org.apache.tuweni.bytes.Bytes
+import org.hyperledger.besu.ethereum.chain.Blockchain
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain
+import org.hyperledger.besu.ethereum.chain.GenesisState
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain
+import org.hyperledger.besu.ethereum.core.Block
+import org.hyperledger.besu.ethereum.core.BlockBody
+import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions
 import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem
+import org.hyperledger.besu.plugin.data.SyncStatus
 import org.hyperledger.besu.plugin.services.BesuEvents
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage
 import org.koin.core.context.startKoin
 import org.koin.core.context.stopKoin
 import org.koin.core.qualifier.named
@@ -40,11 +54,13 @@ import org.koin.test.KoinTest
 import org.koin.test.get
 import org.koin.test.inject
 import java.math.BigInteger
+import java.util.Optional
 
 class ChainTrackerSpec : FunSpec(), KoinTest {
 
   private val besuEvents = mockk<BesuEvents>(relaxUnitFun = true)
   private val syncStatusListener = slot<BesuEvents.SyncStatusListener>()
+  private val blockPropagatedListener = slot<BesuEvents.BlockPropagatedListener>()
   private val cliOptions = mockk<ExfloCliOptions>()
 
   private val testChainLoader: TestChainLoader by inject()
@@ -54,6 +70,7 @@ class ChainTrackerSpec : FunSpec(), KoinTest {
 
     // we want to capture the status listener so we can call it directly
     every { besuEvents.addSyncStatusListener(capture(syncStatusListener)) } returns 0L
+    every { besuEvents.addBlockPropagatedListener(capture(blockPropagatedListener)) } returns 0L
 
     // cli options
     every { cliOptions.maxForkSize } returns 12
@@ -67,11 +84,15 @@ class ChainTrackerSpec : FunSpec(), KoinTest {
 
       single { InMemoryStore.factory }
 
-      single { ChainTracker(get(), get(), get(), get(), get()) }
+      single { ChainTracker(get(), get(), get(), get(), get(), get()) }
+
+      factory(named("leasing")) {
+        ChainTracker(get(), get(), get(), get(), InMemoryStore.factory, get())
+      }
 
       factory(named("withHistory")) {
         val factory = InMemoryStore.factoryWithHistory(50)
-        ChainTracker(get(), get(), get(), factory, get())
+        ChainTracker(get(), get(), get(), get(), factory, get())
       }
     }
 
@@ -85,6 +106,47 @@ class ChainTrackerSpec : FunSpec(), KoinTest {
     stopKoin()
   }
 
+  /**
+   * Copies the test chain into a blockchain of its own so that it can be reorged without affecting other tests.
+   */
+  private fun copyOfTestChain(): Pair<MutableBlockchain, BlockchainStorage> {
+
+    val blockchain = get<Blockchain>()
+
+    val storage = KeyValueStoragePrefixedKeyBlockchainStorage(InMemoryKeyValueStorage(), get<BlockHeaderFunctions>())
+    val copy = DefaultBlockchain.createMutable(get<GenesisState>().block, storage, NoOpMetricsSystem())
+
+    for (number in LongRange(1L, blockchain.chainHeadBlockNumber)) {
+      val hash = blockchain.getBlockHashByNumber(number).get()
+      val block = Block(blockchain.getBlockHeader(hash).get(), blockchain.getBlockBody(hash).get())
+      copy.appendBlock(block, blockchain.getTxReceipts(hash).get())
+    }
+
+    return copy to storage
+  }
+
+  /**
+   * Appends empty blocks which branch off before [from] and extend [length] blocks past the current head, giving them
+   * a greater total difficulty so that they become the canonical chain.
+   */
+  private fun appendFork(blockchain: MutableBlockchain, from: Long, length: Long) {
+
+    var parent = blockchain.getBlockHeader(blockchain.getBlockHashByNumber(from - 1).get()).get()
+
+    for (number in LongRange(from, blockchain.chainHeadBlockNumber + length)) {
+
+      val header = BlockHeaderBuilder.fromHeader(parent)
+        .parentHash(parent.hash)
+        .number(number)
+        .extraData(Bytes.of(1))
+        .blockHeaderFunctions(get<BlockHeaderFunctions>())
+        .buildBlockHeader()
+
+      blockchain.appendBlock(Block(header, BlockBody(emptyList(), emptyList())), emptyList())
+      parent = header
+    }
+  }
+
   init {
 
     context("Given an empty store") {
@@ -119,6 +181,135 @@ class ChainTrackerSpec : FunSpec(), KoinTest {
       }
     }
 
+    context("Given concurrent consumers leasing ranges") {
+
+      val expectedHead = testChainSummary.head
+
+      test("leases should cover every block up to the head exactly once") {
+
+        val chainTracker = get<ChainTracker>(named("leasing"))
+
+        val leases = generateSequence { chainTracker.lease(10) }.toList()
+
+        leases.flatMap { it.range.toList() } shouldBe LongRange(0L, expectedHead).toList()
+        leases.forEach { lease -> (lease.range.count() <= 10) shouldBe true }
+      }
+
+      test("the tail should only advance once a contiguous prefix has been committed") {
+
+        val chainTracker = get<ChainTracker>(named("leasing"))
+
+        val first = chainTracker.lease(10)!!
+        val second = chainTracker.lease(10)!!
+        val third = chainTracker.lease(10)!!
+
+        chainTracker.commit(third) shouldBe true
+        chainTracker.commit(second) shouldBe true
+        chainTracker.tail shouldBe -1L
+
+        chainTracker.commit(first) shouldBe true
+        chainTracker.tail shouldBe third.range.last
+      }
+
+      test("released ranges should be leased again before new ranges") {
+
+        val chainTracker = get<ChainTracker>(named("leasing"))
+
+        val first = chainTracker.lease(10)!!
+        chainTracker.lease(10)!!
+
+        chainTracker.release(first)
+        chainTracker.commit(first) shouldBe false
+
+        val retried = chainTracker.lease(4)!!
+        retried.range shouldBe LongRange(first.range.first, first.range.first + 3)
+      }
+
+      test("a fork should invalidate overlapping leases and queue their ranges again") {
+
+        val (blockchain, blockchainStorage) = copyOfTestChain()
+        val chainTracker = ChainTracker(blockchain, blockchainStorage, get(), get(), InMemoryStore.factory, get())
+
+        val leases = generateSequence { chainTracker.lease(8) }.toList()
+
+        // a competing chain replaces the blocks from forkNumber onwards and becomes the new head
+        val forkNumber = expectedHead - 5
+        appendFork(blockchain, forkNumber, 2)
+
+        val forkHead = blockchain.chainHeadBlockNumber
+        forkHead shouldBe expectedHead + 2
+
+        blockPropagatedListener.captured.onBlockPropagated(blockchain.chainHeadHeader)
+        chainTracker.head shouldBe forkHead
+
+        val (invalidated, valid) = leases.partition { it.range.last >= forkNumber }
+
+        invalidated.forEach { chainTracker.commit(it) shouldBe false }
+        valid.forEach { chainTracker.commit(it) shouldBe true }
+
+        val releases = generateSequence { chainTracker.lease(8) }.toList()
+
+        releases.first().numbersToDelete shouldBe LongRange(forkNumber, forkHead)
+        releases.flatMap { it.range.toList() } shouldBe LongRange(invalidated.first().range.first, forkHead).toList()
+
+        releases.forEach { chainTracker.commit(it) shouldBe true }
+        chainTracker.tail shouldBe forkHead
+      }
+
+      test("a new head which extends the chain should not be treated as a fork") {
+
+        val (blockchain, blockchainStorage) = copyOfTestChain()
+        val chainTracker = ChainTracker(blockchain, blockchainStorage, get(), get(), InMemoryStore.factory, get())
+
+        val leases = generateSequence { chainTracker.lease(8) }.toList()
+
+        // branches off after the current head, i.e. simply extends it
+        appendFork(blockchain, expectedHead + 1, 3)
+        blockPropagatedListener.captured.onBlockPropagated(blockchain.chainHeadHeader)
+
+        leases.forEach { chainTracker.commit(it) shouldBe true }
+
+        val extension = generateSequence { chainTracker.lease(8) }.toList()
+        extension.first().numbersToDelete shouldBe null
+        extension.flatMap { it.range.toList() } shouldBe LongRange(expectedHead + 1, blockchain.chainHeadBlockNumber).toList()
+      }
+
+      test("blocks above a head which moved back should not be treated as forked") {
+
+        val store = InMemoryStore()
+        val chainTracker = ChainTracker(get(), get(), get(), get(), InMemoryStore.factoryFor(store), get())
+
+        val leases = generateSequence { chainTracker.lease(8) }.toList()
+
+        // the head moves back, leaving leased blocks without a known canonical hash, and is then extended again by the
+        // same blocks
+        listOf(expectedHead - 6, expectedHead).forEach { number ->
+          val syncStatus = mockk<SyncStatus>()
+          every { syncStatus.currentBlock } returns number
+          syncStatusListener.captured.onSyncStatusChanged(Optional.of(syncStatus))
+        }
+
+        leases.forEach { chainTracker.commit(it) shouldBe true }
+
+        chainTracker.lease(8) shouldBe null
+        chainTracker.tail shouldBe expectedHead
+      }
+
+      test("a fork which happened while offline should be detected on startup") {
+
+        val store = InMemoryStore()
+        val previous = ChainTracker(get(), get(), get(), get(), InMemoryStore.factoryFor(store), get())
+        generateSequence { previous.lease(8) }.toList()
+
+        // record a different hash for a block which was handed out during a previous run
+        val forkNumber = expectedHead - 5
+        store.setBlockHash(forkNumber, Hash.ZERO)
+
+        val chainTracker = ChainTracker(get(), get(), get(), get(), InMemoryStore.factoryFor(store), get())
+        chainTracker.lease(8)!!.numbersToDelete shouldBe LongRange(forkNumber, expectedHead)
+      }
+    }
+
     context("Given a non-empty store") {
 
       val chainTracker = get<ChainTracker>(named("withHistory"))
@@ -138,6 +329,10 @@ private class InMemoryStore : ChainTracker.Store {
       override fun create(networkId: BigInteger): ChainTracker.Store = InMemoryStore()
     }
 
+    fun factoryFor(store: InMemoryStore) = object : ChainTracker.StoreFactory {
+      override fun create(networkId: BigInteger): ChainTracker.Store = store
+    }
+
     fun factoryWithHistory(tail: Long) = object : ChainTracker.StoreFactory {
       override fun create(networkId: BigInteger): ChainTracker.Store {
         val store = InMemoryStore()
@@ -18,11 +18,14 @@ package io.exflo.ingestion
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.module.kotlin.KotlinModule
+import io.exflo.ingestion.tracker.AccountResolver
+import io.exflo.ingestion.tracker.BlockCache
 import io.exflo.ingestion.tracker.BlockReader
 import io.exflo.testutil.KoinTestModules
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockReplay
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.BlockTracer
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem
 import org.koin.dsl.module
 
 @Suppress("MemberVisibilityCanBePrivate")
@@ -36,6 +39,10 @@ object KoinTestIngestionModules {
 
     single { TransactionSimulator(get(), get(), get()) }
 
+    single { BlockCache(ExfloCliDefaultOptions.BLOCK_CACHE_SIZE_MB * 1024 * 1024, NoOpMetricsSystem()) }
+
+    single { AccountResolver(get()) }
+
     single { BlockReader() }
 
     single { ObjectMapper().registerModule(KotlinModule()) }
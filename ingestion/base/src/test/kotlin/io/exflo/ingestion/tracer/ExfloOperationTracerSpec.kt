@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracer
+
+import io.exflo.ingestion.ExfloCliOptions.TraceMode
+import io.exflo.ingestion.KoinTestIngestionModules
+import io.exflo.ingestion.TruffleSpecs.SelfDestructs.SelfDestruct
+import io.exflo.ingestion.TruffleSpecs.SelfDestructs.SelfDestructDelegatingCalls
+import io.exflo.ingestion.TruffleSpecs.SelfDestructs.SelfDestructInConstructor
+import io.exflo.ingestion.TruffleSpecs.Tokens.ERC20.DetailedERC20
+import io.exflo.ingestion.TruffleSpecs.Tokens.ERC721.FullERC721
+import io.exflo.ingestion.TruffleSpecs.Tokens.ERC777.MinimalERC777
+import io.exflo.ingestion.TruffleSpecs.Transfers.EtherTransfers
+import io.exflo.ingestion.tokens.precompiled.PrecompiledContractsFactory
+import io.exflo.ingestion.tracker.BlockReader
+import io.exflo.testutil.ExfloTestCaseHelper
+import io.exflo.testutil.TestChainLoader
+import io.kotlintest.Spec
+import io.kotlintest.TestCase
+import io.kotlintest.TestResult
+import io.kotlintest.extensions.TopLevelTest
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.hyperledger.besu.cli.config.EthNetworkConfig
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule
+import org.koin.core.context.startKoin
+import org.koin.core.context.stopKoin
+import org.koin.test.KoinTest
+import org.koin.test.inject
+
+class ExfloOperationTracerSpec : FunSpec(), KoinTest {
+
+  private val testChainLoader: TestChainLoader by inject()
+  private val testHelper: ExfloTestCaseHelper by inject()
+  private val networkConfig: EthNetworkConfig by inject()
+  private val protocolSchedule: ProtocolSchedule<*> by inject()
+  private val blockReader: BlockReader by inject()
+
+  override fun beforeSpecClass(spec: Spec, tests: List<TopLevelTest>) {
+    startKoin {
+      modules(KoinTestIngestionModules())
+    }
+
+    // import test blocks
+    testChainLoader.load()
+
+    // register precompiled contracts
+    PrecompiledContractsFactory.register(protocolSchedule, networkConfig.networkId)
+  }
+
+  override fun afterSpecClass(spec: Spec, results: Map<TestCase, TestResult>) {
+    stopKoin()
+  }
+
+  init {
+
+    context("Light traces should match the flat traces") {
+
+      listOf(
+        EtherTransfers.shouldTransferRegularEther,
+        DetailedERC20.shouldDeployTheContract,
+        FullERC721.shouldDeployTheContract,
+        MinimalERC777.shouldDeployTheContract,
+        SelfDestruct.shouldDestroyTheContractAndRefundTheSender,
+        SelfDestruct.shouldDestroyAndRefundSelf,
+        SelfDestructDelegatingCalls.shouldSendEtherToContractAfterSelfReferencingDestroy,
+        SelfDestructDelegatingCalls.shouldProduceACascadingDestroyAndRefundSender,
+        SelfDestructDelegatingCalls.shouldCreateSelfDestroyingContractsAndSelfDestructItself,
+        SelfDestructInConstructor.shouldCreateAndDestroyItselfOnContractDeploy
+      ).forEach { testCase ->
+
+        test("${testCase.suite.title}: ${testCase.description}") {
+
+          testHelper.blocksWithReceiptsFor(testCase).forEach { (block, receipts) ->
+
+            val flat = blockReader.trace(block, receipts, TraceMode.FLAT)
+            val light = blockReader.trace(block, receipts, TraceMode.LIGHT)
+
+            light.jsonTrace shouldBe null
+            light.rewards shouldBe flat.rewards
+            light.feesByTransaction shouldBe flat.feesByTransaction
+
+            light.transactionTraces.size shouldBe flat.transactionTraces.size
+
+            light.transactionTraces.zip(flat.transactionTraces).forEach { (lightTx, flatTx) ->
+              lightTx.transaction shouldBe flatTx.transaction
+              lightTx.contractsCreated shouldBe flatTx.contractsCreated
+              lightTx.contractsDestroyed shouldBe flatTx.contractsDestroyed
+              lightTx.internalTransactions shouldBe flatTx.internalTransactions
+              lightTx.touchedAccounts shouldBe flatTx.touchedAccounts
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracer
+
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+
+class JsonTraceBufferSpec : FunSpec() {
+
+  private fun JsonTraceBuffer.fill(size: Int) = write(ByteArray(size) { it.toByte() })
+
+  init {
+
+    test("bytes written should be copied out exactly and cleared by reset") {
+
+      val buffer = JsonTraceBuffer(initialCapacity = 4, retainedCapacity = 64)
+
+      buffer.write('['.toInt())
+      buffer.write("{}]".toByteArray())
+
+      buffer.size shouldBe 4
+      String(buffer.toBytes().toArrayUnsafe()) shouldBe "[{}]"
+
+      buffer.reset()
+
+      buffer.size shouldBe 0
+      buffer.toBytes().size() shouldBe 0
+    }
+
+    test("an oversized trace should not be retained beyond the next reset") {
+
+      val buffer = JsonTraceBuffer(initialCapacity = 16, retainedCapacity = 64)
+
+      buffer.fill(1000)
+      buffer.toBytes().size() shouldBe 1000
+      (buffer.capacity >= 1000) shouldBe true
+
+      buffer.reset()
+
+      buffer.capacity shouldBe 16
+    }
+
+    test("capacity below the retained cap should shrink once traces stay small") {
+
+      val buffer = JsonTraceBuffer(initialCapacity = 16, retainedCapacity = 1024)
+
+      buffer.fill(512)
+      buffer.reset()
+
+      buffer.capacity shouldBe 512
+
+      // a trace using at least a quarter of the buffer keeps it
+      repeat(JsonTraceBuffer.SHRINK_AFTER_RESETS) {
+        buffer.fill(128)
+        buffer.reset()
+      }
+
+      buffer.capacity shouldBe 512
+
+      repeat(JsonTraceBuffer.SHRINK_AFTER_RESETS) {
+        buffer.fill(10)
+        buffer.reset()
+      }
+
+      buffer.capacity shouldBe 256
+
+      repeat(JsonTraceBuffer.SHRINK_AFTER_RESETS * 8) {
+        buffer.fill(1)
+        buffer.reset()
+      }
+
+      buffer.capacity shouldBe 16
+    }
+  }
+}
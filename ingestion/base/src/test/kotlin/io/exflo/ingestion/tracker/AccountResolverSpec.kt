@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.Account
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.ethereum.core.Wei
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage
+import java.util.Optional
+import java.util.concurrent.atomic.AtomicInteger
+
+class AccountResolverSpec : FunSpec() {
+
+  /**
+   * Counts the account trie nodes read from the underlying storage.
+   */
+  private class CountingWorldStateStorage(
+    private val delegate: WorldStateStorage
+  ) : WorldStateStorage by delegate {
+
+    val nodeReads = AtomicInteger()
+
+    override fun getAccountStateTrieNode(nodeHash: Bytes32): Optional<Bytes> {
+      nodeReads.incrementAndGet()
+      return delegate.getAccountStateTrieNode(nodeHash)
+    }
+  }
+
+  private val storage = WorldStateKeyValueStorage(InMemoryKeyValueStorage())
+
+  private val worldStateArchive =
+    WorldStateArchive(storage, WorldStatePreimageKeyValueStorage(InMemoryKeyValueStorage()))
+
+  private fun address(n: Int): Address = Address.fromHexString("0x%040x".format(n + 1))
+
+  private val existing = (0 until 100).map { address(it) }
+
+  private val missing = (1000 until 1010).map { address(it) }
+
+  // well over the chunk size so that lookups are resolved in parallel
+  private val stateRoot: Hash = worldStateArchive.mutable
+    .also { worldState ->
+      val updater = worldState.updater()
+      existing.forEachIndexed { idx, address -> updater.createAccount(address, idx.toLong(), Wei.of(idx * 1000L)) }
+      updater.commit()
+      worldState.persist()
+    }
+    .rootHash()
+
+  private fun Account.state() = listOf(nonce, balance, codeHash, storageRoot)
+
+  /**
+   * Looks each address up one at a time against a single world state, as before batching.
+   */
+  private fun serial(addresses: List<Address>): Map<Address, List<Any>> {
+    val worldState = worldStateArchive.get(stateRoot).get()
+    return addresses
+      .distinct()
+      .mapNotNull { address -> worldState[address]?.let { address to it.state() } }
+      .toMap()
+  }
+
+  init {
+
+    test("accounts resolved in chunks should match looking each one up in turn") {
+
+      val addresses = (existing + missing).shuffled(java.util.Random(7))
+
+      val resolved = AccountResolver(storage).accounts(stateRoot, addresses)
+
+      resolved.mapValues { (_, account) -> account.state() } shouldBe serial(addresses)
+      resolved.keys.toList() shouldBe addresses.filterNot { missing.contains(it) }
+    }
+
+    test("a batch smaller than a chunk should match looking each one up in turn") {
+
+      val addresses = existing.take(5) + missing.take(2)
+
+      AccountResolver(storage).accounts(stateRoot, addresses).mapValues { (_, account) -> account.state() } shouldBe
+        serial(addresses)
+    }
+
+    test("duplicate addresses should be resolved once, in the order they were first given") {
+
+      fun nodeReads(addresses: List<Address>): Pair<Int, List<Address>> {
+        val counting = CountingWorldStateStorage(storage)
+        // without a node cache every lookup walks the trie from storage
+        val resolved = AccountResolver(counting, nodeCacheSize = 0L).accounts(stateRoot, addresses)
+        return counting.nodeReads.get() to resolved.keys.toList()
+      }
+
+      val (once, onceKeys) = nodeReads(existing.take(3))
+      val (repeated, repeatedKeys) = nodeReads(listOf(existing[0], existing[1], existing[0], existing[2], existing[1]))
+
+      repeated shouldBe once
+      repeatedKeys shouldBe onceKeys
+
+      val (chunked, chunkedKeys) = nodeReads(existing)
+      val (chunkedRepeated, chunkedRepeatedKeys) = nodeReads(existing + existing.reversed())
+
+      chunkedRepeated shouldBe chunked
+      chunkedRepeatedKeys shouldBe chunkedKeys
+    }
+
+    test("an unknown state root should be reported rather than resolving nothing") {
+
+      shouldThrow<IllegalArgumentException> {
+        AccountResolver(storage).accounts(Hash.wrap(Bytes32.leftPad(Bytes.of(1))), existing.take(1))
+      }
+
+      AccountResolver(storage).accounts(Hash.wrap(Bytes32.leftPad(Bytes.of(1))), emptyList()) shouldBe
+        emptyMap<Address, Account>()
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import io.exflo.ingestion.ExfloMetricCategory
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.Block
+import org.hyperledger.besu.ethereum.core.BlockBody
+import org.hyperledger.besu.ethereum.core.Hash
+import org.hyperledger.besu.plugin.services.MetricsSystem
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.LongSupplier
+
+class BlockCacheSpec : FunSpec() {
+
+  private fun hash(number: Long): Hash = Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(number + 1)))
+
+  private fun block(): Block = mockk { every { body } returns BlockBody(emptyList(), emptyList()) }
+
+  private fun metricsSystem(gauges: MutableMap<String, LongSupplier>): MetricsSystem = mockk {
+    every { createLongGauge(ExfloMetricCategory, any(), any(), any()) } answers { gauges[secondArg()] = arg(3) }
+  }
+
+  init {
+
+    test("hits, misses and evictions should be reported under the exflo metric category") {
+
+      val gauges = mutableMapOf<String, LongSupplier>()
+      val cache = BlockCache(1024 * 1024, metricsSystem(gauges))
+
+      gauges.keys shouldBe setOf(
+        "block_cache_hits", "block_cache_misses", "block_cache_evictions",
+        "receipts_cache_hits", "receipts_cache_misses", "receipts_cache_evictions"
+      )
+
+      cache.block(hash(0)) { block() }
+      cache.block(hash(0)) { null }
+      cache.block(hash(1)) { block() }
+
+      gauges.getValue("block_cache_hits").asLong shouldBe 1L
+      gauges.getValue("block_cache_misses").asLong shouldBe 2L
+      gauges.getValue("block_cache_evictions").asLong shouldBe 0L
+      gauges.getValue("receipts_cache_misses").asLong shouldBe 0L
+    }
+
+    test("blocks exceeding the max size should be counted as evictions") {
+
+      val gauges = mutableMapOf<String, LongSupplier>()
+      val cache = BlockCache(0, metricsSystem(gauges))
+
+      cache.block(hash(0)) { block() }
+      cache.block(hash(0)) { block() }
+
+      gauges.getValue("block_cache_hits").asLong shouldBe 0L
+      gauges.getValue("block_cache_misses").asLong shouldBe 2L
+      gauges.getValue("block_cache_evictions").asLong shouldBe 2L
+    }
+
+    test("concurrent reads of a missing block should share a single load") {
+
+      val cache = BlockCache(1024 * 1024, metricsSystem(mutableMapOf()))
+
+      val loads = AtomicInteger()
+      val started = CountDownLatch(1)
+      val release = CountDownLatch(1)
+
+      val executor = Executors.newFixedThreadPool(4)
+
+      val results = (0 until 4).map {
+        executor.submit<Block?> {
+          cache.block(hash(0)) {
+            loads.incrementAndGet()
+            started.countDown()
+            release.await()
+            block()
+          }
+        }
+      }
+
+      started.await(5, TimeUnit.SECONDS) shouldBe true
+      release.countDown()
+
+      val blocks = results.map { it.get(5, TimeUnit.SECONDS) }
+      executor.shutdown()
+
+      loads.get() shouldBe 1
+      blocks.distinct().size shouldBe 1
+    }
+
+    test("a loader returning null should not be cached and a failing loader should rethrow its cause") {
+
+      val cache = BlockCache(1024 * 1024, metricsSystem(mutableMapOf()))
+
+      cache.block(hash(0)) { null } shouldBe null
+
+      val block = block()
+      cache.block(hash(0)) { block } shouldBe block
+
+      shouldThrow<IllegalStateException> {
+        cache.receipts(hash(1)) { throw IllegalStateException("storage failure") }
+      }
+    }
+  }
+}
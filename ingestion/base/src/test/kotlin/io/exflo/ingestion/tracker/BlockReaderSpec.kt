@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.exflo.ingestion.KoinTestIngestionModules
+import io.exflo.testutil.TestChainLoader
+import io.exflo.testutil.TestChainSummary
+import io.kotlintest.Spec
+import io.kotlintest.TestCase
+import io.kotlintest.TestResult
+import io.kotlintest.extensions.TopLevelTest
+import io.kotlintest.matchers.collections.shouldBeEmpty
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.hyperledger.besu.ethereum.chain.Blockchain
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive
+import org.koin.core.context.startKoin
+import org.koin.core.context.stopKoin
+import org.koin.test.KoinTest
+import org.koin.test.inject
+
+class BlockReaderSpec : FunSpec(), KoinTest {
+
+  private val testChainLoader: TestChainLoader by inject()
+  private val testChainSummary: TestChainSummary by inject()
+  private val blockchain: Blockchain by inject()
+  private val blockReader: BlockReader by inject()
+  private val objectMapper: ObjectMapper by inject()
+  private val accountResolver: AccountResolver by inject()
+  private val worldStateArchive: WorldStateArchive by inject()
+
+  override fun beforeSpecClass(spec: Spec, tests: List<TopLevelTest>) {
+    startKoin {
+      modules(KoinTestIngestionModules())
+    }
+
+    // import test blocks
+    testChainLoader.load()
+  }
+
+  override fun afterSpecClass(spec: Spec, results: Map<TestCase, TestResult>) {
+    stopKoin()
+  }
+
+  init {
+
+    context("Range reads") {
+
+      test("headers(range) should return the canonical headers in order") {
+
+        val headers = blockReader.headers(LongRange(0L, 10L))
+
+        headers.map { it.number } shouldBe LongRange(0L, 10L).toList()
+        headers.map { it.hash } shouldBe LongRange(0L, 10L).map { blockchain.getBlockHashByNumber(it).get() }
+      }
+
+      test("headers(range) should stop at the current head") {
+
+        val head = testChainSummary.head
+        val headers = blockReader.headers(LongRange(head - 1, head + 10))
+
+        headers.map { it.number } shouldBe listOf(head - 1, head)
+      }
+
+      test("headers(range) should return nothing for an empty range") {
+        blockReader.headers(LongRange.EMPTY).shouldBeEmpty()
+      }
+
+      test("blocks(range) should match the blocks read by hash") {
+
+        val blocks = blockReader.blocks(LongRange(1L, 5L))
+
+        blocks.map { it.hash } shouldBe LongRange(1L, 5L).map { blockchain.getBlockHashByNumber(it).get() }
+        blocks.forEach { block -> blockReader.block(block.hash) shouldBe block }
+      }
+
+      test("fullBlocks(range) should include receipts for every block") {
+
+        val fullBlocks = blockReader.fullBlocks(LongRange(1L, 5L), withTrace = false)
+
+        fullBlocks.size shouldBe 5
+
+        fullBlocks.forEach { fullBlock ->
+          val hash = fullBlock.header!!.hash
+          fullBlock.receipts shouldBe blockReader.receipts(hash)
+          fullBlock.totalDifficulty shouldBe blockReader.totalDifficulty(hash)
+        }
+      }
+    }
+
+    context("Block cache") {
+
+      test("repeated block reads should return the cached decoded block") {
+
+        val hash = blockchain.getBlockHashByNumber(5L).get()
+
+        val first = blockReader.block(hash)
+        val second = blockReader.block(hash)
+
+        (first === second) shouldBe true
+        blockReader.body(hash) shouldBe first!!.body
+      }
+
+      test("repeated receipt reads should return the cached receipts") {
+
+        val hash = blockchain.getBlockHashByNumber(5L).get()
+
+        (blockReader.receipts(hash) === blockReader.receipts(hash)) shouldBe true
+      }
+    }
+
+    context("Header cursor") {
+
+      test("headerCursor(hash) should walk back from the head to genesis") {
+
+        val head = testChainSummary.head
+        val headHash = blockchain.getBlockHashByNumber(head).get()
+
+        val numbers = blockReader.headerCursor(headHash).asSequence().map { it.number }.toList()
+
+        numbers shouldBe LongRange(0L, head).reversed().toList()
+      }
+
+      test("headerCursor(number) should start from the canonical block with that number") {
+
+        val numbers = blockReader.headerCursor(10L).asSequence().map { it.number }.toList()
+
+        numbers shouldBe LongRange(0L, 10L).reversed().toList()
+      }
+
+      test("headerCursor(number) should be empty when the number is beyond the head") {
+        blockReader.headerCursor(testChainSummary.head + 1).hasNext() shouldBe false
+      }
+
+      test("headersFrom() should return at most count headers linked by parent hash") {
+
+        val headHash = blockchain.getBlockHashByNumber(20L).get()
+        val headers = blockReader.headersFrom(headHash, 8)
+
+        headers.map { it.number } shouldBe LongRange(13L, 20L).reversed().toList()
+        headers.zipWithNext().forEach { (child, parent) -> child.parentHash shouldBe parent.hash }
+      }
+    }
+
+    context("Json trace") {
+
+      test("flat traces should be streamed as a json array of flat trace objects") {
+
+        LongRange(1L, testChainSummary.head).forEach { number ->
+
+          val hash = blockchain.getBlockHashByNumber(number).get()
+          val trace = blockReader.trace(hash)!!
+
+          val json = objectMapper.readTree(trace.jsonTrace!!.toArrayUnsafe())
+
+          json.isArray shouldBe true
+          json.forEach { flatTrace -> flatTrace.has("type") shouldBe true }
+        }
+      }
+    }
+
+    context("Account resolver") {
+
+      test("batched lookups should match direct world state lookups") {
+
+        val head = blockchain.getBlockHeader(blockchain.getBlockHashByNumber(testChainSummary.head).get()).get()
+
+        val touched = LongRange(1L, testChainSummary.head)
+          .flatMap { number -> blockReader.trace(blockchain.getBlockHashByNumber(number).get())!!.transactionTraces }
+          .flatMap { it.touchedAccounts }
+
+        // include duplicates and unknown addresses, enough to be resolved in parallel chunks
+        val unknown = LongRange(1L, 64L).map { Address.fromHexString(String.format("0x%040x", it)) }
+        val addresses = touched + touched + unknown
+
+        val worldState = worldStateArchive.get(head.stateRoot).get()
+        val expected = addresses.distinct().mapNotNull { address -> worldState[address]?.let { address to it } }
+
+        val resolved = accountResolver.accounts(head.stateRoot, addresses)
+
+        resolved.keys.toList() shouldBe expected.map { it.first }
+        resolved.values.map { it.balance } shouldBe expected.map { it.second.balance }
+        resolved.values.map { it.nonce } shouldBe expected.map { it.second.nonce }
+      }
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.tracker
+
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import org.hyperledger.besu.ethereum.core.Hash
+
+class CanonicalHashRingSpec : FunSpec() {
+
+  /**
+   * Headers of several competing chains, each branching off from another at a given number.
+   */
+  private class Chains {
+
+    private val headers = HashMap<Hash, BlockHeader>()
+
+    // headers resolved whilst walking back, to check how far an update had to go
+    val lookups = mutableListOf<Long>()
+
+    fun hash(number: Long, fork: Int = 0): Hash =
+      Hash.wrap(Bytes32.leftPad(Bytes.concatenate(Bytes.of(fork + 1), Bytes.ofUnsignedLong(number))))
+
+    /**
+     * Adds the blocks of [fork] for [numbers], the first of which has the block of [parentFork] before it as parent.
+     */
+    fun add(numbers: LongRange, fork: Int = 0, parentFork: Int = fork) {
+      for (number in numbers) {
+        val blockHash = hash(number, fork)
+        val parentHash = hash(number - 1, if (number == numbers.first) parentFork else fork)
+        headers[blockHash] = mockk {
+          every { this@mockk.number } returns number
+          every { hash } returns blockHash
+          every { this@mockk.parentHash } returns parentHash
+        }
+      }
+    }
+
+    fun header(number: Long, fork: Int = 0): BlockHeader = headers.getValue(hash(number, fork))
+
+    fun headerByHash(hash: Hash): BlockHeader? = headers[hash]?.also { lookups.add(it.number) }
+  }
+
+  private fun CanonicalHashRing.update(chains: Chains, number: Long, fork: Int = 0): Long? =
+    update(chains.header(number, fork), chains::headerByHash)
+
+  init {
+
+    test("a head extending the chain should be recorded without reporting a reorg") {
+
+      val chains = Chains().apply { add(0L..9L) }
+      val ring = CanonicalHashRing(16)
+
+      for (number in 0L..9L) ring.update(chains, number) shouldBe null
+
+      (0L..9L).map { ring[it] } shouldBe (0L..9L).map { chains.hash(it) }
+      ring[10L] shouldBe null
+      ring[-1L] shouldBe null
+    }
+
+    test("an update should only walk back until a known block is reached") {
+
+      val chains = Chains().apply { add(0L..20L) }
+      val ring = CanonicalHashRing(32)
+
+      ring.update(chains, 10L) shouldBe null
+      chains.lookups shouldBe (9L downTo 0L).toList()
+
+      chains.lookups.clear()
+
+      ring.update(chains, 13L) shouldBe null
+      chains.lookups shouldBe listOf(12L, 11L, 10L)
+    }
+
+    test("a competing head should report the lowest number whose hash was replaced") {
+
+      val chains = Chains().apply {
+        add(0L..9L)
+        // fork 1 branches off after block 6
+        add(7L..10L, fork = 1, parentFork = 0)
+      }
+      val ring = CanonicalHashRing(16)
+
+      ring.update(chains, 9L) shouldBe null
+      ring.update(chains, 10L, fork = 1) shouldBe 7L
+
+      (0L..6L).map { ring[it] } shouldBe (0L..6L).map { chains.hash(it) }
+      (7L..10L).map { ring[it] } shouldBe (7L..10L).map { chains.hash(it, fork = 1) }
+    }
+
+    test("a head at the same number with a different hash should be reported as a reorg") {
+
+      val chains = Chains().apply {
+        add(0L..9L)
+        add(9L..9L, fork = 1, parentFork = 0)
+      }
+      val ring = CanonicalHashRing(16)
+
+      ring.update(chains, 9L) shouldBe null
+      ring.update(chains, 9L, fork = 1) shouldBe 9L
+      ring[9L] shouldBe chains.hash(9L, fork = 1)
+    }
+
+    test("a head which moved back should forget the blocks above it") {
+
+      val chains = Chains().apply { add(0L..9L) }
+      val ring = CanonicalHashRing(16)
+
+      ring.update(chains, 9L)
+      ring.update(chains, 5L) shouldBe 6L
+
+      (6L..9L).map { ring[it] } shouldBe listOf<Hash?>(null, null, null, null)
+      ring[5L] shouldBe chains.hash(5L)
+
+      // extended again by the same blocks
+      ring.update(chains, 9L) shouldBe null
+      ring[9L] shouldBe chains.hash(9L)
+    }
+
+    test("a gap in the known headers should stop the walk without reporting a reorg") {
+
+      val chains = Chains().apply {
+        add(0L..5L)
+        // the parent of block 9 is not known
+        add(9L..12L)
+      }
+      val ring = CanonicalHashRing(16)
+
+      ring.update(chains, 5L) shouldBe null
+      ring.update(chains, 12L) shouldBe null
+
+      (6L..8L).map { ring[it] } shouldBe listOf<Hash?>(null, null, null)
+      (9L..12L).map { ring[it] } shouldBe (9L..12L).map { chains.hash(it) }
+      ring[5L] shouldBe chains.hash(5L)
+    }
+
+    test("numbers should wrap around, keeping only the most recent capacity blocks") {
+
+      val chains = Chains().apply {
+        add(0L..20L)
+        add(18L..20L, fork = 1, parentFork = 0)
+      }
+      val ring = CanonicalHashRing(4)
+
+      for (number in 0L..20L) ring.update(chains, number)
+
+      (0L..16L).map { ring[it] }.all { it == null } shouldBe true
+      (17L..20L).map { ring[it] } shouldBe (17L..20L).map { chains.hash(it) }
+
+      ring.update(chains, 20L, fork = 1) shouldBe 18L
+      ring[17L] shouldBe chains.hash(17L)
+      (18L..20L).map { ring[it] } shouldBe (18L..20L).map { chains.hash(it, fork = 1) }
+    }
+
+    test("a head further ahead than the capacity should only walk back the capacity") {
+
+      val chains = Chains().apply { add(0L..40L) }
+      val ring = CanonicalHashRing(8)
+
+      ring.update(chains, 5L)
+      chains.lookups.clear()
+
+      ring.update(chains, 40L) shouldBe null
+      chains.lookups.size shouldBe 8
+
+      ring[5L] shouldBe null
+      (33L..40L).map { ring[it] } shouldBe (33L..40L).map { chains.hash(it) }
+    }
+  }
+}
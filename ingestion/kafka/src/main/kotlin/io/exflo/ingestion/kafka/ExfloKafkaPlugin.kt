@@ -23,6 +23,7 @@ import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.BODY
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.HEADER
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.RECEIPTS
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.TRACES
+import io.exflo.ingestion.ExfloCliOptions.TraceMode
 import io.exflo.ingestion.ExfloPlugin
 import io.exflo.ingestion.tracker.BlockWriter
 import org.apache.kafka.clients.admin.AdminClient
@@ -103,6 +104,22 @@ class ExfloKafkaCliOptions : ExfloCliOptions {
   )
   override var maxForkSize: Int = ExfloCliDefaultOptions.MAX_FORK_SIZE
 
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-block-cache-size"],
+    paramLabel = "<LONG>",
+    defaultValue = "${ExfloCliDefaultOptions.BLOCK_CACHE_SIZE_MB}",
+    description = ["Max size in megabytes of the cache holding decoded blocks and receipts. Set to 0 to disable"]
+  )
+  override var blockCacheSize: Long = ExfloCliDefaultOptions.BLOCK_CACHE_SIZE_MB
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-trace-mode"],
+    paramLabel = "<MODE>",
+    defaultValue = "FLAT",
+    description = ["Tracer used when processing traces. FLAT also produces the full json trace, LIGHT only records calls, creates and self destructs"]
+  )
+  override var traceMode: TraceMode = TraceMode.FLAT
+
   @CommandLine.Option(
     names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-processing-entities"],
     paramLabel = "<ENTITY>",
@@ -182,4 +199,36 @@ class ExfloKafkaCliOptions : ExfloCliOptions {
     description = ["Number of blocks to check during the initial safe sync check"]
   )
   var initialSafeSyncBlockAmount: Int = 256
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-max-in-flight-blocks"],
+    defaultValue = "256",
+    paramLabel = "<INTEGER>",
+    description = ["Max no. of published blocks awaiting acknowledgement before reading further blocks is paused"]
+  )
+  var maxInFlightBlocks: Int = 256
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-assembly-workers"],
+    defaultValue = "16",
+    paramLabel = "<INTEGER>",
+    description = ["No. of blocks read and encoded concurrently before being published in order"]
+  )
+  var assemblyWorkers: Int = 16
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-transactions-enabled"],
+    paramLabel = "<BOOLEAN>",
+    defaultValue = "false",
+    description = ["Publish blocks and import progress atomically within Kafka transactions"]
+  )
+  var transactionsEnabled: Boolean = false
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_KAFKA_PLUGIN_ID}-transaction-blocks"],
+    defaultValue = "1024",
+    paramLabel = "<INTEGER>",
+    description = ["Max no. of blocks published within a single transaction when transactions are enabled"]
+  )
+  var transactionBlocks: Int = 1024
 }
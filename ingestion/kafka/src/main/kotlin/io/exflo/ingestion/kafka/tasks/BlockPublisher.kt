@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.kafka.tasks
+
+/**
+ * Publishes block updates into the blocks topic and records the import progress once they have been written.
+ */
+interface BlockPublisher : AutoCloseable {
+
+  fun publish(updates: List<HeaderUpdate>)
+
+  /**
+   * Blocks until everything published so far has been written and its progress recorded.
+   */
+  fun flush()
+}
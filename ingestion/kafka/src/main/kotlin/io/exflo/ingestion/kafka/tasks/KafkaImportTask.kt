@@ -30,11 +30,12 @@ import io.kcache.KafkaCache
 import io.kcache.KafkaCacheConfig
 import io.reactivex.rxjava3.core.Emitter
 import io.reactivex.rxjava3.core.Flowable
+import io.reactivex.rxjava3.core.FlowableTransformer
 import io.reactivex.rxjava3.functions.BiFunction
 import io.reactivex.rxjava3.functions.Supplier
+import io.reactivex.rxjava3.schedulers.Schedulers
 import org.apache.kafka.clients.producer.KafkaProducer
 import org.apache.kafka.clients.producer.ProducerConfig
-import org.apache.kafka.clients.producer.ProducerRecord
 import org.apache.kafka.common.serialization.ByteBufferSerializer
 import org.apache.kafka.common.serialization.LongSerializer
 import org.apache.kafka.common.serialization.Serdes
@@ -46,7 +47,7 @@ import org.koin.core.inject
 import java.nio.ByteBuffer
 import java.time.Duration
 import java.util.Properties
-import java.util.concurrent.TimeUnit
+import kotlin.math.min
 import kotlin.system.measureTimeMillis
 
 enum class HeaderType {
@@ -59,6 +60,19 @@ data class HeaderUpdate(
   val byteBuffer: ByteBuffer? = null
 )
 
+/**
+ * Applies [read] to each update on up to [workers] io threads at once, emitting the results in the order of the
+ * updates regardless of which read completes first.
+ */
+internal fun assembleInOrder(workers: Int, read: (HeaderUpdate) -> HeaderUpdate) =
+  FlowableTransformer<HeaderUpdate, HeaderUpdate> { updates ->
+    updates.concatMapEager(
+      { update -> Flowable.fromCallable { read(update) }.subscribeOn(Schedulers.io()) },
+      workers,
+      1
+    )
+  }
+
 class BlockImportTask : ImportTask, KoinComponent {
 
   private val log = LogManager.getLogger()
@@ -76,14 +90,24 @@ class BlockImportTask : ImportTask, KoinComponent {
       put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, LongSerializer::class.java)
       put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteBufferSerializer::class.java)
       put(ProducerConfig.ACKS_CONFIG, "all")
-      put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1024)
+      // blocks are no longer acknowledged one batch at a time, idempotence keeps retries from reordering them
+      put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+      put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5)
       put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, 1024 * 1024 * 20)
+
+      if (cliOptions.transactionsEnabled) {
+        put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "${cliOptions.clientId}-blocks")
+        // initial sync transactions cover many batches of traced blocks
+        put(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG, 5 * 60 * 1000)
+      }
     }
 
   private val producer = KafkaProducer<Long, ByteBuffer?>(kafkaProps)
 
   private val blocksTopic: String = cliOptions.blocksTopic
 
+  private val publisher: BlockPublisher
+
   @Volatile
   private var running = true
 
@@ -105,6 +129,8 @@ class BlockImportTask : ImportTask, KoinComponent {
         props["kafkacache.bootstrap.servers"] = cliOptions.bootstrapServers
         props["kafkacache.topic.replication.factor"] = cliOptions.replicationFactor
         props["kafkacache.topic"] = cliOptions.importCacheTopic
+        // progress is written transactionally with the blocks when transactions are enabled
+        props["kafkacache.isolation.level"] = "read_committed"
 
         // TODO get rocksdb local cache working, currently there seems to be a version conflict
 
@@ -113,6 +139,22 @@ class BlockImportTask : ImportTask, KoinComponent {
 
     log.info("Syncing import cache")
     importCache.sync()
+
+    publisher = when (cliOptions.transactionsEnabled) {
+
+      // progress is written by our own producer, the import cache catches up once it has been committed
+      true -> TransactionalBlockPublisher(
+        producer,
+        blocksTopic,
+        cliOptions.importCacheTopic,
+        cliOptions.transactionBlocks
+      ) { importCache.sync() }
+
+      false -> PipelinedBlockPublisher(producer, blocksTopic, cliOptions.maxInFlightBlocks) { headers ->
+        headers.forEach { importCache[it.number] = it.hash.toHexString() }
+        importCache.flush()
+      }
+    }
   }
 
   override fun run() {
@@ -127,24 +169,30 @@ class BlockImportTask : ImportTask, KoinComponent {
         .let { LongRange(0L, it) }
 
       initialSyncHeaderSource(initialSafeSyncRange)
-        .map(this::readBlock)
+        .flatMapIterable { it }
+        .compose(assembleBlocks)
         .buffer(batchSize)
         .doOnNext(this::publishRecords)
         .doOnComplete { log.debug("Initial sync import pass complete") }
         .takeUntil { !running }
         .blockingSubscribe()
 
+      publisher.flush()
+
       while (running) {
 
         liveSyncHeaderSource
           .flatMapIterable { it }
-          .map(this::readBlock)
+          .compose(assembleBlocks)
           .buffer(batchSize)
           .doOnNext(this::publishRecords)
           .doOnComplete { log.debug("Live sync import pass complete") }
           .takeUntil { !running }
           .blockingSubscribe()
 
+        // the next pass detects new blocks and forks from the import cache, which must include this one
+        publisher.flush()
+
         log.debug("Waiting $pollInterval before starting another import pass")
         Thread.sleep(pollInterval.toMillis())
       }
@@ -152,6 +200,8 @@ class BlockImportTask : ImportTask, KoinComponent {
       // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
       log.error("Critical failure", t)
       throw t // re-throw
+    } finally {
+      publisher.close()
     }
   }
 
@@ -159,6 +209,9 @@ class BlockImportTask : ImportTask, KoinComponent {
     running = false
   }
 
+  // blocks are read and encoded concurrently whilst being emitted in the order of their headers
+  private val assembleBlocks = assembleInOrder(cliOptions.assemblyWorkers, this::readBlock)
+
   private fun readBlock(update: HeaderUpdate): HeaderUpdate =
     update.header.hash
       .let { blockReader.fullBlock(it, withHeader, withBody, withReceipts, withTraces) }
@@ -174,46 +227,18 @@ class BlockImportTask : ImportTask, KoinComponent {
 
   private fun publishRecords(records: List<HeaderUpdate>) {
 
-    val elapsedMs = measureTimeMillis {
-      // fork records should be in one contiguous block at the beginning
-      val forkRecords = records.filter { (type) -> type == HeaderType.FORK }
-
-      // send tombstones for the forked records in reverse order first
-      val tombstoneProducerRecords =
-        forkRecords
-          .reversed()
-          .map { (_, header) -> ProducerRecord<Long, ByteBuffer?>(blocksTopic, header.number, null) }
-
-      val newProducerRecords =
-        records
-          .map { (_, header, bytes) -> ProducerRecord<Long, ByteBuffer?>(blocksTopic, header.number, bytes) }
-
-      // send to topic
-      val futures = (tombstoneProducerRecords + newProducerRecords)
-        .map { producer.send(it) }
-
-      // wait for acks
-      futures
-        .forEach { it.get(60, TimeUnit.SECONDS) }
-
-      // update cache
-      records
-        .forEach { (_, header, _) ->
-          importCache[header.number] = header.hash.toHexString()
-        }
-
-      importCache.flush()
-    }
+    // only waits when the in-flight window is full, progress is checkpointed as acks arrive
+    val elapsedMs = measureTimeMillis { publisher.publish(records) }
 
     val firstNumber = records.first().header.number
     val lastNumber = records.last().header.number
 
-    log.info("Written ${records.size} records in $elapsedMs ms. First = $firstNumber, last = $lastNumber")
+    log.info("Sent ${records.size} records in $elapsedMs ms. First = $firstNumber, last = $lastNumber")
   }
 
   private fun initialSyncHeaderSource(syncRange: LongRange) = Flowable.generate(
     Supplier { syncRange },
-    BiFunction { range: LongRange, emitter: Emitter<HeaderUpdate> ->
+    BiFunction { range: LongRange, emitter: Emitter<List<HeaderUpdate>> ->
 
       if (range.isEmpty()) {
 
@@ -221,17 +246,19 @@ class BlockImportTask : ImportTask, KoinComponent {
         range
       } else {
 
-        val number = range.first
+        // read a batch worth of headers at a time
+        val last = min(range.first + batchSize - 1, range.last)
 
-        blockReader.header(range.first)
-          ?.takeIf {
+        blockReader.headers(LongRange(range.first, last))
+          .filter {
             val cacheEntry = importCache[it.number]
             it.hash.toHexString() != cacheEntry
           }
-          ?.let { HeaderUpdate(HeaderType.NEW, it) }
+          .map { HeaderUpdate(HeaderType.NEW, it) }
+          .takeIf { it.isNotEmpty() }
           ?.apply { emitter.onNext(this) }
 
-        LongRange(number + 1L, range.last)
+        LongRange(last + 1L, range.last)
       }
     }
   )
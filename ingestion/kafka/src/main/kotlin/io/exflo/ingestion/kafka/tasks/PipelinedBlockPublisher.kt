@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.kafka.tasks
+
+import org.apache.kafka.clients.producer.Producer
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.logging.log4j.LogManager
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import java.nio.ByteBuffer
+import java.util.ArrayDeque
+import java.util.concurrent.Executors
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Publishes blocks without waiting for them to be acknowledged, allowing up to [maxInFlight] blocks to be outstanding
+ * at any time. As acks arrive the longest run of fully acknowledged blocks is handed to [checkpoint] in publishing
+ * order, from a dedicated thread so that the producer's I/O thread is never blocked.
+ */
+class PipelinedBlockPublisher(
+  private val producer: Producer<Long, ByteBuffer?>,
+  private val blocksTopic: String,
+  maxInFlight: Int,
+  private val checkpoint: (List<BlockHeader>) -> Unit
+) : BlockPublisher {
+
+  private val log = LogManager.getLogger()
+
+  private class Pending(val header: BlockHeader, sendCount: Int) {
+    val remaining = AtomicInteger(sendCount)
+  }
+
+  private val window = Semaphore(maxInFlight)
+
+  // guarded by itself, ordered by publishing order
+  private val pending = ArrayDeque<Pending>()
+
+  private val failure = AtomicReference<Throwable>()
+
+  private val checkpointScheduled = AtomicBoolean(false)
+
+  private val checkpointExecutor = Executors.newSingleThreadExecutor { Thread(it, "ExfloCheckpointThread") }
+
+  /**
+   * Sends [updates], blocking only while the in-flight window is full. Tombstones for forked blocks are sent first in
+   * reverse order, followed by every block in order. A fork only counts as acknowledged once both its tombstone and its
+   * replacement have been.
+   */
+  override fun publish(updates: List<HeaderUpdate>) {
+
+    rethrowFailure()
+
+    val entries = updates.map { update -> Pending(update.header, if (update.type == HeaderType.FORK) 2 else 1) }
+
+    synchronized(pending) { pending.addAll(entries) }
+
+    entries
+      .zip(updates)
+      .filter { (_, update) -> update.type == HeaderType.FORK }
+      .reversed()
+      .forEach { (entry, update) -> send(entry, update.header.number, null, false) }
+
+    entries
+      .zip(updates)
+      .forEach { (entry, update) ->
+        acquire()
+        send(entry, update.header.number, update.byteBuffer, true)
+      }
+  }
+
+  /**
+   * Waits for everything sent so far to be acknowledged and checkpointed, rethrowing the first send failure if any.
+   */
+  override fun flush() {
+    producer.flush()
+    checkpointExecutor.submit(this::checkpointAcknowledged).get()
+    rethrowFailure()
+    check(synchronized(pending) { pending.isEmpty() }) { "Blocks remain unacknowledged after flush" }
+  }
+
+  override fun close() {
+    checkpointExecutor.shutdown()
+    checkpointExecutor.awaitTermination(60, TimeUnit.SECONDS)
+  }
+
+  private fun send(entry: Pending, number: Long, bytes: ByteBuffer?, windowed: Boolean) {
+    producer.send(ProducerRecord<Long, ByteBuffer?>(blocksTopic, number, bytes)) { _, exception ->
+
+      if (windowed) window.release()
+
+      when (exception) {
+        null -> if (entry.remaining.decrementAndGet() == 0) scheduleCheckpoint()
+        else -> {
+          failure.compareAndSet(null, exception)
+          log.error("Failed to publish block number = $number", exception)
+        }
+      }
+    }
+  }
+
+  private fun acquire() {
+    // a failed send never completes its entry, so stop waiting for the window once one is reported
+    while (!window.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+      rethrowFailure()
+    }
+  }
+
+  private fun scheduleCheckpoint() {
+    if (checkpointScheduled.compareAndSet(false, true)) checkpointExecutor.execute(this::checkpointAcknowledged)
+  }
+
+  private fun checkpointAcknowledged() {
+
+    checkpointScheduled.set(false)
+
+    val acknowledged = synchronized(pending) {
+      generateSequence { pending.peekFirst()?.takeIf { it.remaining.get() == 0 }?.let { pending.pollFirst() } }
+        .map { it.header }
+        .toList()
+    }
+
+    if (acknowledged.isEmpty()) return
+
+    try {
+      checkpoint(acknowledged)
+    } catch (t: Throwable) {
+      failure.compareAndSet(null, t)
+      log.error("Failed to checkpoint blocks ${acknowledged.first().number} to ${acknowledged.last().number}", t)
+    }
+  }
+
+  private fun rethrowFailure() {
+    failure.get()?.let { throw IllegalStateException("Publishing failed", it) }
+  }
+}
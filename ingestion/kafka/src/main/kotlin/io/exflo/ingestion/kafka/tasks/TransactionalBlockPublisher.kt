@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.kafka.tasks
+
+import org.apache.kafka.clients.producer.Producer
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.logging.log4j.LogManager
+import java.nio.ByteBuffer
+
+/**
+ * Publishes blocks and their import progress within the same Kafka transaction, so that progress is only ever visible
+ * together with the blocks it covers. A transaction spans batches until [maxBlocksPerTransaction] blocks have been
+ * published or the publisher is flushed, after which [onCommitted] is invoked.
+ *
+ * Progress entries are written to [progressTopic] in the same format as the import cache, keyed by block number with
+ * the block hash as a hex string. Readers of either topic must use the read_committed isolation level.
+ */
+class TransactionalBlockPublisher(
+  private val producer: Producer<Long, ByteBuffer?>,
+  private val blocksTopic: String,
+  private val progressTopic: String,
+  private val maxBlocksPerTransaction: Int,
+  private val onCommitted: () -> Unit = {}
+) : BlockPublisher {
+
+  private val log = LogManager.getLogger()
+
+  private var uncommittedBlocks = 0
+
+  init {
+    // fences off any previous producer with the same transactional id, aborting its open transaction
+    producer.initTransactions()
+  }
+
+  override fun publish(updates: List<HeaderUpdate>) {
+
+    if (uncommittedBlocks == 0) producer.beginTransaction()
+
+    try {
+
+      // tombstones for forked blocks are sent first in reverse order
+      updates
+        .filter { it.type == HeaderType.FORK }
+        .reversed()
+        .forEach { producer.send(ProducerRecord<Long, ByteBuffer?>(blocksTopic, it.header.number, null)) }
+
+      updates
+        .forEach { producer.send(ProducerRecord(blocksTopic, it.header.number, it.byteBuffer)) }
+
+      updates
+        .forEach {
+          val hash = it.header.hash.toHexString().toByteArray(Charsets.UTF_8)
+          producer.send(ProducerRecord<Long, ByteBuffer?>(progressTopic, it.header.number, ByteBuffer.wrap(hash)))
+        }
+    } catch (t: Throwable) {
+      abort()
+      throw t
+    }
+
+    uncommittedBlocks += updates.size
+
+    if (uncommittedBlocks >= maxBlocksPerTransaction) commit()
+  }
+
+  override fun flush() {
+    if (uncommittedBlocks > 0) commit()
+  }
+
+  override fun close() {
+    if (uncommittedBlocks > 0) abort()
+  }
+
+  private fun commit() {
+
+    try {
+      // waits for every send of the transaction, failing if any of them did
+      producer.commitTransaction()
+    } catch (t: Throwable) {
+      abort()
+      throw t
+    }
+
+    log.debug("Committed transaction of $uncommittedBlocks blocks")
+
+    uncommittedBlocks = 0
+    onCommitted()
+  }
+
+  private fun abort() {
+    uncommittedBlocks = 0
+    try {
+      producer.abortTransaction()
+    } catch (t: Throwable) {
+      // fatal errors such as being fenced leave nothing to abort, the transaction times out on the broker instead
+      log.warn("Failed to abort transaction", t)
+    }
+  }
+}
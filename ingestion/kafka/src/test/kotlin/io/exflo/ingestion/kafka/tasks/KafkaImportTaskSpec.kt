@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.kafka.tasks
+
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import io.reactivex.rxjava3.core.Flowable
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import java.nio.ByteBuffer
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class KafkaImportTaskSpec : FunSpec() {
+
+  private fun update(blockNumber: Long): HeaderUpdate {
+    val header = mockk<BlockHeader> { every { number } returns blockNumber }
+    return HeaderUpdate(HeaderType.NEW, header)
+  }
+
+  private fun encoded(update: HeaderUpdate) =
+    update.copy(byteBuffer = ByteBuffer.wrap(byteArrayOf(update.header.number.toByte())))
+
+  private fun assemble(updates: List<HeaderUpdate>, workers: Int, read: (HeaderUpdate) -> HeaderUpdate) =
+    Flowable.fromIterable(updates)
+      .compose(assembleInOrder(workers, read))
+      .test()
+      .awaitDone(10, TimeUnit.SECONDS)
+
+  init {
+
+    test("blocks should be emitted in the order of their headers when later reads complete first") {
+
+      val updates = LongRange(0L, 9L).map { update(it) }
+
+      val subscriber = assemble(updates, 4) { update ->
+        Thread.sleep((10 - update.header.number) * 20)
+        encoded(update)
+      }
+
+      subscriber.assertComplete()
+      subscriber.values().map { it.header.number } shouldBe LongRange(0L, 9L).toList()
+      subscriber.values().map { it.byteBuffer!!.get(0).toLong() } shouldBe LongRange(0L, 9L).toList()
+    }
+
+    test("no more than the given number of workers should read at once") {
+
+      val reading = AtomicInteger()
+      val maxReading = AtomicInteger()
+
+      val subscriber = assemble(LongRange(0L, 15L).map { update(it) }, 4) { update ->
+        maxReading.accumulateAndGet(reading.incrementAndGet()) { a, b -> maxOf(a, b) }
+        Thread.sleep(50)
+        reading.decrementAndGet()
+        encoded(update)
+      }
+
+      subscriber.assertComplete()
+      subscriber.values().size shouldBe 16
+
+      // reads overlap without exceeding the workers
+      (maxReading.get() in 2..4) shouldBe true
+    }
+
+    test("a block which cannot be read should fail the stream without emitting anything after it") {
+
+      val subscriber = assemble(LongRange(0L, 9L).map { update(it) }, 4) { update ->
+        if (update.header.number == 5L) error("block could not be read")
+        encoded(update)
+      }
+
+      subscriber.assertError(IllegalStateException::class.java)
+
+      // only blocks before the failed one can have been emitted
+      val emitted = subscriber.values().map { it.header.number }
+      emitted shouldBe LongRange(0L, emitted.size - 1L).toList()
+      (emitted.size <= 5) shouldBe true
+    }
+  }
+}
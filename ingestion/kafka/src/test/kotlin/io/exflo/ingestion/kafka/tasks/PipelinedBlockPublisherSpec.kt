@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.kafka.tasks
+
+import io.kotlintest.eventually
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import org.apache.kafka.clients.producer.MockProducer
+import org.apache.kafka.common.serialization.ByteBufferSerializer
+import org.apache.kafka.common.serialization.LongSerializer
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import org.hyperledger.besu.ethereum.core.Hash
+import java.nio.ByteBuffer
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicReference
+import kotlin.concurrent.thread
+
+class PipelinedBlockPublisherSpec : FunSpec() {
+
+  private val blocksTopic = "blocks"
+
+  private val timeout = Duration.ofSeconds(5)
+
+  private fun hash(number: Long, fork: Boolean = false): Hash =
+    Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(if (fork) number + 1000 else number + 1)))
+
+  private fun update(blockNumber: Long, type: HeaderType = HeaderType.NEW): HeaderUpdate {
+    val blockHash = hash(blockNumber, type == HeaderType.FORK)
+    val header = mockk<BlockHeader> {
+      every { number } returns blockNumber
+      every { hash } returns blockHash
+    }
+    return HeaderUpdate(type, header, ByteBuffer.wrap(byteArrayOf(blockNumber.toByte())))
+  }
+
+  // sends are only acknowledged when completed by the test, in the order they were sent
+  private fun producer() = MockProducer<Long, ByteBuffer?>(false, LongSerializer(), ByteBufferSerializer())
+
+  /**
+   * Records the block numbers of each checkpoint.
+   */
+  private class Checkpoints : (List<BlockHeader>) -> Unit {
+
+    val runs = CopyOnWriteArrayList<List<Long>>()
+
+    override fun invoke(headers: List<BlockHeader>) {
+      runs.add(headers.map { it.number })
+    }
+  }
+
+  /**
+   * Publishes [updates] on another thread, returning the thread and anything it throws.
+   */
+  private fun publishAsync(publisher: BlockPublisher, updates: List<HeaderUpdate>): Pair<Thread, AtomicReference<Throwable>> {
+    val thrown = AtomicReference<Throwable>()
+    val publishing = thread {
+      try {
+        publisher.publish(updates)
+      } catch (t: Throwable) {
+        thrown.set(t)
+      }
+    }
+    return publishing to thrown
+  }
+
+  init {
+
+    test("no more than the max in flight blocks should be outstanding") {
+
+      val producer = producer()
+      val checkpoints = Checkpoints()
+      val publisher = PipelinedBlockPublisher(producer, blocksTopic, 2, checkpoints)
+
+      val (publishing, thrown) = publishAsync(publisher, LongRange(0L, 4L).map { update(it) })
+
+      eventually(timeout) { producer.history().size shouldBe 2 }
+
+      // the window stays full until a send is acknowledged
+      Thread.sleep(200)
+      producer.history().size shouldBe 2
+
+      producer.completeNext() shouldBe true
+      eventually(timeout) { producer.history().size shouldBe 3 }
+
+      repeat(4) {
+        eventually(timeout) { producer.completeNext() shouldBe true }
+      }
+
+      publishing.join(timeout.toMillis())
+      publishing.isAlive shouldBe false
+      thrown.get() shouldBe null
+
+      publisher.flush()
+
+      producer.history().map { it.key() } shouldBe listOf(0L, 1L, 2L, 3L, 4L)
+      checkpoints.runs.flatten() shouldBe listOf(0L, 1L, 2L, 3L, 4L)
+
+      publisher.close()
+    }
+
+    test("a failed send should be rethrown whilst waiting for the window") {
+
+      val producer = producer()
+      val publisher = PipelinedBlockPublisher(producer, blocksTopic, 1, Checkpoints())
+
+      val (publishing, thrown) = publishAsync(publisher, LongRange(0L, 2L).map { update(it) })
+
+      eventually(timeout) { producer.history().size shouldBe 1 }
+
+      // releases the window, letting block 1 through before block 2 waits on it
+      val failure = RuntimeException("send failed")
+      producer.errorNext(failure) shouldBe true
+
+      publishing.join(timeout.toMillis())
+      publishing.isAlive shouldBe false
+
+      (thrown.get() is IllegalStateException) shouldBe true
+      thrown.get().cause shouldBe failure
+      producer.history().map { it.key() } shouldBe listOf(0L, 1L)
+
+      // further publishing fails straight away
+      shouldThrow<IllegalStateException> { publisher.publish(listOf(update(3L))) }
+
+      publisher.close()
+    }
+
+    test("acknowledged blocks should be checkpointed in publishing order as runs") {
+
+      val producer = producer()
+
+      val entered = CountDownLatch(1)
+      val proceed = CountDownLatch(1)
+      val runs = CopyOnWriteArrayList<List<Long>>()
+
+      val publisher = PipelinedBlockPublisher(producer, blocksTopic, 16) { headers ->
+        runs.add(headers.map { it.number })
+        entered.countDown()
+        proceed.await()
+      }
+
+      publisher.publish(LongRange(0L, 3L).map { update(it) })
+      runs.size shouldBe 0
+
+      // holds up the checkpoint thread with block 0 whilst the remaining acks arrive
+      producer.completeNext()
+      entered.await()
+
+      repeat(3) { producer.completeNext() }
+      proceed.countDown()
+
+      publisher.flush()
+
+      runs shouldBe listOf(listOf(0L), listOf(1L, 2L, 3L))
+
+      publisher.close()
+    }
+
+    test("a fork should only be checkpointed once both its tombstone and replacement have been acknowledged") {
+
+      val producer = producer()
+      val checkpoints = Checkpoints()
+      val publisher = PipelinedBlockPublisher(producer, blocksTopic, 16, checkpoints)
+
+      publisher.publish(listOf(update(5L, HeaderType.FORK), update(6L, HeaderType.FORK), update(7L)))
+
+      producer.history().map { it.key() to (it.value() == null) } shouldBe listOf(
+        6L to true,
+        5L to true,
+        5L to false,
+        6L to false,
+        7L to false
+      )
+
+      // both tombstones
+      repeat(2) { producer.completeNext() }
+      Thread.sleep(200)
+      checkpoints.runs.flatten() shouldBe emptyList<Long>()
+
+      producer.completeNext()
+      eventually(timeout) { checkpoints.runs.flatten() shouldBe listOf(5L) }
+
+      repeat(2) { producer.completeNext() }
+      eventually(timeout) { checkpoints.runs.flatten() shouldBe listOf(5L, 6L, 7L) }
+
+      publisher.close()
+    }
+
+    test("a failed send in the middle of the window should hold back the blocks after it") {
+
+      val producer = producer()
+      val checkpoints = Checkpoints()
+      val publisher = PipelinedBlockPublisher(producer, blocksTopic, 16, checkpoints)
+
+      publisher.publish(LongRange(0L, 3L).map { update(it) })
+
+      producer.completeNext()
+      producer.errorNext(RuntimeException("send failed"))
+      producer.completeNext()
+      producer.completeNext()
+
+      val thrown = shouldThrow<IllegalStateException> { publisher.flush() }
+      thrown.cause?.message shouldBe "send failed"
+
+      // blocks 2 and 3 were acknowledged but cannot be checkpointed past the failed block 1
+      checkpoints.runs.flatten() shouldBe listOf(0L)
+
+      publisher.close()
+    }
+  }
+}
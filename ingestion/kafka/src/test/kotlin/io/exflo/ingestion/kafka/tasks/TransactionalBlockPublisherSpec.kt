@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.kafka.tasks
+
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import org.apache.kafka.clients.producer.MockProducer
+import org.apache.kafka.common.KafkaException
+import org.apache.kafka.common.serialization.ByteBufferSerializer
+import org.apache.kafka.common.serialization.LongSerializer
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import org.hyperledger.besu.ethereum.core.Hash
+import java.nio.ByteBuffer
+
+class TransactionalBlockPublisherSpec : FunSpec() {
+
+  private val blocksTopic = "blocks"
+
+  private val progressTopic = "progress"
+
+  private fun hash(number: Long, fork: Boolean = false): Hash =
+    Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(if (fork) number + 1000 else number + 1)))
+
+  private fun update(blockNumber: Long, type: HeaderType = HeaderType.NEW): HeaderUpdate {
+    val blockHash = hash(blockNumber, type == HeaderType.FORK)
+    val header = mockk<BlockHeader> {
+      every { number } returns blockNumber
+      every { hash } returns blockHash
+    }
+    return HeaderUpdate(type, header, ByteBuffer.wrap(byteArrayOf(blockNumber.toByte())))
+  }
+
+  private fun producer() = MockProducer<Long, ByteBuffer?>(true, LongSerializer(), ByteBufferSerializer())
+
+  private fun MockProducer<Long, ByteBuffer?>.sent(topic: String) = history().filter { it.topic() == topic }
+
+  init {
+
+    test("blocks and progress should only be visible once the transaction commits") {
+
+      val producer = producer()
+      val publisher = TransactionalBlockPublisher(producer, blocksTopic, progressTopic, 16)
+
+      publisher.publish(LongRange(0L, 3L).map { update(it) })
+
+      producer.history().size shouldBe 0
+
+      publisher.flush()
+
+      producer.transactionCommitted() shouldBe true
+      producer.sent(blocksTopic).map { it.key() } shouldBe listOf(0L, 1L, 2L, 3L)
+      producer.sent(progressTopic).map { it.key() } shouldBe listOf(0L, 1L, 2L, 3L)
+      producer.sent(progressTopic).map { String(it.value()!!.array(), Charsets.UTF_8) } shouldBe
+        LongRange(0L, 3L).map { hash(it).toHexString() }
+    }
+
+    test("a transaction should span batches until it covers the max number of blocks") {
+
+      val producer = producer()
+      var commits = 0
+      val publisher = TransactionalBlockPublisher(producer, blocksTopic, progressTopic, 4) { commits += 1 }
+
+      publisher.publish(listOf(update(0L), update(1L)))
+      commits shouldBe 0
+
+      publisher.publish(listOf(update(2L), update(3L)))
+      commits shouldBe 1
+      producer.sent(blocksTopic).size shouldBe 4
+
+      publisher.publish(listOf(update(4L)))
+      commits shouldBe 1
+      producer.sent(blocksTopic).size shouldBe 4
+
+      publisher.flush()
+      commits shouldBe 2
+      producer.sent(blocksTopic).size shouldBe 5
+
+      // flushing without anything published should not commit an empty transaction
+      publisher.flush()
+      commits shouldBe 2
+    }
+
+    test("tombstones for forked blocks should precede their replacements in reverse order") {
+
+      val producer = producer()
+      val publisher = TransactionalBlockPublisher(producer, blocksTopic, progressTopic, 16)
+
+      publisher.publish(listOf(update(5L, HeaderType.FORK), update(6L, HeaderType.FORK), update(7L)))
+      publisher.flush()
+
+      producer.sent(blocksTopic).map { it.key() to (it.value() == null) } shouldBe listOf(
+        6L to true,
+        5L to true,
+        5L to false,
+        6L to false,
+        7L to false
+      )
+      producer.sent(progressTopic).map { String(it.value()!!.array(), Charsets.UTF_8) } shouldBe
+        listOf(hash(5L, true), hash(6L, true), hash(7L)).map { it.toHexString() }
+    }
+
+    test("nothing should be visible when the transaction fails to commit") {
+
+      val producer = producer()
+      val publisher = TransactionalBlockPublisher(producer, blocksTopic, progressTopic, 16)
+
+      publisher.publish(LongRange(0L, 3L).map { update(it) })
+
+      producer.fenceProducer()
+
+      shouldThrow<KafkaException> { publisher.flush() }
+
+      producer.transactionCommitted() shouldBe false
+      producer.history().size shouldBe 0
+    }
+
+    test("closing should abort an open transaction") {
+
+      val producer = producer()
+      val publisher = TransactionalBlockPublisher(producer, blocksTopic, progressTopic, 16)
+
+      publisher.publish(LongRange(0L, 3L).map { update(it) })
+      publisher.close()
+
+      producer.transactionAborted() shouldBe true
+      producer.history().size shouldBe 0
+    }
+  }
+}
@@ -38,6 +38,7 @@ dependencies {
   runtimeOnly("org.apache.logging.log4j:log4j-core")
 
   testImplementation(project(":testutil"))
+  testImplementation("org.testcontainers:postgresql")
 }
 
 val postgresUrl =
@@ -70,6 +71,11 @@ jooqGenerator {
             org.jooq.meta.jaxb.Database()
               .withName("org.jooq.meta.postgres.PostgresDatabase")
               .withInputSchema("public")
+              // partitions are managed by create_block_number_partitions and accessed through their parent tables,
+              // deferred ddl and account refreshes are only used through plain sql and the canonical views are for readers
+              .withExcludes(
+                "create_block_number_partitions|.*_p[0-9]+|deferred_ddl|defer_secondary_indexes|deferred_ddl_statements|canonical_(?!chain$).*|refresh_account_latest"
+              )
           )
           .withGenerate(
             org.jooq.meta.jaxb.Generate()
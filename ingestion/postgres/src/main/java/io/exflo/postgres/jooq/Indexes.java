@@ -5,15 +5,22 @@ package io.exflo.postgres.jooq;
 
 
 import io.exflo.postgres.jooq.tables.Account;
+import io.exflo.postgres.jooq.tables.AccountLatest;
 import io.exflo.postgres.jooq.tables.BalanceDelta;
 import io.exflo.postgres.jooq.tables.BlockHeader;
+import io.exflo.postgres.jooq.tables.CanonicalChain;
+import io.exflo.postgres.jooq.tables.ChainTracker;
+import io.exflo.postgres.jooq.tables.ChainTrackerBlockHash;
 import io.exflo.postgres.jooq.tables.ContractCreated;
 import io.exflo.postgres.jooq.tables.ContractDestroyed;
 import io.exflo.postgres.jooq.tables.ContractEvent;
 import io.exflo.postgres.jooq.tables.FlywaySchemaHistory;
 import io.exflo.postgres.jooq.tables.ImportQueue;
+import io.exflo.postgres.jooq.tables.Log;
 import io.exflo.postgres.jooq.tables.Metadata;
 import io.exflo.postgres.jooq.tables.Ommer;
+import io.exflo.postgres.jooq.tables.TokenBalance;
+import io.exflo.postgres.jooq.tables.TokenBalanceBlock;
 import io.exflo.postgres.jooq.tables.Transaction;
 import io.exflo.postgres.jooq.tables.TransactionReceipt;
 
@@ -45,11 +52,16 @@ public class Indexes {
     public static final Index IDX_ACCOUNT__ADDRESS = Indexes0.IDX_ACCOUNT__ADDRESS;
     public static final Index IDX_ACCOUNT__BLOCK_HASH = Indexes0.IDX_ACCOUNT__BLOCK_HASH;
     public static final Index IDX_ACCOUNT__BLOCK_NUMBER = Indexes0.IDX_ACCOUNT__BLOCK_NUMBER;
+    public static final Index ACCOUNT_LATEST_PKEY = Indexes0.ACCOUNT_LATEST_PKEY;
+    public static final Index IDX_ACCOUNT_LATEST__BLOCK_HASH = Indexes0.IDX_ACCOUNT_LATEST__BLOCK_HASH;
     public static final Index BALANCE_DELTA_PKEY = Indexes0.BALANCE_DELTA_PKEY;
     public static final Index IDX_BALANCE_DELTA__BLOCK_NUMBER_DESC = Indexes0.IDX_BALANCE_DELTA__BLOCK_NUMBER_DESC;
     public static final Index IDX_BALANCE_DELTA__TRANSACTION_HASH = Indexes0.IDX_BALANCE_DELTA__TRANSACTION_HASH;
     public static final Index BLOCK_HEADER_PKEY = Indexes0.BLOCK_HEADER_PKEY;
     public static final Index IDX_BLOCK_HEADER__NUMBER_DESC = Indexes0.IDX_BLOCK_HEADER__NUMBER_DESC;
+    public static final Index CANONICAL_CHAIN_PKEY = Indexes0.CANONICAL_CHAIN_PKEY;
+    public static final Index CHAIN_TRACKER_PKEY = Indexes0.CHAIN_TRACKER_PKEY;
+    public static final Index CHAIN_TRACKER_BLOCK_HASH_PKEY = Indexes0.CHAIN_TRACKER_BLOCK_HASH_PKEY;
     public static final Index CONTRACT_CREATED_PKEY = Indexes0.CONTRACT_CREATED_PKEY;
     public static final Index IDX_CONTRACT_CREATED__ADDRESS = Indexes0.IDX_CONTRACT_CREATED__ADDRESS;
     public static final Index IDX_CONTRACT_CREATED__BLOCK_NUMBER_DESC = Indexes0.IDX_CONTRACT_CREATED__BLOCK_NUMBER_DESC;
@@ -66,6 +78,10 @@ public class Indexes {
     public static final Index IDX_IMPORT_QUEUE__HASH = Indexes0.IDX_IMPORT_QUEUE__HASH;
     public static final Index IMPORT_QUEUE_HASH_KEY = Indexes0.IMPORT_QUEUE_HASH_KEY;
     public static final Index IMPORT_QUEUE_PKEY = Indexes0.IMPORT_QUEUE_PKEY;
+    public static final Index IDX_LOG__ADDRESS = Indexes0.IDX_LOG__ADDRESS;
+    public static final Index IDX_LOG__TOPIC0 = Indexes0.IDX_LOG__TOPIC0;
+    public static final Index IDX_LOG__TRANSACTION_HASH = Indexes0.IDX_LOG__TRANSACTION_HASH;
+    public static final Index LOG_PKEY = Indexes0.LOG_PKEY;
     public static final Index METADATA_PKEY = Indexes0.METADATA_PKEY;
     public static final Index IDX_OMMER__HASH = Indexes0.IDX_OMMER__HASH;
     public static final Index IDX_OMMER__HEIGHT = Indexes0.IDX_OMMER__HEIGHT;
@@ -73,6 +89,9 @@ public class Indexes {
     public static final Index IDX_OMMER__NEPHEW_HASH = Indexes0.IDX_OMMER__NEPHEW_HASH;
     public static final Index IDX_OMMER__NUMBER_DESC = Indexes0.IDX_OMMER__NUMBER_DESC;
     public static final Index OMMER_PKEY = Indexes0.OMMER_PKEY;
+    public static final Index IDX_TOKEN_BALANCE__CONTRACT = Indexes0.IDX_TOKEN_BALANCE__CONTRACT;
+    public static final Index TOKEN_BALANCE_PKEY = Indexes0.TOKEN_BALANCE_PKEY;
+    public static final Index TOKEN_BALANCE_BLOCK_PKEY = Indexes0.TOKEN_BALANCE_BLOCK_PKEY;
     public static final Index IDX_TRANSACTION__BLOCK_HASH = Indexes0.IDX_TRANSACTION__BLOCK_HASH;
     public static final Index IDX_TRANSACTION__INDEX_ASC = Indexes0.IDX_TRANSACTION__INDEX_ASC;
     public static final Index IDX_TRANSACTION__NUMBER_DESC = Indexes0.IDX_TRANSACTION__NUMBER_DESC;
@@ -86,15 +105,20 @@ public class Indexes {
     // -------------------------------------------------------------------------
 
     private static class Indexes0 {
-        public static Index ACCOUNT_PKEY = Internal.createIndex("account_pkey", Account.ACCOUNT, new OrderField[] { Account.ACCOUNT.ADDRESS, Account.ACCOUNT.BLOCK_HASH }, true);
+        public static Index ACCOUNT_PKEY = Internal.createIndex("account_pkey", Account.ACCOUNT, new OrderField[] { Account.ACCOUNT.ADDRESS, Account.ACCOUNT.BLOCK_HASH, Account.ACCOUNT.BLOCK_NUMBER }, true);
         public static Index IDX_ACCOUNT__ADDRESS = Internal.createIndex("idx_account__address", Account.ACCOUNT, new OrderField[] { Account.ACCOUNT.ADDRESS }, false);
         public static Index IDX_ACCOUNT__BLOCK_HASH = Internal.createIndex("idx_account__block_hash", Account.ACCOUNT, new OrderField[] { Account.ACCOUNT.BLOCK_HASH }, false);
         public static Index IDX_ACCOUNT__BLOCK_NUMBER = Internal.createIndex("idx_account__block_number", Account.ACCOUNT, new OrderField[] { Account.ACCOUNT.BLOCK_NUMBER }, false);
-        public static Index BALANCE_DELTA_PKEY = Internal.createIndex("balance_delta_pkey", BalanceDelta.BALANCE_DELTA, new OrderField[] { BalanceDelta.BALANCE_DELTA.ID }, true);
+        public static Index ACCOUNT_LATEST_PKEY = Internal.createIndex("account_latest_pkey", AccountLatest.ACCOUNT_LATEST, new OrderField[] { AccountLatest.ACCOUNT_LATEST.ADDRESS }, true);
+        public static Index IDX_ACCOUNT_LATEST__BLOCK_HASH = Internal.createIndex("idx_account_latest__block_hash", AccountLatest.ACCOUNT_LATEST, new OrderField[] { AccountLatest.ACCOUNT_LATEST.BLOCK_HASH }, false);
+        public static Index BALANCE_DELTA_PKEY = Internal.createIndex("balance_delta_pkey", BalanceDelta.BALANCE_DELTA, new OrderField[] { BalanceDelta.BALANCE_DELTA.ID, BalanceDelta.BALANCE_DELTA.BLOCK_NUMBER }, true);
         public static Index IDX_BALANCE_DELTA__BLOCK_NUMBER_DESC = Internal.createIndex("idx_balance_delta__block_number_desc", BalanceDelta.BALANCE_DELTA, new OrderField[] { BalanceDelta.BALANCE_DELTA.BLOCK_NUMBER.desc() }, false);
         public static Index IDX_BALANCE_DELTA__TRANSACTION_HASH = Internal.createIndex("idx_balance_delta__transaction_hash", BalanceDelta.BALANCE_DELTA, new OrderField[] { BalanceDelta.BALANCE_DELTA.TRANSACTION_HASH }, false);
         public static Index BLOCK_HEADER_PKEY = Internal.createIndex("block_header_pkey", BlockHeader.BLOCK_HEADER, new OrderField[] { BlockHeader.BLOCK_HEADER.HASH }, true);
         public static Index IDX_BLOCK_HEADER__NUMBER_DESC = Internal.createIndex("idx_block_header__number_desc", BlockHeader.BLOCK_HEADER, new OrderField[] { BlockHeader.BLOCK_HEADER.NUMBER.desc() }, false);
+        public static Index CANONICAL_CHAIN_PKEY = Internal.createIndex("canonical_chain_pkey", CanonicalChain.CANONICAL_CHAIN, new OrderField[] { CanonicalChain.CANONICAL_CHAIN.NUMBER }, true);
+        public static Index CHAIN_TRACKER_PKEY = Internal.createIndex("chain_tracker_pkey", ChainTracker.CHAIN_TRACKER, new OrderField[] { ChainTracker.CHAIN_TRACKER.NETWORK_ID }, true);
+        public static Index CHAIN_TRACKER_BLOCK_HASH_PKEY = Internal.createIndex("chain_tracker_block_hash_pkey", ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH, new OrderField[] { ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH.NETWORK_ID, ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH.NUMBER }, true);
         public static Index CONTRACT_CREATED_PKEY = Internal.createIndex("contract_created_pkey", ContractCreated.CONTRACT_CREATED, new OrderField[] { ContractCreated.CONTRACT_CREATED.ADDRESS, ContractCreated.CONTRACT_CREATED.TRANSACTION_HASH }, true);
         public static Index IDX_CONTRACT_CREATED__ADDRESS = Internal.createIndex("idx_contract_created__address", ContractCreated.CONTRACT_CREATED, new OrderField[] { ContractCreated.CONTRACT_CREATED.ADDRESS }, false);
         public static Index IDX_CONTRACT_CREATED__BLOCK_NUMBER_DESC = Internal.createIndex("idx_contract_created__block_number_desc", ContractCreated.CONTRACT_CREATED, new OrderField[] { ContractCreated.CONTRACT_CREATED.BLOCK_NUMBER.desc() }, false);
@@ -111,6 +135,10 @@ public class Indexes {
         public static Index IDX_IMPORT_QUEUE__HASH = Internal.createIndex("idx_import_queue__hash", ImportQueue.IMPORT_QUEUE, new OrderField[] { ImportQueue.IMPORT_QUEUE.HASH }, false);
         public static Index IMPORT_QUEUE_HASH_KEY = Internal.createIndex("import_queue_hash_key", ImportQueue.IMPORT_QUEUE, new OrderField[] { ImportQueue.IMPORT_QUEUE.HASH }, true);
         public static Index IMPORT_QUEUE_PKEY = Internal.createIndex("import_queue_pkey", ImportQueue.IMPORT_QUEUE, new OrderField[] { ImportQueue.IMPORT_QUEUE.NUMBER, ImportQueue.IMPORT_QUEUE.HASH }, true);
+        public static Index IDX_LOG__ADDRESS = Internal.createIndex("idx_log__address", Log.LOG, new OrderField[] { Log.LOG.ADDRESS, Log.LOG.BLOCK_NUMBER.desc() }, false);
+        public static Index IDX_LOG__TOPIC0 = Internal.createIndex("idx_log__topic0", Log.LOG, new OrderField[] { Log.LOG.TOPIC0, Log.LOG.BLOCK_NUMBER.desc() }, false);
+        public static Index IDX_LOG__TRANSACTION_HASH = Internal.createIndex("idx_log__transaction_hash", Log.LOG, new OrderField[] { Log.LOG.TRANSACTION_HASH }, false);
+        public static Index LOG_PKEY = Internal.createIndex("log_pkey", Log.LOG, new OrderField[] { Log.LOG.BLOCK_HASH, Log.LOG.LOG_INDEX, Log.LOG.BLOCK_NUMBER }, true);
         public static Index METADATA_PKEY = Internal.createIndex("metadata_pkey", Metadata.METADATA, new OrderField[] { Metadata.METADATA.KEY }, true);
         public static Index IDX_OMMER__HASH = Internal.createIndex("idx_ommer__hash", Ommer.OMMER, new OrderField[] { Ommer.OMMER.HASH }, false);
         public static Index IDX_OMMER__HEIGHT = Internal.createIndex("idx_ommer__height", Ommer.OMMER, new OrderField[] { Ommer.OMMER.HEIGHT }, false);
@@ -118,12 +146,15 @@ public class Indexes {
         public static Index IDX_OMMER__NEPHEW_HASH = Internal.createIndex("idx_ommer__nephew_hash", Ommer.OMMER, new OrderField[] { Ommer.OMMER.NEPHEW_HASH }, false);
         public static Index IDX_OMMER__NUMBER_DESC = Internal.createIndex("idx_ommer__number_desc", Ommer.OMMER, new OrderField[] { Ommer.OMMER.NUMBER.desc() }, false);
         public static Index OMMER_PKEY = Internal.createIndex("ommer_pkey", Ommer.OMMER, new OrderField[] { Ommer.OMMER.HASH }, true);
+        public static Index IDX_TOKEN_BALANCE__CONTRACT = Internal.createIndex("idx_token_balance__contract", TokenBalance.TOKEN_BALANCE, new OrderField[] { TokenBalance.TOKEN_BALANCE.CONTRACT }, false);
+        public static Index TOKEN_BALANCE_PKEY = Internal.createIndex("token_balance_pkey", TokenBalance.TOKEN_BALANCE, new OrderField[] { TokenBalance.TOKEN_BALANCE.HOLDER, TokenBalance.TOKEN_BALANCE.CONTRACT, TokenBalance.TOKEN_BALANCE.TOKEN_ID }, true);
+        public static Index TOKEN_BALANCE_BLOCK_PKEY = Internal.createIndex("token_balance_block_pkey", TokenBalanceBlock.TOKEN_BALANCE_BLOCK, new OrderField[] { TokenBalanceBlock.TOKEN_BALANCE_BLOCK.BLOCK_HASH }, true);
         public static Index IDX_TRANSACTION__BLOCK_HASH = Internal.createIndex("idx_transaction__block_hash", Transaction.TRANSACTION, new OrderField[] { Transaction.TRANSACTION.BLOCK_HASH }, false);
         public static Index IDX_TRANSACTION__INDEX_ASC = Internal.createIndex("idx_transaction__index_asc", Transaction.TRANSACTION, new OrderField[] { Transaction.TRANSACTION.INDEX }, false);
         public static Index IDX_TRANSACTION__NUMBER_DESC = Internal.createIndex("idx_transaction__number_desc", Transaction.TRANSACTION, new OrderField[] { Transaction.TRANSACTION.BLOCK_NUMBER.desc() }, false);
-        public static Index TRANSACTION_PKEY = Internal.createIndex("transaction_pkey", Transaction.TRANSACTION, new OrderField[] { Transaction.TRANSACTION.HASH }, true);
+        public static Index TRANSACTION_PKEY = Internal.createIndex("transaction_pkey", Transaction.TRANSACTION, new OrderField[] { Transaction.TRANSACTION.HASH, Transaction.TRANSACTION.BLOCK_NUMBER }, true);
         public static Index IDX_TRANSACTION_RECEIPT__NUMBER_DESC = Internal.createIndex("idx_transaction_receipt__number_desc", TransactionReceipt.TRANSACTION_RECEIPT, new OrderField[] { TransactionReceipt.TRANSACTION_RECEIPT.BLOCK_NUMBER.desc() }, false);
         public static Index IDX_TRANSACTION_RECEIPT__TRANSACTION_HASH = Internal.createIndex("idx_transaction_receipt__transaction_hash", TransactionReceipt.TRANSACTION_RECEIPT, new OrderField[] { TransactionReceipt.TRANSACTION_RECEIPT.TRANSACTION_HASH }, false);
-        public static Index TRANSACTION_RECEIPT_PKEY = Internal.createIndex("transaction_receipt_pkey", TransactionReceipt.TRANSACTION_RECEIPT, new OrderField[] { TransactionReceipt.TRANSACTION_RECEIPT.TRANSACTION_HASH }, true);
+        public static Index TRANSACTION_RECEIPT_PKEY = Internal.createIndex("transaction_receipt_pkey", TransactionReceipt.TRANSACTION_RECEIPT, new OrderField[] { TransactionReceipt.TRANSACTION_RECEIPT.TRANSACTION_HASH, TransactionReceipt.TRANSACTION_RECEIPT.BLOCK_NUMBER }, true);
     }
 }
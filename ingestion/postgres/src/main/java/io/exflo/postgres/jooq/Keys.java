@@ -5,29 +5,43 @@ package io.exflo.postgres.jooq;
 
 
 import io.exflo.postgres.jooq.tables.Account;
+import io.exflo.postgres.jooq.tables.AccountLatest;
 import io.exflo.postgres.jooq.tables.BalanceDelta;
 import io.exflo.postgres.jooq.tables.BlockHeader;
 import io.exflo.postgres.jooq.tables.BlockTrace;
+import io.exflo.postgres.jooq.tables.CanonicalChain;
+import io.exflo.postgres.jooq.tables.ChainTracker;
+import io.exflo.postgres.jooq.tables.ChainTrackerBlockHash;
 import io.exflo.postgres.jooq.tables.ContractCreated;
 import io.exflo.postgres.jooq.tables.ContractDestroyed;
 import io.exflo.postgres.jooq.tables.ContractEvent;
 import io.exflo.postgres.jooq.tables.FlywaySchemaHistory;
 import io.exflo.postgres.jooq.tables.ImportQueue;
+import io.exflo.postgres.jooq.tables.Log;
 import io.exflo.postgres.jooq.tables.Metadata;
 import io.exflo.postgres.jooq.tables.Ommer;
+import io.exflo.postgres.jooq.tables.TokenBalance;
+import io.exflo.postgres.jooq.tables.TokenBalanceBlock;
 import io.exflo.postgres.jooq.tables.Transaction;
 import io.exflo.postgres.jooq.tables.TransactionReceipt;
+import io.exflo.postgres.jooq.tables.records.AccountLatestRecord;
 import io.exflo.postgres.jooq.tables.records.AccountRecord;
 import io.exflo.postgres.jooq.tables.records.BalanceDeltaRecord;
 import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord;
 import io.exflo.postgres.jooq.tables.records.BlockTraceRecord;
+import io.exflo.postgres.jooq.tables.records.CanonicalChainRecord;
+import io.exflo.postgres.jooq.tables.records.ChainTrackerBlockHashRecord;
+import io.exflo.postgres.jooq.tables.records.ChainTrackerRecord;
 import io.exflo.postgres.jooq.tables.records.ContractCreatedRecord;
 import io.exflo.postgres.jooq.tables.records.ContractDestroyedRecord;
 import io.exflo.postgres.jooq.tables.records.ContractEventRecord;
 import io.exflo.postgres.jooq.tables.records.FlywaySchemaHistoryRecord;
 import io.exflo.postgres.jooq.tables.records.ImportQueueRecord;
+import io.exflo.postgres.jooq.tables.records.LogRecord;
 import io.exflo.postgres.jooq.tables.records.MetadataRecord;
 import io.exflo.postgres.jooq.tables.records.OmmerRecord;
+import io.exflo.postgres.jooq.tables.records.TokenBalanceBlockRecord;
+import io.exflo.postgres.jooq.tables.records.TokenBalanceRecord;
 import io.exflo.postgres.jooq.tables.records.TransactionReceiptRecord;
 import io.exflo.postgres.jooq.tables.records.TransactionRecord;
 
@@ -64,15 +78,22 @@ public class Keys {
     // -------------------------------------------------------------------------
 
     public static final UniqueKey<AccountRecord> ACCOUNT_PKEY = UniqueKeys0.ACCOUNT_PKEY;
+    public static final UniqueKey<AccountLatestRecord> ACCOUNT_LATEST_PKEY = UniqueKeys0.ACCOUNT_LATEST_PKEY;
     public static final UniqueKey<BalanceDeltaRecord> BALANCE_DELTA_PKEY = UniqueKeys0.BALANCE_DELTA_PKEY;
     public static final UniqueKey<BlockHeaderRecord> BLOCK_HEADER_PKEY = UniqueKeys0.BLOCK_HEADER_PKEY;
+    public static final UniqueKey<CanonicalChainRecord> CANONICAL_CHAIN_PKEY = UniqueKeys0.CANONICAL_CHAIN_PKEY;
+    public static final UniqueKey<ChainTrackerRecord> CHAIN_TRACKER_PKEY = UniqueKeys0.CHAIN_TRACKER_PKEY;
+    public static final UniqueKey<ChainTrackerBlockHashRecord> CHAIN_TRACKER_BLOCK_HASH_PKEY = UniqueKeys0.CHAIN_TRACKER_BLOCK_HASH_PKEY;
     public static final UniqueKey<ContractCreatedRecord> CONTRACT_CREATED_PKEY = UniqueKeys0.CONTRACT_CREATED_PKEY;
     public static final UniqueKey<ContractDestroyedRecord> CONTRACT_DESTROYED_PKEY = UniqueKeys0.CONTRACT_DESTROYED_PKEY;
     public static final UniqueKey<FlywaySchemaHistoryRecord> FLYWAY_SCHEMA_HISTORY_PK = UniqueKeys0.FLYWAY_SCHEMA_HISTORY_PK;
     public static final UniqueKey<ImportQueueRecord> IMPORT_QUEUE_PKEY = UniqueKeys0.IMPORT_QUEUE_PKEY;
     public static final UniqueKey<ImportQueueRecord> IMPORT_QUEUE_HASH_KEY = UniqueKeys0.IMPORT_QUEUE_HASH_KEY;
+    public static final UniqueKey<LogRecord> LOG_PKEY = UniqueKeys0.LOG_PKEY;
     public static final UniqueKey<MetadataRecord> METADATA_PKEY = UniqueKeys0.METADATA_PKEY;
     public static final UniqueKey<OmmerRecord> OMMER_PKEY = UniqueKeys0.OMMER_PKEY;
+    public static final UniqueKey<TokenBalanceRecord> TOKEN_BALANCE_PKEY = UniqueKeys0.TOKEN_BALANCE_PKEY;
+    public static final UniqueKey<TokenBalanceBlockRecord> TOKEN_BALANCE_BLOCK_PKEY = UniqueKeys0.TOKEN_BALANCE_BLOCK_PKEY;
     public static final UniqueKey<TransactionRecord> TRANSACTION_PKEY = UniqueKeys0.TRANSACTION_PKEY;
     public static final UniqueKey<TransactionReceiptRecord> TRANSACTION_RECEIPT_PKEY = UniqueKeys0.TRANSACTION_RECEIPT_PKEY;
 
@@ -91,6 +112,8 @@ public class Keys {
     public static final ForeignKey<ContractDestroyedRecord, TransactionRecord> CONTRACT_DESTROYED__CONTRACT_DESTROYED_TRANSACTION_HASH_FKEY = ForeignKeys0.CONTRACT_DESTROYED__CONTRACT_DESTROYED_TRANSACTION_HASH_FKEY;
     public static final ForeignKey<ContractEventRecord, BlockHeaderRecord> CONTRACT_EVENT__CONTRACT_EVENT_BLOCK_HASH_FKEY = ForeignKeys0.CONTRACT_EVENT__CONTRACT_EVENT_BLOCK_HASH_FKEY;
     public static final ForeignKey<ContractEventRecord, TransactionRecord> CONTRACT_EVENT__CONTRACT_EVENT_TRANSACTION_HASH_FKEY = ForeignKeys0.CONTRACT_EVENT__CONTRACT_EVENT_TRANSACTION_HASH_FKEY;
+    public static final ForeignKey<LogRecord, BlockHeaderRecord> LOG__LOG_BLOCK_HASH_FKEY = ForeignKeys0.LOG__LOG_BLOCK_HASH_FKEY;
+    public static final ForeignKey<LogRecord, TransactionRecord> LOG__LOG_TRANSACTION_HASH_FKEY = ForeignKeys0.LOG__LOG_TRANSACTION_HASH_FKEY;
     public static final ForeignKey<OmmerRecord, BlockHeaderRecord> OMMER__OMMER_NEPHEW_HASH_FKEY = ForeignKeys0.OMMER__OMMER_NEPHEW_HASH_FKEY;
     public static final ForeignKey<TransactionRecord, BlockHeaderRecord> TRANSACTION__TRANSACTION_BLOCK_HASH_FKEY = ForeignKeys0.TRANSACTION__TRANSACTION_BLOCK_HASH_FKEY;
     public static final ForeignKey<TransactionReceiptRecord, BlockHeaderRecord> TRANSACTION_RECEIPT__TRANSACTION_RECEIPT_BLOCK_HASH_FKEY = ForeignKeys0.TRANSACTION_RECEIPT__TRANSACTION_RECEIPT_BLOCK_HASH_FKEY;
@@ -104,32 +127,41 @@ public class Keys {
     }
 
     private static class UniqueKeys0 {
-        public static final UniqueKey<AccountRecord> ACCOUNT_PKEY = Internal.createUniqueKey(Account.ACCOUNT, "account_pkey", Account.ACCOUNT.ADDRESS, Account.ACCOUNT.BLOCK_HASH);
-        public static final UniqueKey<BalanceDeltaRecord> BALANCE_DELTA_PKEY = Internal.createUniqueKey(BalanceDelta.BALANCE_DELTA, "balance_delta_pkey", BalanceDelta.BALANCE_DELTA.ID);
+        public static final UniqueKey<AccountRecord> ACCOUNT_PKEY = Internal.createUniqueKey(Account.ACCOUNT, "account_pkey", Account.ACCOUNT.ADDRESS, Account.ACCOUNT.BLOCK_HASH, Account.ACCOUNT.BLOCK_NUMBER);
+        public static final UniqueKey<AccountLatestRecord> ACCOUNT_LATEST_PKEY = Internal.createUniqueKey(AccountLatest.ACCOUNT_LATEST, "account_latest_pkey", AccountLatest.ACCOUNT_LATEST.ADDRESS);
+        public static final UniqueKey<BalanceDeltaRecord> BALANCE_DELTA_PKEY = Internal.createUniqueKey(BalanceDelta.BALANCE_DELTA, "balance_delta_pkey", BalanceDelta.BALANCE_DELTA.ID, BalanceDelta.BALANCE_DELTA.BLOCK_NUMBER);
         public static final UniqueKey<BlockHeaderRecord> BLOCK_HEADER_PKEY = Internal.createUniqueKey(BlockHeader.BLOCK_HEADER, "block_header_pkey", BlockHeader.BLOCK_HEADER.HASH);
+        public static final UniqueKey<CanonicalChainRecord> CANONICAL_CHAIN_PKEY = Internal.createUniqueKey(CanonicalChain.CANONICAL_CHAIN, "canonical_chain_pkey", CanonicalChain.CANONICAL_CHAIN.NUMBER);
+        public static final UniqueKey<ChainTrackerRecord> CHAIN_TRACKER_PKEY = Internal.createUniqueKey(ChainTracker.CHAIN_TRACKER, "chain_tracker_pkey", ChainTracker.CHAIN_TRACKER.NETWORK_ID);
+        public static final UniqueKey<ChainTrackerBlockHashRecord> CHAIN_TRACKER_BLOCK_HASH_PKEY = Internal.createUniqueKey(ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH, "chain_tracker_block_hash_pkey", ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH.NETWORK_ID, ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH.NUMBER);
         public static final UniqueKey<ContractCreatedRecord> CONTRACT_CREATED_PKEY = Internal.createUniqueKey(ContractCreated.CONTRACT_CREATED, "contract_created_pkey", ContractCreated.CONTRACT_CREATED.ADDRESS, ContractCreated.CONTRACT_CREATED.TRANSACTION_HASH);
         public static final UniqueKey<ContractDestroyedRecord> CONTRACT_DESTROYED_PKEY = Internal.createUniqueKey(ContractDestroyed.CONTRACT_DESTROYED, "contract_destroyed_pkey", ContractDestroyed.CONTRACT_DESTROYED.ADDRESS, ContractDestroyed.CONTRACT_DESTROYED.TRANSACTION_HASH);
         public static final UniqueKey<FlywaySchemaHistoryRecord> FLYWAY_SCHEMA_HISTORY_PK = Internal.createUniqueKey(FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY, "flyway_schema_history_pk", FlywaySchemaHistory.FLYWAY_SCHEMA_HISTORY.INSTALLED_RANK);
         public static final UniqueKey<ImportQueueRecord> IMPORT_QUEUE_PKEY = Internal.createUniqueKey(ImportQueue.IMPORT_QUEUE, "import_queue_pkey", ImportQueue.IMPORT_QUEUE.NUMBER, ImportQueue.IMPORT_QUEUE.HASH);
         public static final UniqueKey<ImportQueueRecord> IMPORT_QUEUE_HASH_KEY = Internal.createUniqueKey(ImportQueue.IMPORT_QUEUE, "import_queue_hash_key", ImportQueue.IMPORT_QUEUE.HASH);
+        public static final UniqueKey<LogRecord> LOG_PKEY = Internal.createUniqueKey(Log.LOG, "log_pkey", Log.LOG.BLOCK_HASH, Log.LOG.LOG_INDEX, Log.LOG.BLOCK_NUMBER);
         public static final UniqueKey<MetadataRecord> METADATA_PKEY = Internal.createUniqueKey(Metadata.METADATA, "metadata_pkey", Metadata.METADATA.KEY);
         public static final UniqueKey<OmmerRecord> OMMER_PKEY = Internal.createUniqueKey(Ommer.OMMER, "ommer_pkey", Ommer.OMMER.HASH);
-        public static final UniqueKey<TransactionRecord> TRANSACTION_PKEY = Internal.createUniqueKey(Transaction.TRANSACTION, "transaction_pkey", Transaction.TRANSACTION.HASH);
-        public static final UniqueKey<TransactionReceiptRecord> TRANSACTION_RECEIPT_PKEY = Internal.createUniqueKey(TransactionReceipt.TRANSACTION_RECEIPT, "transaction_receipt_pkey", TransactionReceipt.TRANSACTION_RECEIPT.TRANSACTION_HASH);
+        public static final UniqueKey<TokenBalanceRecord> TOKEN_BALANCE_PKEY = Internal.createUniqueKey(TokenBalance.TOKEN_BALANCE, "token_balance_pkey", TokenBalance.TOKEN_BALANCE.HOLDER, TokenBalance.TOKEN_BALANCE.CONTRACT, TokenBalance.TOKEN_BALANCE.TOKEN_ID);
+        public static final UniqueKey<TokenBalanceBlockRecord> TOKEN_BALANCE_BLOCK_PKEY = Internal.createUniqueKey(TokenBalanceBlock.TOKEN_BALANCE_BLOCK, "token_balance_block_pkey", TokenBalanceBlock.TOKEN_BALANCE_BLOCK.BLOCK_HASH);
+        public static final UniqueKey<TransactionRecord> TRANSACTION_PKEY = Internal.createUniqueKey(Transaction.TRANSACTION, "transaction_pkey", Transaction.TRANSACTION.HASH, Transaction.TRANSACTION.BLOCK_NUMBER);
+        public static final UniqueKey<TransactionReceiptRecord> TRANSACTION_RECEIPT_PKEY = Internal.createUniqueKey(TransactionReceipt.TRANSACTION_RECEIPT, "transaction_receipt_pkey", TransactionReceipt.TRANSACTION_RECEIPT.TRANSACTION_HASH, TransactionReceipt.TRANSACTION_RECEIPT.BLOCK_NUMBER);
     }
 
     private static class ForeignKeys0 {
         public static final ForeignKey<AccountRecord, BlockHeaderRecord> ACCOUNT__ACCOUNT_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, Account.ACCOUNT, "account__account_block_hash_fkey", Account.ACCOUNT.BLOCK_HASH);
         public static final ForeignKey<BalanceDeltaRecord, BlockHeaderRecord> BALANCE_DELTA__BALANCE_DELTA_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, BalanceDelta.BALANCE_DELTA, "balance_delta__balance_delta_block_hash_fkey", BalanceDelta.BALANCE_DELTA.BLOCK_HASH);
-        public static final ForeignKey<BalanceDeltaRecord, TransactionRecord> BALANCE_DELTA__BALANCE_DELTA_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, BalanceDelta.BALANCE_DELTA, "balance_delta__balance_delta_transaction_hash_fkey", BalanceDelta.BALANCE_DELTA.TRANSACTION_HASH);
+        public static final ForeignKey<BalanceDeltaRecord, TransactionRecord> BALANCE_DELTA__BALANCE_DELTA_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, BalanceDelta.BALANCE_DELTA, "balance_delta__balance_delta_transaction_hash_fkey", BalanceDelta.BALANCE_DELTA.TRANSACTION_HASH, BalanceDelta.BALANCE_DELTA.BLOCK_NUMBER);
         public static final ForeignKey<BlockHeaderRecord, ImportQueueRecord> BLOCK_HEADER__BLOCK_HEADER_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.IMPORT_QUEUE_HASH_KEY, BlockHeader.BLOCK_HEADER, "block_header__block_header_hash_fkey", BlockHeader.BLOCK_HEADER.HASH);
         public static final ForeignKey<BlockTraceRecord, BlockHeaderRecord> BLOCK_TRACE__BLOCK_TRACE_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, BlockTrace.BLOCK_TRACE, "block_trace__block_trace_block_hash_fkey", BlockTrace.BLOCK_TRACE.BLOCK_HASH);
         public static final ForeignKey<ContractCreatedRecord, BlockHeaderRecord> CONTRACT_CREATED__CONTRACT_CREATED_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, ContractCreated.CONTRACT_CREATED, "contract_created__contract_created_block_hash_fkey", ContractCreated.CONTRACT_CREATED.BLOCK_HASH);
-        public static final ForeignKey<ContractCreatedRecord, TransactionRecord> CONTRACT_CREATED__CONTRACT_CREATED_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, ContractCreated.CONTRACT_CREATED, "contract_created__contract_created_transaction_hash_fkey", ContractCreated.CONTRACT_CREATED.TRANSACTION_HASH);
+        public static final ForeignKey<ContractCreatedRecord, TransactionRecord> CONTRACT_CREATED__CONTRACT_CREATED_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, ContractCreated.CONTRACT_CREATED, "contract_created__contract_created_transaction_hash_fkey", ContractCreated.CONTRACT_CREATED.TRANSACTION_HASH, ContractCreated.CONTRACT_CREATED.BLOCK_NUMBER);
         public static final ForeignKey<ContractDestroyedRecord, BlockHeaderRecord> CONTRACT_DESTROYED__CONTRACT_DESTROYED_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, ContractDestroyed.CONTRACT_DESTROYED, "contract_destroyed__contract_destroyed_block_hash_fkey", ContractDestroyed.CONTRACT_DESTROYED.BLOCK_HASH);
-        public static final ForeignKey<ContractDestroyedRecord, TransactionRecord> CONTRACT_DESTROYED__CONTRACT_DESTROYED_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, ContractDestroyed.CONTRACT_DESTROYED, "contract_destroyed__contract_destroyed_transaction_hash_fkey", ContractDestroyed.CONTRACT_DESTROYED.TRANSACTION_HASH);
+        public static final ForeignKey<ContractDestroyedRecord, TransactionRecord> CONTRACT_DESTROYED__CONTRACT_DESTROYED_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, ContractDestroyed.CONTRACT_DESTROYED, "contract_destroyed__contract_destroyed_transaction_hash_fkey", ContractDestroyed.CONTRACT_DESTROYED.TRANSACTION_HASH, ContractDestroyed.CONTRACT_DESTROYED.BLOCK_NUMBER);
         public static final ForeignKey<ContractEventRecord, BlockHeaderRecord> CONTRACT_EVENT__CONTRACT_EVENT_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, ContractEvent.CONTRACT_EVENT, "contract_event__contract_event_block_hash_fkey", ContractEvent.CONTRACT_EVENT.BLOCK_HASH);
-        public static final ForeignKey<ContractEventRecord, TransactionRecord> CONTRACT_EVENT__CONTRACT_EVENT_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, ContractEvent.CONTRACT_EVENT, "contract_event__contract_event_transaction_hash_fkey", ContractEvent.CONTRACT_EVENT.TRANSACTION_HASH);
+        public static final ForeignKey<ContractEventRecord, TransactionRecord> CONTRACT_EVENT__CONTRACT_EVENT_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, ContractEvent.CONTRACT_EVENT, "contract_event__contract_event_transaction_hash_fkey", ContractEvent.CONTRACT_EVENT.TRANSACTION_HASH, ContractEvent.CONTRACT_EVENT.BLOCK_NUMBER);
+        public static final ForeignKey<LogRecord, BlockHeaderRecord> LOG__LOG_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, Log.LOG, "log__log_block_hash_fkey", Log.LOG.BLOCK_HASH);
+        public static final ForeignKey<LogRecord, TransactionRecord> LOG__LOG_TRANSACTION_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.TRANSACTION_PKEY, Log.LOG, "log__log_transaction_hash_fkey", Log.LOG.TRANSACTION_HASH, Log.LOG.BLOCK_NUMBER);
         public static final ForeignKey<OmmerRecord, BlockHeaderRecord> OMMER__OMMER_NEPHEW_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, Ommer.OMMER, "ommer__ommer_nephew_hash_fkey", Ommer.OMMER.NEPHEW_HASH);
         public static final ForeignKey<TransactionRecord, BlockHeaderRecord> TRANSACTION__TRANSACTION_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, Transaction.TRANSACTION, "transaction__transaction_block_hash_fkey", Transaction.TRANSACTION.BLOCK_HASH);
         public static final ForeignKey<TransactionReceiptRecord, BlockHeaderRecord> TRANSACTION_RECEIPT__TRANSACTION_RECEIPT_BLOCK_HASH_FKEY = Internal.createForeignKey(io.exflo.postgres.jooq.Keys.BLOCK_HEADER_PKEY, TransactionReceipt.TRANSACTION_RECEIPT, "transaction_receipt__transaction_receipt_block_hash_fkey", TransactionReceipt.TRANSACTION_RECEIPT.BLOCK_HASH);
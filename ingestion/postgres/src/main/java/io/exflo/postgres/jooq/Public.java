@@ -5,9 +5,13 @@ package io.exflo.postgres.jooq;
 
 
 import io.exflo.postgres.jooq.tables.Account;
+import io.exflo.postgres.jooq.tables.AccountLatest;
 import io.exflo.postgres.jooq.tables.BalanceDelta;
 import io.exflo.postgres.jooq.tables.BlockHeader;
 import io.exflo.postgres.jooq.tables.BlockTrace;
+import io.exflo.postgres.jooq.tables.CanonicalChain;
+import io.exflo.postgres.jooq.tables.ChainTracker;
+import io.exflo.postgres.jooq.tables.ChainTrackerBlockHash;
 import io.exflo.postgres.jooq.tables.ContractCreated;
 import io.exflo.postgres.jooq.tables.ContractDestroyed;
 import io.exflo.postgres.jooq.tables.ContractEvent;
@@ -15,10 +19,13 @@ import io.exflo.postgres.jooq.tables.FlywaySchemaHistory;
 import io.exflo.postgres.jooq.tables.FungibleTokenTransfer;
 import io.exflo.postgres.jooq.tables.ImportQueue;
 import io.exflo.postgres.jooq.tables.InternalTransaction;
+import io.exflo.postgres.jooq.tables.Log;
 import io.exflo.postgres.jooq.tables.Metadata;
 import io.exflo.postgres.jooq.tables.NonFungibleTokenTransfer;
 import io.exflo.postgres.jooq.tables.Ommer;
 import io.exflo.postgres.jooq.tables.Reward;
+import io.exflo.postgres.jooq.tables.TokenBalance;
+import io.exflo.postgres.jooq.tables.TokenBalanceBlock;
 import io.exflo.postgres.jooq.tables.Transaction;
 import io.exflo.postgres.jooq.tables.TransactionReceipt;
 
@@ -59,6 +66,11 @@ public class Public extends SchemaImpl {
      */
     public final Account ACCOUNT = io.exflo.postgres.jooq.tables.Account.ACCOUNT;
 
+    /**
+     * The table <code>public.account_latest</code>.
+     */
+    public final AccountLatest ACCOUNT_LATEST = io.exflo.postgres.jooq.tables.AccountLatest.ACCOUNT_LATEST;
+
     /**
      * The table <code>public.balance_delta</code>.
      */
@@ -74,6 +86,21 @@ public class Public extends SchemaImpl {
      */
     public final BlockTrace BLOCK_TRACE = io.exflo.postgres.jooq.tables.BlockTrace.BLOCK_TRACE;
 
+    /**
+     * The table <code>public.canonical_chain</code>.
+     */
+    public final CanonicalChain CANONICAL_CHAIN = io.exflo.postgres.jooq.tables.CanonicalChain.CANONICAL_CHAIN;
+
+    /**
+     * The table <code>public.chain_tracker</code>.
+     */
+    public final ChainTracker CHAIN_TRACKER = io.exflo.postgres.jooq.tables.ChainTracker.CHAIN_TRACKER;
+
+    /**
+     * The table <code>public.chain_tracker_block_hash</code>.
+     */
+    public final ChainTrackerBlockHash CHAIN_TRACKER_BLOCK_HASH = io.exflo.postgres.jooq.tables.ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH;
+
     /**
      * The table <code>public.contract_created</code>.
      */
@@ -109,6 +136,11 @@ public class Public extends SchemaImpl {
      */
     public final InternalTransaction INTERNAL_TRANSACTION = io.exflo.postgres.jooq.tables.InternalTransaction.INTERNAL_TRANSACTION;
 
+    /**
+     * The table <code>public.log</code>.
+     */
+    public final Log LOG = io.exflo.postgres.jooq.tables.Log.LOG;
+
     /**
      * The table <code>public.metadata</code>.
      */
@@ -129,6 +161,16 @@ public class Public extends SchemaImpl {
      */
     public final Reward REWARD = io.exflo.postgres.jooq.tables.Reward.REWARD;
 
+    /**
+     * The table <code>public.token_balance</code>.
+     */
+    public final TokenBalance TOKEN_BALANCE = io.exflo.postgres.jooq.tables.TokenBalance.TOKEN_BALANCE;
+
+    /**
+     * The table <code>public.token_balance_block</code>.
+     */
+    public final TokenBalanceBlock TOKEN_BALANCE_BLOCK = io.exflo.postgres.jooq.tables.TokenBalanceBlock.TOKEN_BALANCE_BLOCK;
+
     /**
      * The table <code>public.transaction</code>.
      */
@@ -174,9 +216,13 @@ public class Public extends SchemaImpl {
     private final List<Table<?>> getTables0() {
         return Arrays.<Table<?>>asList(
             Account.ACCOUNT,
+            AccountLatest.ACCOUNT_LATEST,
             BalanceDelta.BALANCE_DELTA,
             BlockHeader.BLOCK_HEADER,
             BlockTrace.BLOCK_TRACE,
+            CanonicalChain.CANONICAL_CHAIN,
+            ChainTracker.CHAIN_TRACKER,
+            ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH,
             ContractCreated.CONTRACT_CREATED,
             ContractDestroyed.CONTRACT_DESTROYED,
             ContractEvent.CONTRACT_EVENT,
@@ -184,10 +230,13 @@ public class Public extends SchemaImpl {
             FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER,
             ImportQueue.IMPORT_QUEUE,
             InternalTransaction.INTERNAL_TRANSACTION,
+            Log.LOG,
             Metadata.METADATA,
             NonFungibleTokenTransfer.NON_FUNGIBLE_TOKEN_TRANSFER,
             Ommer.OMMER,
             Reward.REWARD,
+            TokenBalance.TOKEN_BALANCE,
+            TokenBalanceBlock.TOKEN_BALANCE_BLOCK,
             Transaction.TRANSACTION,
             TransactionReceipt.TRANSACTION_RECEIPT);
     }
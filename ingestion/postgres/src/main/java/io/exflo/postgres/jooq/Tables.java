@@ -5,9 +5,13 @@ package io.exflo.postgres.jooq;
 
 
 import io.exflo.postgres.jooq.tables.Account;
+import io.exflo.postgres.jooq.tables.AccountLatest;
 import io.exflo.postgres.jooq.tables.BalanceDelta;
 import io.exflo.postgres.jooq.tables.BlockHeader;
 import io.exflo.postgres.jooq.tables.BlockTrace;
+import io.exflo.postgres.jooq.tables.CanonicalChain;
+import io.exflo.postgres.jooq.tables.ChainTracker;
+import io.exflo.postgres.jooq.tables.ChainTrackerBlockHash;
 import io.exflo.postgres.jooq.tables.ContractCreated;
 import io.exflo.postgres.jooq.tables.ContractDestroyed;
 import io.exflo.postgres.jooq.tables.ContractEvent;
@@ -15,10 +19,13 @@ import io.exflo.postgres.jooq.tables.FlywaySchemaHistory;
 import io.exflo.postgres.jooq.tables.FungibleTokenTransfer;
 import io.exflo.postgres.jooq.tables.ImportQueue;
 import io.exflo.postgres.jooq.tables.InternalTransaction;
+import io.exflo.postgres.jooq.tables.Log;
 import io.exflo.postgres.jooq.tables.Metadata;
 import io.exflo.postgres.jooq.tables.NonFungibleTokenTransfer;
 import io.exflo.postgres.jooq.tables.Ommer;
 import io.exflo.postgres.jooq.tables.Reward;
+import io.exflo.postgres.jooq.tables.TokenBalance;
+import io.exflo.postgres.jooq.tables.TokenBalanceBlock;
 import io.exflo.postgres.jooq.tables.Transaction;
 import io.exflo.postgres.jooq.tables.TransactionReceipt;
 
@@ -43,6 +50,11 @@ public class Tables {
      */
     public static final Account ACCOUNT = Account.ACCOUNT;
 
+    /**
+     * The table <code>public.account_latest</code>.
+     */
+    public static final AccountLatest ACCOUNT_LATEST = AccountLatest.ACCOUNT_LATEST;
+
     /**
      * The table <code>public.balance_delta</code>.
      */
@@ -58,6 +70,21 @@ public class Tables {
      */
     public static final BlockTrace BLOCK_TRACE = BlockTrace.BLOCK_TRACE;
 
+    /**
+     * The table <code>public.canonical_chain</code>.
+     */
+    public static final CanonicalChain CANONICAL_CHAIN = CanonicalChain.CANONICAL_CHAIN;
+
+    /**
+     * The table <code>public.chain_tracker</code>.
+     */
+    public static final ChainTracker CHAIN_TRACKER = ChainTracker.CHAIN_TRACKER;
+
+    /**
+     * The table <code>public.chain_tracker_block_hash</code>.
+     */
+    public static final ChainTrackerBlockHash CHAIN_TRACKER_BLOCK_HASH = ChainTrackerBlockHash.CHAIN_TRACKER_BLOCK_HASH;
+
     /**
      * The table <code>public.contract_created</code>.
      */
@@ -93,6 +120,11 @@ public class Tables {
      */
     public static final InternalTransaction INTERNAL_TRANSACTION = InternalTransaction.INTERNAL_TRANSACTION;
 
+    /**
+     * The table <code>public.log</code>.
+     */
+    public static final Log LOG = Log.LOG;
+
     /**
      * The table <code>public.metadata</code>.
      */
@@ -113,6 +145,16 @@ public class Tables {
      */
     public static final Reward REWARD = Reward.REWARD;
 
+    /**
+     * The table <code>public.token_balance</code>.
+     */
+    public static final TokenBalance TOKEN_BALANCE = TokenBalance.TOKEN_BALANCE;
+
+    /**
+     * The table <code>public.token_balance_block</code>.
+     */
+    public static final TokenBalanceBlock TOKEN_BALANCE_BLOCK = TokenBalanceBlock.TOKEN_BALANCE_BLOCK;
+
     /**
      * The table <code>public.transaction</code>.
      */
@@ -60,12 +60,12 @@ public class Account extends TableImpl<AccountRecord> {
     /**
      * The column <code>public.account.address</code>.
      */
-    public final TableField<AccountRecord, String> ADDRESS = createField(DSL.name("address"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<AccountRecord, byte[]> ADDRESS = createField(DSL.name("address"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.account.block_hash</code>.
      */
-    public final TableField<AccountRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<AccountRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.account.block_number</code>.
@@ -175,7 +175,7 @@ public class Account extends TableImpl<AccountRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row5<String, String, Long, Long, BigDecimal> fieldsRow() {
+    public Row5<byte[], byte[], Long, Long, BigDecimal> fieldsRow() {
         return (Row5) super.fieldsRow();
     }
 }
@@ -73,17 +73,17 @@ public class BalanceDelta extends TableImpl<BalanceDeltaRecord> {
     /**
      * The column <code>public.balance_delta.contract_address</code>.
      */
-    public final TableField<BalanceDeltaRecord, String> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<BalanceDeltaRecord, byte[]> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.balance_delta.from</code>.
      */
-    public final TableField<BalanceDeltaRecord, String> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<BalanceDeltaRecord, byte[]> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.balance_delta.to</code>.
      */
-    public final TableField<BalanceDeltaRecord, String> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<BalanceDeltaRecord, byte[]> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.balance_delta.amount</code>.
@@ -103,12 +103,12 @@ public class BalanceDelta extends TableImpl<BalanceDeltaRecord> {
     /**
      * The column <code>public.balance_delta.block_hash</code>.
      */
-    public final TableField<BalanceDeltaRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BalanceDeltaRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.balance_delta.transaction_hash</code>.
      */
-    public final TableField<BalanceDeltaRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<BalanceDeltaRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.balance_delta.transaction_index</code>.
@@ -222,7 +222,7 @@ public class BalanceDelta extends TableImpl<BalanceDeltaRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row12<Long, DeltaType, String, String, String, BigDecimal, BigDecimal, Long, String, String, Integer, Timestamp> fieldsRow() {
+    public Row12<Long, DeltaType, byte[], byte[], byte[], BigDecimal, BigDecimal, Long, byte[], byte[], Integer, Timestamp> fieldsRow() {
         return (Row12) super.fieldsRow();
     }
 }
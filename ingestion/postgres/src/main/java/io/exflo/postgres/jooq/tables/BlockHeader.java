@@ -61,7 +61,7 @@ public class BlockHeader extends TableImpl<BlockHeaderRecord> {
     /**
      * The column <code>public.block_header.hash</code>.
      */
-    public final TableField<BlockHeaderRecord, String> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.number</code>.
@@ -71,7 +71,7 @@ public class BlockHeader extends TableImpl<BlockHeaderRecord> {
     /**
      * The column <code>public.block_header.parent_hash</code>.
      */
-    public final TableField<BlockHeaderRecord, String> PARENT_HASH = createField(DSL.name("parent_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> PARENT_HASH = createField(DSL.name("parent_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.nonce</code>.
@@ -86,22 +86,22 @@ public class BlockHeader extends TableImpl<BlockHeaderRecord> {
     /**
      * The column <code>public.block_header.state_root</code>.
      */
-    public final TableField<BlockHeaderRecord, String> STATE_ROOT = createField(DSL.name("state_root"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> STATE_ROOT = createField(DSL.name("state_root"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.receipts_root</code>.
      */
-    public final TableField<BlockHeaderRecord, String> RECEIPTS_ROOT = createField(DSL.name("receipts_root"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> RECEIPTS_ROOT = createField(DSL.name("receipts_root"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.transactions_root</code>.
      */
-    public final TableField<BlockHeaderRecord, String> TRANSACTIONS_ROOT = createField(DSL.name("transactions_root"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> TRANSACTIONS_ROOT = createField(DSL.name("transactions_root"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.coinbase</code>.
      */
-    public final TableField<BlockHeaderRecord, String> COINBASE = createField(DSL.name("coinbase"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> COINBASE = createField(DSL.name("coinbase"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.difficulty</code>.
@@ -136,17 +136,17 @@ public class BlockHeader extends TableImpl<BlockHeaderRecord> {
     /**
      * The column <code>public.block_header.mix_hash</code>.
      */
-    public final TableField<BlockHeaderRecord, String> MIX_HASH = createField(DSL.name("mix_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> MIX_HASH = createField(DSL.name("mix_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.ommers_hash</code>.
      */
-    public final TableField<BlockHeaderRecord, String> OMMERS_HASH = createField(DSL.name("ommers_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> OMMERS_HASH = createField(DSL.name("ommers_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_header.logs_bloom</code>.
      */
-    public final TableField<BlockHeaderRecord, String> LOGS_BLOOM = createField(DSL.name("logs_bloom"), org.jooq.impl.SQLDataType.CHAR(514).nullable(false), this, "");
+    public final TableField<BlockHeaderRecord, byte[]> LOGS_BLOOM = createField(DSL.name("logs_bloom"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * Create a <code>public.block_header</code> table reference
@@ -241,7 +241,7 @@ public class BlockHeader extends TableImpl<BlockHeaderRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row18<String, Long, String, Long, Boolean, String, String, String, String, BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, String, String, String> fieldsRow() {
+    public Row18<byte[], Long, byte[], Long, Boolean, byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[], byte[]> fieldsRow() {
         return (Row18) super.fieldsRow();
     }
 }
@@ -18,7 +18,7 @@ import org.jooq.ForeignKey;
 import org.jooq.JSONB;
 import org.jooq.Name;
 import org.jooq.Record;
-import org.jooq.Row2;
+import org.jooq.Row3;
 import org.jooq.Schema;
 import org.jooq.Table;
 import org.jooq.TableField;
@@ -57,13 +57,18 @@ public class BlockTrace extends TableImpl<BlockTraceRecord> {
     /**
      * The column <code>public.block_trace.block_hash</code>.
      */
-    public final TableField<BlockTraceRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<BlockTraceRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.block_trace.trace</code>.
      */
     public final TableField<BlockTraceRecord, JSONB> TRACE = createField(DSL.name("trace"), org.jooq.impl.SQLDataType.JSONB.nullable(false), this, "");
 
+    /**
+     * The column <code>public.block_trace.block_number</code>.
+     */
+    public final TableField<BlockTraceRecord, Long> BLOCK_NUMBER = createField(DSL.name("block_number"), org.jooq.impl.SQLDataType.BIGINT.nullable(false), this, "");
+
     /**
      * Create a <code>public.block_trace</code> table reference
      */
@@ -138,11 +143,11 @@ public class BlockTrace extends TableImpl<BlockTraceRecord> {
     }
 
     // -------------------------------------------------------------------------
-    // Row2 type methods
+    // Row3 type methods
     // -------------------------------------------------------------------------
 
     @Override
-    public Row2<String, JSONB> fieldsRow() {
-        return (Row2) super.fieldsRow();
+    public Row3<byte[], JSONB, Long> fieldsRow() {
+        return (Row3) super.fieldsRow();
     }
 }
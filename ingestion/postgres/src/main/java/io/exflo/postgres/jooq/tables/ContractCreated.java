@@ -63,12 +63,12 @@ public class ContractCreated extends TableImpl<ContractCreatedRecord> {
     /**
      * The column <code>public.contract_created.address</code>.
      */
-    public final TableField<ContractCreatedRecord, String> ADDRESS = createField(DSL.name("address"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<ContractCreatedRecord, byte[]> ADDRESS = createField(DSL.name("address"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_created.creator</code>.
      */
-    public final TableField<ContractCreatedRecord, String> CREATOR = createField(DSL.name("creator"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<ContractCreatedRecord, byte[]> CREATOR = createField(DSL.name("creator"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_created.code</code>.
@@ -118,7 +118,7 @@ public class ContractCreated extends TableImpl<ContractCreatedRecord> {
     /**
      * The column <code>public.contract_created.block_hash</code>.
      */
-    public final TableField<ContractCreatedRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ContractCreatedRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_created.block_number</code>.
@@ -128,7 +128,7 @@ public class ContractCreated extends TableImpl<ContractCreatedRecord> {
     /**
      * The column <code>public.contract_created.transaction_hash</code>.
      */
-    public final TableField<ContractCreatedRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ContractCreatedRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_created.timestamp</code>.
@@ -232,7 +232,7 @@ public class ContractCreated extends TableImpl<ContractCreatedRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row15<String, String, String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, String, Long, String, Timestamp> fieldsRow() {
+    public Row15<byte[], byte[], String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, byte[], Long, byte[], Timestamp> fieldsRow() {
         return (Row15) super.fieldsRow();
     }
 }
@@ -61,12 +61,12 @@ public class ContractDestroyed extends TableImpl<ContractDestroyedRecord> {
     /**
      * The column <code>public.contract_destroyed.address</code>.
      */
-    public final TableField<ContractDestroyedRecord, String> ADDRESS = createField(DSL.name("address"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<ContractDestroyedRecord, byte[]> ADDRESS = createField(DSL.name("address"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_destroyed.refund_address</code>.
      */
-    public final TableField<ContractDestroyedRecord, String> REFUND_ADDRESS = createField(DSL.name("refund_address"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<ContractDestroyedRecord, byte[]> REFUND_ADDRESS = createField(DSL.name("refund_address"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_destroyed.refund_amount</code>.
@@ -76,7 +76,7 @@ public class ContractDestroyed extends TableImpl<ContractDestroyedRecord> {
     /**
      * The column <code>public.contract_destroyed.block_hash</code>.
      */
-    public final TableField<ContractDestroyedRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ContractDestroyedRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_destroyed.block_number</code>.
@@ -86,7 +86,7 @@ public class ContractDestroyed extends TableImpl<ContractDestroyedRecord> {
     /**
      * The column <code>public.contract_destroyed.transaction_hash</code>.
      */
-    public final TableField<ContractDestroyedRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ContractDestroyedRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_destroyed.timestamp</code>.
@@ -190,7 +190,7 @@ public class ContractDestroyed extends TableImpl<ContractDestroyedRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row7<String, String, BigDecimal, String, Long, String, Timestamp> fieldsRow() {
+    public Row7<byte[], byte[], BigDecimal, byte[], Long, byte[], Timestamp> fieldsRow() {
         return (Row7) super.fieldsRow();
     }
 }
@@ -65,17 +65,17 @@ public class ContractEvent extends TableImpl<ContractEventRecord> {
     /**
      * The column <code>public.contract_event.block_hash</code>.
      */
-    public final TableField<ContractEventRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ContractEventRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_event.transaction_hash</code>.
      */
-    public final TableField<ContractEventRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ContractEventRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_event.contract_address</code>.
      */
-    public final TableField<ContractEventRecord, String> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<ContractEventRecord, byte[]> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.contract_event.type</code>.
@@ -85,37 +85,37 @@ public class ContractEvent extends TableImpl<ContractEventRecord> {
     /**
      * The column <code>public.contract_event.owner_address</code>.
      */
-    public final TableField<ContractEventRecord, String> OWNER_ADDRESS = createField(DSL.name("owner_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> OWNER_ADDRESS = createField(DSL.name("owner_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.spender_address</code>.
      */
-    public final TableField<ContractEventRecord, String> SPENDER_ADDRESS = createField(DSL.name("spender_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> SPENDER_ADDRESS = createField(DSL.name("spender_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.operator_address</code>.
      */
-    public final TableField<ContractEventRecord, String> OPERATOR_ADDRESS = createField(DSL.name("operator_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> OPERATOR_ADDRESS = createField(DSL.name("operator_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.holder_address</code>.
      */
-    public final TableField<ContractEventRecord, String> HOLDER_ADDRESS = createField(DSL.name("holder_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> HOLDER_ADDRESS = createField(DSL.name("holder_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.approved_address</code>.
      */
-    public final TableField<ContractEventRecord, String> APPROVED_ADDRESS = createField(DSL.name("approved_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> APPROVED_ADDRESS = createField(DSL.name("approved_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.from_address</code>.
      */
-    public final TableField<ContractEventRecord, String> FROM_ADDRESS = createField(DSL.name("from_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> FROM_ADDRESS = createField(DSL.name("from_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.to_address</code>.
      */
-    public final TableField<ContractEventRecord, String> TO_ADDRESS = createField(DSL.name("to_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<ContractEventRecord, byte[]> TO_ADDRESS = createField(DSL.name("to_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.contract_event.value</code>.
@@ -254,7 +254,7 @@ public class ContractEvent extends TableImpl<ContractEventRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row22<Long, String, String, String, ContractEventType, String, String, String, String, String, String, String, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> fieldsRow() {
+    public Row22<Long, byte[], byte[], byte[], ContractEventType, byte[], byte[], byte[], byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> fieldsRow() {
         return (Row22) super.fieldsRow();
     }
 }
@@ -65,7 +65,7 @@ public class ImportQueue extends TableImpl<ImportQueueRecord> {
     /**
      * The column <code>public.import_queue.hash</code>.
      */
-    public final TableField<ImportQueueRecord, String> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<ImportQueueRecord, byte[]> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.import_queue.stage</code>.
@@ -161,7 +161,7 @@ public class ImportQueue extends TableImpl<ImportQueueRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row4<Long, String, Short, Timestamp> fieldsRow() {
+    public Row4<Long, byte[], Short, Timestamp> fieldsRow() {
         return (Row4) super.fieldsRow();
     }
 }
@@ -66,12 +66,12 @@ public class InternalTransaction extends TableImpl<InternalTransactionRecord> {
     /**
      * The column <code>public.internal_transaction.from</code>.
      */
-    public final TableField<InternalTransactionRecord, String> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<InternalTransactionRecord, byte[]> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.internal_transaction.to</code>.
      */
-    public final TableField<InternalTransactionRecord, String> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<InternalTransactionRecord, byte[]> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.internal_transaction.amount</code>.
@@ -86,7 +86,7 @@ public class InternalTransaction extends TableImpl<InternalTransactionRecord> {
     /**
      * The column <code>public.internal_transaction.block_hash</code>.
      */
-    public final TableField<InternalTransactionRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<InternalTransactionRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.internal_transaction.block_timestamp</code>.
@@ -96,7 +96,7 @@ public class InternalTransaction extends TableImpl<InternalTransactionRecord> {
     /**
      * The column <code>public.internal_transaction.transaction_hash</code>.
      */
-    public final TableField<InternalTransactionRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<InternalTransactionRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.internal_transaction.transaction_index</code>.
@@ -172,7 +172,7 @@ public class InternalTransaction extends TableImpl<InternalTransactionRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row10<Long, DeltaType, String, String, BigDecimal, Long, String, Timestamp, String, Integer> fieldsRow() {
+    public Row10<Long, DeltaType, byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> fieldsRow() {
         return (Row10) super.fieldsRow();
     }
 }
@@ -60,17 +60,17 @@ public class NonFungibleTokenTransfer extends TableImpl<NonFungibleTokenTransfer
     /**
      * The column <code>public.non_fungible_token_transfer.contract_address</code>.
      */
-    public final TableField<NonFungibleTokenTransferRecord, String> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<NonFungibleTokenTransferRecord, byte[]> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.non_fungible_token_transfer.from</code>.
      */
-    public final TableField<NonFungibleTokenTransferRecord, String> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<NonFungibleTokenTransferRecord, byte[]> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.non_fungible_token_transfer.to</code>.
      */
-    public final TableField<NonFungibleTokenTransferRecord, String> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<NonFungibleTokenTransferRecord, byte[]> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.non_fungible_token_transfer.token_id</code>.
@@ -85,7 +85,7 @@ public class NonFungibleTokenTransfer extends TableImpl<NonFungibleTokenTransfer
     /**
      * The column <code>public.non_fungible_token_transfer.block_hash</code>.
      */
-    public final TableField<NonFungibleTokenTransferRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<NonFungibleTokenTransferRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.non_fungible_token_transfer.block_timestamp</code>.
@@ -95,7 +95,7 @@ public class NonFungibleTokenTransfer extends TableImpl<NonFungibleTokenTransfer
     /**
      * The column <code>public.non_fungible_token_transfer.transaction_hash</code>.
      */
-    public final TableField<NonFungibleTokenTransferRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<NonFungibleTokenTransferRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.non_fungible_token_transfer.transaction_index</code>.
@@ -171,7 +171,7 @@ public class NonFungibleTokenTransfer extends TableImpl<NonFungibleTokenTransfer
     // -------------------------------------------------------------------------
 
     @Override
-    public Row10<Long, String, String, String, BigDecimal, Long, String, Timestamp, String, Integer> fieldsRow() {
+    public Row10<Long, byte[], byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> fieldsRow() {
         return (Row10) super.fieldsRow();
     }
 }
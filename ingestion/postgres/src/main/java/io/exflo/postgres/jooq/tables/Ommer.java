@@ -61,7 +61,7 @@ public class Ommer extends TableImpl<OmmerRecord> {
     /**
      * The column <code>public.ommer.hash</code>.
      */
-    public final TableField<OmmerRecord, String> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.number</code>.
@@ -71,7 +71,7 @@ public class Ommer extends TableImpl<OmmerRecord> {
     /**
      * The column <code>public.ommer.nephew_hash</code>.
      */
-    public final TableField<OmmerRecord, String> NEPHEW_HASH = createField(DSL.name("nephew_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> NEPHEW_HASH = createField(DSL.name("nephew_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.height</code>.
@@ -81,7 +81,7 @@ public class Ommer extends TableImpl<OmmerRecord> {
     /**
      * The column <code>public.ommer.parent_hash</code>.
      */
-    public final TableField<OmmerRecord, String> PARENT_HASH = createField(DSL.name("parent_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> PARENT_HASH = createField(DSL.name("parent_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.index</code>.
@@ -96,27 +96,27 @@ public class Ommer extends TableImpl<OmmerRecord> {
     /**
      * The column <code>public.ommer.ommers_hash</code>.
      */
-    public final TableField<OmmerRecord, String> OMMERS_HASH = createField(DSL.name("ommers_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> OMMERS_HASH = createField(DSL.name("ommers_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.state_root</code>.
      */
-    public final TableField<OmmerRecord, String> STATE_ROOT = createField(DSL.name("state_root"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> STATE_ROOT = createField(DSL.name("state_root"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.receipts_root</code>.
      */
-    public final TableField<OmmerRecord, String> RECEIPTS_ROOT = createField(DSL.name("receipts_root"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> RECEIPTS_ROOT = createField(DSL.name("receipts_root"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.transactions_root</code>.
      */
-    public final TableField<OmmerRecord, String> TRANSACTIONS_ROOT = createField(DSL.name("transactions_root"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> TRANSACTIONS_ROOT = createField(DSL.name("transactions_root"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.coinbase</code>.
      */
-    public final TableField<OmmerRecord, String> COINBASE = createField(DSL.name("coinbase"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> COINBASE = createField(DSL.name("coinbase"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.difficulty</code>.
@@ -146,12 +146,12 @@ public class Ommer extends TableImpl<OmmerRecord> {
     /**
      * The column <code>public.ommer.mix_hash</code>.
      */
-    public final TableField<OmmerRecord, String> MIX_HASH = createField(DSL.name("mix_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> MIX_HASH = createField(DSL.name("mix_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.ommer.logs_bloom</code>.
      */
-    public final TableField<OmmerRecord, String> LOGS_BLOOM = createField(DSL.name("logs_bloom"), org.jooq.impl.SQLDataType.CHAR(514).nullable(false), this, "");
+    public final TableField<OmmerRecord, byte[]> LOGS_BLOOM = createField(DSL.name("logs_bloom"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * Create a <code>public.ommer</code> table reference
@@ -246,7 +246,7 @@ public class Ommer extends TableImpl<OmmerRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row19<String, Long, String, Long, String, Integer, Long, String, String, String, String, String, BigDecimal, byte[], Long, Long, Timestamp, String, String> fieldsRow() {
+    public Row19<byte[], Long, byte[], Long, byte[], Integer, Long, byte[], byte[], byte[], byte[], byte[], BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[]> fieldsRow() {
         return (Row19) super.fieldsRow();
     }
 }
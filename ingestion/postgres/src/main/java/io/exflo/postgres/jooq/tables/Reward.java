@@ -66,7 +66,7 @@ public class Reward extends TableImpl<RewardRecord> {
     /**
      * The column <code>public.reward.to</code>.
      */
-    public final TableField<RewardRecord, String> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<RewardRecord, byte[]> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.reward.amount</code>.
@@ -81,7 +81,7 @@ public class Reward extends TableImpl<RewardRecord> {
     /**
      * The column <code>public.reward.block_hash</code>.
      */
-    public final TableField<RewardRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<RewardRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.reward.block_timestamp</code>.
@@ -157,7 +157,7 @@ public class Reward extends TableImpl<RewardRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row7<Long, DeltaType, String, BigDecimal, Long, String, Timestamp> fieldsRow() {
+    public Row7<Long, DeltaType, byte[], BigDecimal, Long, byte[], Timestamp> fieldsRow() {
         return (Row7) super.fieldsRow();
     }
 }
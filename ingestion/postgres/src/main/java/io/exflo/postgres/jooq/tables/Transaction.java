@@ -61,7 +61,7 @@ public class Transaction extends TableImpl<TransactionRecord> {
     /**
      * The column <code>public.transaction.hash</code>.
      */
-    public final TableField<TransactionRecord, String> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<TransactionRecord, byte[]> HASH = createField(DSL.name("hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction.block_number</code>.
@@ -71,7 +71,7 @@ public class Transaction extends TableImpl<TransactionRecord> {
     /**
      * The column <code>public.transaction.block_hash</code>.
      */
-    public final TableField<TransactionRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<TransactionRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction.index</code>.
@@ -86,12 +86,12 @@ public class Transaction extends TableImpl<TransactionRecord> {
     /**
      * The column <code>public.transaction.from</code>.
      */
-    public final TableField<TransactionRecord, String> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<TransactionRecord, byte[]> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction.to</code>.
      */
-    public final TableField<TransactionRecord, String> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<TransactionRecord, byte[]> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.transaction.value</code>.
@@ -141,7 +141,7 @@ public class Transaction extends TableImpl<TransactionRecord> {
     /**
      * The column <code>public.transaction.contract_address</code>.
      */
-    public final TableField<TransactionRecord, String> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<TransactionRecord, byte[]> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.transaction.timestamp</code>.
@@ -241,7 +241,7 @@ public class Transaction extends TableImpl<TransactionRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row18<String, Long, String, Integer, Long, String, String, BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, String, Timestamp> fieldsRow() {
+    public Row18<byte[], Long, byte[], Integer, Long, byte[], byte[], BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, byte[], Timestamp> fieldsRow() {
         return (Row18) super.fieldsRow();
     }
 }
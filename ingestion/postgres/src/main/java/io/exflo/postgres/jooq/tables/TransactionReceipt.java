@@ -60,7 +60,7 @@ public class TransactionReceipt extends TableImpl<TransactionReceiptRecord> {
     /**
      * The column <code>public.transaction_receipt.transaction_hash</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> TRANSACTION_HASH = createField(DSL.name("transaction_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction_receipt.transaction_index</code>.
@@ -70,7 +70,7 @@ public class TransactionReceipt extends TableImpl<TransactionReceiptRecord> {
     /**
      * The column <code>public.transaction_receipt.block_hash</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.CHAR(66).nullable(false), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> BLOCK_HASH = createField(DSL.name("block_hash"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction_receipt.block_number</code>.
@@ -80,17 +80,17 @@ public class TransactionReceipt extends TableImpl<TransactionReceiptRecord> {
     /**
      * The column <code>public.transaction_receipt.from</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.CHAR(42).nullable(false), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> FROM = createField(DSL.name("from"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction_receipt.to</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> TO = createField(DSL.name("to"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.transaction_receipt.contract_address</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.CHAR(42), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> CONTRACT_ADDRESS = createField(DSL.name("contract_address"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.transaction_receipt.cumulative_gas_used</code>.
@@ -105,12 +105,12 @@ public class TransactionReceipt extends TableImpl<TransactionReceiptRecord> {
     /**
      * The column <code>public.transaction_receipt.logs</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> LOGS = createField(DSL.name("logs"), org.jooq.impl.SQLDataType.CLOB.nullable(false), this, "");
+    public final TableField<TransactionReceiptRecord, String> LOGS = createField(DSL.name("logs"), org.jooq.impl.SQLDataType.CLOB, this, "");
 
     /**
      * The column <code>public.transaction_receipt.state_root</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> STATE_ROOT = createField(DSL.name("state_root"), org.jooq.impl.SQLDataType.CHAR(66), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> STATE_ROOT = createField(DSL.name("state_root"), org.jooq.impl.SQLDataType.BLOB, this, "");
 
     /**
      * The column <code>public.transaction_receipt.status</code>.
@@ -120,7 +120,7 @@ public class TransactionReceipt extends TableImpl<TransactionReceiptRecord> {
     /**
      * The column <code>public.transaction_receipt.bloom_filter</code>.
      */
-    public final TableField<TransactionReceiptRecord, String> BLOOM_FILTER = createField(DSL.name("bloom_filter"), org.jooq.impl.SQLDataType.CHAR(514).nullable(false), this, "");
+    public final TableField<TransactionReceiptRecord, byte[]> BLOOM_FILTER = createField(DSL.name("bloom_filter"), org.jooq.impl.SQLDataType.BLOB.nullable(false), this, "");
 
     /**
      * The column <code>public.transaction_receipt.timestamp</code>.
@@ -225,7 +225,7 @@ public class TransactionReceipt extends TableImpl<TransactionReceiptRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Row15<String, Integer, String, Long, String, String, String, Long, Long, String, String, Short, String, Timestamp, byte[]> fieldsRow() {
+    public Row15<byte[], Integer, byte[], Long, byte[], byte[], byte[], Long, Long, String, byte[], Short, byte[], Timestamp, byte[]> fieldsRow() {
         return (Row15) super.fieldsRow();
     }
 }
@@ -11,7 +11,7 @@ import java.math.BigDecimal;
 import javax.annotation.processing.Generated;
 
 import org.jooq.Field;
-import org.jooq.Record2;
+import org.jooq.Record3;
 import org.jooq.Record5;
 import org.jooq.Row5;
 import org.jooq.impl.UpdatableRecordImpl;
@@ -28,14 +28,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements Record5<String, String, Long, Long, BigDecimal> {
+public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements Record5<byte[], byte[], Long, Long, BigDecimal> {
 
     private static final long serialVersionUID = -1836515340;
 
     /**
      * Setter for <code>public.account.address</code>.
      */
-    public AccountRecord setAddress(String value) {
+    public AccountRecord setAddress(byte... value) {
         set(0, value);
         return this;
     }
@@ -43,14 +43,14 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     /**
      * Getter for <code>public.account.address</code>.
      */
-    public String getAddress() {
-        return (String) get(0);
+    public byte[] getAddress() {
+        return (byte[]) get(0);
     }
 
     /**
      * Setter for <code>public.account.block_hash</code>.
      */
-    public AccountRecord setBlockHash(String value) {
+    public AccountRecord setBlockHash(byte... value) {
         set(1, value);
         return this;
     }
@@ -58,8 +58,8 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     /**
      * Getter for <code>public.account.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(1);
+    public byte[] getBlockHash() {
+        return (byte[]) get(1);
     }
 
     /**
@@ -112,8 +112,8 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     // -------------------------------------------------------------------------
 
     @Override
-    public Record2<String, String> key() {
-        return (Record2) super.key();
+    public Record3<byte[], byte[], Long> key() {
+        return (Record3) super.key();
     }
 
     // -------------------------------------------------------------------------
@@ -121,22 +121,22 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     // -------------------------------------------------------------------------
 
     @Override
-    public Row5<String, String, Long, Long, BigDecimal> fieldsRow() {
+    public Row5<byte[], byte[], Long, Long, BigDecimal> fieldsRow() {
         return (Row5) super.fieldsRow();
     }
 
     @Override
-    public Row5<String, String, Long, Long, BigDecimal> valuesRow() {
+    public Row5<byte[], byte[], Long, Long, BigDecimal> valuesRow() {
         return (Row5) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return Account.ACCOUNT.ADDRESS;
     }
 
     @Override
-    public Field<String> field2() {
+    public Field<byte[]> field2() {
         return Account.ACCOUNT.BLOCK_HASH;
     }
 
@@ -156,12 +156,12 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getAddress();
     }
 
     @Override
-    public String component2() {
+    public byte[] component2() {
         return getBlockHash();
     }
 
@@ -181,12 +181,12 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getAddress();
     }
 
     @Override
-    public String value2() {
+    public byte[] value2() {
         return getBlockHash();
     }
 
@@ -206,13 +206,13 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     }
 
     @Override
-    public AccountRecord value1(String value) {
+    public AccountRecord value1(byte... value) {
         setAddress(value);
         return this;
     }
 
     @Override
-    public AccountRecord value2(String value) {
+    public AccountRecord value2(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -236,7 +236,7 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     }
 
     @Override
-    public AccountRecord values(String value1, String value2, Long value3, Long value4, BigDecimal value5) {
+    public AccountRecord values(byte[] value1, byte[] value2, Long value3, Long value4, BigDecimal value5) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -259,7 +259,7 @@ public class AccountRecord extends UpdatableRecordImpl<AccountRecord> implements
     /**
      * Create a detached, initialised AccountRecord
      */
-    public AccountRecord(String address, String blockHash, Long blockNumber, Long nonce, BigDecimal balance) {
+    public AccountRecord(byte[] address, byte[] blockHash, Long blockNumber, Long nonce, BigDecimal balance) {
         super(Account.ACCOUNT);
 
         set(0, address);
@@ -13,8 +13,8 @@ import java.sql.Timestamp;
 import javax.annotation.processing.Generated;
 
 import org.jooq.Field;
-import org.jooq.Record1;
 import org.jooq.Record12;
+import org.jooq.Record2;
 import org.jooq.Row12;
 import org.jooq.impl.UpdatableRecordImpl;
 
@@ -30,7 +30,7 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord> implements Record12<Long, DeltaType, String, String, String, BigDecimal, BigDecimal, Long, String, String, Integer, Timestamp> {
+public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord> implements Record12<Long, DeltaType, byte[], byte[], byte[], BigDecimal, BigDecimal, Long, byte[], byte[], Integer, Timestamp> {
 
     private static final long serialVersionUID = 2137993143;
 
@@ -67,7 +67,7 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Setter for <code>public.balance_delta.contract_address</code>.
      */
-    public BalanceDeltaRecord setContractAddress(String value) {
+    public BalanceDeltaRecord setContractAddress(byte... value) {
         set(2, value);
         return this;
     }
@@ -75,14 +75,14 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Getter for <code>public.balance_delta.contract_address</code>.
      */
-    public String getContractAddress() {
-        return (String) get(2);
+    public byte[] getContractAddress() {
+        return (byte[]) get(2);
     }
 
     /**
      * Setter for <code>public.balance_delta.from</code>.
      */
-    public BalanceDeltaRecord setFrom(String value) {
+    public BalanceDeltaRecord setFrom(byte... value) {
         set(3, value);
         return this;
     }
@@ -90,14 +90,14 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Getter for <code>public.balance_delta.from</code>.
      */
-    public String getFrom() {
-        return (String) get(3);
+    public byte[] getFrom() {
+        return (byte[]) get(3);
     }
 
     /**
      * Setter for <code>public.balance_delta.to</code>.
      */
-    public BalanceDeltaRecord setTo(String value) {
+    public BalanceDeltaRecord setTo(byte... value) {
         set(4, value);
         return this;
     }
@@ -105,8 +105,8 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Getter for <code>public.balance_delta.to</code>.
      */
-    public String getTo() {
-        return (String) get(4);
+    public byte[] getTo() {
+        return (byte[]) get(4);
     }
 
     /**
@@ -157,7 +157,7 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Setter for <code>public.balance_delta.block_hash</code>.
      */
-    public BalanceDeltaRecord setBlockHash(String value) {
+    public BalanceDeltaRecord setBlockHash(byte... value) {
         set(8, value);
         return this;
     }
@@ -165,14 +165,14 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Getter for <code>public.balance_delta.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(8);
+    public byte[] getBlockHash() {
+        return (byte[]) get(8);
     }
 
     /**
      * Setter for <code>public.balance_delta.transaction_hash</code>.
      */
-    public BalanceDeltaRecord setTransactionHash(String value) {
+    public BalanceDeltaRecord setTransactionHash(byte... value) {
         set(9, value);
         return this;
     }
@@ -180,8 +180,8 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Getter for <code>public.balance_delta.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(9);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(9);
     }
 
     /**
@@ -219,8 +219,8 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<Long> key() {
-        return (Record1) super.key();
+    public Record2<Long, Long> key() {
+        return (Record2) super.key();
     }
 
     // -------------------------------------------------------------------------
@@ -228,12 +228,12 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     // -------------------------------------------------------------------------
 
     @Override
-    public Row12<Long, DeltaType, String, String, String, BigDecimal, BigDecimal, Long, String, String, Integer, Timestamp> fieldsRow() {
+    public Row12<Long, DeltaType, byte[], byte[], byte[], BigDecimal, BigDecimal, Long, byte[], byte[], Integer, Timestamp> fieldsRow() {
         return (Row12) super.fieldsRow();
     }
 
     @Override
-    public Row12<Long, DeltaType, String, String, String, BigDecimal, BigDecimal, Long, String, String, Integer, Timestamp> valuesRow() {
+    public Row12<Long, DeltaType, byte[], byte[], byte[], BigDecimal, BigDecimal, Long, byte[], byte[], Integer, Timestamp> valuesRow() {
         return (Row12) super.valuesRow();
     }
 
@@ -248,17 +248,17 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return BalanceDelta.BALANCE_DELTA.CONTRACT_ADDRESS;
     }
 
     @Override
-    public Field<String> field4() {
+    public Field<byte[]> field4() {
         return BalanceDelta.BALANCE_DELTA.FROM;
     }
 
     @Override
-    public Field<String> field5() {
+    public Field<byte[]> field5() {
         return BalanceDelta.BALANCE_DELTA.TO;
     }
 
@@ -278,12 +278,12 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public Field<String> field9() {
+    public Field<byte[]> field9() {
         return BalanceDelta.BALANCE_DELTA.BLOCK_HASH;
     }
 
     @Override
-    public Field<String> field10() {
+    public Field<byte[]> field10() {
         return BalanceDelta.BALANCE_DELTA.TRANSACTION_HASH;
     }
 
@@ -308,17 +308,17 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getContractAddress();
     }
 
     @Override
-    public String component4() {
+    public byte[] component4() {
         return getFrom();
     }
 
     @Override
-    public String component5() {
+    public byte[] component5() {
         return getTo();
     }
 
@@ -338,12 +338,12 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public String component9() {
+    public byte[] component9() {
         return getBlockHash();
     }
 
     @Override
-    public String component10() {
+    public byte[] component10() {
         return getTransactionHash();
     }
 
@@ -368,17 +368,17 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getContractAddress();
     }
 
     @Override
-    public String value4() {
+    public byte[] value4() {
         return getFrom();
     }
 
     @Override
-    public String value5() {
+    public byte[] value5() {
         return getTo();
     }
 
@@ -398,12 +398,12 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public String value9() {
+    public byte[] value9() {
         return getBlockHash();
     }
 
     @Override
-    public String value10() {
+    public byte[] value10() {
         return getTransactionHash();
     }
 
@@ -430,19 +430,19 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public BalanceDeltaRecord value3(String value) {
+    public BalanceDeltaRecord value3(byte... value) {
         setContractAddress(value);
         return this;
     }
 
     @Override
-    public BalanceDeltaRecord value4(String value) {
+    public BalanceDeltaRecord value4(byte... value) {
         setFrom(value);
         return this;
     }
 
     @Override
-    public BalanceDeltaRecord value5(String value) {
+    public BalanceDeltaRecord value5(byte... value) {
         setTo(value);
         return this;
     }
@@ -466,13 +466,13 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public BalanceDeltaRecord value9(String value) {
+    public BalanceDeltaRecord value9(byte... value) {
         setBlockHash(value);
         return this;
     }
 
     @Override
-    public BalanceDeltaRecord value10(String value) {
+    public BalanceDeltaRecord value10(byte... value) {
         setTransactionHash(value);
         return this;
     }
@@ -490,7 +490,7 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     }
 
     @Override
-    public BalanceDeltaRecord values(Long value1, DeltaType value2, String value3, String value4, String value5, BigDecimal value6, BigDecimal value7, Long value8, String value9, String value10, Integer value11, Timestamp value12) {
+    public BalanceDeltaRecord values(Long value1, DeltaType value2, byte[] value3, byte[] value4, byte[] value5, BigDecimal value6, BigDecimal value7, Long value8, byte[] value9, byte[] value10, Integer value11, Timestamp value12) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -520,7 +520,7 @@ public class BalanceDeltaRecord extends UpdatableRecordImpl<BalanceDeltaRecord>
     /**
      * Create a detached, initialised BalanceDeltaRecord
      */
-    public BalanceDeltaRecord(Long id, DeltaType deltaType, String contractAddress, String from, String to, BigDecimal amount, BigDecimal tokenId, Long blockNumber, String blockHash, String transactionHash, Integer transactionIndex, Timestamp blockTimestamp) {
+    public BalanceDeltaRecord(Long id, DeltaType deltaType, byte[] contractAddress, byte[] from, byte[] to, BigDecimal amount, BigDecimal tokenId, Long blockNumber, byte[] blockHash, byte[] transactionHash, Integer transactionIndex, Timestamp blockTimestamp) {
         super(BalanceDelta.BALANCE_DELTA);
 
         set(0, id);
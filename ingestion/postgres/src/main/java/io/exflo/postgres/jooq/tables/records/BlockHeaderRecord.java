@@ -29,14 +29,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> implements Record18<String, Long, String, Long, Boolean, String, String, String, String, BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, String, String, String> {
+public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> implements Record18<byte[], Long, byte[], Long, Boolean, byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[], byte[]> {
 
     private static final long serialVersionUID = 1797994802;
 
     /**
      * Setter for <code>public.block_header.hash</code>.
      */
-    public BlockHeaderRecord setHash(String value) {
+    public BlockHeaderRecord setHash(byte... value) {
         set(0, value);
         return this;
     }
@@ -44,8 +44,8 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.hash</code>.
      */
-    public String getHash() {
-        return (String) get(0);
+    public byte[] getHash() {
+        return (byte[]) get(0);
     }
 
     /**
@@ -66,7 +66,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Setter for <code>public.block_header.parent_hash</code>.
      */
-    public BlockHeaderRecord setParentHash(String value) {
+    public BlockHeaderRecord setParentHash(byte... value) {
         set(2, value);
         return this;
     }
@@ -74,8 +74,8 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.parent_hash</code>.
      */
-    public String getParentHash() {
-        return (String) get(2);
+    public byte[] getParentHash() {
+        return (byte[]) get(2);
     }
 
     /**
@@ -111,7 +111,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Setter for <code>public.block_header.state_root</code>.
      */
-    public BlockHeaderRecord setStateRoot(String value) {
+    public BlockHeaderRecord setStateRoot(byte... value) {
         set(5, value);
         return this;
     }
@@ -119,14 +119,14 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.state_root</code>.
      */
-    public String getStateRoot() {
-        return (String) get(5);
+    public byte[] getStateRoot() {
+        return (byte[]) get(5);
     }
 
     /**
      * Setter for <code>public.block_header.receipts_root</code>.
      */
-    public BlockHeaderRecord setReceiptsRoot(String value) {
+    public BlockHeaderRecord setReceiptsRoot(byte... value) {
         set(6, value);
         return this;
     }
@@ -134,14 +134,14 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.receipts_root</code>.
      */
-    public String getReceiptsRoot() {
-        return (String) get(6);
+    public byte[] getReceiptsRoot() {
+        return (byte[]) get(6);
     }
 
     /**
      * Setter for <code>public.block_header.transactions_root</code>.
      */
-    public BlockHeaderRecord setTransactionsRoot(String value) {
+    public BlockHeaderRecord setTransactionsRoot(byte... value) {
         set(7, value);
         return this;
     }
@@ -149,14 +149,14 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.transactions_root</code>.
      */
-    public String getTransactionsRoot() {
-        return (String) get(7);
+    public byte[] getTransactionsRoot() {
+        return (byte[]) get(7);
     }
 
     /**
      * Setter for <code>public.block_header.coinbase</code>.
      */
-    public BlockHeaderRecord setCoinbase(String value) {
+    public BlockHeaderRecord setCoinbase(byte... value) {
         set(8, value);
         return this;
     }
@@ -164,8 +164,8 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.coinbase</code>.
      */
-    public String getCoinbase() {
-        return (String) get(8);
+    public byte[] getCoinbase() {
+        return (byte[]) get(8);
     }
 
     /**
@@ -261,7 +261,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Setter for <code>public.block_header.mix_hash</code>.
      */
-    public BlockHeaderRecord setMixHash(String value) {
+    public BlockHeaderRecord setMixHash(byte... value) {
         set(15, value);
         return this;
     }
@@ -269,14 +269,14 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.mix_hash</code>.
      */
-    public String getMixHash() {
-        return (String) get(15);
+    public byte[] getMixHash() {
+        return (byte[]) get(15);
     }
 
     /**
      * Setter for <code>public.block_header.ommers_hash</code>.
      */
-    public BlockHeaderRecord setOmmersHash(String value) {
+    public BlockHeaderRecord setOmmersHash(byte... value) {
         set(16, value);
         return this;
     }
@@ -284,14 +284,14 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.ommers_hash</code>.
      */
-    public String getOmmersHash() {
-        return (String) get(16);
+    public byte[] getOmmersHash() {
+        return (byte[]) get(16);
     }
 
     /**
      * Setter for <code>public.block_header.logs_bloom</code>.
      */
-    public BlockHeaderRecord setLogsBloom(String value) {
+    public BlockHeaderRecord setLogsBloom(byte... value) {
         set(17, value);
         return this;
     }
@@ -299,8 +299,8 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Getter for <code>public.block_header.logs_bloom</code>.
      */
-    public String getLogsBloom() {
-        return (String) get(17);
+    public byte[] getLogsBloom() {
+        return (byte[]) get(17);
     }
 
     // -------------------------------------------------------------------------
@@ -308,7 +308,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<String> key() {
+    public Record1<byte[]> key() {
         return (Record1) super.key();
     }
 
@@ -317,17 +317,17 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Row18<String, Long, String, Long, Boolean, String, String, String, String, BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, String, String, String> fieldsRow() {
+    public Row18<byte[], Long, byte[], Long, Boolean, byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[], byte[]> fieldsRow() {
         return (Row18) super.fieldsRow();
     }
 
     @Override
-    public Row18<String, Long, String, Long, Boolean, String, String, String, String, BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, String, String, String> valuesRow() {
+    public Row18<byte[], Long, byte[], Long, Boolean, byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[], byte[]> valuesRow() {
         return (Row18) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return BlockHeader.BLOCK_HEADER.HASH;
     }
 
@@ -337,7 +337,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return BlockHeader.BLOCK_HEADER.PARENT_HASH;
     }
 
@@ -352,22 +352,22 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public Field<String> field6() {
+    public Field<byte[]> field6() {
         return BlockHeader.BLOCK_HEADER.STATE_ROOT;
     }
 
     @Override
-    public Field<String> field7() {
+    public Field<byte[]> field7() {
         return BlockHeader.BLOCK_HEADER.RECEIPTS_ROOT;
     }
 
     @Override
-    public Field<String> field8() {
+    public Field<byte[]> field8() {
         return BlockHeader.BLOCK_HEADER.TRANSACTIONS_ROOT;
     }
 
     @Override
-    public Field<String> field9() {
+    public Field<byte[]> field9() {
         return BlockHeader.BLOCK_HEADER.COINBASE;
     }
 
@@ -402,22 +402,22 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public Field<String> field16() {
+    public Field<byte[]> field16() {
         return BlockHeader.BLOCK_HEADER.MIX_HASH;
     }
 
     @Override
-    public Field<String> field17() {
+    public Field<byte[]> field17() {
         return BlockHeader.BLOCK_HEADER.OMMERS_HASH;
     }
 
     @Override
-    public Field<String> field18() {
+    public Field<byte[]> field18() {
         return BlockHeader.BLOCK_HEADER.LOGS_BLOOM;
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getHash();
     }
 
@@ -427,7 +427,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getParentHash();
     }
 
@@ -442,22 +442,22 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public String component6() {
+    public byte[] component6() {
         return getStateRoot();
     }
 
     @Override
-    public String component7() {
+    public byte[] component7() {
         return getReceiptsRoot();
     }
 
     @Override
-    public String component8() {
+    public byte[] component8() {
         return getTransactionsRoot();
     }
 
     @Override
-    public String component9() {
+    public byte[] component9() {
         return getCoinbase();
     }
 
@@ -492,22 +492,22 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public String component16() {
+    public byte[] component16() {
         return getMixHash();
     }
 
     @Override
-    public String component17() {
+    public byte[] component17() {
         return getOmmersHash();
     }
 
     @Override
-    public String component18() {
+    public byte[] component18() {
         return getLogsBloom();
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getHash();
     }
 
@@ -517,7 +517,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getParentHash();
     }
 
@@ -532,22 +532,22 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public String value6() {
+    public byte[] value6() {
         return getStateRoot();
     }
 
     @Override
-    public String value7() {
+    public byte[] value7() {
         return getReceiptsRoot();
     }
 
     @Override
-    public String value8() {
+    public byte[] value8() {
         return getTransactionsRoot();
     }
 
     @Override
-    public String value9() {
+    public byte[] value9() {
         return getCoinbase();
     }
 
@@ -582,22 +582,22 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public String value16() {
+    public byte[] value16() {
         return getMixHash();
     }
 
     @Override
-    public String value17() {
+    public byte[] value17() {
         return getOmmersHash();
     }
 
     @Override
-    public String value18() {
+    public byte[] value18() {
         return getLogsBloom();
     }
 
     @Override
-    public BlockHeaderRecord value1(String value) {
+    public BlockHeaderRecord value1(byte... value) {
         setHash(value);
         return this;
     }
@@ -609,7 +609,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public BlockHeaderRecord value3(String value) {
+    public BlockHeaderRecord value3(byte... value) {
         setParentHash(value);
         return this;
     }
@@ -627,25 +627,25 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public BlockHeaderRecord value6(String value) {
+    public BlockHeaderRecord value6(byte... value) {
         setStateRoot(value);
         return this;
     }
 
     @Override
-    public BlockHeaderRecord value7(String value) {
+    public BlockHeaderRecord value7(byte... value) {
         setReceiptsRoot(value);
         return this;
     }
 
     @Override
-    public BlockHeaderRecord value8(String value) {
+    public BlockHeaderRecord value8(byte... value) {
         setTransactionsRoot(value);
         return this;
     }
 
     @Override
-    public BlockHeaderRecord value9(String value) {
+    public BlockHeaderRecord value9(byte... value) {
         setCoinbase(value);
         return this;
     }
@@ -687,25 +687,25 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     }
 
     @Override
-    public BlockHeaderRecord value16(String value) {
+    public BlockHeaderRecord value16(byte... value) {
         setMixHash(value);
         return this;
     }
 
     @Override
-    public BlockHeaderRecord value17(String value) {
+    public BlockHeaderRecord value17(byte... value) {
         setOmmersHash(value);
         return this;
     }
 
     @Override
-    public BlockHeaderRecord value18(String value) {
+    public BlockHeaderRecord value18(byte... value) {
         setLogsBloom(value);
         return this;
     }
 
     @Override
-    public BlockHeaderRecord values(String value1, Long value2, String value3, Long value4, Boolean value5, String value6, String value7, String value8, String value9, BigDecimal value10, BigDecimal value11, byte[] value12, Long value13, Long value14, Timestamp value15, String value16, String value17, String value18) {
+    public BlockHeaderRecord values(byte[] value1, Long value2, byte[] value3, Long value4, Boolean value5, byte[] value6, byte[] value7, byte[] value8, byte[] value9, BigDecimal value10, BigDecimal value11, byte[] value12, Long value13, Long value14, Timestamp value15, byte[] value16, byte[] value17, byte[] value18) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -741,7 +741,7 @@ public class BlockHeaderRecord extends UpdatableRecordImpl<BlockHeaderRecord> im
     /**
      * Create a detached, initialised BlockHeaderRecord
      */
-    public BlockHeaderRecord(String hash, Long number, String parentHash, Long nonce, Boolean isCanonical, String stateRoot, String receiptsRoot, String transactionsRoot, String coinbase, BigDecimal difficulty, BigDecimal totalDifficulty, byte[] extraData, Long gasLimit, Long gasUsed, Timestamp timestamp, String mixHash, String ommersHash, String logsBloom) {
+    public BlockHeaderRecord(byte[] hash, Long number, byte[] parentHash, Long nonce, Boolean isCanonical, byte[] stateRoot, byte[] receiptsRoot, byte[] transactionsRoot, byte[] coinbase, BigDecimal difficulty, BigDecimal totalDifficulty, byte[] extraData, Long gasLimit, Long gasUsed, Timestamp timestamp, byte[] mixHash, byte[] ommersHash, byte[] logsBloom) {
         super(BlockHeader.BLOCK_HEADER);
 
         set(0, hash);
@@ -10,8 +10,8 @@ import javax.annotation.processing.Generated;
 
 import org.jooq.Field;
 import org.jooq.JSONB;
-import org.jooq.Record2;
-import org.jooq.Row2;
+import org.jooq.Record3;
+import org.jooq.Row3;
 import org.jooq.impl.TableRecordImpl;
 
 
@@ -26,14 +26,14 @@ import org.jooq.impl.TableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implements Record2<String, JSONB> {
+public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implements Record3<byte[], JSONB, Long> {
 
     private static final long serialVersionUID = 708719389;
 
     /**
      * Setter for <code>public.block_trace.block_hash</code>.
      */
-    public BlockTraceRecord setBlockHash(String value) {
+    public BlockTraceRecord setBlockHash(byte... value) {
         set(0, value);
         return this;
     }
@@ -41,8 +41,8 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
     /**
      * Getter for <code>public.block_trace.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(0);
+    public byte[] getBlockHash() {
+        return (byte[]) get(0);
     }
 
     /**
@@ -60,22 +60,37 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
         return (JSONB) get(1);
     }
 
+    /**
+     * Setter for <code>public.block_trace.block_number</code>.
+     */
+    public BlockTraceRecord setBlockNumber(Long value) {
+        set(2, value);
+        return this;
+    }
+
+    /**
+     * Getter for <code>public.block_trace.block_number</code>.
+     */
+    public Long getBlockNumber() {
+        return (Long) get(2);
+    }
+
     // -------------------------------------------------------------------------
-    // Record2 type implementation
+    // Record3 type implementation
     // -------------------------------------------------------------------------
 
     @Override
-    public Row2<String, JSONB> fieldsRow() {
-        return (Row2) super.fieldsRow();
+    public Row3<byte[], JSONB, Long> fieldsRow() {
+        return (Row3) super.fieldsRow();
     }
 
     @Override
-    public Row2<String, JSONB> valuesRow() {
-        return (Row2) super.valuesRow();
+    public Row3<byte[], JSONB, Long> valuesRow() {
+        return (Row3) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return BlockTrace.BLOCK_TRACE.BLOCK_HASH;
     }
 
@@ -85,7 +100,12 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
     }
 
     @Override
-    public String component1() {
+    public Field<Long> field3() {
+        return BlockTrace.BLOCK_TRACE.BLOCK_NUMBER;
+    }
+
+    @Override
+    public byte[] component1() {
         return getBlockHash();
     }
 
@@ -95,7 +115,12 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
     }
 
     @Override
-    public String value1() {
+    public Long component3() {
+        return getBlockNumber();
+    }
+
+    @Override
+    public byte[] value1() {
         return getBlockHash();
     }
 
@@ -105,7 +130,12 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
     }
 
     @Override
-    public BlockTraceRecord value1(String value) {
+    public Long value3() {
+        return getBlockNumber();
+    }
+
+    @Override
+    public BlockTraceRecord value1(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -117,9 +147,16 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
     }
 
     @Override
-    public BlockTraceRecord values(String value1, JSONB value2) {
+    public BlockTraceRecord value3(Long value) {
+        setBlockNumber(value);
+        return this;
+    }
+
+    @Override
+    public BlockTraceRecord values(byte[] value1, JSONB value2, Long value3) {
         value1(value1);
         value2(value2);
+        value3(value3);
         return this;
     }
 
@@ -137,10 +174,11 @@ public class BlockTraceRecord extends TableRecordImpl<BlockTraceRecord> implemen
     /**
      * Create a detached, initialised BlockTraceRecord
      */
-    public BlockTraceRecord(String blockHash, JSONB trace) {
+    public BlockTraceRecord(byte[] blockHash, JSONB trace, Long blockNumber) {
         super(BlockTrace.BLOCK_TRACE);
 
         set(0, blockHash);
         set(1, trace);
+        set(2, blockNumber);
     }
 }
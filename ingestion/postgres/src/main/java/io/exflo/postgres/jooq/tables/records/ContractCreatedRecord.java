@@ -31,14 +31,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRecord> implements Record15<String, String, String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, String, Long, String, Timestamp> {
+public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRecord> implements Record15<byte[], byte[], String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, byte[], Long, byte[], Timestamp> {
 
     private static final long serialVersionUID = -436791992;
 
     /**
      * Setter for <code>public.contract_created.address</code>.
      */
-    public ContractCreatedRecord setAddress(String value) {
+    public ContractCreatedRecord setAddress(byte... value) {
         set(0, value);
         return this;
     }
@@ -46,14 +46,14 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Getter for <code>public.contract_created.address</code>.
      */
-    public String getAddress() {
-        return (String) get(0);
+    public byte[] getAddress() {
+        return (byte[]) get(0);
     }
 
     /**
      * Setter for <code>public.contract_created.creator</code>.
      */
-    public ContractCreatedRecord setCreator(String value) {
+    public ContractCreatedRecord setCreator(byte... value) {
         set(1, value);
         return this;
     }
@@ -61,8 +61,8 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Getter for <code>public.contract_created.creator</code>.
      */
-    public String getCreator() {
-        return (String) get(1);
+    public byte[] getCreator() {
+        return (byte[]) get(1);
     }
 
     /**
@@ -203,7 +203,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Setter for <code>public.contract_created.block_hash</code>.
      */
-    public ContractCreatedRecord setBlockHash(String value) {
+    public ContractCreatedRecord setBlockHash(byte... value) {
         set(11, value);
         return this;
     }
@@ -211,8 +211,8 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Getter for <code>public.contract_created.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(11);
+    public byte[] getBlockHash() {
+        return (byte[]) get(11);
     }
 
     /**
@@ -233,7 +233,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Setter for <code>public.contract_created.transaction_hash</code>.
      */
-    public ContractCreatedRecord setTransactionHash(String value) {
+    public ContractCreatedRecord setTransactionHash(byte... value) {
         set(13, value);
         return this;
     }
@@ -241,8 +241,8 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Getter for <code>public.contract_created.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(13);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(13);
     }
 
     /**
@@ -265,7 +265,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     // -------------------------------------------------------------------------
 
     @Override
-    public Record2<String, String> key() {
+    public Record2<byte[], byte[]> key() {
         return (Record2) super.key();
     }
 
@@ -274,22 +274,22 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     // -------------------------------------------------------------------------
 
     @Override
-    public Row15<String, String, String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, String, Long, String, Timestamp> fieldsRow() {
+    public Row15<byte[], byte[], String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, byte[], Long, byte[], Timestamp> fieldsRow() {
         return (Row15) super.fieldsRow();
     }
 
     @Override
-    public Row15<String, String, String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, String, Long, String, Timestamp> valuesRow() {
+    public Row15<byte[], byte[], String, ContractType, ContractCapability[], String, String, Short, BigDecimal, BigDecimal, BigDecimal, byte[], Long, byte[], Timestamp> valuesRow() {
         return (Row15) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return ContractCreated.CONTRACT_CREATED.ADDRESS;
     }
 
     @Override
-    public Field<String> field2() {
+    public Field<byte[]> field2() {
         return ContractCreated.CONTRACT_CREATED.CREATOR;
     }
 
@@ -339,7 +339,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public Field<String> field12() {
+    public Field<byte[]> field12() {
         return ContractCreated.CONTRACT_CREATED.BLOCK_HASH;
     }
 
@@ -349,7 +349,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public Field<String> field14() {
+    public Field<byte[]> field14() {
         return ContractCreated.CONTRACT_CREATED.TRANSACTION_HASH;
     }
 
@@ -359,12 +359,12 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getAddress();
     }
 
     @Override
-    public String component2() {
+    public byte[] component2() {
         return getCreator();
     }
 
@@ -414,7 +414,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public String component12() {
+    public byte[] component12() {
         return getBlockHash();
     }
 
@@ -424,7 +424,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public String component14() {
+    public byte[] component14() {
         return getTransactionHash();
     }
 
@@ -434,12 +434,12 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getAddress();
     }
 
     @Override
-    public String value2() {
+    public byte[] value2() {
         return getCreator();
     }
 
@@ -489,7 +489,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public String value12() {
+    public byte[] value12() {
         return getBlockHash();
     }
 
@@ -499,7 +499,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public String value14() {
+    public byte[] value14() {
         return getTransactionHash();
     }
 
@@ -509,13 +509,13 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public ContractCreatedRecord value1(String value) {
+    public ContractCreatedRecord value1(byte... value) {
         setAddress(value);
         return this;
     }
 
     @Override
-    public ContractCreatedRecord value2(String value) {
+    public ContractCreatedRecord value2(byte... value) {
         setCreator(value);
         return this;
     }
@@ -575,7 +575,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public ContractCreatedRecord value12(String value) {
+    public ContractCreatedRecord value12(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -587,7 +587,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public ContractCreatedRecord value14(String value) {
+    public ContractCreatedRecord value14(byte... value) {
         setTransactionHash(value);
         return this;
     }
@@ -599,7 +599,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     }
 
     @Override
-    public ContractCreatedRecord values(String value1, String value2, String value3, ContractType value4, ContractCapability[] value5, String value6, String value7, Short value8, BigDecimal value9, BigDecimal value10, BigDecimal value11, String value12, Long value13, String value14, Timestamp value15) {
+    public ContractCreatedRecord values(byte[] value1, byte[] value2, String value3, ContractType value4, ContractCapability[] value5, String value6, String value7, Short value8, BigDecimal value9, BigDecimal value10, BigDecimal value11, byte[] value12, Long value13, byte[] value14, Timestamp value15) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -632,7 +632,7 @@ public class ContractCreatedRecord extends UpdatableRecordImpl<ContractCreatedRe
     /**
      * Create a detached, initialised ContractCreatedRecord
      */
-    public ContractCreatedRecord(String address, String creator, String code, ContractType type, ContractCapability[] capabilities, String name, String symbol, Short decimals, BigDecimal totalSupply, BigDecimal granularity, BigDecimal cap, String blockHash, Long blockNumber, String transactionHash, Timestamp timestamp) {
+    public ContractCreatedRecord(byte[] address, byte[] creator, String code, ContractType type, ContractCapability[] capabilities, String name, String symbol, Short decimals, BigDecimal totalSupply, BigDecimal granularity, BigDecimal cap, byte[] blockHash, Long blockNumber, byte[] transactionHash, Timestamp timestamp) {
         super(ContractCreated.CONTRACT_CREATED);
 
         set(0, address);
@@ -29,14 +29,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroyedRecord> implements Record7<String, String, BigDecimal, String, Long, String, Timestamp> {
+public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroyedRecord> implements Record7<byte[], byte[], BigDecimal, byte[], Long, byte[], Timestamp> {
 
     private static final long serialVersionUID = -600130902;
 
     /**
      * Setter for <code>public.contract_destroyed.address</code>.
      */
-    public ContractDestroyedRecord setAddress(String value) {
+    public ContractDestroyedRecord setAddress(byte... value) {
         set(0, value);
         return this;
     }
@@ -44,14 +44,14 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Getter for <code>public.contract_destroyed.address</code>.
      */
-    public String getAddress() {
-        return (String) get(0);
+    public byte[] getAddress() {
+        return (byte[]) get(0);
     }
 
     /**
      * Setter for <code>public.contract_destroyed.refund_address</code>.
      */
-    public ContractDestroyedRecord setRefundAddress(String value) {
+    public ContractDestroyedRecord setRefundAddress(byte... value) {
         set(1, value);
         return this;
     }
@@ -59,8 +59,8 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Getter for <code>public.contract_destroyed.refund_address</code>.
      */
-    public String getRefundAddress() {
-        return (String) get(1);
+    public byte[] getRefundAddress() {
+        return (byte[]) get(1);
     }
 
     /**
@@ -81,7 +81,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Setter for <code>public.contract_destroyed.block_hash</code>.
      */
-    public ContractDestroyedRecord setBlockHash(String value) {
+    public ContractDestroyedRecord setBlockHash(byte... value) {
         set(3, value);
         return this;
     }
@@ -89,8 +89,8 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Getter for <code>public.contract_destroyed.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(3);
+    public byte[] getBlockHash() {
+        return (byte[]) get(3);
     }
 
     /**
@@ -111,7 +111,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Setter for <code>public.contract_destroyed.transaction_hash</code>.
      */
-    public ContractDestroyedRecord setTransactionHash(String value) {
+    public ContractDestroyedRecord setTransactionHash(byte... value) {
         set(5, value);
         return this;
     }
@@ -119,8 +119,8 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Getter for <code>public.contract_destroyed.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(5);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(5);
     }
 
     /**
@@ -143,7 +143,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     // -------------------------------------------------------------------------
 
     @Override
-    public Record2<String, String> key() {
+    public Record2<byte[], byte[]> key() {
         return (Record2) super.key();
     }
 
@@ -152,22 +152,22 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     // -------------------------------------------------------------------------
 
     @Override
-    public Row7<String, String, BigDecimal, String, Long, String, Timestamp> fieldsRow() {
+    public Row7<byte[], byte[], BigDecimal, byte[], Long, byte[], Timestamp> fieldsRow() {
         return (Row7) super.fieldsRow();
     }
 
     @Override
-    public Row7<String, String, BigDecimal, String, Long, String, Timestamp> valuesRow() {
+    public Row7<byte[], byte[], BigDecimal, byte[], Long, byte[], Timestamp> valuesRow() {
         return (Row7) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return ContractDestroyed.CONTRACT_DESTROYED.ADDRESS;
     }
 
     @Override
-    public Field<String> field2() {
+    public Field<byte[]> field2() {
         return ContractDestroyed.CONTRACT_DESTROYED.REFUND_ADDRESS;
     }
 
@@ -177,7 +177,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public Field<String> field4() {
+    public Field<byte[]> field4() {
         return ContractDestroyed.CONTRACT_DESTROYED.BLOCK_HASH;
     }
 
@@ -187,7 +187,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public Field<String> field6() {
+    public Field<byte[]> field6() {
         return ContractDestroyed.CONTRACT_DESTROYED.TRANSACTION_HASH;
     }
 
@@ -197,12 +197,12 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getAddress();
     }
 
     @Override
-    public String component2() {
+    public byte[] component2() {
         return getRefundAddress();
     }
 
@@ -212,7 +212,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public String component4() {
+    public byte[] component4() {
         return getBlockHash();
     }
 
@@ -222,7 +222,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public String component6() {
+    public byte[] component6() {
         return getTransactionHash();
     }
 
@@ -232,12 +232,12 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getAddress();
     }
 
     @Override
-    public String value2() {
+    public byte[] value2() {
         return getRefundAddress();
     }
 
@@ -247,7 +247,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public String value4() {
+    public byte[] value4() {
         return getBlockHash();
     }
 
@@ -257,7 +257,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public String value6() {
+    public byte[] value6() {
         return getTransactionHash();
     }
 
@@ -267,13 +267,13 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public ContractDestroyedRecord value1(String value) {
+    public ContractDestroyedRecord value1(byte... value) {
         setAddress(value);
         return this;
     }
 
     @Override
-    public ContractDestroyedRecord value2(String value) {
+    public ContractDestroyedRecord value2(byte... value) {
         setRefundAddress(value);
         return this;
     }
@@ -285,7 +285,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public ContractDestroyedRecord value4(String value) {
+    public ContractDestroyedRecord value4(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -297,7 +297,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public ContractDestroyedRecord value6(String value) {
+    public ContractDestroyedRecord value6(byte... value) {
         setTransactionHash(value);
         return this;
     }
@@ -309,7 +309,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     }
 
     @Override
-    public ContractDestroyedRecord values(String value1, String value2, BigDecimal value3, String value4, Long value5, String value6, Timestamp value7) {
+    public ContractDestroyedRecord values(byte[] value1, byte[] value2, BigDecimal value3, byte[] value4, Long value5, byte[] value6, Timestamp value7) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -334,7 +334,7 @@ public class ContractDestroyedRecord extends UpdatableRecordImpl<ContractDestroy
     /**
      * Create a detached, initialised ContractDestroyedRecord
      */
-    public ContractDestroyedRecord(String address, String refundAddress, BigDecimal refundAmount, String blockHash, Long blockNumber, String transactionHash, Timestamp timestamp) {
+    public ContractDestroyedRecord(byte[] address, byte[] refundAddress, BigDecimal refundAmount, byte[] blockHash, Long blockNumber, byte[] transactionHash, Timestamp timestamp) {
         super(ContractDestroyed.CONTRACT_DESTROYED);
 
         set(0, address);
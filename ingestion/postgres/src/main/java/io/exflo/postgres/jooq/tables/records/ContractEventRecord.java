@@ -28,7 +28,7 @@ import org.jooq.impl.TableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> implements Record22<Long, String, String, String, ContractEventType, String, String, String, String, String, String, String, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> {
+public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> implements Record22<Long, byte[], byte[], byte[], ContractEventType, byte[], byte[], byte[], byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> {
 
     private static final long serialVersionUID = -852438330;
 
@@ -50,7 +50,7 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Setter for <code>public.contract_event.block_hash</code>.
      */
-    public ContractEventRecord setBlockHash(String value) {
+    public ContractEventRecord setBlockHash(byte... value) {
         set(1, value);
         return this;
     }
@@ -58,14 +58,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(1);
+    public byte[] getBlockHash() {
+        return (byte[]) get(1);
     }
 
     /**
      * Setter for <code>public.contract_event.transaction_hash</code>.
      */
-    public ContractEventRecord setTransactionHash(String value) {
+    public ContractEventRecord setTransactionHash(byte... value) {
         set(2, value);
         return this;
     }
@@ -73,14 +73,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(2);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(2);
     }
 
     /**
      * Setter for <code>public.contract_event.contract_address</code>.
      */
-    public ContractEventRecord setContractAddress(String value) {
+    public ContractEventRecord setContractAddress(byte... value) {
         set(3, value);
         return this;
     }
@@ -88,8 +88,8 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.contract_address</code>.
      */
-    public String getContractAddress() {
-        return (String) get(3);
+    public byte[] getContractAddress() {
+        return (byte[]) get(3);
     }
 
     /**
@@ -110,7 +110,7 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Setter for <code>public.contract_event.owner_address</code>.
      */
-    public ContractEventRecord setOwnerAddress(String value) {
+    public ContractEventRecord setOwnerAddress(byte... value) {
         set(5, value);
         return this;
     }
@@ -118,14 +118,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.owner_address</code>.
      */
-    public String getOwnerAddress() {
-        return (String) get(5);
+    public byte[] getOwnerAddress() {
+        return (byte[]) get(5);
     }
 
     /**
      * Setter for <code>public.contract_event.spender_address</code>.
      */
-    public ContractEventRecord setSpenderAddress(String value) {
+    public ContractEventRecord setSpenderAddress(byte... value) {
         set(6, value);
         return this;
     }
@@ -133,14 +133,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.spender_address</code>.
      */
-    public String getSpenderAddress() {
-        return (String) get(6);
+    public byte[] getSpenderAddress() {
+        return (byte[]) get(6);
     }
 
     /**
      * Setter for <code>public.contract_event.operator_address</code>.
      */
-    public ContractEventRecord setOperatorAddress(String value) {
+    public ContractEventRecord setOperatorAddress(byte... value) {
         set(7, value);
         return this;
     }
@@ -148,14 +148,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.operator_address</code>.
      */
-    public String getOperatorAddress() {
-        return (String) get(7);
+    public byte[] getOperatorAddress() {
+        return (byte[]) get(7);
     }
 
     /**
      * Setter for <code>public.contract_event.holder_address</code>.
      */
-    public ContractEventRecord setHolderAddress(String value) {
+    public ContractEventRecord setHolderAddress(byte... value) {
         set(8, value);
         return this;
     }
@@ -163,14 +163,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.holder_address</code>.
      */
-    public String getHolderAddress() {
-        return (String) get(8);
+    public byte[] getHolderAddress() {
+        return (byte[]) get(8);
     }
 
     /**
      * Setter for <code>public.contract_event.approved_address</code>.
      */
-    public ContractEventRecord setApprovedAddress(String value) {
+    public ContractEventRecord setApprovedAddress(byte... value) {
         set(9, value);
         return this;
     }
@@ -178,14 +178,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.approved_address</code>.
      */
-    public String getApprovedAddress() {
-        return (String) get(9);
+    public byte[] getApprovedAddress() {
+        return (byte[]) get(9);
     }
 
     /**
      * Setter for <code>public.contract_event.from_address</code>.
      */
-    public ContractEventRecord setFromAddress(String value) {
+    public ContractEventRecord setFromAddress(byte... value) {
         set(10, value);
         return this;
     }
@@ -193,14 +193,14 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.from_address</code>.
      */
-    public String getFromAddress() {
-        return (String) get(10);
+    public byte[] getFromAddress() {
+        return (byte[]) get(10);
     }
 
     /**
      * Setter for <code>public.contract_event.to_address</code>.
      */
-    public ContractEventRecord setToAddress(String value) {
+    public ContractEventRecord setToAddress(byte... value) {
         set(11, value);
         return this;
     }
@@ -208,8 +208,8 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Getter for <code>public.contract_event.to_address</code>.
      */
-    public String getToAddress() {
-        return (String) get(11);
+    public byte[] getToAddress() {
+        return (byte[]) get(11);
     }
 
     /**
@@ -367,12 +367,12 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Row22<Long, String, String, String, ContractEventType, String, String, String, String, String, String, String, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> fieldsRow() {
+    public Row22<Long, byte[], byte[], byte[], ContractEventType, byte[], byte[], byte[], byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> fieldsRow() {
         return (Row22) super.fieldsRow();
     }
 
     @Override
-    public Row22<Long, String, String, String, ContractEventType, String, String, String, String, String, String, String, BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> valuesRow() {
+    public Row22<Long, byte[], byte[], byte[], ContractEventType, byte[], byte[], byte[], byte[], byte[], byte[], byte[], BigDecimal, BigDecimal, BigDecimal, BigDecimal, BigDecimal[], BigDecimal[], Boolean, byte[], byte[], String> valuesRow() {
         return (Row22) super.valuesRow();
     }
 
@@ -382,17 +382,17 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public Field<String> field2() {
+    public Field<byte[]> field2() {
         return ContractEvent.CONTRACT_EVENT.BLOCK_HASH;
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return ContractEvent.CONTRACT_EVENT.TRANSACTION_HASH;
     }
 
     @Override
-    public Field<String> field4() {
+    public Field<byte[]> field4() {
         return ContractEvent.CONTRACT_EVENT.CONTRACT_ADDRESS;
     }
 
@@ -402,37 +402,37 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public Field<String> field6() {
+    public Field<byte[]> field6() {
         return ContractEvent.CONTRACT_EVENT.OWNER_ADDRESS;
     }
 
     @Override
-    public Field<String> field7() {
+    public Field<byte[]> field7() {
         return ContractEvent.CONTRACT_EVENT.SPENDER_ADDRESS;
     }
 
     @Override
-    public Field<String> field8() {
+    public Field<byte[]> field8() {
         return ContractEvent.CONTRACT_EVENT.OPERATOR_ADDRESS;
     }
 
     @Override
-    public Field<String> field9() {
+    public Field<byte[]> field9() {
         return ContractEvent.CONTRACT_EVENT.HOLDER_ADDRESS;
     }
 
     @Override
-    public Field<String> field10() {
+    public Field<byte[]> field10() {
         return ContractEvent.CONTRACT_EVENT.APPROVED_ADDRESS;
     }
 
     @Override
-    public Field<String> field11() {
+    public Field<byte[]> field11() {
         return ContractEvent.CONTRACT_EVENT.FROM_ADDRESS;
     }
 
     @Override
-    public Field<String> field12() {
+    public Field<byte[]> field12() {
         return ContractEvent.CONTRACT_EVENT.TO_ADDRESS;
     }
 
@@ -492,17 +492,17 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public String component2() {
+    public byte[] component2() {
         return getBlockHash();
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getTransactionHash();
     }
 
     @Override
-    public String component4() {
+    public byte[] component4() {
         return getContractAddress();
     }
 
@@ -512,37 +512,37 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public String component6() {
+    public byte[] component6() {
         return getOwnerAddress();
     }
 
     @Override
-    public String component7() {
+    public byte[] component7() {
         return getSpenderAddress();
     }
 
     @Override
-    public String component8() {
+    public byte[] component8() {
         return getOperatorAddress();
     }
 
     @Override
-    public String component9() {
+    public byte[] component9() {
         return getHolderAddress();
     }
 
     @Override
-    public String component10() {
+    public byte[] component10() {
         return getApprovedAddress();
     }
 
     @Override
-    public String component11() {
+    public byte[] component11() {
         return getFromAddress();
     }
 
     @Override
-    public String component12() {
+    public byte[] component12() {
         return getToAddress();
     }
 
@@ -602,17 +602,17 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public String value2() {
+    public byte[] value2() {
         return getBlockHash();
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getTransactionHash();
     }
 
     @Override
-    public String value4() {
+    public byte[] value4() {
         return getContractAddress();
     }
 
@@ -622,37 +622,37 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public String value6() {
+    public byte[] value6() {
         return getOwnerAddress();
     }
 
     @Override
-    public String value7() {
+    public byte[] value7() {
         return getSpenderAddress();
     }
 
     @Override
-    public String value8() {
+    public byte[] value8() {
         return getOperatorAddress();
     }
 
     @Override
-    public String value9() {
+    public byte[] value9() {
         return getHolderAddress();
     }
 
     @Override
-    public String value10() {
+    public byte[] value10() {
         return getApprovedAddress();
     }
 
     @Override
-    public String value11() {
+    public byte[] value11() {
         return getFromAddress();
     }
 
     @Override
-    public String value12() {
+    public byte[] value12() {
         return getToAddress();
     }
 
@@ -713,19 +713,19 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public ContractEventRecord value2(String value) {
+    public ContractEventRecord value2(byte... value) {
         setBlockHash(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value3(String value) {
+    public ContractEventRecord value3(byte... value) {
         setTransactionHash(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value4(String value) {
+    public ContractEventRecord value4(byte... value) {
         setContractAddress(value);
         return this;
     }
@@ -737,43 +737,43 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public ContractEventRecord value6(String value) {
+    public ContractEventRecord value6(byte... value) {
         setOwnerAddress(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value7(String value) {
+    public ContractEventRecord value7(byte... value) {
         setSpenderAddress(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value8(String value) {
+    public ContractEventRecord value8(byte... value) {
         setOperatorAddress(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value9(String value) {
+    public ContractEventRecord value9(byte... value) {
         setHolderAddress(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value10(String value) {
+    public ContractEventRecord value10(byte... value) {
         setApprovedAddress(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value11(String value) {
+    public ContractEventRecord value11(byte... value) {
         setFromAddress(value);
         return this;
     }
 
     @Override
-    public ContractEventRecord value12(String value) {
+    public ContractEventRecord value12(byte... value) {
         setToAddress(value);
         return this;
     }
@@ -839,7 +839,7 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     }
 
     @Override
-    public ContractEventRecord values(Long value1, String value2, String value3, String value4, ContractEventType value5, String value6, String value7, String value8, String value9, String value10, String value11, String value12, BigDecimal value13, BigDecimal value14, BigDecimal value15, BigDecimal value16, BigDecimal[] value17, BigDecimal[] value18, Boolean value19, byte[] value20, byte[] value21, String value22) {
+    public ContractEventRecord values(Long value1, byte[] value2, byte[] value3, byte[] value4, ContractEventType value5, byte[] value6, byte[] value7, byte[] value8, byte[] value9, byte[] value10, byte[] value11, byte[] value12, BigDecimal value13, BigDecimal value14, BigDecimal value15, BigDecimal value16, BigDecimal[] value17, BigDecimal[] value18, Boolean value19, byte[] value20, byte[] value21, String value22) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -879,7 +879,7 @@ public class ContractEventRecord extends TableRecordImpl<ContractEventRecord> im
     /**
      * Create a detached, initialised ContractEventRecord
      */
-    public ContractEventRecord(Long blockNumber, String blockHash, String transactionHash, String contractAddress, ContractEventType type, String ownerAddress, String spenderAddress, String operatorAddress, String holderAddress, String approvedAddress, String fromAddress, String toAddress, BigDecimal value, BigDecimal amount, BigDecimal tokenId, BigDecimal id, BigDecimal[] ids, BigDecimal[] values, Boolean approved, byte[] data, byte[] operatorData, String valueStr) {
+    public ContractEventRecord(Long blockNumber, byte[] blockHash, byte[] transactionHash, byte[] contractAddress, ContractEventType type, byte[] ownerAddress, byte[] spenderAddress, byte[] operatorAddress, byte[] holderAddress, byte[] approvedAddress, byte[] fromAddress, byte[] toAddress, BigDecimal value, BigDecimal amount, BigDecimal tokenId, BigDecimal id, BigDecimal[] ids, BigDecimal[] values, Boolean approved, byte[] data, byte[] operatorData, String valueStr) {
         super(ContractEvent.CONTRACT_EVENT);
 
         set(0, blockNumber);
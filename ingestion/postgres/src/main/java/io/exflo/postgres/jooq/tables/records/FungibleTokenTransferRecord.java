@@ -28,7 +28,7 @@ import org.jooq.impl.TableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTransferRecord> implements Record10<Long, String, String, String, BigDecimal, Long, String, Timestamp, String, Integer> {
+public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTransferRecord> implements Record10<Long, byte[], byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> {
 
     private static final long serialVersionUID = 1575569911;
 
@@ -50,7 +50,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Setter for <code>public.fungible_token_transfer.contract_address</code>.
      */
-    public FungibleTokenTransferRecord setContractAddress(String value) {
+    public FungibleTokenTransferRecord setContractAddress(byte... value) {
         set(1, value);
         return this;
     }
@@ -58,14 +58,14 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Getter for <code>public.fungible_token_transfer.contract_address</code>.
      */
-    public String getContractAddress() {
-        return (String) get(1);
+    public byte[] getContractAddress() {
+        return (byte[]) get(1);
     }
 
     /**
      * Setter for <code>public.fungible_token_transfer.from</code>.
      */
-    public FungibleTokenTransferRecord setFrom(String value) {
+    public FungibleTokenTransferRecord setFrom(byte... value) {
         set(2, value);
         return this;
     }
@@ -73,14 +73,14 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Getter for <code>public.fungible_token_transfer.from</code>.
      */
-    public String getFrom() {
-        return (String) get(2);
+    public byte[] getFrom() {
+        return (byte[]) get(2);
     }
 
     /**
      * Setter for <code>public.fungible_token_transfer.to</code>.
      */
-    public FungibleTokenTransferRecord setTo(String value) {
+    public FungibleTokenTransferRecord setTo(byte... value) {
         set(3, value);
         return this;
     }
@@ -88,8 +88,8 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Getter for <code>public.fungible_token_transfer.to</code>.
      */
-    public String getTo() {
-        return (String) get(3);
+    public byte[] getTo() {
+        return (byte[]) get(3);
     }
 
     /**
@@ -125,7 +125,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Setter for <code>public.fungible_token_transfer.block_hash</code>.
      */
-    public FungibleTokenTransferRecord setBlockHash(String value) {
+    public FungibleTokenTransferRecord setBlockHash(byte... value) {
         set(6, value);
         return this;
     }
@@ -133,8 +133,8 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Getter for <code>public.fungible_token_transfer.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(6);
+    public byte[] getBlockHash() {
+        return (byte[]) get(6);
     }
 
     /**
@@ -155,7 +155,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Setter for <code>public.fungible_token_transfer.transaction_hash</code>.
      */
-    public FungibleTokenTransferRecord setTransactionHash(String value) {
+    public FungibleTokenTransferRecord setTransactionHash(byte... value) {
         set(8, value);
         return this;
     }
@@ -163,8 +163,8 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Getter for <code>public.fungible_token_transfer.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(8);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(8);
     }
 
     /**
@@ -187,12 +187,12 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     // -------------------------------------------------------------------------
 
     @Override
-    public Row10<Long, String, String, String, BigDecimal, Long, String, Timestamp, String, Integer> fieldsRow() {
+    public Row10<Long, byte[], byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> fieldsRow() {
         return (Row10) super.fieldsRow();
     }
 
     @Override
-    public Row10<Long, String, String, String, BigDecimal, Long, String, Timestamp, String, Integer> valuesRow() {
+    public Row10<Long, byte[], byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> valuesRow() {
         return (Row10) super.valuesRow();
     }
 
@@ -202,17 +202,17 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public Field<String> field2() {
+    public Field<byte[]> field2() {
         return FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER.CONTRACT_ADDRESS;
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER.FROM;
     }
 
     @Override
-    public Field<String> field4() {
+    public Field<byte[]> field4() {
         return FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER.TO;
     }
 
@@ -227,7 +227,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public Field<String> field7() {
+    public Field<byte[]> field7() {
         return FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER.BLOCK_HASH;
     }
 
@@ -237,7 +237,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public Field<String> field9() {
+    public Field<byte[]> field9() {
         return FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER.TRANSACTION_HASH;
     }
 
@@ -252,17 +252,17 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public String component2() {
+    public byte[] component2() {
         return getContractAddress();
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getFrom();
     }
 
     @Override
-    public String component4() {
+    public byte[] component4() {
         return getTo();
     }
 
@@ -277,7 +277,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public String component7() {
+    public byte[] component7() {
         return getBlockHash();
     }
 
@@ -287,7 +287,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public String component9() {
+    public byte[] component9() {
         return getTransactionHash();
     }
 
@@ -302,17 +302,17 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public String value2() {
+    public byte[] value2() {
         return getContractAddress();
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getFrom();
     }
 
     @Override
-    public String value4() {
+    public byte[] value4() {
         return getTo();
     }
 
@@ -327,7 +327,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public String value7() {
+    public byte[] value7() {
         return getBlockHash();
     }
 
@@ -337,7 +337,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public String value9() {
+    public byte[] value9() {
         return getTransactionHash();
     }
 
@@ -353,19 +353,19 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public FungibleTokenTransferRecord value2(String value) {
+    public FungibleTokenTransferRecord value2(byte... value) {
         setContractAddress(value);
         return this;
     }
 
     @Override
-    public FungibleTokenTransferRecord value3(String value) {
+    public FungibleTokenTransferRecord value3(byte... value) {
         setFrom(value);
         return this;
     }
 
     @Override
-    public FungibleTokenTransferRecord value4(String value) {
+    public FungibleTokenTransferRecord value4(byte... value) {
         setTo(value);
         return this;
     }
@@ -383,7 +383,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public FungibleTokenTransferRecord value7(String value) {
+    public FungibleTokenTransferRecord value7(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -395,7 +395,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public FungibleTokenTransferRecord value9(String value) {
+    public FungibleTokenTransferRecord value9(byte... value) {
         setTransactionHash(value);
         return this;
     }
@@ -407,7 +407,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     }
 
     @Override
-    public FungibleTokenTransferRecord values(Long value1, String value2, String value3, String value4, BigDecimal value5, Long value6, String value7, Timestamp value8, String value9, Integer value10) {
+    public FungibleTokenTransferRecord values(Long value1, byte[] value2, byte[] value3, byte[] value4, BigDecimal value5, Long value6, byte[] value7, Timestamp value8, byte[] value9, Integer value10) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -435,7 +435,7 @@ public class FungibleTokenTransferRecord extends TableRecordImpl<FungibleTokenTr
     /**
      * Create a detached, initialised FungibleTokenTransferRecord
      */
-    public FungibleTokenTransferRecord(Long id, String contractAddress, String from, String to, BigDecimal amount, Long blockNumber, String blockHash, Timestamp blockTimestamp, String transactionHash, Integer transactionIndex) {
+    public FungibleTokenTransferRecord(Long id, byte[] contractAddress, byte[] from, byte[] to, BigDecimal amount, Long blockNumber, byte[] blockHash, Timestamp blockTimestamp, byte[] transactionHash, Integer transactionIndex) {
         super(FungibleTokenTransfer.FUNGIBLE_TOKEN_TRANSFER);
 
         set(0, id);
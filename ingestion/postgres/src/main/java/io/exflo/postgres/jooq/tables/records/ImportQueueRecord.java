@@ -28,7 +28,7 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> implements Record4<Long, String, Short, Timestamp> {
+public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> implements Record4<Long, byte[], Short, Timestamp> {
 
     private static final long serialVersionUID = -253328841;
 
@@ -50,7 +50,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     /**
      * Setter for <code>public.import_queue.hash</code>.
      */
-    public ImportQueueRecord setHash(String value) {
+    public ImportQueueRecord setHash(byte... value) {
         set(1, value);
         return this;
     }
@@ -58,8 +58,8 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     /**
      * Getter for <code>public.import_queue.hash</code>.
      */
-    public String getHash() {
-        return (String) get(1);
+    public byte[] getHash() {
+        return (byte[]) get(1);
     }
 
     /**
@@ -97,7 +97,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Record2<Long, String> key() {
+    public Record2<Long, byte[]> key() {
         return (Record2) super.key();
     }
 
@@ -106,12 +106,12 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Row4<Long, String, Short, Timestamp> fieldsRow() {
+    public Row4<Long, byte[], Short, Timestamp> fieldsRow() {
         return (Row4) super.fieldsRow();
     }
 
     @Override
-    public Row4<Long, String, Short, Timestamp> valuesRow() {
+    public Row4<Long, byte[], Short, Timestamp> valuesRow() {
         return (Row4) super.valuesRow();
     }
 
@@ -121,7 +121,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     }
 
     @Override
-    public Field<String> field2() {
+    public Field<byte[]> field2() {
         return ImportQueue.IMPORT_QUEUE.HASH;
     }
 
@@ -141,7 +141,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     }
 
     @Override
-    public String component2() {
+    public byte[] component2() {
         return getHash();
     }
 
@@ -161,7 +161,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     }
 
     @Override
-    public String value2() {
+    public byte[] value2() {
         return getHash();
     }
 
@@ -182,7 +182,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     }
 
     @Override
-    public ImportQueueRecord value2(String value) {
+    public ImportQueueRecord value2(byte... value) {
         setHash(value);
         return this;
     }
@@ -200,7 +200,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     }
 
     @Override
-    public ImportQueueRecord values(Long value1, String value2, Short value3, Timestamp value4) {
+    public ImportQueueRecord values(Long value1, byte[] value2, Short value3, Timestamp value4) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -222,7 +222,7 @@ public class ImportQueueRecord extends UpdatableRecordImpl<ImportQueueRecord> im
     /**
      * Create a detached, initialised ImportQueueRecord
      */
-    public ImportQueueRecord(Long number, String hash, Short stage, Timestamp timestamp) {
+    public ImportQueueRecord(Long number, byte[] hash, Short stage, Timestamp timestamp) {
         super(ImportQueue.IMPORT_QUEUE);
 
         set(0, number);
@@ -29,7 +29,7 @@ import org.jooq.impl.TableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class InternalTransactionRecord extends TableRecordImpl<InternalTransactionRecord> implements Record10<Long, DeltaType, String, String, BigDecimal, Long, String, Timestamp, String, Integer> {
+public class InternalTransactionRecord extends TableRecordImpl<InternalTransactionRecord> implements Record10<Long, DeltaType, byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> {
 
     private static final long serialVersionUID = 1801092465;
 
@@ -66,7 +66,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Setter for <code>public.internal_transaction.from</code>.
      */
-    public InternalTransactionRecord setFrom(String value) {
+    public InternalTransactionRecord setFrom(byte... value) {
         set(2, value);
         return this;
     }
@@ -74,14 +74,14 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Getter for <code>public.internal_transaction.from</code>.
      */
-    public String getFrom() {
-        return (String) get(2);
+    public byte[] getFrom() {
+        return (byte[]) get(2);
     }
 
     /**
      * Setter for <code>public.internal_transaction.to</code>.
      */
-    public InternalTransactionRecord setTo(String value) {
+    public InternalTransactionRecord setTo(byte... value) {
         set(3, value);
         return this;
     }
@@ -89,8 +89,8 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Getter for <code>public.internal_transaction.to</code>.
      */
-    public String getTo() {
-        return (String) get(3);
+    public byte[] getTo() {
+        return (byte[]) get(3);
     }
 
     /**
@@ -126,7 +126,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Setter for <code>public.internal_transaction.block_hash</code>.
      */
-    public InternalTransactionRecord setBlockHash(String value) {
+    public InternalTransactionRecord setBlockHash(byte... value) {
         set(6, value);
         return this;
     }
@@ -134,8 +134,8 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Getter for <code>public.internal_transaction.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(6);
+    public byte[] getBlockHash() {
+        return (byte[]) get(6);
     }
 
     /**
@@ -156,7 +156,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Setter for <code>public.internal_transaction.transaction_hash</code>.
      */
-    public InternalTransactionRecord setTransactionHash(String value) {
+    public InternalTransactionRecord setTransactionHash(byte... value) {
         set(8, value);
         return this;
     }
@@ -164,8 +164,8 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Getter for <code>public.internal_transaction.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(8);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(8);
     }
 
     /**
@@ -188,12 +188,12 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     // -------------------------------------------------------------------------
 
     @Override
-    public Row10<Long, DeltaType, String, String, BigDecimal, Long, String, Timestamp, String, Integer> fieldsRow() {
+    public Row10<Long, DeltaType, byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> fieldsRow() {
         return (Row10) super.fieldsRow();
     }
 
     @Override
-    public Row10<Long, DeltaType, String, String, BigDecimal, Long, String, Timestamp, String, Integer> valuesRow() {
+    public Row10<Long, DeltaType, byte[], byte[], BigDecimal, Long, byte[], Timestamp, byte[], Integer> valuesRow() {
         return (Row10) super.valuesRow();
     }
 
@@ -208,12 +208,12 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return InternalTransaction.INTERNAL_TRANSACTION.FROM;
     }
 
     @Override
-    public Field<String> field4() {
+    public Field<byte[]> field4() {
         return InternalTransaction.INTERNAL_TRANSACTION.TO;
     }
 
@@ -228,7 +228,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public Field<String> field7() {
+    public Field<byte[]> field7() {
         return InternalTransaction.INTERNAL_TRANSACTION.BLOCK_HASH;
     }
 
@@ -238,7 +238,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public Field<String> field9() {
+    public Field<byte[]> field9() {
         return InternalTransaction.INTERNAL_TRANSACTION.TRANSACTION_HASH;
     }
 
@@ -258,12 +258,12 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getFrom();
     }
 
     @Override
-    public String component4() {
+    public byte[] component4() {
         return getTo();
     }
 
@@ -278,7 +278,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public String component7() {
+    public byte[] component7() {
         return getBlockHash();
     }
 
@@ -288,7 +288,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public String component9() {
+    public byte[] component9() {
         return getTransactionHash();
     }
 
@@ -308,12 +308,12 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getFrom();
     }
 
     @Override
-    public String value4() {
+    public byte[] value4() {
         return getTo();
     }
 
@@ -328,7 +328,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public String value7() {
+    public byte[] value7() {
         return getBlockHash();
     }
 
@@ -338,7 +338,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public String value9() {
+    public byte[] value9() {
         return getTransactionHash();
     }
 
@@ -360,13 +360,13 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public InternalTransactionRecord value3(String value) {
+    public InternalTransactionRecord value3(byte... value) {
         setFrom(value);
         return this;
     }
 
     @Override
-    public InternalTransactionRecord value4(String value) {
+    public InternalTransactionRecord value4(byte... value) {
         setTo(value);
         return this;
     }
@@ -384,7 +384,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public InternalTransactionRecord value7(String value) {
+    public InternalTransactionRecord value7(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -396,7 +396,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public InternalTransactionRecord value9(String value) {
+    public InternalTransactionRecord value9(byte... value) {
         setTransactionHash(value);
         return this;
     }
@@ -408,7 +408,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     }
 
     @Override
-    public InternalTransactionRecord values(Long value1, DeltaType value2, String value3, String value4, BigDecimal value5, Long value6, String value7, Timestamp value8, String value9, Integer value10) {
+    public InternalTransactionRecord values(Long value1, DeltaType value2, byte[] value3, byte[] value4, BigDecimal value5, Long value6, byte[] value7, Timestamp value8, byte[] value9, Integer value10) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -436,7 +436,7 @@ public class InternalTransactionRecord extends TableRecordImpl<InternalTransacti
     /**
      * Create a detached, initialised InternalTransactionRecord
      */
-    public InternalTransactionRecord(Long id, DeltaType deltaType, String from, String to, BigDecimal amount, Long blockNumber, String blockHash, Timestamp blockTimestamp, String transactionHash, Integer transactionIndex) {
+    public InternalTransactionRecord(Long id, DeltaType deltaType, byte[] from, byte[] to, BigDecimal amount, Long blockNumber, byte[] blockHash, Timestamp blockTimestamp, byte[] transactionHash, Integer transactionIndex) {
         super(InternalTransaction.INTERNAL_TRANSACTION);
 
         set(0, id);
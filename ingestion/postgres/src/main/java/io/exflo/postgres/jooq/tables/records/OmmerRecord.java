@@ -29,14 +29,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Record19<String, Long, String, Long, String, Integer, Long, String, String, String, String, String, BigDecimal, byte[], Long, Long, Timestamp, String, String> {
+public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Record19<byte[], Long, byte[], Long, byte[], Integer, Long, byte[], byte[], byte[], byte[], byte[], BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[]> {
 
     private static final long serialVersionUID = -1604333368;
 
     /**
      * Setter for <code>public.ommer.hash</code>.
      */
-    public OmmerRecord setHash(String value) {
+    public OmmerRecord setHash(byte... value) {
         set(0, value);
         return this;
     }
@@ -44,8 +44,8 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.hash</code>.
      */
-    public String getHash() {
-        return (String) get(0);
+    public byte[] getHash() {
+        return (byte[]) get(0);
     }
 
     /**
@@ -66,7 +66,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Setter for <code>public.ommer.nephew_hash</code>.
      */
-    public OmmerRecord setNephewHash(String value) {
+    public OmmerRecord setNephewHash(byte... value) {
         set(2, value);
         return this;
     }
@@ -74,8 +74,8 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.nephew_hash</code>.
      */
-    public String getNephewHash() {
-        return (String) get(2);
+    public byte[] getNephewHash() {
+        return (byte[]) get(2);
     }
 
     /**
@@ -96,7 +96,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Setter for <code>public.ommer.parent_hash</code>.
      */
-    public OmmerRecord setParentHash(String value) {
+    public OmmerRecord setParentHash(byte... value) {
         set(4, value);
         return this;
     }
@@ -104,8 +104,8 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.parent_hash</code>.
      */
-    public String getParentHash() {
-        return (String) get(4);
+    public byte[] getParentHash() {
+        return (byte[]) get(4);
     }
 
     /**
@@ -141,7 +141,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Setter for <code>public.ommer.ommers_hash</code>.
      */
-    public OmmerRecord setOmmersHash(String value) {
+    public OmmerRecord setOmmersHash(byte... value) {
         set(7, value);
         return this;
     }
@@ -149,14 +149,14 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.ommers_hash</code>.
      */
-    public String getOmmersHash() {
-        return (String) get(7);
+    public byte[] getOmmersHash() {
+        return (byte[]) get(7);
     }
 
     /**
      * Setter for <code>public.ommer.state_root</code>.
      */
-    public OmmerRecord setStateRoot(String value) {
+    public OmmerRecord setStateRoot(byte... value) {
         set(8, value);
         return this;
     }
@@ -164,14 +164,14 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.state_root</code>.
      */
-    public String getStateRoot() {
-        return (String) get(8);
+    public byte[] getStateRoot() {
+        return (byte[]) get(8);
     }
 
     /**
      * Setter for <code>public.ommer.receipts_root</code>.
      */
-    public OmmerRecord setReceiptsRoot(String value) {
+    public OmmerRecord setReceiptsRoot(byte... value) {
         set(9, value);
         return this;
     }
@@ -179,14 +179,14 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.receipts_root</code>.
      */
-    public String getReceiptsRoot() {
-        return (String) get(9);
+    public byte[] getReceiptsRoot() {
+        return (byte[]) get(9);
     }
 
     /**
      * Setter for <code>public.ommer.transactions_root</code>.
      */
-    public OmmerRecord setTransactionsRoot(String value) {
+    public OmmerRecord setTransactionsRoot(byte... value) {
         set(10, value);
         return this;
     }
@@ -194,14 +194,14 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.transactions_root</code>.
      */
-    public String getTransactionsRoot() {
-        return (String) get(10);
+    public byte[] getTransactionsRoot() {
+        return (byte[]) get(10);
     }
 
     /**
      * Setter for <code>public.ommer.coinbase</code>.
      */
-    public OmmerRecord setCoinbase(String value) {
+    public OmmerRecord setCoinbase(byte... value) {
         set(11, value);
         return this;
     }
@@ -209,8 +209,8 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.coinbase</code>.
      */
-    public String getCoinbase() {
-        return (String) get(11);
+    public byte[] getCoinbase() {
+        return (byte[]) get(11);
     }
 
     /**
@@ -291,7 +291,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Setter for <code>public.ommer.mix_hash</code>.
      */
-    public OmmerRecord setMixHash(String value) {
+    public OmmerRecord setMixHash(byte... value) {
         set(17, value);
         return this;
     }
@@ -299,14 +299,14 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.mix_hash</code>.
      */
-    public String getMixHash() {
-        return (String) get(17);
+    public byte[] getMixHash() {
+        return (byte[]) get(17);
     }
 
     /**
      * Setter for <code>public.ommer.logs_bloom</code>.
      */
-    public OmmerRecord setLogsBloom(String value) {
+    public OmmerRecord setLogsBloom(byte... value) {
         set(18, value);
         return this;
     }
@@ -314,8 +314,8 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Getter for <code>public.ommer.logs_bloom</code>.
      */
-    public String getLogsBloom() {
-        return (String) get(18);
+    public byte[] getLogsBloom() {
+        return (byte[]) get(18);
     }
 
     // -------------------------------------------------------------------------
@@ -323,7 +323,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<String> key() {
+    public Record1<byte[]> key() {
         return (Record1) super.key();
     }
 
@@ -332,17 +332,17 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     // -------------------------------------------------------------------------
 
     @Override
-    public Row19<String, Long, String, Long, String, Integer, Long, String, String, String, String, String, BigDecimal, byte[], Long, Long, Timestamp, String, String> fieldsRow() {
+    public Row19<byte[], Long, byte[], Long, byte[], Integer, Long, byte[], byte[], byte[], byte[], byte[], BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[]> fieldsRow() {
         return (Row19) super.fieldsRow();
     }
 
     @Override
-    public Row19<String, Long, String, Long, String, Integer, Long, String, String, String, String, String, BigDecimal, byte[], Long, Long, Timestamp, String, String> valuesRow() {
+    public Row19<byte[], Long, byte[], Long, byte[], Integer, Long, byte[], byte[], byte[], byte[], byte[], BigDecimal, byte[], Long, Long, Timestamp, byte[], byte[]> valuesRow() {
         return (Row19) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return Ommer.OMMER.HASH;
     }
 
@@ -352,7 +352,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return Ommer.OMMER.NEPHEW_HASH;
     }
 
@@ -362,7 +362,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public Field<String> field5() {
+    public Field<byte[]> field5() {
         return Ommer.OMMER.PARENT_HASH;
     }
 
@@ -377,27 +377,27 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public Field<String> field8() {
+    public Field<byte[]> field8() {
         return Ommer.OMMER.OMMERS_HASH;
     }
 
     @Override
-    public Field<String> field9() {
+    public Field<byte[]> field9() {
         return Ommer.OMMER.STATE_ROOT;
     }
 
     @Override
-    public Field<String> field10() {
+    public Field<byte[]> field10() {
         return Ommer.OMMER.RECEIPTS_ROOT;
     }
 
     @Override
-    public Field<String> field11() {
+    public Field<byte[]> field11() {
         return Ommer.OMMER.TRANSACTIONS_ROOT;
     }
 
     @Override
-    public Field<String> field12() {
+    public Field<byte[]> field12() {
         return Ommer.OMMER.COINBASE;
     }
 
@@ -427,17 +427,17 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public Field<String> field18() {
+    public Field<byte[]> field18() {
         return Ommer.OMMER.MIX_HASH;
     }
 
     @Override
-    public Field<String> field19() {
+    public Field<byte[]> field19() {
         return Ommer.OMMER.LOGS_BLOOM;
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getHash();
     }
 
@@ -447,7 +447,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getNephewHash();
     }
 
@@ -457,7 +457,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String component5() {
+    public byte[] component5() {
         return getParentHash();
     }
 
@@ -472,27 +472,27 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String component8() {
+    public byte[] component8() {
         return getOmmersHash();
     }
 
     @Override
-    public String component9() {
+    public byte[] component9() {
         return getStateRoot();
     }
 
     @Override
-    public String component10() {
+    public byte[] component10() {
         return getReceiptsRoot();
     }
 
     @Override
-    public String component11() {
+    public byte[] component11() {
         return getTransactionsRoot();
     }
 
     @Override
-    public String component12() {
+    public byte[] component12() {
         return getCoinbase();
     }
 
@@ -522,17 +522,17 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String component18() {
+    public byte[] component18() {
         return getMixHash();
     }
 
     @Override
-    public String component19() {
+    public byte[] component19() {
         return getLogsBloom();
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getHash();
     }
 
@@ -542,7 +542,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getNephewHash();
     }
 
@@ -552,7 +552,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String value5() {
+    public byte[] value5() {
         return getParentHash();
     }
 
@@ -567,27 +567,27 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String value8() {
+    public byte[] value8() {
         return getOmmersHash();
     }
 
     @Override
-    public String value9() {
+    public byte[] value9() {
         return getStateRoot();
     }
 
     @Override
-    public String value10() {
+    public byte[] value10() {
         return getReceiptsRoot();
     }
 
     @Override
-    public String value11() {
+    public byte[] value11() {
         return getTransactionsRoot();
     }
 
     @Override
-    public String value12() {
+    public byte[] value12() {
         return getCoinbase();
     }
 
@@ -617,17 +617,17 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public String value18() {
+    public byte[] value18() {
         return getMixHash();
     }
 
     @Override
-    public String value19() {
+    public byte[] value19() {
         return getLogsBloom();
     }
 
     @Override
-    public OmmerRecord value1(String value) {
+    public OmmerRecord value1(byte... value) {
         setHash(value);
         return this;
     }
@@ -639,7 +639,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public OmmerRecord value3(String value) {
+    public OmmerRecord value3(byte... value) {
         setNephewHash(value);
         return this;
     }
@@ -651,7 +651,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public OmmerRecord value5(String value) {
+    public OmmerRecord value5(byte... value) {
         setParentHash(value);
         return this;
     }
@@ -669,31 +669,31 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public OmmerRecord value8(String value) {
+    public OmmerRecord value8(byte... value) {
         setOmmersHash(value);
         return this;
     }
 
     @Override
-    public OmmerRecord value9(String value) {
+    public OmmerRecord value9(byte... value) {
         setStateRoot(value);
         return this;
     }
 
     @Override
-    public OmmerRecord value10(String value) {
+    public OmmerRecord value10(byte... value) {
         setReceiptsRoot(value);
         return this;
     }
 
     @Override
-    public OmmerRecord value11(String value) {
+    public OmmerRecord value11(byte... value) {
         setTransactionsRoot(value);
         return this;
     }
 
     @Override
-    public OmmerRecord value12(String value) {
+    public OmmerRecord value12(byte... value) {
         setCoinbase(value);
         return this;
     }
@@ -729,19 +729,19 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     }
 
     @Override
-    public OmmerRecord value18(String value) {
+    public OmmerRecord value18(byte... value) {
         setMixHash(value);
         return this;
     }
 
     @Override
-    public OmmerRecord value19(String value) {
+    public OmmerRecord value19(byte... value) {
         setLogsBloom(value);
         return this;
     }
 
     @Override
-    public OmmerRecord values(String value1, Long value2, String value3, Long value4, String value5, Integer value6, Long value7, String value8, String value9, String value10, String value11, String value12, BigDecimal value13, byte[] value14, Long value15, Long value16, Timestamp value17, String value18, String value19) {
+    public OmmerRecord values(byte[] value1, Long value2, byte[] value3, Long value4, byte[] value5, Integer value6, Long value7, byte[] value8, byte[] value9, byte[] value10, byte[] value11, byte[] value12, BigDecimal value13, byte[] value14, Long value15, Long value16, Timestamp value17, byte[] value18, byte[] value19) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -778,7 +778,7 @@ public class OmmerRecord extends UpdatableRecordImpl<OmmerRecord> implements Rec
     /**
      * Create a detached, initialised OmmerRecord
      */
-    public OmmerRecord(String hash, Long number, String nephewHash, Long height, String parentHash, Integer index, Long nonce, String ommersHash, String stateRoot, String receiptsRoot, String transactionsRoot, String coinbase, BigDecimal difficulty, byte[] extraData, Long gasLimit, Long gasUsed, Timestamp timestamp, String mixHash, String logsBloom) {
+    public OmmerRecord(byte[] hash, Long number, byte[] nephewHash, Long height, byte[] parentHash, Integer index, Long nonce, byte[] ommersHash, byte[] stateRoot, byte[] receiptsRoot, byte[] transactionsRoot, byte[] coinbase, BigDecimal difficulty, byte[] extraData, Long gasLimit, Long gasUsed, Timestamp timestamp, byte[] mixHash, byte[] logsBloom) {
         super(Ommer.OMMER);
 
         set(0, hash);
@@ -29,7 +29,7 @@ import org.jooq.impl.TableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class RewardRecord extends TableRecordImpl<RewardRecord> implements Record7<Long, DeltaType, String, BigDecimal, Long, String, Timestamp> {
+public class RewardRecord extends TableRecordImpl<RewardRecord> implements Record7<Long, DeltaType, byte[], BigDecimal, Long, byte[], Timestamp> {
 
     private static final long serialVersionUID = 2031512453;
 
@@ -66,7 +66,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     /**
      * Setter for <code>public.reward.to</code>.
      */
-    public RewardRecord setTo(String value) {
+    public RewardRecord setTo(byte... value) {
         set(2, value);
         return this;
     }
@@ -74,8 +74,8 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     /**
      * Getter for <code>public.reward.to</code>.
      */
-    public String getTo() {
-        return (String) get(2);
+    public byte[] getTo() {
+        return (byte[]) get(2);
     }
 
     /**
@@ -111,7 +111,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     /**
      * Setter for <code>public.reward.block_hash</code>.
      */
-    public RewardRecord setBlockHash(String value) {
+    public RewardRecord setBlockHash(byte... value) {
         set(5, value);
         return this;
     }
@@ -119,8 +119,8 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     /**
      * Getter for <code>public.reward.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(5);
+    public byte[] getBlockHash() {
+        return (byte[]) get(5);
     }
 
     /**
@@ -143,12 +143,12 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     // -------------------------------------------------------------------------
 
     @Override
-    public Row7<Long, DeltaType, String, BigDecimal, Long, String, Timestamp> fieldsRow() {
+    public Row7<Long, DeltaType, byte[], BigDecimal, Long, byte[], Timestamp> fieldsRow() {
         return (Row7) super.fieldsRow();
     }
 
     @Override
-    public Row7<Long, DeltaType, String, BigDecimal, Long, String, Timestamp> valuesRow() {
+    public Row7<Long, DeltaType, byte[], BigDecimal, Long, byte[], Timestamp> valuesRow() {
         return (Row7) super.valuesRow();
     }
 
@@ -163,7 +163,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return Reward.REWARD.TO;
     }
 
@@ -178,7 +178,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public Field<String> field6() {
+    public Field<byte[]> field6() {
         return Reward.REWARD.BLOCK_HASH;
     }
 
@@ -198,7 +198,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getTo();
     }
 
@@ -213,7 +213,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public String component6() {
+    public byte[] component6() {
         return getBlockHash();
     }
 
@@ -233,7 +233,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getTo();
     }
 
@@ -248,7 +248,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public String value6() {
+    public byte[] value6() {
         return getBlockHash();
     }
 
@@ -270,7 +270,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public RewardRecord value3(String value) {
+    public RewardRecord value3(byte... value) {
         setTo(value);
         return this;
     }
@@ -288,7 +288,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public RewardRecord value6(String value) {
+    public RewardRecord value6(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -300,7 +300,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     }
 
     @Override
-    public RewardRecord values(Long value1, DeltaType value2, String value3, BigDecimal value4, Long value5, String value6, Timestamp value7) {
+    public RewardRecord values(Long value1, DeltaType value2, byte[] value3, BigDecimal value4, Long value5, byte[] value6, Timestamp value7) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -325,7 +325,7 @@ public class RewardRecord extends TableRecordImpl<RewardRecord> implements Recor
     /**
      * Create a detached, initialised RewardRecord
      */
-    public RewardRecord(Long id, DeltaType deltaType, String to, BigDecimal amount, Long blockNumber, String blockHash, Timestamp blockTimestamp) {
+    public RewardRecord(Long id, DeltaType deltaType, byte[] to, BigDecimal amount, Long blockNumber, byte[] blockHash, Timestamp blockTimestamp) {
         super(Reward.REWARD);
 
         set(0, id);
@@ -11,8 +11,8 @@ import java.sql.Timestamp;
 import javax.annotation.processing.Generated;
 
 import org.jooq.Field;
-import org.jooq.Record1;
 import org.jooq.Record15;
+import org.jooq.Record2;
 import org.jooq.Row15;
 import org.jooq.impl.UpdatableRecordImpl;
 
@@ -28,14 +28,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionReceiptRecord> implements Record15<String, Integer, String, Long, String, String, String, Long, Long, String, String, Short, String, Timestamp, byte[]> {
+public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionReceiptRecord> implements Record15<byte[], Integer, byte[], Long, byte[], byte[], byte[], Long, Long, String, byte[], Short, byte[], Timestamp, byte[]> {
 
     private static final long serialVersionUID = -2039293558;
 
     /**
      * Setter for <code>public.transaction_receipt.transaction_hash</code>.
      */
-    public TransactionReceiptRecord setTransactionHash(String value) {
+    public TransactionReceiptRecord setTransactionHash(byte... value) {
         set(0, value);
         return this;
     }
@@ -43,8 +43,8 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.transaction_hash</code>.
      */
-    public String getTransactionHash() {
-        return (String) get(0);
+    public byte[] getTransactionHash() {
+        return (byte[]) get(0);
     }
 
     /**
@@ -65,7 +65,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Setter for <code>public.transaction_receipt.block_hash</code>.
      */
-    public TransactionReceiptRecord setBlockHash(String value) {
+    public TransactionReceiptRecord setBlockHash(byte... value) {
         set(2, value);
         return this;
     }
@@ -73,8 +73,8 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(2);
+    public byte[] getBlockHash() {
+        return (byte[]) get(2);
     }
 
     /**
@@ -95,7 +95,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Setter for <code>public.transaction_receipt.from</code>.
      */
-    public TransactionReceiptRecord setFrom(String value) {
+    public TransactionReceiptRecord setFrom(byte... value) {
         set(4, value);
         return this;
     }
@@ -103,14 +103,14 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.from</code>.
      */
-    public String getFrom() {
-        return (String) get(4);
+    public byte[] getFrom() {
+        return (byte[]) get(4);
     }
 
     /**
      * Setter for <code>public.transaction_receipt.to</code>.
      */
-    public TransactionReceiptRecord setTo(String value) {
+    public TransactionReceiptRecord setTo(byte... value) {
         set(5, value);
         return this;
     }
@@ -118,14 +118,14 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.to</code>.
      */
-    public String getTo() {
-        return (String) get(5);
+    public byte[] getTo() {
+        return (byte[]) get(5);
     }
 
     /**
      * Setter for <code>public.transaction_receipt.contract_address</code>.
      */
-    public TransactionReceiptRecord setContractAddress(String value) {
+    public TransactionReceiptRecord setContractAddress(byte... value) {
         set(6, value);
         return this;
     }
@@ -133,8 +133,8 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.contract_address</code>.
      */
-    public String getContractAddress() {
-        return (String) get(6);
+    public byte[] getContractAddress() {
+        return (byte[]) get(6);
     }
 
     /**
@@ -185,7 +185,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Setter for <code>public.transaction_receipt.state_root</code>.
      */
-    public TransactionReceiptRecord setStateRoot(String value) {
+    public TransactionReceiptRecord setStateRoot(byte... value) {
         set(10, value);
         return this;
     }
@@ -193,8 +193,8 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.state_root</code>.
      */
-    public String getStateRoot() {
-        return (String) get(10);
+    public byte[] getStateRoot() {
+        return (byte[]) get(10);
     }
 
     /**
@@ -215,7 +215,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Setter for <code>public.transaction_receipt.bloom_filter</code>.
      */
-    public TransactionReceiptRecord setBloomFilter(String value) {
+    public TransactionReceiptRecord setBloomFilter(byte... value) {
         set(12, value);
         return this;
     }
@@ -223,8 +223,8 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Getter for <code>public.transaction_receipt.bloom_filter</code>.
      */
-    public String getBloomFilter() {
-        return (String) get(12);
+    public byte[] getBloomFilter() {
+        return (byte[]) get(12);
     }
 
     /**
@@ -262,8 +262,8 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<String> key() {
-        return (Record1) super.key();
+    public Record2<byte[], Long> key() {
+        return (Record2) super.key();
     }
 
     // -------------------------------------------------------------------------
@@ -271,17 +271,17 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     // -------------------------------------------------------------------------
 
     @Override
-    public Row15<String, Integer, String, Long, String, String, String, Long, Long, String, String, Short, String, Timestamp, byte[]> fieldsRow() {
+    public Row15<byte[], Integer, byte[], Long, byte[], byte[], byte[], Long, Long, String, byte[], Short, byte[], Timestamp, byte[]> fieldsRow() {
         return (Row15) super.fieldsRow();
     }
 
     @Override
-    public Row15<String, Integer, String, Long, String, String, String, Long, Long, String, String, Short, String, Timestamp, byte[]> valuesRow() {
+    public Row15<byte[], Integer, byte[], Long, byte[], byte[], byte[], Long, Long, String, byte[], Short, byte[], Timestamp, byte[]> valuesRow() {
         return (Row15) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return TransactionReceipt.TRANSACTION_RECEIPT.TRANSACTION_HASH;
     }
 
@@ -291,7 +291,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return TransactionReceipt.TRANSACTION_RECEIPT.BLOCK_HASH;
     }
 
@@ -301,17 +301,17 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public Field<String> field5() {
+    public Field<byte[]> field5() {
         return TransactionReceipt.TRANSACTION_RECEIPT.FROM;
     }
 
     @Override
-    public Field<String> field6() {
+    public Field<byte[]> field6() {
         return TransactionReceipt.TRANSACTION_RECEIPT.TO;
     }
 
     @Override
-    public Field<String> field7() {
+    public Field<byte[]> field7() {
         return TransactionReceipt.TRANSACTION_RECEIPT.CONTRACT_ADDRESS;
     }
 
@@ -331,7 +331,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public Field<String> field11() {
+    public Field<byte[]> field11() {
         return TransactionReceipt.TRANSACTION_RECEIPT.STATE_ROOT;
     }
 
@@ -341,7 +341,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public Field<String> field13() {
+    public Field<byte[]> field13() {
         return TransactionReceipt.TRANSACTION_RECEIPT.BLOOM_FILTER;
     }
 
@@ -356,7 +356,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getTransactionHash();
     }
 
@@ -366,7 +366,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getBlockHash();
     }
 
@@ -376,17 +376,17 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String component5() {
+    public byte[] component5() {
         return getFrom();
     }
 
     @Override
-    public String component6() {
+    public byte[] component6() {
         return getTo();
     }
 
     @Override
-    public String component7() {
+    public byte[] component7() {
         return getContractAddress();
     }
 
@@ -406,7 +406,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String component11() {
+    public byte[] component11() {
         return getStateRoot();
     }
 
@@ -416,7 +416,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String component13() {
+    public byte[] component13() {
         return getBloomFilter();
     }
 
@@ -431,7 +431,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getTransactionHash();
     }
 
@@ -441,7 +441,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getBlockHash();
     }
 
@@ -451,17 +451,17 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String value5() {
+    public byte[] value5() {
         return getFrom();
     }
 
     @Override
-    public String value6() {
+    public byte[] value6() {
         return getTo();
     }
 
     @Override
-    public String value7() {
+    public byte[] value7() {
         return getContractAddress();
     }
 
@@ -481,7 +481,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String value11() {
+    public byte[] value11() {
         return getStateRoot();
     }
 
@@ -491,7 +491,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public String value13() {
+    public byte[] value13() {
         return getBloomFilter();
     }
 
@@ -506,7 +506,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public TransactionReceiptRecord value1(String value) {
+    public TransactionReceiptRecord value1(byte... value) {
         setTransactionHash(value);
         return this;
     }
@@ -518,7 +518,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public TransactionReceiptRecord value3(String value) {
+    public TransactionReceiptRecord value3(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -530,19 +530,19 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public TransactionReceiptRecord value5(String value) {
+    public TransactionReceiptRecord value5(byte... value) {
         setFrom(value);
         return this;
     }
 
     @Override
-    public TransactionReceiptRecord value6(String value) {
+    public TransactionReceiptRecord value6(byte... value) {
         setTo(value);
         return this;
     }
 
     @Override
-    public TransactionReceiptRecord value7(String value) {
+    public TransactionReceiptRecord value7(byte... value) {
         setContractAddress(value);
         return this;
     }
@@ -566,7 +566,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public TransactionReceiptRecord value11(String value) {
+    public TransactionReceiptRecord value11(byte... value) {
         setStateRoot(value);
         return this;
     }
@@ -578,7 +578,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public TransactionReceiptRecord value13(String value) {
+    public TransactionReceiptRecord value13(byte... value) {
         setBloomFilter(value);
         return this;
     }
@@ -596,7 +596,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     }
 
     @Override
-    public TransactionReceiptRecord values(String value1, Integer value2, String value3, Long value4, String value5, String value6, String value7, Long value8, Long value9, String value10, String value11, Short value12, String value13, Timestamp value14, byte[] value15) {
+    public TransactionReceiptRecord values(byte[] value1, Integer value2, byte[] value3, Long value4, byte[] value5, byte[] value6, byte[] value7, Long value8, Long value9, String value10, byte[] value11, Short value12, byte[] value13, Timestamp value14, byte[] value15) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -629,7 +629,7 @@ public class TransactionReceiptRecord extends UpdatableRecordImpl<TransactionRec
     /**
      * Create a detached, initialised TransactionReceiptRecord
      */
-    public TransactionReceiptRecord(String transactionHash, Integer transactionIndex, String blockHash, Long blockNumber, String from, String to, String contractAddress, Long cumulativeGasUsed, Long gasUsed, String logs, String stateRoot, Short status, String bloomFilter, Timestamp timestamp, byte[] revertReason) {
+    public TransactionReceiptRecord(byte[] transactionHash, Integer transactionIndex, byte[] blockHash, Long blockNumber, byte[] from, byte[] to, byte[] contractAddress, Long cumulativeGasUsed, Long gasUsed, String logs, byte[] stateRoot, Short status, byte[] bloomFilter, Timestamp timestamp, byte[] revertReason) {
         super(TransactionReceipt.TRANSACTION_RECEIPT);
 
         set(0, transactionHash);
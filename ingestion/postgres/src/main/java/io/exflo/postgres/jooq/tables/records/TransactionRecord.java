@@ -12,8 +12,8 @@ import java.sql.Timestamp;
 import javax.annotation.processing.Generated;
 
 import org.jooq.Field;
-import org.jooq.Record1;
 import org.jooq.Record18;
+import org.jooq.Record2;
 import org.jooq.Row18;
 import org.jooq.impl.UpdatableRecordImpl;
 
@@ -29,14 +29,14 @@ import org.jooq.impl.UpdatableRecordImpl;
     comments = "This class is generated by jOOQ"
 )
 @SuppressWarnings({ "all", "unchecked", "rawtypes" })
-public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> implements Record18<String, Long, String, Integer, Long, String, String, BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, String, Timestamp> {
+public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> implements Record18<byte[], Long, byte[], Integer, Long, byte[], byte[], BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, byte[], Timestamp> {
 
     private static final long serialVersionUID = 356086641;
 
     /**
      * Setter for <code>public.transaction.hash</code>.
      */
-    public TransactionRecord setHash(String value) {
+    public TransactionRecord setHash(byte... value) {
         set(0, value);
         return this;
     }
@@ -44,8 +44,8 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Getter for <code>public.transaction.hash</code>.
      */
-    public String getHash() {
-        return (String) get(0);
+    public byte[] getHash() {
+        return (byte[]) get(0);
     }
 
     /**
@@ -66,7 +66,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Setter for <code>public.transaction.block_hash</code>.
      */
-    public TransactionRecord setBlockHash(String value) {
+    public TransactionRecord setBlockHash(byte... value) {
         set(2, value);
         return this;
     }
@@ -74,8 +74,8 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Getter for <code>public.transaction.block_hash</code>.
      */
-    public String getBlockHash() {
-        return (String) get(2);
+    public byte[] getBlockHash() {
+        return (byte[]) get(2);
     }
 
     /**
@@ -111,7 +111,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Setter for <code>public.transaction.from</code>.
      */
-    public TransactionRecord setFrom(String value) {
+    public TransactionRecord setFrom(byte... value) {
         set(5, value);
         return this;
     }
@@ -119,14 +119,14 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Getter for <code>public.transaction.from</code>.
      */
-    public String getFrom() {
-        return (String) get(5);
+    public byte[] getFrom() {
+        return (byte[]) get(5);
     }
 
     /**
      * Setter for <code>public.transaction.to</code>.
      */
-    public TransactionRecord setTo(String value) {
+    public TransactionRecord setTo(byte... value) {
         set(6, value);
         return this;
     }
@@ -134,8 +134,8 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Getter for <code>public.transaction.to</code>.
      */
-    public String getTo() {
-        return (String) get(6);
+    public byte[] getTo() {
+        return (byte[]) get(6);
     }
 
     /**
@@ -276,7 +276,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Setter for <code>public.transaction.contract_address</code>.
      */
-    public TransactionRecord setContractAddress(String value) {
+    public TransactionRecord setContractAddress(byte... value) {
         set(16, value);
         return this;
     }
@@ -284,8 +284,8 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Getter for <code>public.transaction.contract_address</code>.
      */
-    public String getContractAddress() {
-        return (String) get(16);
+    public byte[] getContractAddress() {
+        return (byte[]) get(16);
     }
 
     /**
@@ -308,8 +308,8 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<String> key() {
-        return (Record1) super.key();
+    public Record2<byte[], Long> key() {
+        return (Record2) super.key();
     }
 
     // -------------------------------------------------------------------------
@@ -317,17 +317,17 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     // -------------------------------------------------------------------------
 
     @Override
-    public Row18<String, Long, String, Integer, Long, String, String, BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, String, Timestamp> fieldsRow() {
+    public Row18<byte[], Long, byte[], Integer, Long, byte[], byte[], BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, byte[], Timestamp> fieldsRow() {
         return (Row18) super.fieldsRow();
     }
 
     @Override
-    public Row18<String, Long, String, Integer, Long, String, String, BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, String, Timestamp> valuesRow() {
+    public Row18<byte[], Long, byte[], Integer, Long, byte[], byte[], BigDecimal, BigDecimal, Long, byte[], BigDecimal, BigDecimal, Short, BigDecimal, BigDecimal, byte[], Timestamp> valuesRow() {
         return (Row18) super.valuesRow();
     }
 
     @Override
-    public Field<String> field1() {
+    public Field<byte[]> field1() {
         return Transaction.TRANSACTION.HASH;
     }
 
@@ -337,7 +337,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public Field<String> field3() {
+    public Field<byte[]> field3() {
         return Transaction.TRANSACTION.BLOCK_HASH;
     }
 
@@ -352,12 +352,12 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public Field<String> field6() {
+    public Field<byte[]> field6() {
         return Transaction.TRANSACTION.FROM;
     }
 
     @Override
-    public Field<String> field7() {
+    public Field<byte[]> field7() {
         return Transaction.TRANSACTION.TO;
     }
 
@@ -407,7 +407,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public Field<String> field17() {
+    public Field<byte[]> field17() {
         return Transaction.TRANSACTION.CONTRACT_ADDRESS;
     }
 
@@ -417,7 +417,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String component1() {
+    public byte[] component1() {
         return getHash();
     }
 
@@ -427,7 +427,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String component3() {
+    public byte[] component3() {
         return getBlockHash();
     }
 
@@ -442,12 +442,12 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String component6() {
+    public byte[] component6() {
         return getFrom();
     }
 
     @Override
-    public String component7() {
+    public byte[] component7() {
         return getTo();
     }
 
@@ -497,7 +497,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String component17() {
+    public byte[] component17() {
         return getContractAddress();
     }
 
@@ -507,7 +507,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String value1() {
+    public byte[] value1() {
         return getHash();
     }
 
@@ -517,7 +517,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String value3() {
+    public byte[] value3() {
         return getBlockHash();
     }
 
@@ -532,12 +532,12 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String value6() {
+    public byte[] value6() {
         return getFrom();
     }
 
     @Override
-    public String value7() {
+    public byte[] value7() {
         return getTo();
     }
 
@@ -587,7 +587,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public String value17() {
+    public byte[] value17() {
         return getContractAddress();
     }
 
@@ -597,7 +597,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public TransactionRecord value1(String value) {
+    public TransactionRecord value1(byte... value) {
         setHash(value);
         return this;
     }
@@ -609,7 +609,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public TransactionRecord value3(String value) {
+    public TransactionRecord value3(byte... value) {
         setBlockHash(value);
         return this;
     }
@@ -627,13 +627,13 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public TransactionRecord value6(String value) {
+    public TransactionRecord value6(byte... value) {
         setFrom(value);
         return this;
     }
 
     @Override
-    public TransactionRecord value7(String value) {
+    public TransactionRecord value7(byte... value) {
         setTo(value);
         return this;
     }
@@ -693,7 +693,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public TransactionRecord value17(String value) {
+    public TransactionRecord value17(byte... value) {
         setContractAddress(value);
         return this;
     }
@@ -705,7 +705,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     }
 
     @Override
-    public TransactionRecord values(String value1, Long value2, String value3, Integer value4, Long value5, String value6, String value7, BigDecimal value8, BigDecimal value9, Long value10, byte[] value11, BigDecimal value12, BigDecimal value13, Short value14, BigDecimal value15, BigDecimal value16, String value17, Timestamp value18) {
+    public TransactionRecord values(byte[] value1, Long value2, byte[] value3, Integer value4, Long value5, byte[] value6, byte[] value7, BigDecimal value8, BigDecimal value9, Long value10, byte[] value11, BigDecimal value12, BigDecimal value13, Short value14, BigDecimal value15, BigDecimal value16, byte[] value17, Timestamp value18) {
         value1(value1);
         value2(value2);
         value3(value3);
@@ -741,7 +741,7 @@ public class TransactionRecord extends UpdatableRecordImpl<TransactionRecord> im
     /**
      * Create a detached, initialised TransactionRecord
      */
-    public TransactionRecord(String hash, Long blockNumber, String blockHash, Integer index, Long nonce, String from, String to, BigDecimal value, BigDecimal gasPrice, Long gasLimit, byte[] payload, BigDecimal chainId, BigDecimal fee, Short recId, BigDecimal r, BigDecimal s, String contractAddress, Timestamp timestamp) {
+    public TransactionRecord(byte[] hash, Long blockNumber, byte[] blockHash, Integer index, Long nonce, byte[] from, byte[] to, BigDecimal value, BigDecimal gasPrice, Long gasLimit, byte[] payload, BigDecimal chainId, BigDecimal fee, Short recId, BigDecimal r, BigDecimal s, byte[] contractAddress, Timestamp timestamp) {
         super(Transaction.TRANSACTION);
 
         set(0, hash);
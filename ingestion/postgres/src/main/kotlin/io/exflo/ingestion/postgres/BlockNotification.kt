@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.reactivex.rxjava3.core.Emitter
+import io.reactivex.rxjava3.core.Flowable
+import io.reactivex.rxjava3.schedulers.Schedulers
+import org.hyperledger.besu.ethereum.core.Hash
+import org.postgresql.PGConnection
+import java.sql.Connection
+import java.time.Duration
+import javax.sql.DataSource
+
+/**
+ * Published on [CHANNEL] when a block has been written up to the final import stage, or when a block previously
+ * published as canonical has been replaced by a reorg. Notifications are sent from within the importing transaction and
+ * are therefore only delivered once it commits.
+ */
+data class BlockNotification(
+  val number: Long,
+  val hash: Hash,
+  val stage: Int,
+  val canonical: Boolean
+) {
+
+  fun toPayload(): String =
+    """{"number":$number,"hash":"${hash.toHexString()}","stage":$stage,"canonical":$canonical}"""
+
+  companion object {
+
+    const val CHANNEL = "exflo_blocks"
+
+    private val objectMapper = ObjectMapper()
+
+    fun fromPayload(payload: String): BlockNotification =
+      objectMapper.readTree(payload).let { json ->
+        BlockNotification(
+          json.get("number").asLong(),
+          Hash.fromHexString(json.get("hash").asText()),
+          json.get("stage").asInt(),
+          json.get("canonical").asBoolean()
+        )
+      }
+
+    /**
+     * Listens on [CHANNEL] using a dedicated connection from [dataSource] for as long as the returned flowable is
+     * subscribed, waiting up to [pollInterval] for each round of notifications. Notifications sent while not subscribed
+     * are not replayed, consumers catching up should query the canonical chain first and then rely on the feed.
+     */
+    fun listen(dataSource: DataSource, pollInterval: Duration = Duration.ofMillis(500)): Flowable<BlockNotification> {
+
+      val initialState = {
+        dataSource.connection
+          .apply {
+            autoCommit = true
+            createStatement().use { it.execute("LISTEN $CHANNEL") }
+          }
+      }
+
+      val generator = { connection: Connection, emitter: Emitter<List<BlockNotification>> ->
+
+        try {
+
+          val notifications = connection
+            .unwrap(PGConnection::class.java)
+            .getNotifications(pollInterval.toMillis().toInt())
+            ?: emptyArray()
+
+          emitter.onNext(
+            notifications
+              .filter { it.name == CHANNEL }
+              .map { fromPayload(it.parameter) }
+          )
+        } catch (t: Throwable) {
+          emitter.onError(t)
+        }
+
+        connection
+      }
+
+      val disposeState: (Connection) -> Unit = { connection ->
+        connection.use { c -> c.createStatement().use { it.execute("UNLISTEN *") } }
+      }
+
+      return Flowable
+        .generate(initialState, generator, disposeState)
+        .concatMapIterable { it }
+        .subscribeOn(Schedulers.io())
+    }
+  }
+}
@@ -22,8 +22,11 @@ import io.exflo.ingestion.ExfloCliDefaultOptions
 import io.exflo.ingestion.ExfloCliOptions
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.RECEIPTS
+import io.exflo.ingestion.ExfloCliOptions.TraceMode
 import io.exflo.ingestion.ExfloPlugin
+import io.exflo.ingestion.postgres.tracker.PostgresChainTrackerStore
 import io.exflo.ingestion.tracker.BlockWriter
+import io.exflo.ingestion.tracker.ChainTracker
 import io.exflo.postgres.jooq.Tables.METADATA
 import io.exflo.postgres.jooq.tables.records.MetadataRecord
 import org.flywaydb.core.Flyway
@@ -66,6 +69,8 @@ class ExfloPostgresPlugin : ExfloPlugin<ExfloPostgresCliOptions>() {
         HikariDataSource(dataSourceConfig)
       }
 
+      single<ChainTracker.StoreFactory> { PostgresChainTrackerStore.Factory(get()) }
+
       single<BlockWriter> {
         PostgresBlockWriter(get(), get(), get(), get(), options)
       }
@@ -162,6 +167,22 @@ class ExfloPostgresCliOptions : ExfloCliOptions {
   )
   override var maxForkSize: Int = ExfloCliDefaultOptions.MAX_FORK_SIZE
 
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-block-cache-size"],
+    paramLabel = "<LONG>",
+    defaultValue = "${ExfloCliDefaultOptions.BLOCK_CACHE_SIZE_MB}",
+    description = ["Max size in megabytes of the cache holding decoded blocks and receipts. Set to 0 to disable"]
+  )
+  override var blockCacheSize: Long = ExfloCliDefaultOptions.BLOCK_CACHE_SIZE_MB
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-trace-mode"],
+    paramLabel = "<MODE>",
+    defaultValue = "FLAT",
+    description = ["Tracer used when processing traces. FLAT also produces the full json trace, LIGHT only records calls, creates and self destructs"]
+  )
+  override var traceMode: TraceMode = TraceMode.FLAT
+
   @CommandLine.Option(
     names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-processing-level"],
     paramLabel = "<ENTITY>",
@@ -169,6 +190,45 @@ class ExfloPostgresCliOptions : ExfloCliOptions {
   )
   var processableEntity: ProcessableEntity = RECEIPTS
 
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-pipeline-mode"],
+    paramLabel = "<MODE>",
+    description = ["How blocks are imported. STAGED runs one task per entity, UNIFIED writes every entity of a block in a single pass"]
+  )
+  var pipelineMode: PipelineMode = PipelineMode.STAGED
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-stage-batch-size"],
+    paramLabel = "<INTEGER>",
+    defaultValue = "1024",
+    description = ["Max no. of blocks written per batch by each stage when using the STAGED pipeline mode"]
+  )
+  var stageBatchSize: Int = 1024
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-unified-workers"],
+    paramLabel = "<INTEGER>",
+    defaultValue = "16",
+    description = ["No. of block ranges assembled concurrently when using the UNIFIED pipeline mode"]
+  )
+  var unifiedWorkers: Int = 16
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-backfill-enabled"],
+    paramLabel = "<BOOLEAN>",
+    defaultValue = "false",
+    description = ["Defer secondary indexes and foreign keys whilst the import is further behind the head than the backfill threshold"]
+  )
+  var backfillEnabled: Boolean = false
+
+  @CommandLine.Option(
+    names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-backfill-threshold"],
+    paramLabel = "<LONG>",
+    defaultValue = "10000",
+    description = ["No. of outstanding blocks below which deferred indexes and foreign keys are rebuilt"]
+  )
+  var backfillThreshold: Long = 10000
+
   @CommandLine.Option(
     names = ["--plugin-${ExfloCliDefaultOptions.EXFLO_POSTGRES_PLUGIN_ID}-jdbc-url"],
     defaultValue = "jdbc:postgresql://localhost/exflo_dev?user=exflo_dev&password=exflo_dev",
@@ -183,4 +243,11 @@ class ExfloPostgresCliOptions : ExfloCliOptions {
     description = ["Enables or disables checking migrations on the selected DB"]
   )
   var disableMigrations: Boolean = false
+
+  enum class PipelineMode {
+    // header, body, receipts and traces imported by separate tasks connected via the import queue
+    STAGED,
+    // all entities of a block assembled in memory and written in one transaction
+    UNIFIED
+  }
 }
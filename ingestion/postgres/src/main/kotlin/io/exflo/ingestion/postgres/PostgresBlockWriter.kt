@@ -22,12 +22,23 @@ import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.HEADER
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.RECEIPTS
 import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.TRACES
 import io.exflo.ingestion.core.ImportTask
+import io.exflo.ingestion.postgres.ExfloPostgresCliOptions.PipelineMode.STAGED
+import io.exflo.ingestion.postgres.ExfloPostgresCliOptions.PipelineMode.UNIFIED
+import io.exflo.ingestion.postgres.extensions.outstandingBlocks
+import io.exflo.ingestion.postgres.tasks.BackfillTask
+import io.exflo.ingestion.postgres.tasks.BlockImportTask
 import io.exflo.ingestion.postgres.tasks.BodyImportTask
 import io.exflo.ingestion.postgres.tasks.HeaderImportTask
 import io.exflo.ingestion.postgres.tasks.ReceiptsImportTask
+import io.exflo.ingestion.postgres.tasks.StageHandoff
 import io.exflo.ingestion.postgres.tasks.TraceImportTask
 import io.exflo.ingestion.tracker.BlockReader
 import io.exflo.ingestion.tracker.BlockWriter
+import io.exflo.ingestion.tracker.ChainTracker
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.koin.core.KoinComponent
+import org.koin.core.get
 import java.util.concurrent.Executors
 import java.util.concurrent.Future
 import java.util.concurrent.TimeUnit
@@ -37,9 +48,9 @@ class PostgresBlockWriter(
   classLoader: ClassLoader,
   objectMapper: ObjectMapper,
   dataSource: DataSource,
-  blockReader: BlockReader,
-  cliOptions: ExfloPostgresCliOptions
-) : BlockWriter {
+  private val blockReader: BlockReader,
+  private val cliOptions: ExfloPostgresCliOptions
+) : BlockWriter, KoinComponent {
 
   private val executor = Executors.newCachedThreadPool {
     val factory = Executors.defaultThreadFactory()
@@ -49,7 +60,7 @@ class PostgresBlockWriter(
     thread
   }
 
-  private val tasks: List<ImportTask> =
+  private val taskClasses =
     cliOptions.processableEntity
       .run {
         when (this) {
@@ -65,20 +76,57 @@ class PostgresBlockWriter(
           else -> throw IllegalArgumentException("Invalid import entity passed!")
         }
       }
-      // we use java reflection here because the kotlin reflection was not respecting the plugin classloader
-      // TODO understand why kotlin reflection does not use the plugin classloader
-      .mapNotNull { task -> task.java.constructors.firstOrNull() }
-      .map { task -> task.newInstance(objectMapper, blockReader, dataSource) as ImportTask }
+
+  private val handoff = StageHandoff(taskClasses.size, cliOptions.stageBatchSize)
+
+  private val dbContext = DSL.using(dataSource, SQLDialect.POSTGRES)
+
+  // only created when needed as it starts tracking the chain on creation
+  private val chainTracker by lazy { get<ChainTracker>() }
+
+  private val backfillTask =
+    if (cliOptions.backfillEnabled) BackfillTask(dataSource, cliOptions.backfillThreshold) { outstandingBlocks() } else null
+
+  private val tasks: List<ImportTask> =
+    when (cliOptions.pipelineMode) {
+      UNIFIED -> listOf(
+        BlockImportTask(
+          objectMapper,
+          blockReader,
+          dataSource,
+          chainTracker,
+          cliOptions.processableEntity,
+          cliOptions.unifiedWorkers
+        )
+      )
+      STAGED ->
+        taskClasses
+          // we use java reflection here because the kotlin reflection was not respecting the plugin classloader
+          // TODO understand why kotlin reflection does not use the plugin classloader
+          .mapNotNull { task -> task.java.constructors.firstOrNull() }
+          .map { task -> task.newInstance(objectMapper, blockReader, dataSource, handoff) as ImportTask }
+    } + listOfNotNull(backfillTask)
 
   private lateinit var futures: List<Future<*>>
 
   override fun start() {
+    // indexes have to be deferred before any of the import tasks start writing
+    backfillTask?.prepare()
     futures = tasks.map { executor.submit(it) }
   }
 
   override fun stop() {
+    handoff.close()
     tasks.forEach { it.stop() }
     futures.forEach { it.get(60, TimeUnit.SECONDS) }
     executor.shutdownNow()
   }
+
+  private fun outstandingBlocks(): Long =
+    when (cliOptions.pipelineMode) {
+      UNIFIED -> chainTracker.head - chainTracker.tail
+      STAGED ->
+        dbContext.outstandingBlocks(taskClasses.size - 1)
+          ?: requireNotNull(blockReader.header(blockReader.chainHead()!!)) { "Chain head cannot be null" }.number
+    }
 }
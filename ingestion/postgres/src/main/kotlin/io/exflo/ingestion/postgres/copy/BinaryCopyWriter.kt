@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.copy
+
+import org.jooq.DSLContext
+import org.jooq.DataType
+import org.jooq.EnumType
+import org.jooq.Field
+import org.jooq.JSONB
+import org.jooq.Table
+import org.jooq.TableRecord
+import org.jooq.impl.DSL
+import org.postgresql.PGConnection
+import org.postgresql.copy.PGCopyOutputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.math.BigDecimal
+import java.math.RoundingMode
+import java.sql.Timestamp
+import java.time.LocalDateTime
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Writes the binary representation of a non null value, without its length.
+ */
+internal typealias Encoder = (DataOutputStream, Any) -> Unit
+
+/**
+ * Bulk loads jOOQ records using `COPY ... FROM STDIN (FORMAT binary)`, encoding each value in the postgres binary wire
+ * format based on the data type of its field.
+ *
+ * Records are grouped by table in the order in which each table first appears, so relations which are inserted before
+ * the records referencing them in a batch remain so. Copies run on the connection of the given context, allowing them
+ * to take part in the surrounding transaction.
+ */
+object BinaryCopyWriter {
+
+  private val SIGNATURE = byteArrayOf(
+    'P'.toByte(), 'G'.toByte(), 'C'.toByte(), 'O'.toByte(), 'P'.toByte(), 'Y'.toByte(), '\n'.toByte(),
+    0xFF.toByte(), '\r'.toByte(), '\n'.toByte(), 0
+  )
+
+  private const val BUFFER_SIZE = 1024 * 64
+
+  private const val NUMERIC_OID = 1700
+
+  private const val NUMERIC_POS = 0x0000
+  private const val NUMERIC_NEG = 0x4000
+
+  private val PG_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0)
+
+  // oids of user defined types, e.g. enums, needed when encoding arrays of them
+  private val typeOids = ConcurrentHashMap<String, Int>()
+
+  /**
+   * Copies [records] into their tables, returning the number of rows written.
+   */
+  fun write(dbContext: DSLContext, records: List<TableRecord<*>>): Int =
+    records
+      .groupBy { it.table }
+      .map { (table, tableRecords) ->
+        // every row of a copy has the same columns, so records which set different fields are copied separately
+        // rather than writing nulls in place of the column defaults of the fields they leave unset
+        tableRecords
+          .groupBy { record -> table.fields().filter { record.changed(it) } }
+          .map { (fields, columnRecords) -> write(dbContext, table, fields, columnRecords) }
+          .sum()
+      }
+      .sum()
+
+  private fun write(
+    dbContext: DSLContext,
+    table: Table<*>,
+    fields: List<Field<*>>,
+    records: List<TableRecord<*>>
+  ): Int {
+
+    val encoders = fields.map { encoder(dbContext, it.dataType) }
+
+    val sql = "COPY ${dbContext.render(table)} " +
+      "(${fields.joinToString(", ") { dbContext.render(DSL.name(it.name)) }}) " +
+      "FROM STDIN (FORMAT binary)"
+
+    return dbContext.connectionResult { connection ->
+
+      val pgConnection = connection.unwrap(PGConnection::class.java)
+      val stream = PGCopyOutputStream(pgConnection, sql, BUFFER_SIZE)
+
+      try {
+
+        val out = DataOutputStream(stream)
+        val scratch = Scratch()
+
+        out.write(SIGNATURE)
+        out.writeInt(0) // flags
+        out.writeInt(0) // header extension length
+
+        records.forEach { record ->
+          out.writeShort(fields.size)
+          fields.forEachIndexed { idx, field -> writeValue(out, scratch, encoders[idx], record.get(field)) }
+        }
+
+        out.writeShort(-1)
+        out.flush()
+
+        stream.endCopy().toInt()
+      } catch (t: Throwable) {
+        if (stream.isActive) stream.cancelCopy()
+        throw t
+      }
+    }
+  }
+
+  private fun writeValue(out: DataOutputStream, scratch: Scratch, encoder: Encoder, value: Any?) {
+
+    if (value == null) {
+      out.writeInt(-1)
+      return
+    }
+
+    scratch.reset()
+    encoder(scratch.data, value)
+
+    out.writeInt(scratch.size())
+    scratch.writeTo(out)
+  }
+
+  /**
+   * Returns the encoder for values of [dataType], which writes the binary representation of a non null value without
+   * its length.
+   */
+  internal fun encoder(dbContext: DSLContext, dataType: DataType<*>): Encoder = encoder(dbContext, dataType.type)
+
+  private fun encoder(dbContext: DSLContext, type: Class<*>): Encoder =
+    when {
+      type == String::class.java -> { out, value -> out.write((value as String).toByteArray(Charsets.UTF_8)) }
+      type == Long::class.javaObjectType -> { out, value -> out.writeLong(value as Long) }
+      type == Int::class.javaObjectType -> { out, value -> out.writeInt(value as Int) }
+      type == Short::class.javaObjectType -> { out, value -> out.writeShort((value as Short).toInt()) }
+      type == Boolean::class.javaObjectType -> { out, value -> out.writeByte(if (value as Boolean) 1 else 0) }
+      type == BigDecimal::class.java -> { out, value -> encodeNumeric(out, value as BigDecimal) }
+      type == Timestamp::class.java -> { out, value ->
+        out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, (value as Timestamp).toLocalDateTime()))
+      }
+      type == ByteArray::class.java -> { out, value -> out.write(value as ByteArray) }
+      type == JSONB::class.java -> { out, value ->
+        out.writeByte(1) // jsonb version
+        out.write((value as JSONB).data().toByteArray(Charsets.UTF_8))
+      }
+      EnumType::class.java.isAssignableFrom(type) -> { out, value ->
+        out.write((value as EnumType).literal.toByteArray(Charsets.UTF_8))
+      }
+      type.isArray -> arrayEncoder(dbContext, type.componentType)
+      else -> throw IllegalArgumentException("Unsupported copy type: ${type.name}")
+    }
+
+  private fun arrayEncoder(dbContext: DSLContext, componentType: Class<*>): Encoder {
+
+    val elementOid = when (componentType) {
+      BigDecimal::class.java -> NUMERIC_OID
+      else -> {
+        require(EnumType::class.java.isAssignableFrom(componentType)) {
+          "Unsupported copy array type: ${componentType.name}"
+        }
+        val typeName = (componentType.enumConstants.first() as EnumType).name
+        typeOids.computeIfAbsent(typeName) { lookupOid(dbContext, it) }
+      }
+    }
+
+    val elementEncoder = encoder(dbContext, componentType)
+
+    return { out, value -> encodeArray(out, elementOid, elementEncoder, value as Array<*>) }
+  }
+
+  private fun encodeArray(out: DataOutputStream, elementOid: Int, elementEncoder: Encoder, values: Array<*>) {
+
+    out.writeInt(if (values.isEmpty()) 0 else 1) // dimensions
+    out.writeInt(if (values.any { it == null }) 1 else 0) // has nulls
+    out.writeInt(elementOid)
+
+    if (values.isEmpty()) return
+
+    out.writeInt(values.size)
+    out.writeInt(1) // lower bound
+
+    val scratch = Scratch()
+    values.forEach { value -> writeValue(out, scratch, elementEncoder, value) }
+  }
+
+  /**
+   * Encodes a numeric as base 10000 digits with a weight relative to the decimal point, see numeric.c in postgres.
+   */
+  private fun encodeNumeric(out: DataOutputStream, value: BigDecimal) {
+
+    val scale = value.scale().coerceAtLeast(0)
+    val plain = value.abs().setScale(scale, RoundingMode.UNNECESSARY).toPlainString()
+
+    val integerPart = plain.substringBefore('.')
+    val fractionPart = if (scale > 0) plain.substringAfter('.') else ""
+
+    // pad both parts to whole base 10000 digits
+    val integerDigits = integerPart.padStart((integerPart.length + 3) / 4 * 4, '0')
+    val fractionDigits = fractionPart.padEnd((fractionPart.length + 3) / 4 * 4, '0')
+
+    val digits = (integerDigits + fractionDigits).chunked(4).map { it.toInt() }.toMutableList()
+    var weight = integerDigits.length / 4 - 1
+
+    while (digits.isNotEmpty() && digits.first() == 0) {
+      digits.removeAt(0)
+      weight -= 1
+    }
+    while (digits.isNotEmpty() && digits.last() == 0) {
+      digits.removeAt(digits.size - 1)
+    }
+
+    if (digits.isEmpty()) weight = 0
+
+    out.writeShort(digits.size)
+    out.writeShort(weight)
+    out.writeShort(if (value.signum() < 0) NUMERIC_NEG else NUMERIC_POS)
+    out.writeShort(scale)
+    digits.forEach { out.writeShort(it) }
+  }
+
+  private fun lookupOid(dbContext: DSLContext, typeName: String): Int =
+    dbContext
+      .select(DSL.field("oid", Long::class.java))
+      .from(DSL.table("pg_type"))
+      .where(DSL.field("typname", String::class.java).eq(typeName))
+      .fetchOne()
+      ?.value1()
+      ?.toInt()
+      ?: throw IllegalStateException("Type not found: $typeName")
+
+  /**
+   * Reusable buffer for encoding a single value so that its length can be written before it.
+   */
+  private class Scratch : ByteArrayOutputStream(256) {
+    val data = DataOutputStream(this)
+  }
+}
@@ -16,9 +16,17 @@
 
 package io.exflo.ingestion.postgres.extensions
 
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
 import org.apache.tuweni.units.bigints.UInt256
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.core.Hash
 import org.hyperledger.besu.ethereum.core.Wei
 
 fun UInt256.toBigDecimal() = toBigInteger().toBigDecimal()
 
 fun Wei.toBigDecimal() = this.toBigInteger().toBigDecimal()
+
+fun ByteArray.toHash(): Hash = Hash.wrap(Bytes32.wrap(this))
+
+fun ByteArray.toAddress(): Address = Address.wrap(Bytes.wrap(this))
@@ -16,7 +16,6 @@
 
 package io.exflo.ingestion.postgres.extensions
 
-import com.fasterxml.jackson.databind.ObjectMapper
 import io.exflo.domain.BalanceDelta
 import io.exflo.domain.ContractCapability
 import io.exflo.domain.ContractCreated
@@ -31,6 +30,7 @@ import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
 import io.exflo.postgres.jooq.tables.records.ContractCreatedRecord
 import io.exflo.postgres.jooq.tables.records.ContractDestroyedRecord
 import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.exflo.postgres.jooq.tables.records.LogRecord
 import io.exflo.postgres.jooq.tables.records.OmmerRecord
 import io.exflo.postgres.jooq.tables.records.TransactionReceiptRecord
 import io.exflo.postgres.jooq.tables.records.TransactionRecord
@@ -47,23 +47,23 @@ fun BlockHeader.toBlockHeaderRecord(totalDifficulty: UInt256): BlockHeaderRecord
   return BlockHeaderRecord()
     .apply {
       this.number = header.number
-      this.hash = header.hash.toHexString()
-      this.parentHash = header.parentHash.toHexString()
+      setHash(*header.hash.toArrayUnsafe())
+      setParentHash(*header.parentHash.toArrayUnsafe())
       this.nonce = header.nonce
       this.isCanonical = true
-      this.stateRoot = header.stateRoot.toHexString()
-      this.receiptsRoot = header.receiptsRoot.toHexString()
-      this.transactionsRoot = header.transactionsRoot.toHexString()
-      this.coinbase = header.coinbase.toHexString()
+      setStateRoot(*header.stateRoot.toArrayUnsafe())
+      setReceiptsRoot(*header.receiptsRoot.toArrayUnsafe())
+      setTransactionsRoot(*header.transactionsRoot.toArrayUnsafe())
+      setCoinbase(*header.coinbase.toArrayUnsafe())
       this.difficulty = header.difficulty.toBigInteger().toBigDecimal()
       this.totalDifficulty = totalDifficulty.toBigDecimal()
       header.extraData?.let { this.setExtraData(*(it.toArray())) }
       this.gasLimit = header.gasLimit
       this.gasUsed = header.gasUsed
       this.timestamp = Timestamp(header.timestamp.times(1000))
-      this.mixHash = header.mixHash.toHexString()
-      this.ommersHash = header.ommersHash.toHexString()
-      this.logsBloom = header.logsBloom.toHexString()
+      setMixHash(*header.mixHash.toArrayUnsafe())
+      setOmmersHash(*header.ommersHash.toArrayUnsafe())
+      setLogsBloom(*header.logsBloom.toArrayUnsafe())
     }
 }
 
@@ -73,24 +73,24 @@ fun BlockHeader.toOmmerRecord(nephew: BlockHeaderRecord, index: Int): OmmerRecor
     .apply {
       this.index = index
       this.number = header.number
-      this.hash = header.hash.toHexString()
-      this.parentHash = header.parentHash.toHexString()
-      this.nephewHash = nephew.hash
+      setHash(*header.hash.toArrayUnsafe())
+      setParentHash(*header.parentHash.toArrayUnsafe())
+      setNephewHash(*nephew.hash)
       this.height = nephew.number
       this.nonce = header.nonce
-      this.stateRoot = header.stateRoot.toHexString()
-      this.receiptsRoot = header.receiptsRoot.toHexString()
-      this.transactionsRoot = header.transactionsRoot.toHexString()
-      this.coinbase = header.coinbase.toHexString()
+      setStateRoot(*header.stateRoot.toArrayUnsafe())
+      setReceiptsRoot(*header.receiptsRoot.toArrayUnsafe())
+      setTransactionsRoot(*header.transactionsRoot.toArrayUnsafe())
+      setCoinbase(*header.coinbase.toArrayUnsafe())
       // TODO verify this difficulty to big decimal conversion and find a better way of doing it
       this.difficulty = header.difficulty.toBigInteger().toBigDecimal()
       header.extraData?.let { this.setExtraData(*(it.toArray())) }
       this.gasLimit = header.gasLimit
       this.gasUsed = header.gasUsed
       this.timestamp = Timestamp(header.timestamp.times(1000))
-      this.mixHash = header.mixHash.toHexString()
-      this.ommersHash = header.ommersHash.toHexString()
-      this.logsBloom = header.logsBloom.toHexString()
+      setMixHash(*header.mixHash.toArrayUnsafe())
+      setOmmersHash(*header.ommersHash.toArrayUnsafe())
+      setLogsBloom(*header.logsBloom.toArrayUnsafe())
     }
 }
 
@@ -98,13 +98,13 @@ fun Transaction.toTransactionRecord(header: BlockHeaderRecord, index: Int): Tran
   val tx = this
   return TransactionRecord()
     .apply {
-      this.hash = tx.hash.toHexString()
+      setHash(*tx.hash.toArrayUnsafe())
       this.blockNumber = header.number
-      this.blockHash = header.hash
+      setBlockHash(*header.hash)
       this.index = index
       this.nonce = tx.nonce
-      this.from = tx.sender.toHexString()
-      this.to = tx.to.orElse(null)?.toHexString()
+      setFrom(*tx.sender.toArrayUnsafe())
+      tx.to.orElse(null)?.let { setTo(*it.toArrayUnsafe()) }
       this.value = tx.value.toBigDecimal()
       this.gasPrice = tx.gasPrice.toBigDecimal()
       this.gasLimit = tx.gasLimit
@@ -114,41 +114,95 @@ fun Transaction.toTransactionRecord(header: BlockHeaderRecord, index: Int): Tran
       this.recId = tx.signature.recId.toShort()
       this.r = tx.signature.r.toBigDecimal()
       this.s = tx.signature.s.toBigDecimal()
-      tx.contractAddress().orElse(null)?.let { setContractAddress(it.toHexString()) }
+      tx.contractAddress().orElse(null)?.let { setContractAddress(*it.toArrayUnsafe()) }
       this.timestamp = header.timestamp
     }
 }
 
 fun TransactionReceipt.toTransactionReceiptRecord(
-  objectMapper: ObjectMapper,
   blockHeader: BlockHeaderRecord,
   transaction: TransactionRecord,
   gasUsed: Long
 ): TransactionReceiptRecord {
 
   val receipt = this
-  val logsAsJson = logs.map { objectMapper.writeValueAsString(it) }
 
   return TransactionReceiptRecord()
     .apply {
-      this.transactionHash = transaction.hash
+      setTransactionHash(*transaction.hash)
       this.transactionIndex = transaction.index
-      this.blockHash = blockHeader.hash
+      setBlockHash(*blockHeader.hash)
       this.blockNumber = blockHeader.number
-      this.from = transaction.from
-      this.to = transaction.to
-      this.contractAddress = transaction.contractAddress
+      setFrom(*transaction.from)
+      transaction.to?.let { setTo(*it) }
+      transaction.contractAddress?.let { setContractAddress(*it) }
       this.cumulativeGasUsed = receipt.cumulativeGasUsed
       this.gasUsed = gasUsed
-      this.logs = "[" + logsAsJson.joinToString(",") + "]"
-      receipt.stateRoot?.let { setStateRoot(it.toHexString()) }
+      receipt.stateRoot?.let { setStateRoot(*it.toArrayUnsafe()) }
       this.status = receipt.status.toShort()
-      this.bloomFilter = receipt.bloomFilter.toHexString()
+      setBloomFilter(*receipt.bloomFilter.toArrayUnsafe())
       this.timestamp = blockHeader.timestamp
       receipt.revertReason.orElse(null)?.let { setRevertReason(*(it.toArray())) }
     }
 }
 
+fun TransactionReceipt.toLogRecords(
+  blockHeader: BlockHeaderRecord,
+  transaction: TransactionRecord,
+  firstLogIndex: Int
+): List<LogRecord> =
+  logs.mapIndexed { idx, log ->
+    LogRecord()
+      .apply {
+        this.blockNumber = blockHeader.number
+        setBlockHash(*blockHeader.hash)
+        setTransactionHash(*transaction.hash)
+        this.transactionIndex = transaction.index
+        this.logIndex = firstLogIndex + idx
+        setAddress(*log.logger.toArrayUnsafe())
+        log.topics.getOrNull(0)?.let { setTopic0(*it.toArrayUnsafe()) }
+        log.topics.getOrNull(1)?.let { setTopic1(*it.toArrayUnsafe()) }
+        log.topics.getOrNull(2)?.let { setTopic2(*it.toArrayUnsafe()) }
+        log.topics.getOrNull(3)?.let { setTopic3(*it.toArrayUnsafe()) }
+        setData(*log.data.toArrayUnsafe())
+      }
+  }
+
+/**
+ * Builds the receipt, log and contract event records of a block from its [transactions] and these receipts, which must
+ * be in the same order. The gas used by each transaction is the difference between consecutive cumulative gas values
+ * and log indices run across the receipts of the block.
+ */
+fun List<TransactionReceipt>.toReceiptRecords(
+  blockHeader: BlockHeaderRecord,
+  transactions: List<TransactionRecord>
+): List<TableRecord<*>> {
+
+  require(transactions.size == size) {
+    "Transactions & receipts size mismatch, transactions = ${transactions.size}, receipts = $size"
+  }
+
+  var totalGasUsed = 0L
+  var logIndex = 0
+
+  return transactions
+    .zip(this)
+    .map { (transaction, receipt) ->
+
+      val gasUsed = receipt.cumulativeGasUsed - totalGasUsed
+      totalGasUsed += gasUsed
+
+      val logRecords = receipt.toLogRecords(blockHeader, transaction, logIndex)
+      logIndex += logRecords.size
+
+      // important that events come last to allow relations to be inserted first
+      listOf(receipt.toTransactionReceiptRecord(blockHeader, transaction, gasUsed)) +
+        logRecords +
+        receipt.toEventRecords(blockHeader, transaction)
+    }
+    .flatten()
+}
+
 fun TransactionReceipt.toEventRecords(
   blockHeader: BlockHeaderRecord,
   transaction: TransactionRecord
@@ -167,12 +221,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.fungible_approval
-              this.ownerAddress = event.owner.toHexString()
-              this.spenderAddress = event.spender.toHexString()
+              setOwnerAddress(*event.owner.toArrayUnsafe())
+              setSpenderAddress(*event.spender.toArrayUnsafe())
               this.value = event.value.toBigDecimal()
             }
         }
@@ -181,12 +235,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.fungible_transfer
-              this.fromAddress = event.from.toHexString()
-              this.toAddress = event.to.toHexString()
+              setFromAddress(*event.from.toArrayUnsafe())
+              setToAddress(*event.to.toArrayUnsafe())
               this.value = event.value.toBigDecimal()
             }
         }
@@ -195,12 +249,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.non_fungible_approval
-              this.ownerAddress = event.owner.toHexString()
-              this.approvedAddress = event.approved.toHexString()
+              setOwnerAddress(*event.owner.toArrayUnsafe())
+              setApprovedAddress(*event.approved.toArrayUnsafe())
               this.tokenId = event.tokenId.toBigDecimal()
             }
         }
@@ -209,12 +263,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.approval_for_all
-              this.ownerAddress = event.owner.toHexString()
-              this.operatorAddress = event.operator.toHexString()
+              setOwnerAddress(*event.owner.toArrayUnsafe())
+              setOperatorAddress(*event.operator.toArrayUnsafe())
               this.approved = approved
             }
         }
@@ -223,12 +277,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.non_fungible_transfer
-              this.fromAddress = event.from.toHexString()
-              this.toAddress = event.to.toHexString()
+              setFromAddress(*event.from.toArrayUnsafe())
+              setToAddress(*event.to.toArrayUnsafe())
               this.tokenId = event.tokenId.toBigDecimal()
             }
         }
@@ -237,12 +291,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.sent
-              this.fromAddress = event.from.toHexString()
-              this.toAddress = event.to.toHexString()
+              setFromAddress(*event.from.toArrayUnsafe())
+              setToAddress(*event.to.toArrayUnsafe())
               this.amount = event.amount.toBigDecimal()
               this.setData(*event.data.toArray())
               this.setOperatorData(*event.operatorData.toArray())
@@ -253,11 +307,11 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.minted
-              this.toAddress = event.to.toHexString()
+              setToAddress(*event.to.toArrayUnsafe())
               this.amount = event.amount.toBigDecimal()
               this.setData(*event.data.toArray())
               this.setOperatorData(*event.operatorData.toArray())
@@ -268,11 +322,11 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.burned
-              this.toAddress = event.to.toHexString()
+              setToAddress(*event.to.toArrayUnsafe())
               this.amount = event.amount.toBigDecimal()
               this.setData(*event.data.toArray())
               this.setOperatorData(*event.operatorData.toArray())
@@ -283,12 +337,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.authorized_operator
-              this.operatorAddress = event.operator.toHexString()
-              this.holderAddress = event.holder.toHexString()
+              setOperatorAddress(*event.operator.toArrayUnsafe())
+              setHolderAddress(*event.holder.toArrayUnsafe())
             }
         }
 
@@ -296,12 +350,12 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.revoked_operator
-              this.operatorAddress = event.operator.toHexString()
-              this.holderAddress = event.holder.toHexString()
+              setOperatorAddress(*event.operator.toArrayUnsafe())
+              setHolderAddress(*event.holder.toArrayUnsafe())
             }
         }
 
@@ -309,13 +363,13 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.transfer_single
-              this.operatorAddress = event.operator.toHexString()
-              this.fromAddress = event.from.toHexString()
-              this.toAddress = event.to.toHexString()
+              setOperatorAddress(*event.operator.toArrayUnsafe())
+              setFromAddress(*event.from.toArrayUnsafe())
+              setToAddress(*event.to.toArrayUnsafe())
               this.id = event.id.toBigDecimal()
               this.value = event.value.toBigDecimal()
             }
@@ -325,13 +379,13 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.transfer_batch
-              this.operatorAddress = event.operator.toHexString()
-              this.fromAddress = event.from.toHexString()
-              this.toAddress = event.to.toHexString()
+              setOperatorAddress(*event.operator.toArrayUnsafe())
+              setFromAddress(*event.from.toArrayUnsafe())
+              setToAddress(*event.to.toArrayUnsafe())
               event.ids.forEach { id -> setIds(id.toBigInteger().toBigDecimal()) }
               event.values.forEach { value -> setValues(value.toBigInteger().toBigDecimal()) }
             }
@@ -341,9 +395,9 @@ fun TransactionReceipt.toEventRecords(
           ContractEventRecord()
             .apply {
               this.blockNumber = blockNumber
-              this.blockHash = blockHash
-              this.transactionHash = transactionHash
-              this.contractAddress = event.contract.toHexString()
+              setBlockHash(*blockHash)
+              setTransactionHash(*transactionHash)
+              setContractAddress(*event.contract.toArrayUnsafe())
               this.type = ContractEventType.uri
               this.valueStr = event.value
               this.id = event.id.toBigDecimal()
@@ -358,9 +412,9 @@ fun TransactionReceipt.toEventRecords(
 fun Account.toAccountRecord(header: BlockHeaderRecord): AccountRecord =
   AccountRecord()
     .apply {
-      this.address = this@toAccountRecord.address.toHexString()
+      setAddress(*this@toAccountRecord.address.toArrayUnsafe())
       this.blockNumber = header.number
-      this.blockHash = header.hash
+      setBlockHash(*header.hash)
       this.nonce = this@toAccountRecord.nonce
       this.balance = this@toAccountRecord.balance.toBigDecimal()
     }
@@ -372,8 +426,8 @@ fun ContractCapability.toContractCapabilityRecord() = io.exflo.postgres.jooq.enu
 fun ContractCreated.toContractCreatedRecord(header: BlockHeaderRecord): ContractCreatedRecord =
   ContractCreatedRecord()
     .apply {
-      this.address = contractAddress.toHexString()
-      this.creator = originatorAddress.toHexString()
+      setAddress(*contractAddress.toArrayUnsafe())
+      setCreator(*originatorAddress.toArrayUnsafe())
       this.code = this@toContractCreatedRecord.code.toHexString()
       this.type = this@toContractCreatedRecord.type?.toContractTypeRecord()
       this.setCapabilities(
@@ -385,36 +439,36 @@ fun ContractCreated.toContractCreatedRecord(header: BlockHeaderRecord): Contract
       this.decimals = metadata?.decimals?.toShort()
       this.granularity = metadata?.granularity?.toBigDecimal()
       this.cap = metadata?.cap?.toBigDecimal()
-      this.blockHash = header.hash
+      setBlockHash(*header.hash)
       this.blockNumber = header.number
       this.timestamp = header.timestamp
-      this.transactionHash = this@toContractCreatedRecord.transactionHash?.toHexString()
+      this@toContractCreatedRecord.transactionHash?.let { setTransactionHash(*it.toArrayUnsafe()) }
     }
 
 fun ContractDestroyed.toContractDestroyedRecord(header: BlockHeaderRecord): ContractDestroyedRecord =
   ContractDestroyedRecord()
     .apply {
-      this.address = contractAddress.toHexString()
-      this.refundAddress = this@toContractDestroyedRecord.refundAddress.toHexString()
+      setAddress(*contractAddress.toArrayUnsafe())
+      setRefundAddress(*this@toContractDestroyedRecord.refundAddress.toArrayUnsafe())
       this.refundAmount = this@toContractDestroyedRecord.refundAmount.toBigDecimal()
-      this.blockHash = header.hash
+      setBlockHash(*header.hash)
       this.blockNumber = header.number
       this.timestamp = header.timestamp
-      this.transactionHash = this@toContractDestroyedRecord.transactionHash?.toHexString()
+      this@toContractDestroyedRecord.transactionHash?.let { setTransactionHash(*it.toArrayUnsafe()) }
     }
 
 fun BalanceDelta.toBalanceDeltaRecord(blockHeader: BlockHeaderRecord): BalanceDeltaRecord =
   BalanceDeltaRecord()
     .apply {
       this.deltaType = io.exflo.postgres.jooq.enums.DeltaType.valueOf(this@toBalanceDeltaRecord.deltaType.name)
-      this.contractAddress = this@toBalanceDeltaRecord.contractAddress?.toHexString()
-      this.from = this@toBalanceDeltaRecord.from?.toHexString()
-      this.to = this@toBalanceDeltaRecord.to?.toHexString()
+      this@toBalanceDeltaRecord.contractAddress?.let { setContractAddress(*it.toArrayUnsafe()) }
+      this@toBalanceDeltaRecord.from?.let { setFrom(*it.toArrayUnsafe()) }
+      this@toBalanceDeltaRecord.to?.let { setTo(*it.toArrayUnsafe()) }
       this.amount = this@toBalanceDeltaRecord.amount?.toBigDecimal()
       this.tokenId = this@toBalanceDeltaRecord.tokenId?.toBigDecimal()
       this.blockNumber = blockHeader.number
-      this.blockHash = blockHeader.hash
+      setBlockHash(*blockHeader.hash)
       this.blockTimestamp = blockHeader.timestamp
-      this.transactionHash = this@toBalanceDeltaRecord.transactionHash?.toHexString()
+      this@toBalanceDeltaRecord.transactionHash?.let { setTransactionHash(*it.toArrayUnsafe()) }
       this.transactionIndex = this@toBalanceDeltaRecord.transactionIndex
     }
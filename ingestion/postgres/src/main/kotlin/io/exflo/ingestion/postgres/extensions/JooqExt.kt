@@ -16,16 +16,42 @@
 
 package io.exflo.ingestion.postgres.extensions
 
+import io.exflo.ingestion.postgres.BlockNotification
+import io.exflo.ingestion.postgres.copy.BinaryCopyWriter
+import io.exflo.postgres.jooq.Tables.ACCOUNT
+import io.exflo.postgres.jooq.Tables.ACCOUNT_LATEST
+import io.exflo.postgres.jooq.Tables.BALANCE_DELTA
+import io.exflo.postgres.jooq.Tables.BLOCK_HEADER
+import io.exflo.postgres.jooq.Tables.BLOCK_TRACE
+import io.exflo.postgres.jooq.Tables.CANONICAL_CHAIN
+import io.exflo.postgres.jooq.Tables.CONTRACT_CREATED
+import io.exflo.postgres.jooq.Tables.CONTRACT_DESTROYED
+import io.exflo.postgres.jooq.Tables.CONTRACT_EVENT
+import io.exflo.postgres.jooq.Tables.IMPORT_QUEUE
+import io.exflo.postgres.jooq.Tables.LOG
+import io.exflo.postgres.jooq.Tables.OMMER
+import io.exflo.postgres.jooq.Tables.TRANSACTION
+import io.exflo.postgres.jooq.Tables.TRANSACTION_RECEIPT
 import io.exflo.postgres.jooq.tables.records.AccountRecord
 import io.exflo.postgres.jooq.tables.records.BalanceDeltaRecord
 import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.CanonicalChainRecord
 import io.exflo.postgres.jooq.tables.records.ContractCreatedRecord
 import io.exflo.postgres.jooq.tables.records.ContractDestroyedRecord
 import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.exflo.postgres.jooq.tables.records.LogRecord
 import io.exflo.postgres.jooq.tables.records.OmmerRecord
 import io.exflo.postgres.jooq.tables.records.TransactionReceiptRecord
 import io.exflo.postgres.jooq.tables.records.TransactionRecord
+import org.apache.tuweni.bytes.Bytes
+import org.hyperledger.besu.ethereum.core.Hash
+import org.jooq.DSLContext
+import org.jooq.Field
+import org.jooq.Query
+import org.jooq.TableField
 import org.jooq.TableRecord
+import org.jooq.impl.DSL
+import org.jooq.impl.SQLDataType
 
 val TableRecord<*>.blockNumber: Long
   get() = when (this) {
@@ -34,6 +60,7 @@ val TableRecord<*>.blockNumber: Long
     is TransactionRecord -> blockNumber
     is TransactionReceiptRecord -> blockNumber
     is ContractEventRecord -> blockNumber
+    is LogRecord -> blockNumber
     is ContractCreatedRecord -> blockNumber
     is ContractDestroyedRecord -> blockNumber
     is BalanceDeltaRecord -> blockNumber
@@ -41,16 +68,367 @@ val TableRecord<*>.blockNumber: Long
     else -> throw IllegalArgumentException()
   }
 
-val TableRecord<*>.blockHash: String
+val TableRecord<*>.blockHash: ByteArray
   get() = when (this) {
     is BlockHeaderRecord -> hash
     is OmmerRecord -> nephewHash
     is TransactionRecord -> blockHash
     is TransactionReceiptRecord -> blockHash
     is ContractEventRecord -> blockHash
+    is LogRecord -> blockHash
     is ContractCreatedRecord -> blockHash
     is ContractDestroyedRecord -> blockHash
     is BalanceDeltaRecord -> blockHash
     is AccountRecord -> blockHash
     else -> throw IllegalArgumentException()
   }
+
+/**
+ * Roughly estimates the size of a record once written, used for sizing batches.
+ */
+fun TableRecord<*>.estimatedSize(): Long =
+  intoArray().fold(0L) { acc, value ->
+    acc + when (value) {
+      null -> 0
+      is ByteArray -> value.size
+      is String -> value.length
+      is Array<*> -> value.size * 16
+      else -> 16
+    }
+  }
+
+fun List<TableRecord<*>>.estimatedSize(): Long = fold(0L) { acc, record -> acc + record.estimatedSize() }
+
+/**
+ * Builds an insert for a block trace which binds the utf-8 encoded json as a bytea parameter and converts it to jsonb
+ * server side, avoiding the intermediate string which binding a [org.jooq.JSONB] value would require.
+ */
+fun DSLContext.insertBlockTrace(blockHash: ByteArray, blockNumber: Long, jsonTrace: Bytes): Query =
+  insertInto(BLOCK_TRACE, BLOCK_TRACE.BLOCK_HASH, BLOCK_TRACE.BLOCK_NUMBER, BLOCK_TRACE.TRACE)
+    .values(
+      DSL.value(blockHash),
+      DSL.value(blockNumber),
+      DSL.field("convert_from({0}, 'UTF8')::jsonb", BLOCK_TRACE.TRACE.dataType, DSL.value(jsonTrace.toArrayUnsafe()))
+    )
+
+/**
+ * Creates any missing block number partitions up to and including the one after the partition holding [upTo],
+ * returning the first block number of that last partition.
+ */
+fun DSLContext.createBlockNumberPartitions(upTo: Long): Long =
+  select(DSL.field("create_block_number_partitions({0})", Long::class.java, DSL.value(upTo)))
+    .fetchOne()
+    .value1()
+
+/**
+ * Moves the import queue entries for [blockHashes] from the previous stage into [stage], returning the hashes which
+ * were actually advanced. Blocks delivered twice, e.g. by the startup replay and the stage handoff, are only claimed once.
+ */
+fun DSLContext.claimImportStage(blockHashes: List<ByteArray>, stage: Int): Set<Hash> =
+  update(IMPORT_QUEUE)
+    .set(IMPORT_QUEUE.STAGE, stage.toShort())
+    .where(IMPORT_QUEUE.HASH.`in`(blockHashes))
+    .and(IMPORT_QUEUE.STAGE.eq((stage - 1).toShort()))
+    .returning(IMPORT_QUEUE.HASH)
+    .fetch()
+    .map { it.hash.toHash() }
+    .toSet()
+
+/**
+ * Points the canonical chain at [headers], returning the block numbers which previously had an entry. Only entries
+ * which pointed at another hash count as reorged, the superseded headers are marked as no longer being canonical,
+ * listeners notified and the token balances and latest account states derived from them reverted. Re-pointing a number
+ * at the hash it already had leaves everything derived from that block in place.
+ */
+fun DSLContext.updateCanonicalChain(headers: List<BlockHeaderRecord>): List<Long> {
+
+  val replaced = deleteFrom(CANONICAL_CHAIN)
+    .where(CANONICAL_CHAIN.NUMBER.`in`(headers.map { it.number }))
+    .returning(CANONICAL_CHAIN.NUMBER, CANONICAL_CHAIN.HASH)
+    .fetch()
+
+  copyInsert(headers.map { header -> CanonicalChainRecord().apply { number = header.number; setHash(*header.hash) } })
+
+  if (replaced.isNotEmpty()) {
+
+    val hashes = headers.map { it.hash.toHash() }.toSet()
+    val reorged = replaced.filterNot { hashes.contains(it.hash.toHash()) }
+
+    notifyReorged(reorged)
+
+    update(BLOCK_HEADER)
+      .set(BLOCK_HEADER.IS_CANONICAL, false)
+      .where(BLOCK_HEADER.NUMBER.`in`(replaced.map { it.number }))
+      .and(BLOCK_HEADER.HASH.notIn(headers.map { it.hash }))
+      .execute()
+
+    revertTokenBalances(reorged.map { it.hash })
+
+    // restores from the canonical history, so must follow the insert of the new entries
+    revertAccountLatest(reorged.map { it.hash })
+  }
+
+  return replaced.map { it.number }
+}
+
+/**
+ * Notifies listeners that the blocks behind the removed canonical chain [entries] are no longer canonical, along with
+ * the stage their import had reached. The stage is read from the import queue unless given.
+ */
+fun DSLContext.notifyReorged(entries: List<CanonicalChainRecord>, stage: Int? = null) {
+
+  if (entries.isEmpty()) return
+
+  val stages = if (stage != null) emptyMap<Hash, Int>() else select(IMPORT_QUEUE.HASH, IMPORT_QUEUE.STAGE)
+    .from(IMPORT_QUEUE)
+    .where(IMPORT_QUEUE.HASH.`in`(entries.map { it.hash }))
+    .fetch()
+    .map { it.value1().toHash() to it.value2().toInt() }
+    .toMap()
+
+  notifyBlocks(
+    entries.map { entry ->
+      val hash = entry.hash.toHash()
+      BlockNotification(entry.number, hash, stage ?: stages[hash] ?: 0, false)
+    }
+  )
+}
+
+/**
+ * Notifies listeners that [headers] have been written up to [stage], which must be the final import stage, flagging
+ * whether each of them is still canonical.
+ */
+fun DSLContext.notifyCompleted(headers: List<BlockHeaderRecord>, stage: Int) {
+
+  val canonical = canonicalHeaders(headers).map { it.hash.toHash() }.toSet()
+
+  notifyBlocks(
+    headers.map { header ->
+      val hash = header.hash.toHash()
+      BlockNotification(header.number, hash, stage, canonical.contains(hash))
+    }
+  )
+}
+
+/**
+ * Sends [notifications] on the block notification channel with a single statement. Postgres holds them back until the
+ * surrounding transaction commits and drops them if it rolls back.
+ */
+fun DSLContext.notifyBlocks(notifications: List<BlockNotification>) {
+
+  if (notifications.isEmpty()) return
+
+  resultQuery(
+    "select pg_notify({0}, payload) from unnest({1}::text[]) as payload",
+    DSL.inline(BlockNotification.CHANNEL),
+    DSL.`val`(notifications.map { it.toPayload() }.toTypedArray())
+  ).fetch()
+}
+
+/**
+ * Returns the canonical chain entries for a range of block numbers.
+ */
+fun DSLContext.canonicalChain(numbers: LongRange): List<CanonicalChainRecord> =
+  selectFrom(CANONICAL_CHAIN)
+    .where(CANONICAL_CHAIN.NUMBER.between(numbers.first, numbers.last))
+    .fetch()
+
+/**
+ * References the value proposed for insertion within the update clause of an upsert.
+ */
+fun <T> excluded(field: TableField<*, T>): Field<T> =
+  DSL.field("excluded.{0}", field.dataType, DSL.name(field.name))
+
+/**
+ * Brings account_latest up to date with the account history [records] of those [headers] which are canonical, leaving
+ * any state already held for a later block in place. Returns the number of accounts upserted.
+ */
+fun DSLContext.upsertAccountLatest(headers: List<BlockHeaderRecord>, records: List<AccountRecord>): Int {
+
+  val canonical = canonicalHeaders(headers).map { it.hash.toHash() }.toSet()
+
+  // a single upsert cannot change the same row twice so only the most recent record of each address is kept, ordered
+  // by address to avoid deadlocking with a concurrent revert
+  val latest = records
+    .filter { canonical.contains(it.blockHash.toHash()) }
+    .groupBy { it.address.toAddress() }
+    .map { (_, history) -> history.maxBy { it.blockNumber }!! }
+    .sortedBy { it.address.toAddress().toHexString() }
+
+  return latest
+    .chunked(1024)
+    .map { chunk ->
+      chunk
+        .fold(
+          insertInto(
+            ACCOUNT_LATEST,
+            ACCOUNT_LATEST.ADDRESS,
+            ACCOUNT_LATEST.NONCE,
+            ACCOUNT_LATEST.BALANCE,
+            ACCOUNT_LATEST.BLOCK_NUMBER,
+            ACCOUNT_LATEST.BLOCK_HASH
+          )
+        ) { insert, record -> insert.values(record.address, record.nonce, record.balance, record.blockNumber, record.blockHash) }
+        .onConflict(ACCOUNT_LATEST.ADDRESS)
+        .doUpdate()
+        .set(ACCOUNT_LATEST.NONCE, excluded(ACCOUNT_LATEST.NONCE))
+        .set(ACCOUNT_LATEST.BALANCE, excluded(ACCOUNT_LATEST.BALANCE))
+        .set(ACCOUNT_LATEST.BLOCK_NUMBER, excluded(ACCOUNT_LATEST.BLOCK_NUMBER))
+        .set(ACCOUNT_LATEST.BLOCK_HASH, excluded(ACCOUNT_LATEST.BLOCK_HASH))
+        .where(ACCOUNT_LATEST.BLOCK_NUMBER.le(excluded(ACCOUNT_LATEST.BLOCK_NUMBER)))
+        .execute()
+    }
+    .sum()
+}
+
+/**
+ * Removes the latest account states which were taken from the blocks [blockHashes], restoring them from the most
+ * recent canonical history instead. Must run once those blocks are no longer canonical. Returns the number of accounts
+ * affected.
+ */
+fun DSLContext.revertAccountLatest(blockHashes: List<ByteArray>): Int {
+
+  if (blockHashes.isEmpty()) return 0
+
+  val addresses = deleteFrom(ACCOUNT_LATEST)
+    .where(ACCOUNT_LATEST.BLOCK_HASH.`in`(blockHashes))
+    .returning(ACCOUNT_LATEST.ADDRESS)
+    .fetch()
+    .map { it.address }
+
+  if (addresses.isEmpty()) return 0
+
+  select(
+    DSL.field(
+      "refresh_account_latest({0})",
+      Int::class.java,
+      DSL.`val`(addresses.toTypedArray(), SQLDataType.BLOB.arrayDataType)
+    )
+  ).fetchOne()
+
+  return addresses.size
+}
+
+/**
+ * Returns those [headers] which are currently canonical. Their canonical chain entries are share locked, making a reorg
+ * which replaces any of them wait for the calling transaction so that it sees whatever was derived from them.
+ */
+fun DSLContext.canonicalHeaders(headers: List<BlockHeaderRecord>): List<BlockHeaderRecord> {
+
+  if (headers.isEmpty()) return emptyList()
+
+  val canonical = select(CANONICAL_CHAIN.HASH)
+    .from(CANONICAL_CHAIN)
+    .where(CANONICAL_CHAIN.NUMBER.`in`(headers.map { it.number }))
+    .forShare()
+    .fetch()
+    .map { it.value1().toHash() }
+    .toSet()
+
+  return headers.filter { canonical.contains(it.hash.toHash()) }
+}
+
+/**
+ * Removes everything imported for a range of block numbers along with the import queue and canonical chain entries.
+ * Dependents are removed explicitly rather than relying on cascades as foreign keys may have been deferred for a
+ * backfill. Returns the number of headers removed.
+ */
+fun DSLContext.deleteBlocks(numbers: LongRange): Int {
+
+  val hashes = select(BLOCK_HEADER.HASH)
+    .from(BLOCK_HEADER)
+    .where(BLOCK_HEADER.NUMBER.between(numbers.first, numbers.last))
+    .fetch(BLOCK_HEADER.HASH)
+
+  if (hashes.isNotEmpty()) {
+
+    // token balances are reverted from the contract events before removing the headers cascades to them
+    revertTokenBalances(hashes)
+
+    deleteFrom(BLOCK_HEADER)
+      .where(BLOCK_HEADER.NUMBER.between(numbers.first, numbers.last))
+      .execute()
+
+    batch(
+      deleteFrom(OMMER).where(OMMER.NEPHEW_HASH.`in`(hashes)),
+      deleteFrom(CONTRACT_EVENT).where(CONTRACT_EVENT.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(LOG).where(LOG.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(CONTRACT_CREATED).where(CONTRACT_CREATED.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(CONTRACT_DESTROYED).where(CONTRACT_DESTROYED.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(BALANCE_DELTA).where(BALANCE_DELTA.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(ACCOUNT).where(ACCOUNT.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(BLOCK_TRACE).where(BLOCK_TRACE.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(TRANSACTION_RECEIPT).where(TRANSACTION_RECEIPT.BLOCK_NUMBER.between(numbers.first, numbers.last)),
+      deleteFrom(TRANSACTION).where(TRANSACTION.BLOCK_NUMBER.between(numbers.first, numbers.last))
+    ).execute()
+  }
+
+  deleteFrom(IMPORT_QUEUE)
+    .where(IMPORT_QUEUE.NUMBER.between(numbers.first, numbers.last))
+    .execute()
+
+  deleteFrom(CANONICAL_CHAIN)
+    .where(CANONICAL_CHAIN.NUMBER.between(numbers.first, numbers.last))
+    .execute()
+
+  revertAccountLatest(hashes)
+
+  return hashes.size
+}
+
+/**
+ * Returns how many blocks the staged import is behind, i.e. the blocks the header stage has yet to walk back to genesis
+ * plus the import queue entries which have not reached [finalStage]. Null when nothing has been imported yet.
+ */
+fun DSLContext.outstandingBlocks(finalStage: Int): Long? {
+
+  val earliest = select(DSL.min(IMPORT_QUEUE.NUMBER))
+    .from(IMPORT_QUEUE)
+    .fetchOne()
+    .value1()
+    ?: return null
+
+  val pending = selectCount()
+    .from(IMPORT_QUEUE)
+    .where(IMPORT_QUEUE.STAGE.lt(finalStage.toShort()))
+    .fetchOne()
+    .value1()
+
+  return earliest + pending
+}
+
+/**
+ * Drops the secondary indexes and foreign keys of the per block tables ahead of a backfill, returning how many were
+ * dropped. Their definitions are kept in deferred_ddl.
+ */
+fun DSLContext.deferSecondaryIndexes(): Int =
+  select(DSL.field("defer_secondary_indexes()", Int::class.java))
+    .fetchOne()
+    .value1()
+
+/**
+ * Counts the indexes and foreign keys waiting to be rebuilt after a backfill.
+ */
+fun DSLContext.deferredDdlCount(): Int = fetchCount(DSL.table("deferred_ddl"))
+
+/**
+ * Returns the statements rebuilding the deferred indexes and foreign keys in the order they need to be run, grouped by
+ * the name of the index or foreign key they belong to.
+ */
+fun DSLContext.deferredDdlStatements(): Map<String, List<String>> =
+  resultQuery("select ddl_name, ddl_statement from deferred_ddl_statements()")
+    .fetch()
+    .groupBy({ it.get(0, String::class.java) }, { it.get(1, String::class.java) })
+
+/**
+ * Marks a deferred index or foreign key as rebuilt.
+ */
+fun DSLContext.removeDeferredDdl(name: String): Int =
+  deleteFrom(DSL.table("deferred_ddl"))
+    .where(DSL.field("name", String::class.java).eq(name))
+    .execute()
+
+/**
+ * Bulk loads records using a binary copy per table rather than a batch of inserts, see [BinaryCopyWriter].
+ */
+fun DSLContext.copyInsert(records: List<TableRecord<*>>): Int = BinaryCopyWriter.write(this, records)
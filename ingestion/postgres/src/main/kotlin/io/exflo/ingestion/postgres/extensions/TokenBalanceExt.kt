@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.extensions
+
+import io.exflo.postgres.jooq.Tables.CONTRACT_EVENT
+import io.exflo.postgres.jooq.Tables.TOKEN_BALANCE
+import io.exflo.postgres.jooq.Tables.TOKEN_BALANCE_BLOCK
+import io.exflo.postgres.jooq.enums.ContractEventType
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.exflo.postgres.jooq.tables.records.TokenBalanceRecord
+import org.apache.tuweni.bytes.Bytes
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import java.math.BigDecimal
+
+// fungible balances are held under token id 0
+private val fungibleTokenId = BigDecimal.ZERO
+
+private val transferTypes = listOf(
+  ContractEventType.fungible_transfer,
+  ContractEventType.non_fungible_transfer,
+  ContractEventType.transfer_single,
+  ContractEventType.transfer_batch
+)
+
+private data class TokenHolding(val holder: String, val contract: String, val tokenId: BigDecimal)
+
+private fun transfer(tokenId: BigDecimal?, amount: BigDecimal?): Pair<BigDecimal, BigDecimal>? =
+  if (tokenId != null && amount != null) tokenId to amount else null
+
+// the token columns are nullable as each event type only populates some of them, incomplete transfers are skipped
+private fun ContractEventRecord.tokenTransfers(): List<Pair<BigDecimal, BigDecimal>> =
+  when (type) {
+    ContractEventType.fungible_transfer -> listOfNotNull(transfer(fungibleTokenId, value))
+    ContractEventType.non_fungible_transfer -> listOfNotNull(transfer(tokenId, BigDecimal.ONE))
+    ContractEventType.transfer_single -> listOfNotNull(transfer(id, value))
+    ContractEventType.transfer_batch -> {
+      val batchIds: Array<BigDecimal?> = ids ?: emptyArray()
+      val batchValues: Array<BigDecimal?> = values ?: emptyArray()
+      batchIds.zip(batchValues).mapNotNull { (id, value) -> transfer(id, value) }
+    }
+    else -> emptyList()
+  }
+
+/**
+ * Nets the token transfers of these events into one balance change per holding, negated when reverting. Mints and burns
+ * are transfers from or to the zero address which is not tracked as a holder, and neither is a missing address.
+ */
+fun List<ContractEventRecord>.toTokenBalanceChanges(revert: Boolean = false): List<TokenBalanceRecord> {
+
+  val changes = HashMap<TokenHolding, TokenBalanceRecord>()
+
+  forEach { event ->
+
+    val contractAddress: ByteArray = event.contractAddress ?: return@forEach
+
+    event.tokenTransfers().forEach { (tokenId, amount) ->
+
+      listOf<Pair<ByteArray?, BigDecimal>>(event.fromAddress to amount.negate(), event.toAddress to amount)
+        .mapNotNull { (holder, delta) -> holder?.let { it to delta } }
+        .filterNot { (holder, _) -> Bytes.wrap(holder).isZero }
+        .forEach { (holder, delta) ->
+
+          val key = TokenHolding(
+            Bytes.wrap(holder).toHexString(),
+            Bytes.wrap(contractAddress).toHexString(),
+            tokenId.stripTrailingZeros()
+          )
+
+          val change = changes.getOrPut(key) {
+            TokenBalanceRecord()
+              .apply {
+                setContract(*contractAddress)
+                setHolder(*holder)
+                this.tokenId = tokenId
+                this.balance = BigDecimal.ZERO
+                this.lastBlock = event.blockNumber
+              }
+          }
+
+          change.balance += if (revert) delta.negate() else delta
+          change.lastBlock = maxOf(change.lastBlock, event.blockNumber)
+        }
+    }
+  }
+
+  // upserting in primary key order keeps concurrent transactions from deadlocking on the same holdings
+  return changes.entries
+    .sortedWith(compareBy<Map.Entry<TokenHolding, TokenBalanceRecord>>({ it.key.holder }, { it.key.contract }, { it.key.tokenId }))
+    .map { it.value }
+}
+
+/**
+ * Applies the token transfers of those [headers] which are still canonical and have not been applied before, returning
+ * the number of holdings changed.
+ */
+fun DSLContext.applyTokenBalances(headers: List<BlockHeaderRecord>, events: List<ContractEventRecord>): Int {
+
+  val canonical = canonicalHeaders(headers)
+  if (canonical.isEmpty()) return 0
+
+  // blocks delivered twice are only applied once
+
+  val applied = canonical
+    .fold(insertInto(TOKEN_BALANCE_BLOCK, TOKEN_BALANCE_BLOCK.BLOCK_HASH, TOKEN_BALANCE_BLOCK.BLOCK_NUMBER)) { insert, header ->
+      insert.values(header.hash, header.number)
+    }
+    .onConflictDoNothing()
+    .returning(TOKEN_BALANCE_BLOCK.BLOCK_HASH)
+    .fetch()
+    .map { it.blockHash.toHash() }
+    .toSet()
+
+  return upsertTokenBalances(events.filter { applied.contains(it.blockHash.toHash()) }.toTokenBalanceChanges())
+}
+
+/**
+ * Reverts the token transfers of any previously applied blocks amongst [blockHashes], reading them back from
+ * contract_event. Must run before the events are removed. Returns the number of holdings changed.
+ */
+fun DSLContext.revertTokenBalances(blockHashes: List<ByteArray>): Int {
+
+  if (blockHashes.isEmpty()) return 0
+
+  val reverted = deleteFrom(TOKEN_BALANCE_BLOCK)
+    .where(TOKEN_BALANCE_BLOCK.BLOCK_HASH.`in`(blockHashes))
+    .returning(TOKEN_BALANCE_BLOCK.BLOCK_HASH, TOKEN_BALANCE_BLOCK.BLOCK_NUMBER)
+    .fetch()
+
+  if (reverted.isEmpty()) return 0
+
+  val events = selectFrom(CONTRACT_EVENT)
+    .where(CONTRACT_EVENT.BLOCK_NUMBER.`in`(reverted.map { it.blockNumber }))
+    .and(CONTRACT_EVENT.BLOCK_HASH.`in`(reverted.map { it.blockHash }))
+    .and(CONTRACT_EVENT.TYPE.`in`(transferTypes))
+    .fetch()
+
+  return upsertTokenBalances(events.toTokenBalanceChanges(revert = true))
+}
+
+private fun DSLContext.upsertTokenBalances(changes: List<TokenBalanceRecord>): Int =
+  changes
+    // keeps each statement well below the bind parameter limit
+    .chunked(1024)
+    .map { chunk ->
+      chunk
+        .fold(
+          insertInto(
+            TOKEN_BALANCE,
+            TOKEN_BALANCE.CONTRACT,
+            TOKEN_BALANCE.HOLDER,
+            TOKEN_BALANCE.TOKEN_ID,
+            TOKEN_BALANCE.BALANCE,
+            TOKEN_BALANCE.LAST_BLOCK
+          )
+        ) { insert, change -> insert.values(change.contract, change.holder, change.tokenId, change.balance, change.lastBlock) }
+        .onConflict(TOKEN_BALANCE.HOLDER, TOKEN_BALANCE.CONTRACT, TOKEN_BALANCE.TOKEN_ID)
+        .doUpdate()
+        .set(TOKEN_BALANCE.BALANCE, TOKEN_BALANCE.BALANCE.plus(excluded(TOKEN_BALANCE.BALANCE)))
+        .set(TOKEN_BALANCE.LAST_BLOCK, DSL.greatest(TOKEN_BALANCE.LAST_BLOCK, excluded(TOKEN_BALANCE.LAST_BLOCK)))
+        .execute()
+    }
+    .sum()
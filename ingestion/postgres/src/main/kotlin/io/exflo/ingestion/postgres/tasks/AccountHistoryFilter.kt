@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.postgres.jooq.tables.records.AccountRecord
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import org.apache.tuweni.bytes.Bytes
+import java.math.BigDecimal
+
+/**
+ * Remembers the last recorded nonce and balance of recently touched accounts so that account history is only written
+ * for blocks which changed them.
+ *
+ * An account is compared with the state last recorded for it, whichever block that was in, which holds only whilst
+ * every block in between has been seen. Remembered states are therefore forgotten whenever a block does not follow on
+ * from the last one recorded, e.g. after a gap, a reorg or when importing towards genesis. Not thread safe.
+ */
+class AccountHistoryFilter(private val maxSize: Int = 1 shl 18) {
+
+  private class State(val nonce: Long, val balance: BigDecimal)
+
+  private val states = object : LinkedHashMap<Bytes, State>(1024, 0.75f, true) {
+    override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Bytes, State>?): Boolean = size > maxSize
+  }
+
+  // hash of the last block recorded, the remembered states are those as of this block
+  private var lastHash: Bytes? = null
+
+  /**
+   * Returns the account history of [blocks], given in the order they are written, which differs from the state last
+   * recorded for each account. Nothing is remembered until [Changes.commit] is called once the history has been written.
+   */
+  fun changed(blocks: List<Pair<BlockHeaderRecord, List<AccountRecord>>>): Changes {
+
+    // in the order touched, so that the least recently touched are evicted first
+    val pending = LinkedHashMap<Bytes, State>()
+    var tip = lastHash
+    var continued = true
+
+    val records = blocks.flatMap { (header, accounts) ->
+
+      if (tip != Bytes.wrap(header.parentHash)) {
+        // changes made by blocks which have not been seen could otherwise be hidden
+        continued = false
+        pending.clear()
+      }
+      tip = Bytes.wrap(header.hash)
+
+      accounts.filter { account ->
+
+        val address = Bytes.wrap(account.address)
+        val previous = pending[address] ?: if (continued) states[address] else null
+        pending[address] = State(account.nonce, account.balance)
+
+        previous == null ||
+          previous.nonce != account.nonce ||
+          previous.balance.compareTo(account.balance) != 0
+      }
+    }
+
+    return Changes(records) {
+      if (!continued) states.clear()
+      states.putAll(pending)
+      lastHash = tip
+    }
+  }
+
+  /**
+   * Account history which has changed, along with the states to remember once it has been written.
+   */
+  class Changes internal constructor(val records: List<AccountRecord>, private val onCommit: () -> Unit) {
+
+    /**
+     * Remembers the recorded states, to be called once the history has been committed.
+     */
+    fun commit() = onCommit()
+  }
+}
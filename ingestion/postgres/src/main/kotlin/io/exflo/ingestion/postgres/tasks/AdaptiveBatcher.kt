@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.reactivex.rxjava3.core.Flowable
+import io.reactivex.rxjava3.core.FlowableTransformer
+import org.reactivestreams.Publisher
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.max
+
+/**
+ * Batches items by their estimated size in bytes rather than by a fixed count.
+ *
+ * The byte target adapts to the commit times reported via [committed], moving towards the size which would take
+ * [targetCommitTime] to write. Heavy blocks therefore produce small batches which keep heap usage bounded whilst light
+ * blocks are written in large ones. A batch is also emitted once [maxItems] have been collected, [maxLinger] has passed
+ * or the upstream completes.
+ */
+class AdaptiveBatcher<T>(
+  private val estimateBytes: (T) -> Long,
+  private val targetCommitTime: Duration = Duration.ofMillis(500),
+  private val maxLinger: Duration = Duration.ofSeconds(1),
+  private val maxItems: Int = 1024,
+  private val minBytes: Long = 64L * 1024,
+  private val maxBytes: Long = 64L * 1024 * 1024
+) : FlowableTransformer<T, List<T>> {
+
+  @Volatile
+  var targetBytes: Long = 4L * 1024 * 1024
+    private set
+
+  // smoothed estimate of the bytes per item, zero until a batch has been committed
+  @Volatile
+  private var itemBytes: Long = 0L
+
+  /**
+   * The number of items expected to make up a batch of [targetBytes], at most [maxItems]. Used to size reads so that
+   * each one fills a batch without holding more items in memory than it needs.
+   */
+  val targetItems: Int
+    get() = when (val bytes = itemBytes) {
+      0L -> maxItems
+      else -> (targetBytes / bytes).coerceIn(1L, maxItems.toLong()).toInt()
+    }
+
+  override fun apply(upstream: Flowable<T>): Publisher<List<T>> =
+    Flowable.defer {
+
+      // every subscription, e.g. each import pass, starts with an empty batch
+      val pending = Pending()
+
+      upstream
+        .publish { shared ->
+          // the buffer subscribes to the shared stream before its boundary, so an item completing a batch is included in it
+          shared.buffer(
+            Flowable.merge<Any>(
+              shared.filter { pending.add(it) },
+              Flowable.interval(maxLinger.toMillis(), TimeUnit.MILLISECONDS).doOnNext { pending.reset() }
+            )
+          )
+        }
+        .filter { it.isNotEmpty() }
+    }
+
+  /**
+   * Reports how long it took to commit a batch so that the byte target can be adjusted.
+   */
+  fun committed(batch: List<T>, elapsedMs: Long) {
+
+    if (batch.isEmpty()) return
+
+    val bytes = batch.fold(0L) { acc, item -> acc + estimateBytes(item) }
+
+    val batchItemBytes = max(bytes / batch.size, 1L)
+    itemBytes = if (itemBytes == 0L) batchItemBytes else (itemBytes + batchItemBytes) / 2
+
+    // batches cut short by the linger time or the end of a pass are dominated by fixed costs and would skew the target
+    if (bytes < targetBytes / 2) return
+
+    val desired = (bytes.toDouble() / max(elapsedMs, 1L) * targetCommitTime.toMillis()).toLong()
+
+    // move half way towards the desired size to smooth out noisy measurements
+    targetBytes = ((targetBytes + desired) / 2).coerceIn(minBytes, maxBytes)
+  }
+
+  /**
+   * Size of the batch being collected by a single subscription.
+   */
+  private inner class Pending {
+
+    private val bytes = AtomicLong()
+    private val items = AtomicInteger()
+
+    fun add(item: T): Boolean {
+
+      val pendingBytes = bytes.addAndGet(estimateBytes(item))
+      val pendingItems = items.incrementAndGet()
+
+      val full = pendingBytes >= targetBytes || pendingItems >= maxItems
+      if (full) reset()
+
+      return full
+    }
+
+    fun reset() {
+      bytes.set(0)
+      items.set(0)
+    }
+  }
+}
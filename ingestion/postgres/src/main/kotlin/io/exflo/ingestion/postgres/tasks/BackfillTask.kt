@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.ingestion.core.ImportTask
+import io.exflo.ingestion.postgres.extensions.deferSecondaryIndexes
+import io.exflo.ingestion.postgres.extensions.deferredDdlCount
+import io.exflo.ingestion.postgres.extensions.deferredDdlStatements
+import io.exflo.ingestion.postgres.extensions.removeDeferredDdl
+import org.apache.logging.log4j.LogManager
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import java.time.Duration
+import javax.sql.DataSource
+import kotlin.system.measureTimeMillis
+
+/**
+ * Loads the initial sync without maintaining the secondary indexes and foreign keys of the per block tables.
+ *
+ * When the import starts more than [threshold] blocks behind the head these are dropped by [prepare], before any other
+ * task starts writing. Once [outstandingBlocks] falls within the threshold they are rebuilt concurrently whilst the
+ * import carries on, after which it continues in the normal incremental mode. A backfill interrupted by a restart is
+ * resumed from the definitions kept in the database.
+ */
+class BackfillTask(
+  private val dataSource: DataSource,
+  private val threshold: Long,
+  private val outstandingBlocks: () -> Long
+) : ImportTask {
+
+  private val log = LogManager.getLogger()
+
+  private val dbContext = DSL.using(dataSource, SQLDialect.POSTGRES)
+
+  private val pollInterval = Duration.ofSeconds(30)
+
+  @Volatile
+  private var running = true
+
+  override fun stop() {
+    running = false
+  }
+
+  fun prepare() {
+
+    if (dbContext.deferredDdlCount() > 0) {
+      log.info("Resuming backfill")
+      return
+    }
+
+    val outstanding = outstandingBlocks()
+
+    if (outstanding <= threshold) {
+      log.info("$outstanding blocks outstanding, backfill not required")
+      return
+    }
+
+    val deferred = dbContext.transactionResult { txConfig -> DSL.using(txConfig).deferSecondaryIndexes() }
+
+    log.info("Starting backfill with $outstanding blocks outstanding, deferred $deferred indexes and foreign keys")
+  }
+
+  override fun run() {
+
+    try {
+
+      while (running && dbContext.deferredDdlCount() > 0) {
+
+        val outstanding = outstandingBlocks()
+
+        if (outstanding <= threshold) {
+          rebuild()
+        } else {
+          log.debug("$outstanding blocks outstanding, waiting ${pollInterval.toSeconds()} sec(s) before checking again")
+          Thread.sleep(pollInterval.toMillis())
+        }
+      }
+    } catch (t: Throwable) {
+      log.error("Critical failure", t)
+      throw t // re-throw
+    }
+
+    log.info("Stopped")
+  }
+
+  private fun rebuild() {
+
+    log.info("Rebuilding deferred indexes and foreign keys")
+
+    dataSource.connection.use { connection ->
+
+      // concurrent index builds cannot be run within a transaction block
+      connection.autoCommit = true
+
+      val ctx = DSL.using(connection, SQLDialect.POSTGRES)
+
+      for ((name, statements) in ctx.deferredDdlStatements()) {
+
+        if (!running) return
+
+        val elapsedMs = measureTimeMillis {
+          statements.forEach { ctx.execute(it) }
+          ctx.removeDeferredDdl(name)
+        }
+
+        log.info("Rebuilt $name in $elapsedMs ms")
+      }
+    }
+
+    log.info("Backfill complete")
+  }
+}
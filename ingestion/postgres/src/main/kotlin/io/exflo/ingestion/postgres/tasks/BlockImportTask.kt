@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.exflo.domain.FullBlock
+import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity
+import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.BODY
+import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.RECEIPTS
+import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.TRACES
+import io.exflo.ingestion.core.ImportTask
+import io.exflo.ingestion.postgres.extensions.applyTokenBalances
+import io.exflo.ingestion.postgres.extensions.canonicalChain
+import io.exflo.ingestion.postgres.extensions.copyInsert
+import io.exflo.ingestion.postgres.extensions.createBlockNumberPartitions
+import io.exflo.ingestion.postgres.extensions.deleteBlocks
+import io.exflo.ingestion.postgres.extensions.insertBlockTrace
+import io.exflo.ingestion.postgres.extensions.notifyCompleted
+import io.exflo.ingestion.postgres.extensions.notifyReorged
+import io.exflo.ingestion.postgres.extensions.toAccountRecord
+import io.exflo.ingestion.postgres.extensions.toBalanceDeltaRecord
+import io.exflo.ingestion.postgres.extensions.toBlockHeaderRecord
+import io.exflo.ingestion.postgres.extensions.toContractCreatedRecord
+import io.exflo.ingestion.postgres.extensions.toContractDestroyedRecord
+import io.exflo.ingestion.postgres.extensions.toHash
+import io.exflo.ingestion.postgres.extensions.toOmmerRecord
+import io.exflo.ingestion.postgres.extensions.toReceiptRecords
+import io.exflo.ingestion.postgres.extensions.toTransactionRecord
+import io.exflo.ingestion.postgres.extensions.updateCanonicalChain
+import io.exflo.ingestion.postgres.extensions.upsertAccountLatest
+import io.exflo.ingestion.tracker.BlockReader
+import io.exflo.ingestion.tracker.ChainTracker
+import io.exflo.postgres.jooq.tables.records.AccountRecord
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.exflo.postgres.jooq.tables.records.ImportQueueRecord
+import io.reactivex.rxjava3.core.Flowable
+import io.reactivex.rxjava3.schedulers.Schedulers
+import org.apache.logging.log4j.LogManager
+import org.apache.tuweni.bytes.Bytes
+import org.jooq.SQLDialect
+import org.jooq.TableRecord
+import org.jooq.impl.DSL
+import java.sql.Timestamp
+import java.time.Duration
+import javax.sql.DataSource
+import kotlin.system.measureTimeMillis
+
+/**
+ * Imports every entity of a block in a single pass, as an alternative to the staged header, body, receipts and trace
+ * tasks.
+ *
+ * Ranges leased from the [ChainTracker] are assembled in memory by up to [workers] ranges at a time, each block being
+ * read once via [BlockReader.fullBlock]. Assembled ranges are written in lease order, one transaction per range.
+ */
+class BlockImportTask(
+  private val objectMapper: ObjectMapper,
+  private val blockReader: BlockReader,
+  dataSource: DataSource,
+  private val chainTracker: ChainTracker,
+  processableEntity: ProcessableEntity,
+  private val workers: Int
+) : ImportTask {
+
+  private val log = LogManager.getLogger()
+
+  private val dbContext = DSL.using(dataSource, SQLDialect.POSTGRES)
+
+  private val leaseSize = 32
+
+  private val pollInterval = Duration.ofMillis(100)
+
+  private val withBody = processableEntity >= BODY
+  private val withReceipts = processableEntity >= RECEIPTS
+  private val withTrace = processableEntity >= TRACES
+
+  // import queue entries are written at the stage the staged tasks would have left them in for the same level
+  private val stage = processableEntity.ordinal.toShort()
+
+  // first block number of the furthest partition created ahead of the import frontier
+  private var partitionsFrom = -1L
+
+  // history is only written for accounts which changed, leases are written in order by a single thread
+  private val accountHistory = AccountHistoryFilter()
+
+  @Volatile
+  private var running = true
+
+  override fun stop() {
+    running = false
+  }
+
+  override fun run() {
+
+    while (running) {
+
+      try {
+
+        var blockCount = 0
+
+        Flowable
+          .generate<ChainTracker.Lease> { emitter ->
+            when (val lease = chainTracker.lease(leaseSize)) {
+              null -> emitter.onComplete()
+              else -> emitter.onNext(lease)
+            }
+          }
+          // assemble concurrently whilst emitting in lease order
+          .concatMapEager(
+            { lease -> Flowable.fromCallable { assemble(lease) }.subscribeOn(Schedulers.io()) },
+            workers,
+            1
+          )
+          .doOnNext { (lease, blocks) ->
+            write(lease, blocks)
+            blockCount += blocks.size
+          }
+          .doOnComplete { log.debug("Import pass complete") }
+          .takeUntil { !running }
+          .blockingSubscribe()
+
+        if (blockCount == 0) {
+          log.trace("Waiting ${pollInterval.toMillis()} ms before starting another import pass")
+          Thread.sleep(pollInterval.toMillis())
+        }
+      } catch (t: Throwable) {
+        log.error("Critical failure", t)
+        throw t // re-throw
+      }
+    }
+
+    log.info("Stopped")
+  }
+
+  private fun assemble(lease: ChainTracker.Lease): Pair<ChainTracker.Lease, List<BlockRecords>> =
+    blockReader
+      .fullBlocks(lease.range, true, withBody, withReceipts, withTrace)
+      .map { it.toBlockRecords() }
+      .let { Pair(lease, it) }
+
+  private fun write(lease: ChainTracker.Lease, blocks: List<BlockRecords>) {
+
+    val range = lease.range
+
+    if (blocks.size.toLong() != range.last - range.first + 1) {
+      // the chain was shortened after the range was leased, the fork will hand out the remaining numbers again
+      log.warn("Incomplete range read, releasing lease. Range = {}, blocks = {}", range, blocks.size)
+      chainTracker.release(lease)
+      return
+    }
+
+    // ensure partitions exist ahead of the frontier
+    if (range.last >= partitionsFrom) {
+      partitionsFrom = dbContext.transactionResult { txConfig ->
+        DSL.using(txConfig).createBlockNumberPartitions(range.last)
+      }
+      log.debug("Partitions created up to block number $partitionsFrom")
+    }
+
+    var updateCount = 0
+
+    // blocks written again after a reorg or a previous run no longer follow on from those remembered by the filter
+    val accountChanges = accountHistory.changed(blocks.map { it.header to it.trace.filterIsInstance<AccountRecord>() })
+
+    val elapsedMs = measureTimeMillis {
+
+      dbContext.transaction { txConfig ->
+
+        val txCtx = DSL.using(txConfig)
+
+        // remove anything written for these numbers by a previous run or before a fork, along with any numbers
+        // the chain tracker has since dropped from the canonical chain
+
+        val previous = txCtx.canonicalChain(range) + (lease.numbersToDelete?.let { txCtx.canonicalChain(it) } ?: emptyList())
+
+        updateCount += txCtx.deleteBlocks(range)
+        lease.numbersToDelete?.let { updateCount += txCtx.deleteBlocks(it) }
+
+        val now = Timestamp(System.currentTimeMillis())
+
+        val queueRecords = blocks.map { block ->
+          ImportQueueRecord()
+            .apply {
+              setHash(*block.header.hash)
+              number = block.header.number
+              stage = this@BlockImportTask.stage
+              timestamp = now
+            }
+        }
+
+        // the range was deleted above so there are no previous canonical entries to replace
+        txCtx.updateCanonicalChain(blocks.map { it.header })
+
+        // blocks which were canonical before the deletes and have not been written again were reorged out, their
+        // import queue entries are gone but were all written at the same stage
+        val hashes = blocks.map { it.header.hash.toHash() }.toSet()
+        txCtx.notifyReorged(previous.filterNot { hashes.contains(it.hash.toHash()) }, stage.toInt())
+
+        val traceRecords = accountChanges.records + blocks.flatMap { block -> block.trace.filterNot { it is AccountRecord } }
+
+        // each group is written in full before the next so that every reference is inserted before its dependents
+        val records: List<TableRecord<*>> = queueRecords +
+          blocks.map { it.header } +
+          blocks.flatMap { it.body } +
+          blocks.flatMap { it.receipts } +
+          traceRecords
+
+        updateCount += txCtx.copyInsert(records)
+
+        updateCount += txCtx.upsertAccountLatest(blocks.map { it.header }, traceRecords.filterIsInstance<AccountRecord>())
+
+        updateCount += txCtx.applyTokenBalances(
+          blocks.map { it.header },
+          blocks.flatMap { it.receipts }.filterIsInstance<ContractEventRecord>()
+        )
+
+        val blockTraceInserts = blocks
+          .mapNotNull { block -> block.jsonTrace?.let { txCtx.insertBlockTrace(block.header.hash, block.header.number, it) } }
+
+        if (blockTraceInserts.isNotEmpty()) txCtx.batch(blockTraceInserts).execute()
+
+        updateCount += blockTraceInserts.size
+
+        txCtx.notifyCompleted(blocks.map { it.header }, stage.toInt())
+      }
+    }
+
+    accountChanges.commit()
+
+    if (!chainTracker.commit(lease)) {
+      // the lease was invalidated by a fork, its numbers are deleted and written again with a later lease
+      log.warn("Lease no longer valid, range = {}", range)
+    }
+
+    log.debug("Written blocks $range, $updateCount updates in $elapsedMs ms")
+  }
+
+  private fun FullBlock.toBlockRecords(): BlockRecords {
+
+    val header = requireNotNull(header) { "Header cannot be null" }
+      .toBlockHeaderRecord(requireNotNull(totalDifficulty) { "Total difficulty cannot be null" })
+
+    val ommerRecords = body?.ommers
+      ?.mapIndexed { idx, ommer -> ommer.toOmmerRecord(header, idx) }
+      ?: emptyList()
+
+    val transactionRecords = body?.transactions
+      ?.mapIndexed { idx, transaction -> transaction.toTransactionRecord(header, idx) }
+      ?: emptyList()
+
+    // receipts are matched with the transaction records built above rather than reading them back
+    val receiptRecords = if (withReceipts) receipts.toReceiptRecords(header, transactionRecords) else emptyList()
+
+    // balance deltas were derived from the ommers of the block itself rather than the ommer table
+
+    val traceRecords = trace
+      ?.let { trace ->
+
+        val accountRecords = touchedAccounts!!.map { it.toAccountRecord(header) }
+
+        val contractRecords = trace.transactionTraces
+          .map { txTrace ->
+            txTrace.contractsCreated.map { it.toContractCreatedRecord(header) } +
+              txTrace.contractsDestroyed.map { it.toContractDestroyedRecord(header) }
+          }.flatten()
+
+        val deltaRecords = balanceDeltas!!.map { it.toBalanceDeltaRecord(header) }
+
+        accountRecords + contractRecords + deltaRecords
+      }
+      ?: emptyList()
+
+    return BlockRecords(header, ommerRecords + transactionRecords, receiptRecords, traceRecords, trace?.jsonTrace)
+  }
+
+  private class BlockRecords(
+    val header: BlockHeaderRecord,
+    val body: List<TableRecord<*>>,
+    val receipts: List<TableRecord<*>>,
+    val trace: List<TableRecord<*>>,
+    val jsonTrace: Bytes?
+  )
+}
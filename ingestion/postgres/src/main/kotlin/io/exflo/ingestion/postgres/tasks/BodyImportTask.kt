@@ -18,6 +18,11 @@ package io.exflo.ingestion.postgres.tasks
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import io.exflo.ingestion.core.ImportTask
+import io.exflo.ingestion.postgres.extensions.claimImportStage
+import io.exflo.ingestion.postgres.extensions.copyInsert
+import io.exflo.ingestion.postgres.extensions.estimatedSize
+import io.exflo.ingestion.postgres.extensions.notifyCompleted
+import io.exflo.ingestion.postgres.extensions.toHash
 import io.exflo.ingestion.postgres.extensions.toOmmerRecord
 import io.exflo.ingestion.postgres.extensions.toTransactionRecord
 import io.exflo.ingestion.tracker.BlockReader
@@ -27,21 +32,21 @@ import io.reactivex.rxjava3.core.Emitter
 import io.reactivex.rxjava3.core.Flowable
 import io.reactivex.rxjava3.schedulers.Schedulers
 import org.apache.logging.log4j.LogManager
-import org.hyperledger.besu.ethereum.core.Hash
 import org.jooq.Cursor
 import org.jooq.Record3
 import org.jooq.SQLDialect
+import org.jooq.TableRecord
 import org.jooq.impl.DSL
 import java.sql.Timestamp
 import java.time.Duration
-import java.util.concurrent.TimeUnit
 import javax.sql.DataSource
 import kotlin.system.measureTimeMillis
 
 class BodyImportTask(
   private val objectMapper: ObjectMapper,
   private val blockReader: BlockReader,
-  dataSource: DataSource
+  dataSource: DataSource,
+  private val handoff: StageHandoff
 ) : ImportTask {
 
   private val log = LogManager.getLogger()
@@ -50,6 +55,12 @@ class BodyImportTask(
 
   private val pollInterval = Duration.ofSeconds(1)
 
+  // batches are sized by their estimated bytes, adapting to how long they take to commit
+  private val batcher = AdaptiveBatcher<Pair<BlockHeaderRecord, List<TableRecord<*>>>>(
+    { (_, records) -> records.estimatedSize() },
+    maxItems = handoff.batchSize
+  )
+
   @Volatile
   private var running = true
 
@@ -59,77 +70,93 @@ class BodyImportTask(
 
   override fun run() {
 
+    // blocks checkpointed in the import queue are replayed first, after which we are fed by the header stage
+    var replaying = true
+
     while (running) {
 
       try {
 
-        // reset
-        var blockCount = 0
+        val blockCount = when (replaying) {
+          true -> import(Flowable.generate(initialState, generator, disposeState))
+          false -> import(Flowable.fromIterable(handoff.take(0, batcher.targetItems, pollInterval)))
+        }
 
-        Flowable
-          .generate(initialState, generator, disposeState)
-          .parallel()
-          .runOn(Schedulers.io(), 64)
-          .map { header ->
+        if (replaying && blockCount == 0) {
+          log.debug("Import queue replay complete, switching to stage handoff")
+          replaying = false
+        }
+      } catch (t: Throwable) {
+        // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
+        log.error("Critical failure", t)
+        throw t // re-throw
+      }
+    }
 
-            val hash = Hash.fromHexString(header.hash)
-            val body = blockReader.body(hash)!!
+    log.info("Stopped")
+  }
 
-            val ommerRecords = body.ommers.mapIndexed { idx, ommer ->
-              ommer.toOmmerRecord(header, idx)
-            }
-            val transactionRecords = body.transactions.mapIndexed { idx, transaction ->
-              transaction.toTransactionRecord(header, idx)
-            }
+  private fun import(headers: Flowable<BlockHeaderRecord>): Int {
 
-            Pair(header, ommerRecords + transactionRecords)
-          }
-          .sequential()
-          .buffer(5, TimeUnit.SECONDS, 64)
-          .doOnNext { items ->
+    var blockCount = 0
 
-            var updateCount = 0
+    headers
+      .parallel()
+      .runOn(Schedulers.io(), 64)
+      .map { header ->
 
-            val elapsedMs = measureTimeMillis {
+        val hash = header.hash.toHash()
+        val body = blockReader.body(hash)!!
 
-              val blockHashes = items.map { it.first.hash }
-              val records = items.map { it.second }.flatten()
+        val ommerRecords = body.ommers.mapIndexed { idx, ommer ->
+          ommer.toOmmerRecord(header, idx)
+        }
+        val transactionRecords = body.transactions.mapIndexed { idx, transaction ->
+          transaction.toTransactionRecord(header, idx)
+        }
 
-              dbContext.transaction { txConfig ->
+        Pair(header, ommerRecords + transactionRecords)
+      }
+      .sequential()
+      .compose(batcher)
+      .doOnNext { items ->
 
-                val txCtx = DSL.using(txConfig)
+        var updateCount = 0
+        var claimedHeaders = emptyList<BlockHeaderRecord>()
 
-                txCtx.batchInsert(records).execute()
+        val elapsedMs = measureTimeMillis {
 
-                val recordsUpdated = txCtx.update(Tables.IMPORT_QUEUE)
-                  .set(Tables.IMPORT_QUEUE.STAGE, 1)
-                  .where(Tables.IMPORT_QUEUE.HASH.`in`(blockHashes))
-                  .execute()
+          dbContext.transaction { txConfig ->
 
-                updateCount = records.size + recordsUpdated
-              }
-            }
+            val txCtx = DSL.using(txConfig)
 
-            blockCount += items.size
+            // advancing the import queue first ensures blocks delivered more than once are only written once
+            val claimed = txCtx.claimImportStage(items.map { it.first.hash }, 1)
+            val claimedItems = items.filter { claimed.contains(it.first.hash.toHash()) }
+            val records = claimedItems.map { it.second }.flatten()
 
-            log.debug("Written $blockCount blocks, $updateCount updates in $elapsedMs ms")
-          }
-          .doOnComplete { log.debug("Bodies import pass complete") }
-          .takeUntil { !running }
-          .blockingSubscribe()
+            txCtx.copyInsert(records)
 
-        if (blockCount == 0) {
-          log.debug("Waiting ${pollInterval.toSeconds()} sec(s) before starting another import pass")
-          Thread.sleep(pollInterval.toMillis())
+            claimedHeaders = claimedItems.map { it.first }
+            if (handoff.finalStage == 1) txCtx.notifyCompleted(claimedHeaders, 1)
+
+            updateCount = records.size + claimed.size
+          }
         }
-      } catch (t: Throwable) {
-        // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
-        log.error("Critical failure", t)
-        throw t // re-throw
+
+        handoff.offer(1, claimedHeaders)
+
+        blockCount += items.size
+
+        log.debug("Written $blockCount blocks, $updateCount updates in $elapsedMs ms")
+
+        batcher.committed(items, elapsedMs)
       }
-    }
+      .doOnComplete { log.debug("Bodies import pass complete") }
+      .takeUntil { !running }
+      .blockingSubscribe()
 
-    log.info("Stopped")
+    return blockCount
   }
 
   private val initialState = {
@@ -143,7 +170,7 @@ class BodyImportTask(
       .fetchLazy()
   }
 
-  private val generator = { cursor: Cursor<Record3<String, Long, Timestamp>>, emitter: Emitter<BlockHeaderRecord> ->
+  private val generator = { cursor: Cursor<Record3<ByteArray, Long, Timestamp>>, emitter: Emitter<BlockHeaderRecord> ->
 
     try {
 
@@ -160,5 +187,5 @@ class BodyImportTask(
     cursor
   }
 
-  private val disposeState = { cursor: Cursor<Record3<String, Long, Timestamp>> -> cursor.close() }
+  private val disposeState = { cursor: Cursor<Record3<ByteArray, Long, Timestamp>> -> cursor.close() }
 }
@@ -20,10 +20,16 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import io.exflo.ingestion.core.ImportTask
 import io.exflo.ingestion.postgres.extensions.blockHash
 import io.exflo.ingestion.postgres.extensions.blockNumber
+import io.exflo.ingestion.postgres.extensions.copyInsert
+import io.exflo.ingestion.postgres.extensions.createBlockNumberPartitions
+import io.exflo.ingestion.postgres.extensions.estimatedSize
+import io.exflo.ingestion.postgres.extensions.notifyCompleted
 import io.exflo.ingestion.postgres.extensions.toBlockHeaderRecord
+import io.exflo.ingestion.postgres.extensions.toHash
+import io.exflo.ingestion.postgres.extensions.updateCanonicalChain
 import io.exflo.ingestion.tracker.BlockReader
 import io.exflo.postgres.jooq.Tables
-import io.exflo.postgres.jooq.Tables.BLOCK_HEADER
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
 import io.exflo.postgres.jooq.tables.records.ImportQueueRecord
 import io.reactivex.rxjava3.core.Emitter
 import io.reactivex.rxjava3.core.Flowable
@@ -31,7 +37,6 @@ import io.reactivex.rxjava3.functions.BiFunction
 import io.reactivex.rxjava3.functions.Supplier
 import org.apache.logging.log4j.LogManager
 import org.hyperledger.besu.ethereum.core.BlockHeader
-import org.hyperledger.besu.ethereum.core.Hash
 import org.jooq.SQLDialect
 import org.jooq.impl.DSL
 import java.sql.Timestamp
@@ -42,7 +47,8 @@ import kotlin.system.measureTimeMillis
 class HeaderImportTask(
   private val objectMapper: ObjectMapper,
   private val blockReader: BlockReader,
-  dataSource: DataSource
+  dataSource: DataSource,
+  private val handoff: StageHandoff
 ) : ImportTask {
 
   private val log = LogManager.getLogger()
@@ -53,6 +59,12 @@ class HeaderImportTask(
 
   private val pollInterval = Duration.ofSeconds(1)
 
+  // first block number of the furthest partition created ahead of the import frontier
+  private var partitionsFrom = -1L
+
+  // batches are sized by their estimated bytes, adapting to how long they take to commit
+  private val batcher = AdaptiveBatcher<BlockHeaderRecord>({ it.estimatedSize() }, maxItems = handoff.batchSize)
+
   @Volatile
   private var running = true
 
@@ -78,9 +90,18 @@ class HeaderImportTask(
             header.toBlockHeaderRecord(totalDifficulty)
           }
           // batch the records for better db throughput
-          .buffer(bufferSize)
+          .compose(batcher)
           .doOnNext { records ->
 
+            // ensure partitions exist ahead of the frontier before later stages insert into them
+            val maxNumber = records.map { it.number }.max()!!
+            if (maxNumber >= partitionsFrom) {
+              partitionsFrom = dbContext.transactionResult { txConfig ->
+                DSL.using(txConfig).createBlockNumberPartitions(maxNumber)
+              }
+              log.debug("Partitions created up to block number $partitionsFrom")
+            }
+
             var updateCount = 0
 
             // withing the same transaction we insert the header records and add corresponding entries to the import queue
@@ -90,12 +111,12 @@ class HeaderImportTask(
 
                 val txCtx = DSL.using(txConfig)
 
-                // mark any existing header entries with matching numbers as no longer being canonical
+                // point the canonical chain at the new headers, existing headers are only updated if a reorg replaced them
+
+                val replaced = txCtx.updateCanonicalChain(records)
+                if (replaced.isNotEmpty()) log.info("Reorg detected, replaced canonical block numbers = $replaced")
 
-                updateCount += txCtx.update(BLOCK_HEADER)
-                  .set(BLOCK_HEADER.IS_CANONICAL, false)
-                  .where(BLOCK_HEADER.NUMBER.`in`(records.map { it.blockNumber }))
-                  .execute()
+                updateCount += records.size
 
                 // add one entry per header to the import queue
 
@@ -105,22 +126,29 @@ class HeaderImportTask(
                   .map { r ->
                     ImportQueueRecord()
                       .apply {
-                        hash = r.blockHash
+                        setHash(*r.blockHash)
                         number = r.blockNumber
                         stage = 0
                         timestamp = Timestamp(now)
                       }
-                  }.apply { txCtx.batchInsert(this).execute() }
+                  }.apply { txCtx.copyInsert(this) }
 
                 updateCount += records.size * 2
 
                 // insert new canonical headers
 
-                txCtx.batchInsert(records).execute()
+                txCtx.copyInsert(records)
+
+                if (handoff.finalStage == 0) txCtx.notifyCompleted(records, 0)
               }
             }
 
             log.debug("Written $updateCount records in $elapsedMs ms")
+
+            batcher.committed(records, elapsedMs)
+
+            // only hand over once committed so that downstream stages never see a header missing from the import queue
+            handoff.offer(0, records)
           }
           .doOnComplete { log.debug("Import pass complete") }
           .takeUntil { !running }
@@ -155,7 +183,7 @@ class HeaderImportTask(
       .firstOrNull()
 
     val earliestNumber = earliestEntry?.value1()
-    val earliestHash = earliestEntry?.let { Hash.fromHexString(it.value2()) }
+    val earliestHash = earliestEntry?.value2()?.toHash()
 
     if (!(earliestNumber == null || earliestNumber == BlockHeader.GENESIS_BLOCK_NUMBER)) {
       // we did not complete the initial first pass back to genesis
@@ -164,51 +192,50 @@ class HeaderImportTask(
       log.info("Restarting header import from block number = $earliestNumber")
     }
 
-    head
+    blockReader.headerCursor(head)
   }
 
-  private val generator = BiFunction { hash: Hash, emitter: Emitter<List<BlockHeader>> ->
+  private val generator = BiFunction { cursor: Iterator<BlockHeader>, emitter: Emitter<List<BlockHeader>> ->
 
-    // read the next series of headers starting from hash and propagating backwards via parent hashes
-    val headers = blockReader.headersFrom(hash, 512)
+    // read the next series of headers from the cursor which propagates backwards via parent hashes
+    val headers = ArrayList<BlockHeader>(bufferSize)
+    while (headers.size < bufferSize && cursor.hasNext()) {
+      headers.add(cursor.next())
+    }
 
-    val hashStrings = headers
-      .map { it.hash.toHexString() }
+    val hashes = headers
+      .map { it.hash }
       .toSet()
 
     // check the import queue for existing entries for the headers we just read, indicating we are reaching a common ancestor
     // TODO make this logic more robust by checking where in the sequence the common ancestor was found and ensuring it was at the end
 
-    val existingHashStrings = dbContext
+    val existingHashes = dbContext
       .select(Tables.IMPORT_QUEUE.HASH)
       .from(Tables.IMPORT_QUEUE)
-      .where(Tables.IMPORT_QUEUE.HASH.`in`(hashStrings))
+      .where(Tables.IMPORT_QUEUE.HASH.`in`(hashes.map { it.toArrayUnsafe() }))
       .fetch()
-      .map { it.value1() }
+      .map { it.value1().toHash() }
 
     // subtract any existing hashes found in the import queue from the set of hashes read from besu and filtered the headers list
 
-    val hashStringsToInsert =
-      existingHashStrings
+    val hashesToInsert =
+      existingHashes
         .takeIf { it.isNotEmpty() }
-        ?.let { hashStrings.minus(it) }
-        ?: hashStrings
+        ?.let { hashes.minus(it) }
+        ?: hashes
 
-    val filteredHeaders = headers.filter { hashStringsToInsert.contains(it.hash.toHexString()) }
+    val filteredHeaders = headers.filter { hashesToInsert.contains(it.hash) }
 
     when (filteredHeaders.isNotEmpty()) {
 
-      // emit the filtered headers list and return the parent hash of the last entry of the headers superset for the next read attempt
-      true -> {
-        emitter.onNext(filteredHeaders)
-        headers.last().parentHash
-      }
+      // emit the filtered headers list, the cursor continues from the parent of the last entry of the headers superset
+      true -> emitter.onNext(filteredHeaders)
 
       // as we have filtered all headers we assume there is nothing left to add to the import queue from this read pass
-      false -> {
-        emitter.onComplete()
-        hash
-      }
+      false -> emitter.onComplete()
     }
+
+    cursor
   }
 }
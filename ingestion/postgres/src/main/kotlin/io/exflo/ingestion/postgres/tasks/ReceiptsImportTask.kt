@@ -18,31 +18,37 @@ package io.exflo.ingestion.postgres.tasks
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import io.exflo.ingestion.core.ImportTask
-import io.exflo.ingestion.postgres.extensions.toEventRecords
-import io.exflo.ingestion.postgres.extensions.toTransactionReceiptRecord
+import io.exflo.ingestion.postgres.extensions.applyTokenBalances
+import io.exflo.ingestion.postgres.extensions.claimImportStage
+import io.exflo.ingestion.postgres.extensions.copyInsert
+import io.exflo.ingestion.postgres.extensions.estimatedSize
+import io.exflo.ingestion.postgres.extensions.notifyCompleted
+import io.exflo.ingestion.postgres.extensions.toHash
+import io.exflo.ingestion.postgres.extensions.toReceiptRecords
+import io.exflo.ingestion.postgres.extensions.toTransactionRecord
 import io.exflo.ingestion.tracker.BlockReader
 import io.exflo.postgres.jooq.Tables
-import io.exflo.postgres.jooq.Tables.TRANSACTION
 import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.ContractEventRecord
 import io.reactivex.rxjava3.core.Emitter
 import io.reactivex.rxjava3.core.Flowable
 import io.reactivex.rxjava3.schedulers.Schedulers
 import org.apache.logging.log4j.LogManager
-import org.hyperledger.besu.ethereum.core.Hash
 import org.jooq.Cursor
 import org.jooq.Record3
 import org.jooq.SQLDialect
+import org.jooq.TableRecord
 import org.jooq.impl.DSL
 import java.sql.Timestamp
 import java.time.Duration
-import java.util.concurrent.TimeUnit
 import javax.sql.DataSource
 import kotlin.system.measureTimeMillis
 
 class ReceiptsImportTask(
   private val objectMapper: ObjectMapper,
   private val blockReader: BlockReader,
-  dataSource: DataSource
+  dataSource: DataSource,
+  private val handoff: StageHandoff
 ) : ImportTask {
 
   private val log = LogManager.getLogger()
@@ -51,6 +57,12 @@ class ReceiptsImportTask(
 
   private val pollInterval = Duration.ofSeconds(1)
 
+  // batches are sized by their estimated bytes, adapting to how long they take to commit
+  private val batcher = AdaptiveBatcher<Pair<BlockHeaderRecord, List<TableRecord<*>>>>(
+    { (_, records) -> records.estimatedSize() },
+    maxItems = handoff.batchSize
+  )
+
   @Volatile
   private var running = true
 
@@ -60,108 +72,98 @@ class ReceiptsImportTask(
 
   override fun run() {
 
+    // blocks checkpointed in the import queue are replayed first, after which we are fed by the previous stage
+    var replaying = true
+
     while (running) {
 
       try {
 
-        // reset
-        var blockCount = 0
+        val blockCount = when (replaying) {
+          true -> import(Flowable.generate(initialState, generator, disposeState))
+          false -> import(Flowable.fromIterable(handoff.take(1, batcher.targetItems, pollInterval)))
+        }
 
-        Flowable
-          .generate(initialState, generator, disposeState)
-          .parallel()
-          .runOn(Schedulers.io())
-          .map { header ->
+        if (replaying && blockCount == 0) {
+          log.debug("Import queue replay complete, switching to stage handoff")
+          replaying = false
+        }
+      } catch (t: Throwable) {
+        // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
+        log.error("Critical failure", t)
+        throw t // re-throw
+      }
+    }
 
-            val hash = Hash.fromHexString(header.hash)
-            val receipts =
-              requireNotNull(blockReader.receipts(hash)) { "Receipts cannot be null, hash = $hash" }
+    log.info("Stopped")
+  }
 
-            var totalGasUsed = 0L
+  private fun import(headers: Flowable<BlockHeaderRecord>): Int {
 
-            val records = dbContext.transactionResult { txConfig ->
+    var blockCount = 0
 
-              val transactions = DSL.using(txConfig)
-                .select(
-                  TRANSACTION.HASH,
-                  TRANSACTION.INDEX,
-                  TRANSACTION.FROM,
-                  TRANSACTION.TO,
-                  TRANSACTION.CONTRACT_ADDRESS
-                )
-                .from(TRANSACTION)
-                .where(TRANSACTION.BLOCK_HASH.eq(header.hash))
-                .orderBy(TRANSACTION.INDEX.asc())
-                .fetchInto(TRANSACTION)
+    headers
+      .parallel()
+      .runOn(Schedulers.io())
+      .map { header ->
 
-              require(transactions.size == receipts.size) { "Transactions & receipts size mismatch" }
+        val hash = header.hash.toHash()
+        val body = requireNotNull(blockReader.body(hash)) { "Body cannot be null, hash = $hash" }
+        val receipts =
+          requireNotNull(blockReader.receipts(hash)) { "Receipts cannot be null, hash = $hash" }
 
-              transactions.zip(receipts)
-                .map { (transaction, receipt) ->
+        // the transaction details needed by the receipts are derived from the decoded block rather than read back
 
-                  // Calculate gasUsed in this transaction and increment totalGasUsed
-                  val gasUsed = receipt.cumulativeGasUsed - totalGasUsed
-                  totalGasUsed += gasUsed
+        val records = receipts.toReceiptRecords(
+          header,
+          body.transactions.mapIndexed { idx, transaction -> transaction.toTransactionRecord(header, idx) }
+        )
 
-                  val receiptRecord =
-                    receipt.toTransactionReceiptRecord(objectMapper, header, transaction, gasUsed)
+        Pair(header, records)
+      }
+      .sequential()
+      .compose(batcher)
+      .doOnNext { items ->
 
-                  // important that this occurs last to allow relations to be inserted first
-                  val eventRecords = receipt.toEventRecords(header, transaction)
+        var updateCount = 0
+        var claimedHeaders = emptyList<BlockHeaderRecord>()
 
-                  listOf(receiptRecord) + eventRecords
-                }.flatten()
-            }
+        val elapsedMs = measureTimeMillis {
 
-            Pair(header, records)
-          }
-          .sequential()
-          .buffer(10, TimeUnit.SECONDS, 64)
-          .doOnNext { items ->
+          dbContext.transaction { txConfig ->
 
-            var updateCount = 0
+            val txCtx = DSL.using(txConfig)
 
-            val elapsedMs = measureTimeMillis {
+            val claimed = txCtx.claimImportStage(items.map { it.first.hash }, 2)
+            val claimedItems = items.filter { claimed.contains(it.first.hash.toHash()) }
+            val records = claimedItems.map { it.second }.flatten()
 
-              val blockHashes = items.map { it.first.hash }
-              val records = items.map { it.second }.flatten()
+            txCtx.copyInsert(records)
 
-              dbContext.transaction { txConfig ->
+            claimedHeaders = claimedItems.map { it.first }
 
-                val txCtx = DSL.using(txConfig)
+            // token balances are kept current within the same transaction as the events they are derived from
+            val balanceCount = txCtx.applyTokenBalances(claimedHeaders, records.filterIsInstance<ContractEventRecord>())
 
-                txCtx.batchInsert(records).execute()
+            if (handoff.finalStage == 2) txCtx.notifyCompleted(claimedHeaders, 2)
 
-                val recordsUpdated = txCtx.update(Tables.IMPORT_QUEUE)
-                  .set(Tables.IMPORT_QUEUE.STAGE, 2)
-                  .where(Tables.IMPORT_QUEUE.HASH.`in`(blockHashes))
-                  .execute()
+            updateCount = records.size + claimed.size + balanceCount
+          }
+        }
 
-                updateCount = records.size + recordsUpdated
-              }
-            }
+        handoff.offer(2, claimedHeaders)
 
-            blockCount += items.size
+        blockCount += items.size
 
-            log.debug("Written $blockCount blocks, $updateCount updates in $elapsedMs ms")
-          }
-          .doOnComplete { log.debug("Receipts import pass complete") }
-          .takeUntil { !running }
-          .blockingSubscribe()
-
-        if (blockCount == 0) {
-          // empty pass so we wait a bit before making another improt pass
-          log.debug("Waiting ${pollInterval.toSeconds()} sec(s) before starting another import pass")
-          Thread.sleep(pollInterval.toMillis())
-        }
-      } catch (t: Throwable) {
-        // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
-        log.error("Critical failure", t)
-        throw t // re-throw
+        log.debug("Written $blockCount blocks, $updateCount updates in $elapsedMs ms")
+
+        batcher.committed(items, elapsedMs)
       }
-    }
+      .doOnComplete { log.debug("Receipts import pass complete") }
+      .takeUntil { !running }
+      .blockingSubscribe()
 
-    log.info("Stopped")
+    return blockCount
   }
 
   private val initialState = {
@@ -175,7 +177,7 @@ class ReceiptsImportTask(
       .fetchLazy()
   }
 
-  private val generator = { cursor: Cursor<Record3<String, Long, Timestamp>>, emitter: Emitter<BlockHeaderRecord> ->
+  private val generator = { cursor: Cursor<Record3<ByteArray, Long, Timestamp>>, emitter: Emitter<BlockHeaderRecord> ->
 
     try {
 
@@ -192,5 +194,5 @@ class ReceiptsImportTask(
     cursor
   }
 
-  private val disposeState = { cursor: Cursor<Record3<String, Long, Timestamp>> -> cursor.close() }
+  private val disposeState = { cursor: Cursor<Record3<ByteArray, Long, Timestamp>> -> cursor.close() }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import java.time.Duration
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.TimeUnit
+
+/**
+ * Bounded in-memory channels connecting the import stages.
+ *
+ * Channel n carries headers whose import_queue entry has reached stage n, i.e. the input of the task at index n + 1.
+ * The import queue remains the durable checkpoint, channels only remove the need for downstream stages to poll it.
+ * Stages collect at most [batchSize] headers per batch.
+ */
+class StageHandoff(
+  taskCount: Int,
+  val batchSize: Int = 1024,
+  capacity: Int = 1024 * 8
+) {
+
+  /**
+   * The stage a block has been fully imported at, i.e. the stage of the last task.
+   */
+  val finalStage = taskCount - 1
+
+  private val channels = List(maxOf(taskCount - 1, 0)) { ArrayBlockingQueue<BlockHeaderRecord>(capacity) }
+
+  @Volatile
+  private var closed = false
+
+  /**
+   * Hands the headers over to the stage consuming [stage], blocking while the channel is full. Headers are dropped
+   * when there is no downstream stage or the handoff has been closed, in which case they are recovered from the
+   * import queue on the next start.
+   */
+  fun offer(stage: Int, headers: List<BlockHeaderRecord>) {
+    val channel = channels.getOrNull(stage) ?: return
+    headers.forEach { header ->
+      while (!channel.offer(header, 100, TimeUnit.MILLISECONDS)) {
+        if (closed) return
+      }
+    }
+  }
+
+  /**
+   * Waits up to [timeout] for headers that have reached [stage] and drains up to [max] of them.
+   */
+  fun take(stage: Int, max: Int, timeout: Duration): List<BlockHeaderRecord> {
+    val channel = channels[stage]
+    val first = channel.poll(timeout.toMillis(), TimeUnit.MILLISECONDS) ?: return emptyList()
+    return ArrayList<BlockHeaderRecord>(max)
+      .apply {
+        add(first)
+        channel.drainTo(this, max - 1)
+      }
+  }
+
+  fun close() {
+    closed = true
+  }
+}
@@ -18,37 +18,41 @@ package io.exflo.ingestion.postgres.tasks
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import io.exflo.ingestion.core.ImportTask
-import io.exflo.ingestion.extensions.toBalanceDeltas
+import io.exflo.ingestion.postgres.extensions.claimImportStage
+import io.exflo.ingestion.postgres.extensions.copyInsert
+import io.exflo.ingestion.postgres.extensions.estimatedSize
+import io.exflo.ingestion.postgres.extensions.insertBlockTrace
+import io.exflo.ingestion.postgres.extensions.notifyCompleted
 import io.exflo.ingestion.postgres.extensions.toAccountRecord
 import io.exflo.ingestion.postgres.extensions.toBalanceDeltaRecord
 import io.exflo.ingestion.postgres.extensions.toContractCreatedRecord
 import io.exflo.ingestion.postgres.extensions.toContractDestroyedRecord
+import io.exflo.ingestion.postgres.extensions.toHash
+import io.exflo.ingestion.postgres.extensions.upsertAccountLatest
 import io.exflo.ingestion.tracker.BlockReader
 import io.exflo.postgres.jooq.Tables
-import io.exflo.postgres.jooq.Tables.OMMER
+import io.exflo.postgres.jooq.tables.records.AccountRecord
 import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
-import io.exflo.postgres.jooq.tables.records.BlockTraceRecord
 import io.reactivex.rxjava3.core.Emitter
 import io.reactivex.rxjava3.core.Flowable
 import io.reactivex.rxjava3.schedulers.Schedulers
 import org.apache.logging.log4j.LogManager
-import org.hyperledger.besu.ethereum.core.Address
-import org.hyperledger.besu.ethereum.core.Hash
+import org.apache.tuweni.bytes.Bytes
 import org.jooq.Cursor
-import org.jooq.JSONB
-import org.jooq.Record4
+import org.jooq.Record3
 import org.jooq.SQLDialect
+import org.jooq.TableRecord
 import org.jooq.impl.DSL
 import java.sql.Timestamp
 import java.time.Duration
-import java.util.concurrent.TimeUnit
 import javax.sql.DataSource
 import kotlin.system.measureTimeMillis
 
 class TraceImportTask(
   private val objectMapper: ObjectMapper,
   private val blockReader: BlockReader,
-  dataSource: DataSource
+  dataSource: DataSource,
+  private val handoff: StageHandoff
 ) : ImportTask {
 
   private val log = LogManager.getLogger()
@@ -57,6 +61,14 @@ class TraceImportTask(
 
   private val pollInterval = Duration.ofSeconds(1)
 
+  // batches are sized by their estimated bytes, adapting to how long they take to commit
+  private val batcher = AdaptiveBatcher<Triple<BlockHeaderRecord, List<TableRecord<*>>, Bytes?>>({ (_, records, jsonTrace) ->
+    records.estimatedSize() + (jsonTrace?.size() ?: 0)
+  }, maxItems = handoff.batchSize)
+
+  // history is only written for accounts which changed, trace batches are written by a single thread
+  private val accountHistory = AccountHistoryFilter()
+
   @Volatile
   private var running = true
 
@@ -66,119 +78,125 @@ class TraceImportTask(
 
   override fun run() {
 
+    // blocks checkpointed in the import queue are replayed first, after which we are fed by the previous stage
+    var replaying = true
+
     while (running) {
 
       try {
 
-        var blockCount = 0
+        val blockCount = when (replaying) {
+          true -> import(Flowable.generate(initialState, generator, disposeState))
+          false -> import(Flowable.fromIterable(handoff.take(2, batcher.targetItems, pollInterval)))
+        }
 
-        Flowable
-          .generate(initialState, generator, disposeState)
-          .parallel()
-          .runOn(Schedulers.io())
-          .map { header ->
+        if (replaying && blockCount == 0) {
+          log.debug("Import queue replay complete, switching to stage handoff")
+          replaying = false
+        }
+      } catch (t: Throwable) {
+        // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
+        log.error("Critical failure", t)
+        throw t // re-throw
+      }
+    }
 
-            val hash = Hash.fromHexString(header.hash)
-            val coinbase = Address.fromHexString(header.coinbase)
+    log.info("Stopped")
+  }
 
-            log.info("Processing traces -> Block Number: ${header.number} | Block Hash: ${header.hash}")
+  private fun import(headers: Flowable<BlockHeaderRecord>): Int {
 
-            val trace = requireNotNull(blockReader.trace(hash)) { "Trace cannot be null, hash = $hash" }
+    var blockCount = 0
 
-            val records = dbContext.transactionResult { txConfig ->
+    headers
+      .parallel()
+      .runOn(Schedulers.io())
+      .map { header ->
 
-              val txCtx = DSL.using(txConfig)
+        val hash = header.hash.toHash()
 
-              val accountRecords = blockReader
-                .touchedAccounts(trace)
-                .map { it.toAccountRecord(header) }
+        log.info("Processing traces -> Block Number: ${header.number} | Block Hash: $hash")
 
-              val ommerCoinbaseMap = txCtx
-                .select(OMMER.HASH, OMMER.COINBASE)
-                .from(OMMER)
-                .where(OMMER.NEPHEW_HASH.eq(header.hash))
-                .orderBy(OMMER.INDEX.asc())
-                .fetchInto(OMMER)
-                .map { Pair(Hash.fromHexString(it.hash), Address.fromHexString(it.coinbase)) }
-                .toMap()
+        // touched accounts and balance deltas are derived from the decoded block, including its ommer coinbases
+        val block = requireNotNull(blockReader.fullBlock(hash, withHeader = false, withBody = false, withReceipts = false)) {
+          "Block cannot be null, hash = $hash"
+        }
+        val trace = requireNotNull(block.trace) { "Trace cannot be null, hash = $hash" }
 
-              val deltaRecords = trace
-                .toBalanceDeltas(hash, coinbase, ommerCoinbaseMap)
-                .map { it.toBalanceDeltaRecord(header) }
+        val accountRecords = block.touchedAccounts!!.map { it.toAccountRecord(header) }
 
-              val contractRecords = trace.transactionTraces
-                .map { trace ->
-                  trace.contractsCreated.map { it.toContractCreatedRecord(header) } +
-                    trace.contractsDestroyed.map { it.toContractDestroyedRecord(header) }
-                }.flatten()
+        val deltaRecords = block.balanceDeltas!!.map { it.toBalanceDeltaRecord(header) }
 
-              val blockTraceRecord = BlockTraceRecord()
-                .apply {
-                  this.blockHash = header.hash
-                  this.trace = JSONB.valueOf(trace.jsonTrace)
-                }
+        val contractRecords = trace.transactionTraces
+          .map { txTrace ->
+            txTrace.contractsCreated.map { it.toContractCreatedRecord(header) } +
+              txTrace.contractsDestroyed.map { it.toContractDestroyedRecord(header) }
+          }.flatten()
 
-              accountRecords + contractRecords + deltaRecords + blockTraceRecord
-            }
+        val records = accountRecords + contractRecords + deltaRecords
 
-            Pair(header, records)
-          }
-          .sequential()
-          .buffer(1, TimeUnit.SECONDS, 64)
-          .doOnNext { items ->
+        Triple(header, records, trace.jsonTrace)
+      }
+      .sequential()
+      .compose(batcher)
+      .doOnNext { items ->
 
-            val blockHashes = items.map { it.first.hash }
-            val records = items.map { it.second }.flatten()
+        var updateCount = 0
+        var accountChanges: AccountHistoryFilter.Changes? = null
 
-            var updateCount = 0
+        val elapsedMs = measureTimeMillis {
 
-            val elapsedMs = measureTimeMillis {
+          dbContext.transaction { txConfig ->
 
-              dbContext.transaction { txConfig ->
+            val txCtx = DSL.using(txConfig)
 
-                val txCtx = DSL.using(txConfig)
+            val claimed = txCtx.claimImportStage(items.map { it.first.hash }, 3)
+            val claimedItems = items
+              .filter { claimed.contains(it.first.hash.toHash()) }
+              .sortedBy { it.first.number }
 
-                txCtx.batchInsert(records).execute()
+            val changes = accountHistory.changed(
+              claimedItems.map { (header, blockRecords, _) -> header to blockRecords.filterIsInstance<AccountRecord>() }
+            )
+            accountChanges = changes
 
-                val recordsUpdated = txCtx.update(Tables.IMPORT_QUEUE)
-                  .set(Tables.IMPORT_QUEUE.STAGE, 3)
-                  .where(Tables.IMPORT_QUEUE.HASH.`in`(blockHashes))
-                  .execute()
+            val records = changes.records +
+              claimedItems.flatMap { (_, blockRecords, _) -> blockRecords.filterNot { it is AccountRecord } }
 
-                updateCount = records.size + recordsUpdated
-              }
-            }
+            txCtx.copyInsert(records)
 
-            log.debug("Written $updateCount records in $elapsedMs ms")
+            txCtx.upsertAccountLatest(claimedItems.map { it.first }, records.filterIsInstance<AccountRecord>())
 
-            blockCount += items.size
-          }
-          .doOnComplete { log.debug("Trace import pass complete") }
-          .takeUntil { !running }
-          .blockingSubscribe()
+            val blockTraceInserts = claimedItems
+              .mapNotNull { (header, _, jsonTrace) -> jsonTrace?.let { txCtx.insertBlockTrace(header.hash, header.number, it) } }
+
+            if (blockTraceInserts.isNotEmpty()) txCtx.batch(blockTraceInserts).execute()
+
+            txCtx.notifyCompleted(claimedItems.map { it.first }, 3)
 
-        if (blockCount == 0) {
-          log.debug("Waiting ${pollInterval.toSeconds()} sec(s) before starting another import pass")
-          Thread.sleep(pollInterval.toMillis())
+            updateCount = records.size + blockTraceInserts.size + claimed.size
+          }
         }
-      } catch (t: Throwable) {
-        // TODO handle any transient errors in the Flowable pipeline so that an exception isn't thrown
-        log.error("Critical failure", t)
-        throw t // re-throw
+
+        // the filter only remembers history which has been committed
+        accountChanges?.commit()
+
+        log.debug("Written $updateCount records in $elapsedMs ms")
+
+        batcher.committed(items, elapsedMs)
+
+        blockCount += items.size
       }
-    }
+      .doOnComplete { log.debug("Trace import pass complete") }
+      .takeUntil { !running }
+      .blockingSubscribe()
 
-    log.info("Stopped")
+    return blockCount
   }
 
   private val initialState = {
     dbContext
-      .select(
-        Tables.BLOCK_HEADER.HASH,
-        Tables.BLOCK_HEADER.NUMBER,
-        Tables.BLOCK_HEADER.COINBASE,
-        Tables.BLOCK_HEADER.TIMESTAMP
-      )
+      .select(Tables.BLOCK_HEADER.HASH, Tables.BLOCK_HEADER.NUMBER, Tables.BLOCK_HEADER.TIMESTAMP)
       .from(Tables.IMPORT_QUEUE)
       .leftJoin(Tables.BLOCK_HEADER).on(Tables.IMPORT_QUEUE.HASH.eq(Tables.BLOCK_HEADER.HASH))
       .where(Tables.IMPORT_QUEUE.STAGE.eq(2))
@@ -188,7 +206,7 @@ class TraceImportTask(
   }
 
   private val generator =
-    { cursor: Cursor<Record4<String, Long, String, Timestamp>>, emitter: Emitter<BlockHeaderRecord> ->
+    { cursor: Cursor<Record3<ByteArray, Long, Timestamp>>, emitter: Emitter<BlockHeaderRecord> ->
 
       try {
 
@@ -205,5 +223,5 @@ class TraceImportTask(
       cursor
     }
 
-  private val disposeState = { cursor: Cursor<Record4<String, Long, String, Timestamp>> -> cursor.close() }
+  private val disposeState = { cursor: Cursor<Record3<ByteArray, Long, Timestamp>> -> cursor.close() }
 }
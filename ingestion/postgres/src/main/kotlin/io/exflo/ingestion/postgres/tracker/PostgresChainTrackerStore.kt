@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tracker
+
+import io.exflo.ingestion.postgres.extensions.toHash
+import io.exflo.ingestion.tracker.ChainTracker
+import io.exflo.ingestion.tracker.GroupCommitStore
+import io.exflo.postgres.jooq.Tables.CHAIN_TRACKER
+import io.exflo.postgres.jooq.Tables.CHAIN_TRACKER_BLOCK_HASH
+import org.hyperledger.besu.ethereum.core.Hash
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.time.Duration
+import java.util.TreeMap
+import java.util.concurrent.locks.ReentrantLock
+import javax.sql.DataSource
+import kotlin.concurrent.withLock
+import kotlin.math.max
+
+/**
+ * A [ChainTracker.Store] persisted in postgres.
+ *
+ * State is held in memory and written behind: each flush upserts the tail, prunes old block hashes and upserts any new
+ * block hashes within a single transaction, rather than each commit costing a round trip.
+ */
+class PostgresChainTrackerStore(
+  dataSource: DataSource,
+  networkId: BigInteger,
+  flushInterval: Duration = GroupCommitStore.DEFAULT_FLUSH_INTERVAL
+) : GroupCommitStore(flushInterval) {
+
+  private val dbContext = DSL.using(dataSource, SQLDialect.POSTGRES)
+
+  private val networkId = BigDecimal(networkId)
+
+  private val lock = ReentrantLock()
+
+  private val blockHashes = TreeMap<Long, Hash>()
+
+  private var currentTail: Long? = null
+
+  // updates which have not yet been flushed
+
+  private var pendingBlockHashes = HashMap<Long, Hash>()
+  private var pendingRemoveBefore: Long? = null
+  private var pendingTail = false
+
+  init {
+
+    dbContext.transaction { txConfig ->
+
+      val txCtx = DSL.using(txConfig)
+
+      currentTail = txCtx
+        .select(CHAIN_TRACKER.TAIL)
+        .from(CHAIN_TRACKER)
+        .where(CHAIN_TRACKER.NETWORK_ID.eq(this.networkId))
+        .fetchOne()
+        ?.value1()
+
+      txCtx
+        .selectFrom(CHAIN_TRACKER_BLOCK_HASH)
+        .where(CHAIN_TRACKER_BLOCK_HASH.NETWORK_ID.eq(this.networkId))
+        .fetch()
+        .forEach { record -> blockHashes[record.number] = record.hash.toHash() }
+    }
+  }
+
+  override fun setBlockHash(number: Long, hash: Hash) = lock.withLock {
+    blockHashes[number] = hash
+    pendingBlockHashes[number] = hash
+    markDirty()
+  }
+
+  override fun getBlockHash(number: Long): Hash? = lock.withLock { blockHashes[number] }
+
+  override fun removeBlockHashesBefore(number: Long) = lock.withLock {
+    if (blockHashes.isEmpty() || blockHashes.firstKey() >= number) return@withLock
+    blockHashes.headMap(number).clear()
+    pendingBlockHashes.keys.removeIf { it < number }
+    pendingRemoveBefore = max(pendingRemoveBefore ?: number, number)
+    markDirty()
+  }
+
+  override fun setTail(number: Long) = lock.withLock {
+    currentTail = number
+    pendingTail = true
+    markDirty()
+  }
+
+  override fun getTail(): Long? = lock.withLock { currentTail }
+
+  override fun flush() {
+
+    val (flushedBlockHashes, removeBefore, tail) = lock.withLock {
+      val snapshot = Triple(pendingBlockHashes, pendingRemoveBefore, currentTail.takeIf { pendingTail })
+      pendingBlockHashes = HashMap()
+      pendingRemoveBefore = null
+      pendingTail = false
+      snapshot
+    }
+
+    try {
+
+      dbContext.transaction { txConfig ->
+
+        val txCtx = DSL.using(txConfig)
+
+        tail?.let {
+          txCtx
+            .insertInto(CHAIN_TRACKER, CHAIN_TRACKER.NETWORK_ID, CHAIN_TRACKER.TAIL)
+            .values(networkId, it)
+            .onConflict(CHAIN_TRACKER.NETWORK_ID)
+            .doUpdate()
+            .set(CHAIN_TRACKER.TAIL, it)
+            .execute()
+        }
+
+        removeBefore?.let {
+          txCtx
+            .deleteFrom(CHAIN_TRACKER_BLOCK_HASH)
+            .where(CHAIN_TRACKER_BLOCK_HASH.NETWORK_ID.eq(networkId))
+            .and(CHAIN_TRACKER_BLOCK_HASH.NUMBER.lt(it))
+            .execute()
+        }
+
+        if (flushedBlockHashes.isNotEmpty()) {
+          txCtx
+            .batch(
+              flushedBlockHashes.map { (number, hash) ->
+                txCtx
+                  .insertInto(
+                    CHAIN_TRACKER_BLOCK_HASH,
+                    CHAIN_TRACKER_BLOCK_HASH.NETWORK_ID,
+                    CHAIN_TRACKER_BLOCK_HASH.NUMBER,
+                    CHAIN_TRACKER_BLOCK_HASH.HASH
+                  )
+                  .values(networkId, number, hash.toArrayUnsafe())
+                  .onConflict(CHAIN_TRACKER_BLOCK_HASH.NETWORK_ID, CHAIN_TRACKER_BLOCK_HASH.NUMBER)
+                  .doUpdate()
+                  .set(CHAIN_TRACKER_BLOCK_HASH.HASH, hash.toArrayUnsafe())
+              }
+            )
+            .execute()
+        }
+      }
+    } catch (t: Throwable) {
+
+      // return the updates to the pending set without overriding anything newer, they will be retried on the next flush
+      lock.withLock {
+        flushedBlockHashes.forEach { (number, hash) ->
+          if (number >= (pendingRemoveBefore ?: Long.MIN_VALUE)) pendingBlockHashes.putIfAbsent(number, hash)
+        }
+        removeBefore?.let { pendingRemoveBefore = max(pendingRemoveBefore ?: it, it) }
+        if (tail != null) pendingTail = true
+      }
+
+      throw t
+    }
+  }
+
+  class Factory(
+    private val dataSource: DataSource,
+    private val flushInterval: Duration = GroupCommitStore.DEFAULT_FLUSH_INTERVAL
+  ) : ChainTracker.StoreFactory {
+
+    override fun create(networkId: BigInteger): ChainTracker.Store =
+      PostgresChainTrackerStore(dataSource, networkId, flushInterval)
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+-- Latest nonce and balance of every account as of the canonical chain, making the current state a primary key lookup.
+-- The account table keeps the history, with the import only adding a row when a block changed an account.
+
+create table account_latest
+(
+    address      bytea   not null primary key,
+    nonce        bigint  not null,
+    balance      numeric not null,
+    block_number bigint  not null,
+    block_hash   bytea   not null
+);
+
+create index idx_account_latest__block_hash on account_latest (block_hash);
+
+-- re-derives the latest state of the given addresses from their most recent canonical history row, used once the rows
+-- for blocks which are no longer canonical have been removed. Returns the number of addresses restored
+
+create function refresh_account_latest(addresses bytea[]) returns int as
+$$
+with restored as (
+    insert into account_latest (address, nonce, balance, block_number, block_hash)
+        select distinct on (a.address) a.address, a.nonce, a.balance, a.block_number, a.block_hash
+        from account a
+                 join canonical_chain cc on cc.number = a.block_number and cc.hash = a.block_hash
+        where a.address = any (addresses)
+        order by a.address, a.block_number desc
+        on conflict (address) do nothing
+        returning 1
+)
+select count(*)::int
+from restored;
+$$ language sql;
+
+insert into account_latest (address, nonce, balance, block_number, block_hash)
+select distinct on (a.address) a.address, a.nonce, a.balance, a.block_number, a.block_hash
+from account a
+         join canonical_chain cc on cc.number = a.block_number and cc.hash = a.block_hash
+order by a.address, a.block_number desc;
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+create table chain_tracker
+(
+    network_id numeric not null primary key,
+    tail       bigint  not null
+);
+
+create table chain_tracker_block_hash
+(
+    network_id numeric  not null,
+    number     bigint   not null,
+    hash       char(66) not null,
+    primary key (network_id, number)
+);
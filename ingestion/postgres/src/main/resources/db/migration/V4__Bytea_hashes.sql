@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Stores hashes (32 bytes), addresses (20 bytes) and blooms (256 bytes) as bytea instead of 0x prefixed hex strings
+
+-- views and foreign keys depend on the columns being converted so they are dropped and re-created around the change
+
+drop view reward;
+drop view internal_transaction;
+drop view fungible_token_transfer;
+drop view non_fungible_token_transfer;
+
+alter table block_header drop constraint block_header_hash_fkey;
+alter table transaction drop constraint transaction_block_hash_fkey;
+alter table transaction_receipt drop constraint transaction_receipt_block_hash_fkey;
+alter table ommer drop constraint ommer_nephew_hash_fkey;
+alter table account drop constraint account_block_hash_fkey;
+alter table contract_created drop constraint contract_created_block_hash_fkey;
+alter table contract_created drop constraint contract_created_transaction_hash_fkey;
+alter table contract_destroyed drop constraint contract_destroyed_block_hash_fkey;
+alter table contract_destroyed drop constraint contract_destroyed_transaction_hash_fkey;
+alter table balance_delta drop constraint balance_delta_block_hash_fkey;
+alter table balance_delta drop constraint balance_delta_transaction_hash_fkey;
+alter table contract_event drop constraint contract_event_block_hash_fkey;
+alter table contract_event drop constraint contract_event_transaction_hash_fkey;
+alter table block_trace drop constraint block_trace_block_hash_fkey;
+
+alter table import_queue
+    alter column hash type bytea using decode(substring(hash from 3), 'hex');
+
+alter table block_header
+    alter column hash type bytea using decode(substring(hash from 3), 'hex'),
+    alter column parent_hash type bytea using decode(substring(parent_hash from 3), 'hex'),
+    alter column state_root type bytea using decode(substring(state_root from 3), 'hex'),
+    alter column receipts_root type bytea using decode(substring(receipts_root from 3), 'hex'),
+    alter column transactions_root type bytea using decode(substring(transactions_root from 3), 'hex'),
+    alter column coinbase type bytea using decode(substring(coinbase from 3), 'hex'),
+    alter column mix_hash type bytea using decode(substring(mix_hash from 3), 'hex'),
+    alter column ommers_hash type bytea using decode(substring(ommers_hash from 3), 'hex'),
+    alter column logs_bloom type bytea using decode(substring(logs_bloom from 3), 'hex');
+
+alter table transaction
+    alter column hash type bytea using decode(substring(hash from 3), 'hex'),
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex'),
+    alter column "from" type bytea using decode(substring("from" from 3), 'hex'),
+    alter column "to" type bytea using decode(substring("to" from 3), 'hex'),
+    alter column contract_address type bytea using decode(substring(contract_address from 3), 'hex');
+
+alter table transaction_receipt
+    alter column transaction_hash type bytea using decode(substring(transaction_hash from 3), 'hex'),
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex'),
+    alter column "from" type bytea using decode(substring("from" from 3), 'hex'),
+    alter column "to" type bytea using decode(substring("to" from 3), 'hex'),
+    alter column contract_address type bytea using decode(substring(contract_address from 3), 'hex'),
+    alter column state_root type bytea using decode(substring(state_root from 3), 'hex'),
+    alter column bloom_filter type bytea using decode(substring(bloom_filter from 3), 'hex');
+
+alter table ommer
+    alter column hash type bytea using decode(substring(hash from 3), 'hex'),
+    alter column nephew_hash type bytea using decode(substring(nephew_hash from 3), 'hex'),
+    alter column parent_hash type bytea using decode(substring(parent_hash from 3), 'hex'),
+    alter column ommers_hash type bytea using decode(substring(ommers_hash from 3), 'hex'),
+    alter column state_root type bytea using decode(substring(state_root from 3), 'hex'),
+    alter column receipts_root type bytea using decode(substring(receipts_root from 3), 'hex'),
+    alter column transactions_root type bytea using decode(substring(transactions_root from 3), 'hex'),
+    alter column coinbase type bytea using decode(substring(coinbase from 3), 'hex'),
+    alter column mix_hash type bytea using decode(substring(mix_hash from 3), 'hex'),
+    alter column logs_bloom type bytea using decode(substring(logs_bloom from 3), 'hex');
+
+alter table account
+    alter column address type bytea using decode(substring(address from 3), 'hex'),
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex');
+
+alter table contract_created
+    alter column address type bytea using decode(substring(address from 3), 'hex'),
+    alter column creator type bytea using decode(substring(creator from 3), 'hex'),
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex'),
+    alter column transaction_hash type bytea using decode(substring(transaction_hash from 3), 'hex');
+
+alter table contract_destroyed
+    alter column address type bytea using decode(substring(address from 3), 'hex'),
+    alter column refund_address type bytea using decode(substring(refund_address from 3), 'hex'),
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex'),
+    alter column transaction_hash type bytea using decode(substring(transaction_hash from 3), 'hex');
+
+alter table balance_delta
+    alter column contract_address type bytea using decode(substring(contract_address from 3), 'hex'),
+    alter column "from" type bytea using decode(substring("from" from 3), 'hex'),
+    alter column "to" type bytea using decode(substring("to" from 3), 'hex'),
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex'),
+    alter column transaction_hash type bytea using decode(substring(transaction_hash from 3), 'hex');
+
+alter table contract_event
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex'),
+    alter column transaction_hash type bytea using decode(substring(transaction_hash from 3), 'hex'),
+    alter column contract_address type bytea using decode(substring(contract_address from 3), 'hex'),
+    alter column owner_address type bytea using decode(substring(owner_address from 3), 'hex'),
+    alter column spender_address type bytea using decode(substring(spender_address from 3), 'hex'),
+    alter column operator_address type bytea using decode(substring(operator_address from 3), 'hex'),
+    alter column holder_address type bytea using decode(substring(holder_address from 3), 'hex'),
+    alter column approved_address type bytea using decode(substring(approved_address from 3), 'hex'),
+    alter column from_address type bytea using decode(substring(from_address from 3), 'hex'),
+    alter column to_address type bytea using decode(substring(to_address from 3), 'hex');
+
+alter table block_trace
+    alter column block_hash type bytea using decode(substring(block_hash from 3), 'hex');
+
+alter table chain_tracker_block_hash
+    alter column hash type bytea using decode(substring(hash from 3), 'hex');
+
+alter table block_header
+    add constraint block_header_hash_fkey foreign key (hash) references import_queue (hash);
+alter table transaction
+    add constraint transaction_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table transaction_receipt
+    add constraint transaction_receipt_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table ommer
+    add constraint ommer_nephew_hash_fkey foreign key (nephew_hash) references block_header (hash) on update cascade on delete cascade;
+alter table account
+    add constraint account_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table contract_created
+    add constraint contract_created_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table contract_created
+    add constraint contract_created_transaction_hash_fkey foreign key (transaction_hash) references transaction (hash) on update cascade on delete cascade;
+alter table contract_destroyed
+    add constraint contract_destroyed_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table contract_destroyed
+    add constraint contract_destroyed_transaction_hash_fkey foreign key (transaction_hash) references transaction (hash) on update cascade on delete cascade;
+alter table balance_delta
+    add constraint balance_delta_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table balance_delta
+    add constraint balance_delta_transaction_hash_fkey foreign key (transaction_hash) references transaction (hash) on update cascade on delete cascade;
+alter table contract_event
+    add constraint contract_event_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+alter table contract_event
+    add constraint contract_event_transaction_hash_fkey foreign key (transaction_hash) references transaction (hash) on update cascade on delete cascade;
+alter table block_trace
+    add constraint block_trace_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+
+create view reward AS
+SELECT id,
+       delta_type,
+       "to",
+       amount,
+       block_number,
+       block_hash,
+       block_timestamp
+FROM balance_delta
+WHERE delta_type IN ('BLOCK_REWARD', 'OMMER_REWARD');
+
+create view internal_transaction AS
+SELECT id,
+       delta_type,
+       "from",
+       "to",
+       amount,
+       block_number,
+       block_hash,
+       block_timestamp,
+       transaction_hash,
+       transaction_index
+FROM balance_delta
+WHERE delta_type IN ('INTERNAL_TX', 'CONTRACT_CREATION', 'CONTRACT_DESTRUCTION');
+
+create view fungible_token_transfer AS
+SELECT id,
+       contract_address,
+       "from",
+       "to",
+       amount,
+       block_number,
+       block_hash,
+       block_timestamp,
+       transaction_hash,
+       transaction_index
+FROM balance_delta
+WHERE delta_type = 'TOKEN_TRANSFER'
+  AND amount IS NOT NULL;
+
+create view non_fungible_token_transfer AS
+SELECT id,
+       contract_address,
+       "from",
+       "to",
+       token_id,
+       block_number,
+       block_hash,
+       block_timestamp,
+       transaction_hash,
+       transaction_index
+FROM balance_delta
+WHERE delta_type = 'TOKEN_TRANSFER'
+  AND token_id IS NOT NULL;
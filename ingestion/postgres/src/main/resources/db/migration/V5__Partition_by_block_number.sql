@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Range partitions the per block tables by block number so that index maintenance stays local to a partition, range
+-- queries can be pruned and old data can be dropped a partition at a time. Primary keys and references to transaction
+-- have to include the partition key as a result.
+
+-- creates any missing partitions from genesis up to and including the partition which follows the one holding up_to,
+-- returning the first block number of that last partition so callers know when to create the next one
+
+create function create_block_number_partitions(up_to bigint) returns bigint as
+$$
+declare
+    partition_size constant bigint := 1000000;
+    parent         text;
+    partition_name text;
+    range_start    bigint;
+    last_start     bigint := ((up_to / partition_size) + 1) * partition_size;
+begin
+    foreach parent in array array ['transaction', 'transaction_receipt', 'contract_event', 'balance_delta', 'account', 'block_trace']
+        loop
+            range_start := 0;
+            while range_start <= last_start
+                loop
+                    partition_name := parent || '_p' || (range_start / partition_size);
+                    if to_regclass(partition_name) is null then
+                        execute format('create table %I partition of %I for values from (%s) to (%s)',
+                                       partition_name, parent, range_start, range_start + partition_size);
+                    end if;
+                    range_start := range_start + partition_size;
+                end loop;
+        end loop;
+    return last_start;
+end;
+$$ language plpgsql;
+
+-- views and references to transaction depend on the tables being replaced
+
+drop view reward;
+drop view internal_transaction;
+drop view fungible_token_transfer;
+drop view non_fungible_token_transfer;
+
+alter table contract_created drop constraint contract_created_transaction_hash_fkey;
+alter table contract_destroyed drop constraint contract_destroyed_transaction_hash_fkey;
+alter table balance_delta drop constraint balance_delta_transaction_hash_fkey;
+alter table contract_event drop constraint contract_event_transaction_hash_fkey;
+
+-- keep the balance delta id sequence when the original table is dropped
+
+alter sequence balance_delta_id_seq owned by none;
+
+alter table transaction rename to transaction_unpartitioned;
+alter table transaction_receipt rename to transaction_receipt_unpartitioned;
+alter table contract_event rename to contract_event_unpartitioned;
+alter table balance_delta rename to balance_delta_unpartitioned;
+alter table account rename to account_unpartitioned;
+alter table block_trace rename to block_trace_unpartitioned;
+
+create table transaction
+(
+    hash             bytea     not null,
+    block_number     bigint    not null,
+    block_hash       bytea     not null,
+    index            int       not null,
+    nonce            bigint    not null,
+    "from"           bytea     not null,
+    "to"             bytea     null,
+    value            numeric   not null,
+    gas_price        numeric   not null,
+    gas_limit        bigint    not null,
+    payload          bytea     null,
+    chain_id         numeric   null,
+    fee              numeric   not null,
+    rec_id           smallint  not null,
+    r                numeric   not null,
+    s                numeric   not null,
+    contract_address bytea     null,
+    timestamp        timestamp not null
+) partition by range (block_number);
+
+create table transaction_receipt
+(
+    transaction_hash    bytea     not null,
+    transaction_index   int       not null,
+    block_hash          bytea     not null,
+    block_number        bigint    not null,
+    "from"              bytea     not null,
+    "to"                bytea     null,
+    contract_address    bytea     null,
+    cumulative_gas_used bigint    not null,
+    gas_used            bigint    not null,
+    logs                text      not null,
+    state_root          bytea     null,
+    status              smallint  null,
+    bloom_filter        bytea     not null,
+    timestamp           timestamp not null,
+    revert_reason       bytea     null
+) partition by range (block_number);
+
+create table contract_event
+(
+    block_number     bigint              not null,
+    block_hash       bytea               not null,
+    transaction_hash bytea               not null,
+    contract_address bytea               not null,
+    type             contract_event_type not null,
+    owner_address    bytea               null,
+    spender_address  bytea               null,
+    operator_address bytea               null,
+    holder_address   bytea               null,
+    approved_address bytea               null,
+    from_address     bytea               null,
+    to_address       bytea               null,
+    value            numeric             null,
+    amount           numeric             null,
+    token_id         numeric             null,
+    id               numeric             null,
+    ids              numeric[]           null,
+    values           numeric[]           null,
+    approved         bool                null,
+    data             bytea               null,
+    operator_data    bytea               null,
+    value_str        varchar(2048)       null
+) partition by range (block_number);
+
+create table balance_delta
+(
+    id                bigint     not null default nextval('balance_delta_id_seq'),
+    delta_type        delta_type not null,
+    contract_address  bytea      null,
+    "from"            bytea      null,
+    "to"              bytea      not null,
+    amount            numeric    null,
+    token_id          numeric    null,
+    block_number      bigint     not null,
+    block_hash        bytea      not null,
+    transaction_hash  bytea      null,
+    transaction_index int        null,
+    block_timestamp   timestamp  not null
+) partition by range (block_number);
+
+create table account
+(
+    address      bytea   not null,
+    block_hash   bytea   not null,
+    block_number bigint  not null,
+    nonce        bigint  not null,
+    balance      numeric not null
+) partition by range (block_number);
+
+create table block_trace
+(
+    block_hash   bytea  not null,
+    trace        jsonb  not null,
+    block_number bigint not null
+) partition by range (block_number);
+
+select create_block_number_partitions(coalesce((select max(number) from block_header), 0));
+
+insert into transaction select * from transaction_unpartitioned;
+insert into transaction_receipt select * from transaction_receipt_unpartitioned;
+insert into contract_event select * from contract_event_unpartitioned;
+insert into balance_delta select * from balance_delta_unpartitioned;
+insert into account select * from account_unpartitioned;
+
+insert into block_trace (block_hash, trace, block_number)
+select bt.block_hash, bt.trace, bh.number
+from block_trace_unpartitioned bt
+         join block_header bh on bh.hash = bt.block_hash;
+
+drop table transaction_unpartitioned;
+drop table transaction_receipt_unpartitioned;
+drop table contract_event_unpartitioned;
+drop table balance_delta_unpartitioned;
+drop table account_unpartitioned;
+drop table block_trace_unpartitioned;
+
+alter sequence balance_delta_id_seq owned by balance_delta.id;
+
+-- keys and indexes are created after loading and cascade to every partition
+
+alter table transaction
+    add primary key (hash, block_number),
+    add constraint transaction_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+
+create index idx_transaction__block_hash on transaction (block_hash);
+create index idx_transaction__number_desc on transaction (block_number desc);
+create index idx_transaction__index_asc on transaction (index asc);
+
+alter table transaction_receipt
+    add primary key (transaction_hash, block_number),
+    add constraint transaction_receipt_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+
+create index idx_transaction_receipt__number_desc on transaction_receipt (block_number desc);
+create index idx_transaction_receipt__transaction_hash on transaction_receipt (transaction_hash);
+
+alter table contract_event
+    add constraint contract_event_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade,
+    add constraint contract_event_transaction_hash_fkey foreign key (transaction_hash, block_number) references transaction (hash, block_number) on update cascade on delete cascade;
+
+create index idx_contract_event__block_number_desc on contract_event (block_number desc);
+create index idx_contract_event__transaction_hash on contract_event (transaction_hash);
+create index idx_event_type on contract_event (type);
+
+alter table balance_delta
+    add primary key (id, block_number),
+    add constraint balance_delta_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade,
+    add constraint balance_delta_transaction_hash_fkey foreign key (transaction_hash, block_number) references transaction (hash, block_number) on update cascade on delete cascade;
+
+create index idx_balance_delta__block_number_desc on balance_delta (block_number desc);
+create index idx_balance_delta__transaction_hash on balance_delta (transaction_hash);
+
+alter table account
+    add primary key (address, block_hash, block_number),
+    add constraint account_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+
+create index idx_account__address on account (address);
+create index idx_account__block_hash on account (block_hash);
+create index idx_account__block_number on account (block_number);
+
+alter table block_trace
+    add constraint block_trace_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade;
+
+alter table contract_created
+    add constraint contract_created_transaction_hash_fkey foreign key (transaction_hash, block_number) references transaction (hash, block_number) on update cascade on delete cascade;
+
+alter table contract_destroyed
+    add constraint contract_destroyed_transaction_hash_fkey foreign key (transaction_hash, block_number) references transaction (hash, block_number) on update cascade on delete cascade;
+
+create view reward AS
+SELECT id,
+       delta_type,
+       "to",
+       amount,
+       block_number,
+       block_hash,
+       block_timestamp
+FROM balance_delta
+WHERE delta_type IN ('BLOCK_REWARD', 'OMMER_REWARD');
+
+create view internal_transaction AS
+SELECT id,
+       delta_type,
+       "from",
+       "to",
+       amount,
+       block_number,
+       block_hash,
+       block_timestamp,
+       transaction_hash,
+       transaction_index
+FROM balance_delta
+WHERE delta_type IN ('INTERNAL_TX', 'CONTRACT_CREATION', 'CONTRACT_DESTRUCTION');
+
+create view fungible_token_transfer AS
+SELECT id,
+       contract_address,
+       "from",
+       "to",
+       amount,
+       block_number,
+       block_hash,
+       block_timestamp,
+       transaction_hash,
+       transaction_index
+FROM balance_delta
+WHERE delta_type = 'TOKEN_TRANSFER'
+  AND amount IS NOT NULL;
+
+create view non_fungible_token_transfer AS
+SELECT id,
+       contract_address,
+       "from",
+       "to",
+       token_id,
+       block_number,
+       block_hash,
+       block_timestamp,
+       transaction_hash,
+       transaction_index
+FROM balance_delta
+WHERE delta_type = 'TOKEN_TRANSFER'
+  AND token_id IS NOT NULL;
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Supports bulk backfills. Secondary indexes and foreign keys on the per block tables can be dropped whilst loading,
+-- with their definitions kept here until they are rebuilt concurrently once the import is close to the head.
+
+create table deferred_ddl
+(
+    name       text    not null primary key,
+    table_name text    not null,
+    is_index   boolean not null,
+    -- constraint definition, or for indexes everything from the access method onwards
+    definition text    not null
+);
+
+-- drops the secondary indexes and foreign keys of the per block tables, recording their definitions in deferred_ddl,
+-- and returns how many were dropped. The block number index on block_header is kept as the import itself relies on it
+
+create function defer_secondary_indexes() returns int as
+$$
+declare
+    data_tables constant text[] := array ['block_header', 'ommer', 'transaction', 'transaction_receipt',
+        'contract_event', 'contract_created', 'contract_destroyed', 'balance_delta', 'account', 'block_trace'];
+    retained    constant text[] := array ['idx_block_header__number_desc'];
+    entry       record;
+    deferred    int             := 0;
+begin
+    for entry in
+        select c.conname as name, t.relname as table_name, pg_get_constraintdef(c.oid) as definition
+        from pg_constraint c
+                 join pg_class t on t.oid = c.conrelid
+        where c.contype = 'f'
+          and c.conparentid = 0
+          and t.relname = any (data_tables)
+          and pg_table_is_visible(t.oid)
+        loop
+            insert into deferred_ddl (name, table_name, is_index, definition)
+            values (entry.name, entry.table_name, false, entry.definition);
+            execute format('alter table %I drop constraint %I', entry.table_name, entry.name);
+            deferred := deferred + 1;
+        end loop;
+
+    for entry in
+        select i.relname as name, t.relname as table_name, substring(pg_get_indexdef(i.oid) from ' USING .*$') as definition
+        from pg_index x
+                 join pg_class i on i.oid = x.indexrelid
+                 join pg_class t on t.oid = x.indrelid
+        where not x.indisprimary
+          and not x.indisunique
+          and t.relname = any (data_tables)
+          and i.relname <> all (retained)
+          and pg_table_is_visible(t.oid)
+        loop
+            insert into deferred_ddl (name, table_name, is_index, definition)
+            values (entry.name, entry.table_name, true, entry.definition);
+            execute format('drop index %I', entry.name);
+            deferred := deferred + 1;
+        end loop;
+
+    return deferred;
+end;
+$$ language plpgsql;
+
+-- returns the statements which rebuild the deferred indexes and foreign keys, indexes first. None of them can be run
+-- within a transaction block. Partitioned indexes are created on the parent only and then built concurrently per
+-- partition and attached. Foreign keys are added as not valid and then validated, except on partitioned tables which
+-- do not support it. Statements for partially rebuilt entries are safe to run again.
+
+create function deferred_ddl_statements()
+    returns table
+            (
+                ddl_name      text,
+                ddl_statement text
+            )
+as
+$$
+declare
+    entry       record;
+    part        record;
+    child       text;
+    partitioned boolean;
+begin
+    for entry in select d.* from deferred_ddl d order by d.is_index desc, d.name
+        loop
+            ddl_name := entry.name;
+            partitioned := exists(select from pg_partitioned_table p where p.partrelid = entry.table_name::regclass);
+
+            if entry.is_index and partitioned then
+
+                ddl_statement := format('create index if not exists %I on only %I %s',
+                                        entry.name, entry.table_name, entry.definition);
+                return next;
+
+                for part in
+                    select c.relname
+                    from pg_inherits i
+                             join pg_class c on c.oid = i.inhrelid
+                    where i.inhparent = entry.table_name::regclass
+                    order by c.relname
+                    loop
+                        child := entry.name || substring(part.relname from '_p[0-9]+$');
+
+                        -- an interrupted concurrent build leaves an invalid index behind
+                        if exists(select from pg_index x join pg_class i on i.oid = x.indexrelid
+                                  where i.relname = child and not x.indisvalid) then
+                            ddl_statement := format('drop index concurrently %I', child);
+                            return next;
+                        end if;
+
+                        ddl_statement := format('create index concurrently if not exists %I on %I %s',
+                                                child, part.relname, entry.definition);
+                        return next;
+                        ddl_statement := format('alter index %I attach partition %I', entry.name, child);
+                        return next;
+                    end loop;
+
+            elsif entry.is_index then
+
+                if exists(select from pg_index x join pg_class i on i.oid = x.indexrelid
+                          where i.relname = entry.name and not x.indisvalid) then
+                    ddl_statement := format('drop index concurrently %I', entry.name);
+                    return next;
+                end if;
+
+                ddl_statement := format('create index concurrently if not exists %I on %I %s',
+                                        entry.name, entry.table_name, entry.definition);
+                return next;
+
+            else
+
+                if not exists(select from pg_constraint c
+                              where c.conname = entry.name and c.conrelid = entry.table_name::regclass) then
+                    ddl_statement := format('alter table %I add constraint %I %s%s', entry.table_name, entry.name,
+                                            entry.definition, case when partitioned then '' else ' not valid' end);
+                    return next;
+                end if;
+
+                if not partitioned then
+                    ddl_statement := format('alter table %I validate constraint %I', entry.table_name, entry.name);
+                    return next;
+                end if;
+
+            end if;
+        end loop;
+end;
+$$ language plpgsql;
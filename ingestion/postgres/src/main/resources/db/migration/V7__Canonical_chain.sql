@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Maps each block number to the hash of its canonical block. Rows are only replaced when a reorg is detected, sparing
+-- the import an update of block_header per batch and giving readers a cheap way of filtering canonical data.
+
+create table canonical_chain
+(
+    number bigint not null primary key,
+    hash   bytea  not null
+);
+
+insert into canonical_chain (number, hash)
+select number, hash
+from block_header
+where is_canonical
+on conflict do nothing;
+
+-- canonical rows of the per block tables, resolved through a primary key lookup on canonical_chain rather than a
+-- join against block_header
+
+create view canonical_block_header AS
+SELECT bh.*
+FROM block_header bh
+         JOIN canonical_chain cc ON cc.number = bh.number AND cc.hash = bh.hash;
+
+create view canonical_transaction AS
+SELECT t.*
+FROM transaction t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_transaction_receipt AS
+SELECT t.*
+FROM transaction_receipt t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_contract_event AS
+SELECT t.*
+FROM contract_event t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_contract_created AS
+SELECT t.*
+FROM contract_created t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_contract_destroyed AS
+SELECT t.*
+FROM contract_destroyed t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_balance_delta AS
+SELECT t.*
+FROM balance_delta t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_account AS
+SELECT t.*
+FROM account t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
+
+create view canonical_block_trace AS
+SELECT t.*
+FROM block_trace t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
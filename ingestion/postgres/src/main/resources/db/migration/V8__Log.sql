@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- Stores receipt logs one row per log with their emitter and topics in binary form, so that events can be looked up by
+-- signature or contract through an index rather than by parsing the json kept in transaction_receipt.logs. That column
+-- is retained for previously imported receipts but is no longer populated.
+
+create table log
+(
+    block_number      bigint not null,
+    block_hash        bytea  not null,
+    transaction_hash  bytea  not null,
+    transaction_index int    not null,
+    -- position of the log within the block
+    log_index         int    not null,
+    address           bytea  not null,
+    topic0            bytea  null,
+    topic1            bytea  null,
+    topic2            bytea  null,
+    topic3            bytea  null,
+    data              bytea  not null
+) partition by range (block_number);
+
+alter table transaction_receipt
+    alter column logs drop not null;
+
+-- partitions for log are created alongside those of the other per block tables
+
+create or replace function create_block_number_partitions(up_to bigint) returns bigint as
+$$
+declare
+    partition_size constant bigint := 1000000;
+    parent         text;
+    partition_name text;
+    range_start    bigint;
+    last_start     bigint := ((up_to / partition_size) + 1) * partition_size;
+begin
+    foreach parent in array array ['transaction', 'transaction_receipt', 'contract_event', 'balance_delta', 'account', 'block_trace', 'log']
+        loop
+            range_start := 0;
+            while range_start <= last_start
+                loop
+                    partition_name := parent || '_p' || (range_start / partition_size);
+                    if to_regclass(partition_name) is null then
+                        execute format('create table %I partition of %I for values from (%s) to (%s)',
+                                       partition_name, parent, range_start, range_start + partition_size);
+                    end if;
+                    range_start := range_start + partition_size;
+                end loop;
+        end loop;
+    return last_start;
+end;
+$$ language plpgsql;
+
+select create_block_number_partitions(coalesce((select max(number) from block_header), 0));
+
+alter table log
+    add primary key (block_hash, log_index, block_number),
+    add constraint log_block_hash_fkey foreign key (block_hash) references block_header (hash) on update cascade on delete cascade,
+    add constraint log_transaction_hash_fkey foreign key (transaction_hash, block_number) references transaction (hash, block_number) on update cascade on delete cascade;
+
+create index idx_log__address on log (address, block_number desc);
+create index idx_log__topic0 on log (topic0, block_number desc);
+create index idx_log__transaction_hash on log (transaction_hash);
+
+-- log indexes and foreign keys are deferred during a backfill along with those of the other per block tables
+
+create or replace function defer_secondary_indexes() returns int as
+$$
+declare
+    data_tables constant text[] := array ['block_header', 'ommer', 'transaction', 'transaction_receipt',
+        'contract_event', 'contract_created', 'contract_destroyed', 'balance_delta', 'account', 'block_trace', 'log'];
+    retained    constant text[] := array ['idx_block_header__number_desc'];
+    entry       record;
+    deferred    int             := 0;
+begin
+    for entry in
+        select c.conname as name, t.relname as table_name, pg_get_constraintdef(c.oid) as definition
+        from pg_constraint c
+                 join pg_class t on t.oid = c.conrelid
+        where c.contype = 'f'
+          and c.conparentid = 0
+          and t.relname = any (data_tables)
+          and pg_table_is_visible(t.oid)
+        loop
+            insert into deferred_ddl (name, table_name, is_index, definition)
+            values (entry.name, entry.table_name, false, entry.definition);
+            execute format('alter table %I drop constraint %I', entry.table_name, entry.name);
+            deferred := deferred + 1;
+        end loop;
+
+    for entry in
+        select i.relname as name, t.relname as table_name, substring(pg_get_indexdef(i.oid) from ' USING .*$') as definition
+        from pg_index x
+                 join pg_class i on i.oid = x.indexrelid
+                 join pg_class t on t.oid = x.indrelid
+        where not x.indisprimary
+          and not x.indisunique
+          and t.relname = any (data_tables)
+          and i.relname <> all (retained)
+          and pg_table_is_visible(t.oid)
+        loop
+            insert into deferred_ddl (name, table_name, is_index, definition)
+            values (entry.name, entry.table_name, true, entry.definition);
+            execute format('drop index %I', entry.name);
+            deferred := deferred + 1;
+        end loop;
+
+    return deferred;
+end;
+$$ language plpgsql;
+
+create view canonical_log AS
+SELECT t.*
+FROM log t
+         JOIN canonical_chain cc ON cc.number = t.block_number AND cc.hash = t.block_hash;
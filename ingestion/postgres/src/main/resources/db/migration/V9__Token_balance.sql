@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+-- Current token balances per holder, maintained by the import from the erc20, erc721 and erc1155 transfer events of
+-- canonical blocks. Fungible balances are held under token id 0. The erc777 sent, minted and burned events are not
+-- counted as erc20 compatible tokens emit a transfer event alongside them.
+
+create table token_balance
+(
+    contract   bytea   not null,
+    holder     bytea   not null,
+    token_id   numeric not null,
+    balance    numeric not null,
+    -- latest block number which changed the balance
+    last_block bigint  not null,
+    primary key (holder, contract, token_id)
+);
+
+create index idx_token_balance__contract on token_balance (contract);
+
+-- blocks whose transfers have been applied to token_balance, so that they are applied once and reverted on a reorg
+
+create table token_balance_block
+(
+    block_hash   bytea  not null primary key,
+    block_number bigint not null
+);
+
+-- seed from the transfers of the canonical blocks imported so far
+
+insert into token_balance_block (block_hash, block_number)
+select distinct e.block_hash, e.block_number
+from contract_event e
+         join canonical_chain cc on cc.number = e.block_number and cc.hash = e.block_hash;
+
+insert into token_balance (contract, holder, token_id, balance, last_block)
+select e.contract_address, h.holder, t.token_id, sum(h.amount), max(e.block_number)
+from contract_event e
+         join canonical_chain cc on cc.number = e.block_number and cc.hash = e.block_hash
+         cross join lateral (
+    select coalesce(e.token_id, e.id, 0), coalesce(e.value, 1)
+    where e.type <> 'transfer_batch'
+    union all
+    select b.id, b.value
+    from unnest(e.ids, e."values") b (id, value)
+    where e.type = 'transfer_batch'
+    ) t (token_id, amount)
+         cross join lateral (values (e.from_address, -t.amount), (e.to_address, t.amount)) h (holder, amount)
+where e.type in ('fungible_transfer', 'non_fungible_transfer', 'transfer_single', 'transfer_batch')
+  and h.holder <> '\x0000000000000000000000000000000000000000'::bytea
+group by e.contract_address, h.holder, t.token_id;
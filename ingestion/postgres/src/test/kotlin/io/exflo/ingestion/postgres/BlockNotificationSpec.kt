@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres
+
+import io.exflo.ingestion.postgres.extensions.notifyBlocks
+import io.exflo.ingestion.postgres.extensions.notifyCompleted
+import io.exflo.ingestion.postgres.extensions.notifyReorged
+import io.exflo.ingestion.postgres.extensions.updateCanonicalChain
+import io.exflo.postgres.jooq.tables.records.CanonicalChainRecord
+import io.kotlintest.TestCase
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import org.hyperledger.besu.ethereum.core.Hash
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+
+class BlockNotificationSpec : FunSpec() {
+
+  private val dataSource = PostgresTestDatabase.dataSource
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private fun transaction(block: (DSLContext) -> Unit) =
+    dbContext.transaction { txConfig -> block(DSL.using(txConfig)) }
+
+  private fun entry(number: Long, fork: Int = 0) =
+    CanonicalChainRecord().apply { this.number = number; setHash(*TestBlocks.hash(number, fork).toArrayUnsafe()) }
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+  }
+
+  init {
+
+    test("the payload should be a flat json object") {
+
+      val hash = TestBlocks.hash(12L)
+
+      BlockNotification(12L, hash, 3, true).toPayload() shouldBe
+        """{"number":12,"hash":"${hash.toHexString()}","stage":3,"canonical":true}"""
+    }
+
+    test("a payload should be read back into the notification it was written from") {
+
+      listOf(
+        BlockNotification(0L, Hash.ZERO, 0, false),
+        BlockNotification(Long.MAX_VALUE, TestBlocks.hash(7L, fork = 2), 3, true)
+      ).forEach { notification ->
+        BlockNotification.fromPayload(notification.toPayload()) shouldBe notification
+      }
+    }
+
+    test("fields added to the payload later should be ignored") {
+
+      val hash = TestBlocks.hash(1L)
+
+      BlockNotification.fromPayload(
+        """{"number":1,"hash":"${hash.toHexString()}","stage":2,"canonical":false,"timestamp":15000}"""
+      ) shouldBe BlockNotification(1L, hash, 2, false)
+    }
+
+    test("notifications should be delivered in order once the transaction commits") {
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        val notifications = (0L..99L).map { BlockNotification(it, TestBlocks.hash(it), 3, true) }
+
+        transaction { txCtx ->
+          txCtx.notifyBlocks(notifications)
+          // held back by postgres until the commit
+          Thread.sleep(200)
+          recorder.notifications shouldBe emptyList<BlockNotification>()
+        }
+
+        recorder.await(100) shouldBe notifications
+      }
+    }
+
+    test("notifications should be dropped when the transaction rolls back") {
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        shouldThrow<IllegalStateException> {
+          transaction { txCtx ->
+            txCtx.notifyBlocks(listOf(BlockNotification(1L, TestBlocks.hash(1L), 3, true)))
+            error("rolled back")
+          }
+        }
+
+        val committed = BlockNotification(2L, TestBlocks.hash(2L), 3, true)
+        transaction { txCtx -> txCtx.notifyBlocks(listOf(committed)) }
+
+        recorder.await(1) shouldBe listOf(committed)
+      }
+    }
+
+    test("completed blocks should be flagged as canonical only while on the canonical chain") {
+
+      val headers = (0L..1L).map { TestBlocks.header(it) }
+      val forked = TestBlocks.header(1L, fork = 1)
+
+      TestBlocks.insert(dbContext, headers, canonical = true)
+      TestBlocks.insert(dbContext, listOf(forked))
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        transaction { txCtx -> txCtx.notifyCompleted(headers + forked, 3) }
+
+        recorder.await(3) shouldBe listOf(
+          BlockNotification(0L, TestBlocks.hash(0L), 3, true),
+          BlockNotification(1L, TestBlocks.hash(1L), 3, true),
+          BlockNotification(1L, TestBlocks.hash(1L, fork = 1), 3, false)
+        )
+      }
+    }
+
+    test("reorged blocks should be notified with the stage their import had reached") {
+
+      TestBlocks.insert(dbContext, listOf(TestBlocks.header(0L)), stage = 2)
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        transaction { txCtx ->
+          // block 1 has no import queue entry
+          txCtx.notifyReorged(listOf(entry(0L), entry(1L)))
+          txCtx.notifyReorged(listOf(entry(2L)), stage = 3)
+          txCtx.notifyReorged(emptyList())
+        }
+
+        recorder.await(3) shouldBe listOf(
+          BlockNotification(0L, TestBlocks.hash(0L), 2, false),
+          BlockNotification(1L, TestBlocks.hash(1L), 0, false),
+          BlockNotification(2L, TestBlocks.hash(2L), 3, false)
+        )
+      }
+    }
+
+    test("only blocks replaced on the canonical chain should be notified as reorged") {
+
+      val headers = (0L..2L).map { TestBlocks.header(it) }
+      val forked = TestBlocks.header(2L, fork = 1)
+
+      TestBlocks.insert(dbContext, headers, stage = 3, canonical = true)
+      TestBlocks.insert(dbContext, listOf(forked))
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        // block 1 is pointed at the same hash again
+        transaction { txCtx -> txCtx.updateCanonicalChain(listOf(headers[1], forked)) }
+
+        recorder.await(1) shouldBe listOf(BlockNotification(2L, TestBlocks.hash(2L), 3, false))
+
+        Thread.sleep(200)
+        recorder.notifications.size shouldBe 1
+      }
+    }
+  }
+}
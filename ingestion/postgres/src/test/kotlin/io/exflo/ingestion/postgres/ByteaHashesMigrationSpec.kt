@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres
+
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.apache.tuweni.bytes.Bytes
+import org.flywaydb.core.Flyway
+import org.flywaydb.core.api.MigrationVersion
+import org.flywaydb.core.api.configuration.FluentConfiguration
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import java.sql.Timestamp
+import javax.sql.DataSource
+
+/**
+ * Migrates a database holding rows written by the V3 schema, where hashes, addresses and blooms were 0x prefixed hex
+ * strings, and checks they are decoded in place into the same bytes by V4.
+ */
+class ByteaHashesMigrationSpec : FunSpec() {
+
+  private fun migrate(dataSource: DataSource, target: String) =
+    FluentConfiguration(javaClass.classLoader)
+      .dataSource(dataSource)
+      .locations("classpath:/db/migration")
+      .target(MigrationVersion.fromVersion(target))
+      .let { Flyway(it).migrate() }
+
+  private fun hex(size: Int, seed: Int): String = Bytes.wrap(ByteArray(size) { (seed + it).toByte() }).toHexString()
+
+  private fun DSLContext.bytes(sql: String): List<String?> =
+    resultQuery(sql)
+      .fetch()
+      .map { record -> (0 until record.size()).map { idx -> record.get(idx, ByteArray::class.java) } }
+      .flatten()
+      .map { bytes -> bytes?.let { Bytes.wrap(it).toHexString() } }
+
+  init {
+
+    test("hashes, addresses and blooms written as hex by V3 should round trip through V4 as bytea") {
+
+      val blockHash = hex(32, 1)
+      val parentHash = hex(32, 2)
+      val root = hex(32, 3)
+      val coinbase = hex(20, 4)
+      val bloom = hex(256, 5)
+      val transactionHash = hex(32, 6)
+      val creationHash = hex(32, 7)
+      val sender = hex(20, 8)
+      val recipient = hex(20, 9)
+      val contract = hex(20, 10)
+
+      val timestamp = Timestamp.valueOf("2020-06-01 00:00:00")
+
+      PostgresTestDatabase.emptyDatabase("exflo_v3").use { dataSource ->
+
+        migrate(dataSource, "3")
+
+        val dbContext = DSL.using(dataSource, SQLDialect.POSTGRES)
+
+        dbContext.transaction { txConfig ->
+
+          val txCtx = DSL.using(txConfig)
+
+          txCtx.execute(
+            "insert into import_queue (number, hash, stage, timestamp) values (1, ?, 3, ?)",
+            blockHash, timestamp
+          )
+
+          txCtx.execute(
+            "insert into block_header (hash, number, parent_hash, nonce, is_canonical, state_root, receipts_root, " +
+              "transactions_root, coinbase, difficulty, total_difficulty, gas_limit, gas_used, timestamp, mix_hash, " +
+              "ommers_hash, logs_bloom) values (?, 1, ?, 0, true, ?, ?, ?, ?, 1, 2, 8000000, 42000, ?, ?, ?, ?)",
+            blockHash, parentHash, root, root, root, coinbase, timestamp, root, root, bloom
+          )
+
+          listOf(
+            Triple(transactionHash, recipient, null),
+            Triple(creationHash, null, contract)
+          ).forEachIndexed { idx, (hash, recipientAddress, createdAddress) ->
+
+            // typed so that the nulls bind as text
+            val to = DSL.`val`(recipientAddress, String::class.java)
+            val contractAddress = DSL.`val`(createdAddress, String::class.java)
+
+            txCtx.execute(
+              "insert into transaction (hash, block_number, block_hash, index, nonce, \"from\", \"to\", value, " +
+                "gas_price, gas_limit, fee, rec_id, r, s, contract_address, timestamp) " +
+                "values (?, 1, ?, ?, ?, ?, ?, 0, 1, 21000, 21000, 0, 1, 1, ?, ?)",
+              hash, blockHash, idx, idx.toLong(), sender, to, contractAddress, timestamp
+            )
+
+            txCtx.execute(
+              "insert into transaction_receipt (transaction_hash, transaction_index, block_hash, block_number, " +
+                "\"from\", \"to\", contract_address, cumulative_gas_used, gas_used, logs, bloom_filter, timestamp) " +
+                "values (?, ?, ?, 1, ?, ?, ?, 21000, 21000, '[]', ?, ?)",
+              hash, idx, blockHash, sender, to, contractAddress, bloom, timestamp
+            )
+          }
+
+          txCtx.execute("insert into chain_tracker_block_hash (network_id, number, hash) values (1, 1, ?)", blockHash)
+        }
+
+        migrate(dataSource, "4")
+
+        dbContext.bytes("select hash from import_queue") shouldBe listOf(blockHash)
+
+        dbContext.bytes(
+          "select hash, parent_hash, state_root, receipts_root, transactions_root, coinbase, mix_hash, ommers_hash, " +
+            "logs_bloom from block_header"
+        ) shouldBe listOf(blockHash, parentHash, root, root, root, coinbase, root, root, bloom)
+
+        dbContext.bytes(
+          "select hash, block_hash, \"from\", \"to\", contract_address from transaction order by index"
+        ) shouldBe listOf(
+          transactionHash, blockHash, sender, recipient, null,
+          creationHash, blockHash, sender, null, contract
+        )
+
+        dbContext.bytes(
+          "select transaction_hash, block_hash, \"from\", \"to\", contract_address, bloom_filter " +
+            "from transaction_receipt order by transaction_index"
+        ) shouldBe listOf(
+          transactionHash, blockHash, sender, recipient, null, bloom,
+          creationHash, blockHash, sender, null, contract, bloom
+        )
+
+        dbContext.bytes("select hash from chain_tracker_block_hash") shouldBe listOf(blockHash)
+
+        // no hex encoded columns are left behind
+        dbContext
+          .resultQuery(
+            "select table_name, column_name from information_schema.columns " +
+              "where table_schema = 'public' and data_type = 'character'"
+          )
+          .fetch()
+          .size shouldBe 0
+
+        // the foreign keys re-created over the converted columns still cascade
+        dbContext.transaction { txConfig ->
+          DSL.using(txConfig).execute("delete from block_header where hash = decode(?, 'hex')", blockHash.substring(2))
+        }
+
+        dbContext.fetchCount(DSL.table("transaction")) shouldBe 0
+        dbContext.fetchCount(DSL.table("transaction_receipt")) shouldBe 0
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres
+
+import io.exflo.ingestion.postgres.extensions.notifyBlocks
+import org.hyperledger.besu.ethereum.core.Hash
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import javax.sql.DataSource
+
+/**
+ * Records the block notifications received on a dedicated connection, only returning once it is listening.
+ */
+class NotificationRecorder(dataSource: DataSource) : AutoCloseable {
+
+  // sent until received to establish that the listening connection is ready, ignored afterwards
+  private val probe = BlockNotification(-1L, Hash.ZERO, 0, false)
+
+  private val received = CopyOnWriteArrayList<BlockNotification>()
+
+  private val subscription = BlockNotification
+    .listen(dataSource, Duration.ofMillis(50))
+    .subscribe { received.add(it) }
+
+  init {
+
+    val dbContext = DSL.using(dataSource, SQLDialect.POSTGRES)
+    val deadline = System.currentTimeMillis() + 10_000
+
+    while (!received.contains(probe)) {
+      check(System.currentTimeMillis() < deadline) { "Not listening for block notifications" }
+      dbContext.transaction { txConfig -> DSL.using(txConfig).notifyBlocks(listOf(probe)) }
+      Thread.sleep(50)
+    }
+  }
+
+  val notifications: List<BlockNotification>
+    get() = received.filter { it != probe }
+
+  /**
+   * Waits up to [timeout] for at least [count] notifications to have been received, returning all received so far.
+   */
+  fun await(count: Int, timeout: Duration = Duration.ofSeconds(10)): List<BlockNotification> {
+    val deadline = System.currentTimeMillis() + timeout.toMillis()
+    while (notifications.size < count && System.currentTimeMillis() < deadline) Thread.sleep(50)
+    return notifications
+  }
+
+  override fun close() = subscription.dispose()
+}
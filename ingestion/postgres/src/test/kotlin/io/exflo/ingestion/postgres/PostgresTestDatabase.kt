@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres
+
+import com.zaxxer.hikari.HikariConfig
+import com.zaxxer.hikari.HikariDataSource
+import io.exflo.ingestion.postgres.extensions.createBlockNumberPartitions
+import org.flywaydb.core.Flyway
+import org.flywaydb.core.api.configuration.FluentConfiguration
+import org.jooq.DSLContext
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+import org.postgresql.Driver
+import org.testcontainers.containers.PostgreSQLContainer
+import javax.sql.DataSource
+
+/**
+ * A migrated postgres database shared by all specs in this module, started once in a container on first use. Block
+ * number partitions are created for the lowest block numbers.
+ */
+object PostgresTestDatabase {
+
+  private class Container(image: String) : PostgreSQLContainer<Container>(image)
+
+  private val container: Container by lazy {
+    Container("postgres:12")
+      .withDatabaseName("exflo_test")
+      .apply { start() }
+  }
+
+  private fun hikariDataSource(jdbcUrl: String, maximumPoolSize: Int): HikariDataSource {
+
+    val dataSourceConfig = HikariConfig()
+      .apply {
+        driverClassName = Driver::class.java.name
+        this.jdbcUrl = jdbcUrl
+        username = container.username
+        password = container.password
+        isAutoCommit = false
+        this.maximumPoolSize = maximumPoolSize
+      }
+
+    return HikariDataSource(dataSourceConfig)
+  }
+
+  val dataSource: DataSource by lazy {
+
+    hikariDataSource(container.jdbcUrl, 10)
+      .also { dataSource ->
+        val config = FluentConfiguration(PostgresTestDatabase::class.java.classLoader)
+          .dataSource(dataSource)
+          .locations("classpath:/db/migration")
+
+        Flyway(config).migrate()
+
+        DSL.using(dataSource, SQLDialect.POSTGRES)
+          .transaction { txConfig -> DSL.using(txConfig).createBlockNumberPartitions(0L) }
+      }
+  }
+
+  val dbContext: DSLContext by lazy { DSL.using(dataSource, SQLDialect.POSTGRES) }
+
+  /**
+   * Creates a new empty database named [name] in the same container, replacing any previous one, for specs which need
+   * to migrate a schema of their own. The returned data source should be closed once done with.
+   */
+  fun emptyDatabase(name: String): HikariDataSource {
+
+    dataSource.connection.use { connection ->
+      connection.autoCommit = true
+      connection.createStatement().use { statement ->
+        statement.execute("drop database if exists $name")
+        statement.execute("create database $name")
+      }
+    }
+
+    val jdbcUrl = "jdbc:postgresql://${container.containerIpAddress}:" +
+      "${container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT)}/$name"
+
+    return hikariDataSource(jdbcUrl, 2)
+  }
+
+  /**
+   * Removes all rows written by a previous test, leaving the schema, migration history and deferred ddl in place.
+   */
+  fun truncate() {
+    dbContext.transaction { txConfig ->
+
+      val txCtx = DSL.using(txConfig)
+
+      val tables = txCtx
+        .resultQuery(
+          "select tablename from pg_tables where schemaname = 'public' " +
+            "and tablename not in ('flyway_schema_history', 'deferred_ddl')"
+        )
+        .fetch()
+        .map { record -> "\"${record.get(0, String::class.java)}\"" }
+
+      if (tables.isNotEmpty()) txCtx.execute("truncate table ${tables.joinToString()} cascade")
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres
+
+import io.exflo.domain.FullBlock
+import io.exflo.ingestion.postgres.extensions.copyInsert
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.CanonicalChainRecord
+import io.exflo.postgres.jooq.tables.records.ImportQueueRecord
+import io.mockk.every
+import io.mockk.mockk
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.apache.tuweni.units.bigints.UInt256
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.core.BlockHeader
+import org.hyperledger.besu.ethereum.core.Hash
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.sql.Timestamp
+
+/**
+ * Synthetic blocks for specs which only need headers to be present, with [fork] distinguishing competing chains.
+ */
+object TestBlocks {
+
+  fun hash(number: Long, fork: Int = 0): Hash =
+    Hash.wrap(Bytes32.leftPad(Bytes.concatenate(Bytes.ofUnsignedInt(fork.toLong()), Bytes.ofUnsignedLong(number + 1))))
+
+  fun header(number: Long, fork: Int = 0): BlockHeaderRecord =
+    BlockHeaderRecord()
+      .apply {
+        this.number = number
+        setHash(*hash(number, fork).toArrayUnsafe())
+        setParentHash(*hash(number - 1, fork).toArrayUnsafe())
+        isCanonical = true
+        setStateRoot(*ByteArray(32))
+        setReceiptsRoot(*ByteArray(32))
+        setTransactionsRoot(*ByteArray(32))
+        setCoinbase(*ByteArray(20))
+        difficulty = BigDecimal.ONE
+        totalDifficulty = BigDecimal.valueOf(number + 1)
+        gasLimit = 8_000_000L
+        gasUsed = 0L
+        timestamp = Timestamp(number * 15_000L)
+        setMixHash(*ByteArray(32))
+        setOmmersHash(*ByteArray(32))
+        setLogsBloom(*ByteArray(256))
+      }
+
+  /**
+   * A block as read by [io.exflo.ingestion.tracker.BlockReader] with only its header and total difficulty.
+   */
+  fun fullBlock(number: Long, fork: Int = 0): FullBlock {
+
+    val header = mockk<BlockHeader> {
+      every { this@mockk.number } returns number
+      every { hash } returns hash(number, fork)
+      every { parentHash } returns hash(number - 1, fork)
+      every { nonce } returns 0L
+      every { stateRoot } returns Hash.EMPTY_TRIE_HASH
+      every { receiptsRoot } returns Hash.EMPTY_TRIE_HASH
+      every { transactionsRoot } returns Hash.EMPTY_TRIE_HASH
+      every { coinbase } returns Address.ZERO
+      every { difficulty.toBigInteger() } returns BigInteger.ONE
+      every { extraData } returns Bytes.EMPTY
+      every { gasLimit } returns 8_000_000L
+      every { gasUsed } returns 0L
+      every { timestamp } returns number * 15L
+      every { mixHash } returns Hash.ZERO
+      every { ommersHash } returns Hash.EMPTY_LIST_HASH
+      every { logsBloom.toArrayUnsafe() } returns ByteArray(256)
+    }
+
+    return FullBlock(header, null, emptyList(), UInt256.valueOf(number + 1), null, null, null)
+  }
+
+  /**
+   * Writes [headers] along with their import queue entries at [stage], as the header stage would, optionally pointing
+   * the canonical chain at them.
+   */
+  fun insert(dbContext: DSLContext, headers: List<BlockHeaderRecord>, stage: Int = 0, canonical: Boolean = false) =
+    dbContext.transaction { txConfig ->
+
+      val txCtx = DSL.using(txConfig)
+
+      txCtx.copyInsert(
+        headers.map { header ->
+          ImportQueueRecord()
+            .apply {
+              setHash(*header.hash)
+              number = header.number
+              this.stage = stage.toShort()
+              timestamp = Timestamp(System.currentTimeMillis())
+            }
+        }
+      )
+
+      txCtx.copyInsert(headers)
+
+      if (canonical) {
+        txCtx.copyInsert(
+          headers.map { header -> CanonicalChainRecord().apply { number = header.number; setHash(*header.hash) } }
+        )
+      }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.copy
+
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.postgres.jooq.Tables.CHAIN_TRACKER
+import io.exflo.postgres.jooq.Tables.CONTRACT_CREATED
+import io.exflo.postgres.jooq.Tables.CONTRACT_EVENT
+import io.exflo.postgres.jooq.Tables.IMPORT_QUEUE
+import io.exflo.postgres.jooq.enums.ContractCapability
+import io.exflo.postgres.jooq.enums.ContractEventType
+import io.exflo.postgres.jooq.tables.records.ChainTrackerRecord
+import io.exflo.postgres.jooq.tables.records.ContractCreatedRecord
+import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.exflo.postgres.jooq.tables.records.ImportQueueRecord
+import io.kotlintest.TestCase
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import io.mockk.mockk
+import org.jooq.DSLContext
+import org.jooq.DataType
+import org.jooq.TableRecord
+import org.jooq.impl.DSL
+import org.jooq.impl.SQLDataType
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.sql.Timestamp
+import java.util.UUID
+
+class BinaryCopyWriterSpec : FunSpec() {
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private fun bytes(write: DataOutputStream.() -> Unit): ByteArray =
+    ByteArrayOutputStream().also { DataOutputStream(it).write() }.toByteArray()
+
+  private fun encoded(dataType: DataType<*>, value: Any): ByteArray =
+    bytes { BinaryCopyWriter.encoder(mockk<DSLContext>(), dataType)(this, value) }
+
+  private fun encoded(value: BigDecimal): ByteArray = encoded(SQLDataType.NUMERIC, value)
+
+  private fun encoded(values: Array<BigDecimal?>): ByteArray = encoded(SQLDataType.NUMERIC.arrayDataType, values)
+
+  // header of ndigits, weight, sign and dscale followed by the base 10000 digits, as sent by numeric_send
+
+  private fun numeric(weight: Int, sign: Int, scale: Int, vararg digits: Int): ByteArray = bytes {
+    writeShort(digits.size)
+    writeShort(weight)
+    writeShort(sign)
+    writeShort(scale)
+    digits.forEach { writeShort(it) }
+  }
+
+  private fun DataOutputStream.writeElement(value: ByteArray) {
+    writeInt(value.size)
+    write(value)
+  }
+
+  private fun copy(records: List<TableRecord<*>>): Int =
+    dbContext.transactionResult { txConfig ->
+      val txCtx = DSL.using(txConfig)
+      // skip foreign key checks, the rows written here do not reference any stored blocks or transactions
+      txCtx.execute("set local session_replication_role = replica")
+      BinaryCopyWriter.write(txCtx, records)
+    }
+
+  override fun beforeTest(testCase: TestCase) = PostgresTestDatabase.truncate()
+
+  init {
+
+    test("numerics should be encoded as postgres sends them") {
+
+      encoded(BigDecimal.ZERO) shouldBe numeric(0, 0x0000, 0)
+      encoded(BigDecimal("0.00")) shouldBe numeric(0, 0x0000, 2)
+      encoded(BigDecimal.ONE) shouldBe numeric(0, 0x0000, 0, 1)
+      encoded(BigDecimal("-1")) shouldBe numeric(0, 0x4000, 0, 1)
+      encoded(BigDecimal("1.50")) shouldBe numeric(0, 0x0000, 2, 1, 5000)
+      encoded(BigDecimal("12345.678")) shouldBe numeric(1, 0x0000, 3, 1, 2345, 6780)
+      encoded(BigDecimal("-0.0001")) shouldBe numeric(-1, 0x4000, 4, 1)
+      encoded(BigDecimal("10000")) shouldBe numeric(1, 0x0000, 0, 1)
+      encoded(BigDecimal("1E+5")) shouldBe numeric(1, 0x0000, 0, 10)
+    }
+
+    test("a 256 bit word should be encoded as 20 base 10000 digits") {
+
+      val max = BigDecimal(BigInteger.ONE.shiftLeft(256) - BigInteger.ONE)
+
+      encoded(max) shouldBe numeric(
+        19, 0x0000, 0,
+        11, 5792, 892, 3731, 6195, 4235, 7098, 5008, 6879, 785,
+        3269, 9846, 6564, 564, 394, 5758, 4007, 9131, 2963, 9935
+      )
+    }
+
+    test("numeric arrays should be encoded with a null bitmap flag and null elements") {
+
+      encoded(arrayOf(BigDecimal.ONE, null, BigDecimal("-2.5"))) shouldBe bytes {
+        writeInt(1) // dimensions
+        writeInt(1) // has nulls
+        writeInt(1700) // numeric oid
+        writeInt(3) // size
+        writeInt(1) // lower bound
+        writeElement(numeric(0, 0x0000, 0, 1))
+        writeInt(-1)
+        writeElement(numeric(0, 0x4000, 1, 2, 5000))
+      }
+
+      encoded(arrayOf<BigDecimal?>(BigDecimal.ZERO)) shouldBe bytes {
+        writeInt(1)
+        writeInt(0)
+        writeInt(1700)
+        writeInt(1)
+        writeInt(1)
+        writeElement(numeric(0, 0x0000, 0))
+      }
+    }
+
+    test("empty arrays should be encoded without dimensions") {
+
+      encoded(arrayOf<BigDecimal?>()) shouldBe bytes {
+        writeInt(0)
+        writeInt(0)
+        writeInt(1700)
+      }
+    }
+
+    test("values should be encoded by the data type of their field rather than their runtime type") {
+
+      encoded(SQLDataType.BIGINT, 1L) shouldBe bytes { writeLong(1L) }
+      encoded(SQLDataType.SMALLINT, 1.toShort()) shouldBe bytes { writeShort(1) }
+
+      // an int given for a bigint column fails up front instead of being sent as 4 bytes
+      shouldThrow<ClassCastException> { encoded(SQLDataType.BIGINT, 1) }
+
+      shouldThrow<IllegalArgumentException> { encoded(SQLDataType.UUID, UUID.randomUUID()) }
+    }
+
+    test("fields left unset should take their column defaults in a batch which sets them for other records") {
+
+      val timestamp = Timestamp.valueOf("2020-06-01 00:00:00")
+
+      val records = (0L..3L).map { number ->
+        ImportQueueRecord()
+          .apply {
+            this.number = number
+            setHash(*ByteArray(32) { number.toByte() })
+            this.timestamp = timestamp
+            // stage defaults to 0
+            if (number % 2 == 1L) stage = 2
+          }
+      }
+
+      copy(records) shouldBe 4
+
+      dbContext
+        .select(IMPORT_QUEUE.NUMBER, IMPORT_QUEUE.STAGE)
+        .from(IMPORT_QUEUE)
+        .orderBy(IMPORT_QUEUE.NUMBER)
+        .fetch()
+        .map { it.value1() to it.value2().toInt() } shouldBe listOf(0L to 0, 1L to 2, 2L to 0, 3L to 2)
+    }
+
+    test("numerics should survive a round trip through postgres") {
+
+      val values = listOf(
+        BigDecimal.ZERO,
+        BigDecimal.ONE,
+        BigDecimal("-1"),
+        BigDecimal("1.50"),
+        BigDecimal("12345.678"),
+        BigDecimal("-0.0001"),
+        BigDecimal("10000"),
+        BigDecimal(BigInteger.ONE.shiftLeft(256) - BigInteger.ONE)
+      )
+
+      copy(values.map { ChainTrackerRecord().apply { networkId = it; tail = 0L } }) shouldBe values.size
+
+      dbContext
+        .select(CHAIN_TRACKER.NETWORK_ID)
+        .from(CHAIN_TRACKER)
+        .orderBy(CHAIN_TRACKER.NETWORK_ID)
+        .fetch(CHAIN_TRACKER.NETWORK_ID) shouldBe values.sorted()
+    }
+
+    test("numeric arrays with null elements should survive a round trip through postgres") {
+
+      val records = listOf(
+        arrayOf(BigDecimal.ONE, null, BigDecimal("-2.5")),
+        arrayOf<BigDecimal?>(),
+        null
+      ).mapIndexed { idx, ids ->
+        ContractEventRecord()
+          .apply {
+            blockNumber = idx.toLong()
+            setBlockHash(*ByteArray(32))
+            setTransactionHash(*ByteArray(32))
+            setContractAddress(*ByteArray(20))
+            type = ContractEventType.fungible_transfer
+            ids?.let { setIds(*it) }
+          }
+      }
+
+      copy(records) shouldBe 3
+
+      val ids = dbContext
+        .select(CONTRACT_EVENT.IDS)
+        .from(CONTRACT_EVENT)
+        .orderBy(CONTRACT_EVENT.BLOCK_NUMBER)
+        .fetch(CONTRACT_EVENT.IDS)
+
+      ids[0]!!.toList() shouldBe listOf(BigDecimal.ONE, null, BigDecimal("-2.5"))
+      ids[1]!!.toList() shouldBe emptyList<BigDecimal>()
+      ids[2] shouldBe null
+    }
+
+    test("enum arrays and scalar types should survive a round trip through postgres") {
+
+      val timestamp = Timestamp.valueOf("2020-06-01 12:34:56.789")
+
+      val record = ContractCreatedRecord()
+        .apply {
+          setAddress(*ByteArray(20) { 1 })
+          setCreator(*ByteArray(20) { 2 })
+          setCapabilities(ContractCapability.ERC20, ContractCapability.ERC20_DETAILED)
+          name = "Token"
+          decimals = 18
+          totalSupply = BigDecimal("1000000000000000000000")
+          setBlockHash(*ByteArray(32) { 3 })
+          blockNumber = 1L
+          setTransactionHash(*ByteArray(32) { 4 })
+          this.timestamp = timestamp
+        }
+
+      copy(listOf(record)) shouldBe 1
+
+      val copied = dbContext.selectFrom(CONTRACT_CREATED).fetchOne()
+
+      copied.capabilities.toList() shouldBe listOf(ContractCapability.ERC20, ContractCapability.ERC20_DETAILED)
+      copied.name shouldBe "Token"
+      copied.decimals shouldBe 18.toShort()
+      copied.totalSupply shouldBe BigDecimal("1000000000000000000000")
+      copied.cap shouldBe null
+      copied.timestamp shouldBe timestamp
+      copied.address.toList() shouldBe ByteArray(20) { 1 }.toList()
+    }
+  }
+}
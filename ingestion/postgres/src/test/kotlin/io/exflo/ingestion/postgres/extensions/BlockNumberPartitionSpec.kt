@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.extensions
+
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.postgres.jooq.Tables.BLOCK_HEADER
+import io.exflo.postgres.jooq.Tables.BLOCK_TRACE
+import io.kotlintest.TestCase
+import io.kotlintest.matchers.string.shouldContain
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import org.apache.tuweni.bytes.Bytes
+import org.jooq.DSLContext
+import org.jooq.exception.DataAccessException
+import org.jooq.impl.DSL
+
+class BlockNumberPartitionSpec : FunSpec() {
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private val partitionedTables =
+    listOf("transaction", "transaction_receipt", "contract_event", "balance_delta", "account", "block_trace", "log")
+
+  private fun <T> transaction(block: (DSLContext) -> T): T =
+    dbContext.transactionResult { txConfig -> block(DSL.using(txConfig)) }
+
+  /**
+   * Returns the partitions of [table] along with their bounds.
+   */
+  private fun partitions(table: String): Map<String, String> =
+    dbContext
+      .resultQuery(
+        "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i " +
+          "join pg_class c on c.oid = i.inhrelid where i.inhparent = {0}::regclass",
+        DSL.inline(table)
+      )
+      .fetch()
+      .map { it.get(0, String::class.java) to it.get(1, String::class.java) }
+      .toMap()
+
+  private fun insertTrace(txCtx: DSLContext, number: Long) =
+    txCtx.insertBlockTrace(TestBlocks.hash(number).toArrayUnsafe(), number, Bytes.wrap("[]".toByteArray())).execute()
+
+  /**
+   * Inserts block traces without their headers, returning the partition each landed in.
+   */
+  private fun insertTraces(vararg numbers: Long): List<String> =
+    transaction { txCtx ->
+      txCtx.execute("set local session_replication_role = replica")
+      numbers.forEach { insertTrace(txCtx, it) }
+      txCtx
+        .resultQuery("select tableoid::regclass::text from block_trace order by block_number")
+        .fetch()
+        .map { it.get(0, String::class.java) }
+    }
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+  }
+
+  init {
+
+    test("partitions should be created up to and including the one after the partition holding the given number") {
+
+      transaction { it.createBlockNumberPartitions(0L) } shouldBe PARTITION_SIZE
+      transaction { it.createBlockNumberPartitions(PARTITION_SIZE - 1) } shouldBe PARTITION_SIZE
+      transaction { it.createBlockNumberPartitions(PARTITION_SIZE) } shouldBe 2 * PARTITION_SIZE
+
+      partitionedTables.forEach { table ->
+
+        val partitions = partitions(table)
+
+        // one partition is always kept ahead of the highest block imported
+        partitions["${table}_p0"] shouldBe "FOR VALUES FROM ('0') TO ('$PARTITION_SIZE')"
+        partitions["${table}_p1"] shouldBe "FOR VALUES FROM ('$PARTITION_SIZE') TO ('${2 * PARTITION_SIZE}')"
+        partitions["${table}_p2"] shouldBe "FOR VALUES FROM ('${2 * PARTITION_SIZE}') TO ('${3 * PARTITION_SIZE}')"
+      }
+    }
+
+    test("creating partitions which already exist should change nothing") {
+
+      transaction { it.createBlockNumberPartitions(PARTITION_SIZE) }
+
+      val before = partitionedTables.map { partitions(it) }
+
+      transaction { it.createBlockNumberPartitions(PARTITION_SIZE) } shouldBe 2 * PARTITION_SIZE
+      transaction { it.createBlockNumberPartitions(0L) } shouldBe PARTITION_SIZE
+
+      partitionedTables.map { partitions(it) } shouldBe before
+    }
+
+    test("blocks at the boundaries should land in the partition starting or ending with them") {
+
+      transaction { it.createBlockNumberPartitions(PARTITION_SIZE) }
+
+      insertTraces(0L, PARTITION_SIZE - 1, PARTITION_SIZE, 3 * PARTITION_SIZE - 1) shouldBe
+        listOf("block_trace_p0", "block_trace_p0", "block_trace_p1", "block_trace_p2")
+    }
+
+    test("an insert past the last partition should fail rather than being dropped") {
+
+      val lastStart = transaction { it.createBlockNumberPartitions(PARTITION_SIZE) }
+
+      val ex = shouldThrow<DataAccessException> { insertTraces(lastStart + PARTITION_SIZE) }
+
+      ex.message!! shouldContain "no partition of relation \"block_trace\" found for row"
+
+      dbContext.fetchCount(BLOCK_TRACE) shouldBe 0
+    }
+
+    test("deleting blocks should remove their rows from every partition but keep the partitions") {
+
+      transaction { it.createBlockNumberPartitions(PARTITION_SIZE) }
+
+      val numbers = listOf(PARTITION_SIZE - 1, PARTITION_SIZE, PARTITION_SIZE + 1)
+      val headers = numbers.map { TestBlocks.header(it) }
+
+      TestBlocks.insert(dbContext, headers, canonical = true)
+      transaction { txCtx -> numbers.forEach { insertTrace(txCtx, it) } }
+
+      val before = partitionedTables.map { partitions(it) }
+
+      // spans the partition boundary
+      transaction { it.deleteBlocks((PARTITION_SIZE - 1)..PARTITION_SIZE) } shouldBe 2
+
+      dbContext.select(BLOCK_HEADER.NUMBER).from(BLOCK_HEADER).fetch(BLOCK_HEADER.NUMBER) shouldBe
+        listOf(PARTITION_SIZE + 1)
+      dbContext.select(BLOCK_TRACE.BLOCK_NUMBER).from(BLOCK_TRACE).fetch(BLOCK_TRACE.BLOCK_NUMBER) shouldBe
+        listOf(PARTITION_SIZE + 1)
+
+      // emptied partitions are not dropped, old data is pruned by row
+      partitionedTables.map { partitions(it) } shouldBe before
+    }
+  }
+
+  companion object {
+    private const val PARTITION_SIZE = 1_000_000L
+  }
+}
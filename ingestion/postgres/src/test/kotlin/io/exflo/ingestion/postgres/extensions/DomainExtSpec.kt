@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.extensions
+
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.postgres.jooq.tables.records.LogRecord
+import io.exflo.postgres.jooq.tables.records.TransactionReceiptRecord
+import io.exflo.postgres.jooq.tables.records.TransactionRecord
+import io.kotlintest.shouldBe
+import io.kotlintest.shouldThrow
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.Address
+import org.hyperledger.besu.ethereum.core.Log
+import org.hyperledger.besu.ethereum.core.LogTopic
+import org.hyperledger.besu.ethereum.core.TransactionReceipt
+import java.util.Optional
+
+class DomainExtSpec : FunSpec() {
+
+  private val header = TestBlocks.header(10L)
+
+  private fun transaction(index: Int) =
+    TransactionRecord().apply {
+      setHash(*Bytes32.leftPad(Bytes.of(index + 1)).toArrayUnsafe())
+      this.index = index
+    }
+
+  private fun log(emitter: Int, topicCount: Int): Log {
+    val logTopics = (0 until topicCount).map { idx ->
+      mockk<LogTopic> { every { toArrayUnsafe() } returns Bytes32.leftPad(Bytes.of(emitter, idx)).toArrayUnsafe() }
+    }
+    return mockk {
+      every { logger } returns Address.fromHexString("0x%040x".format(emitter))
+      every { topics } returns logTopics
+      every { data } returns Bytes.of(emitter)
+    }
+  }
+
+  private fun receipt(vararg receiptLogs: Log): TransactionReceipt =
+    mockk { every { logs } returns receiptLogs.toList() }
+
+  private fun sentTransaction(index: Int) = transaction(index).apply { setFrom(*ByteArray(20) { 1 }) }
+
+  // logs whose topics match no known event, so that only log records are derived from them
+  private fun plainLog(emitter: Int, topicCount: Int) =
+    Log(
+      Address.fromHexString("0x%040x".format(emitter)),
+      Bytes.of(emitter),
+      (0 until topicCount).map { LogTopic.wrap(Bytes32.leftPad(Bytes.of(0xEE, emitter, it))) }
+    )
+
+  private fun plainReceipt(cumulativeGasUsed: Long, vararg receiptLogs: Log) =
+    TransactionReceipt(1, cumulativeGasUsed, receiptLogs.toList(), Optional.empty())
+
+  // mirrors how the import tasks carry the log index from one receipt to the next
+  private fun logRecords(receipts: List<TransactionReceipt>): List<LogRecord> {
+    var logIndex = 0
+    return receipts
+      .mapIndexed { idx, receipt ->
+        receipt.toLogRecords(header, transaction(idx), logIndex)
+          .also { logIndex += it.size }
+      }
+      .flatten()
+  }
+
+  init {
+
+    test("a log record should hold the emitter, topics and data of the log") {
+
+      val transaction = transaction(3)
+      val records = receipt(log(1, 4), log(2, 1)).toLogRecords(header, transaction, 5)
+
+      records.size shouldBe 2
+
+      with(records[0]) {
+        blockNumber shouldBe header.number
+        blockHash.toList() shouldBe header.hash.toList()
+        transactionHash.toList() shouldBe transaction.hash.toList()
+        transactionIndex shouldBe 3
+        logIndex shouldBe 5
+        address.toList() shouldBe Address.fromHexString("0x%040x".format(1)).toArrayUnsafe().toList()
+        listOf(topic0, topic1, topic2, topic3).map { it.toList() } shouldBe
+          (0..3).map { Bytes32.leftPad(Bytes.of(1, it)).toArrayUnsafe().toList() }
+        data.toList() shouldBe listOf<Byte>(1)
+      }
+
+      with(records[1]) {
+        logIndex shouldBe 6
+        topic0.toList() shouldBe Bytes32.leftPad(Bytes.of(2, 0)).toArrayUnsafe().toList()
+        topic1 shouldBe null
+        topic2 shouldBe null
+        topic3 shouldBe null
+      }
+    }
+
+    test("log indices should run across the receipts of a block") {
+
+      val records = logRecords(
+        listOf(
+          receipt(log(1, 1), log(2, 1)),
+          receipt(),
+          receipt(log(3, 0), log(4, 2), log(5, 3))
+        )
+      )
+
+      records.map { it.logIndex } shouldBe (0..4).toList()
+      records.map { it.transactionIndex } shouldBe listOf(0, 0, 2, 2, 2)
+      records.map { it.data.first().toInt() } shouldBe (1..5).toList()
+    }
+
+    test("a receipt without logs should produce no log records") {
+
+      receipt().toLogRecords(header, transaction(0), 7) shouldBe emptyList<LogRecord>()
+    }
+
+    test("receipt records should take the gas used from consecutive cumulative gas values") {
+
+      val receipts = listOf(
+        plainReceipt(21_000L, plainLog(1, 1), plainLog(2, 2)),
+        plainReceipt(21_000L),
+        plainReceipt(74_500L, plainLog(3, 0), plainLog(4, 3), plainLog(5, 1)),
+        plainReceipt(100_000L, plainLog(6, 4))
+      )
+
+      val records = receipts.toReceiptRecords(header, (0..3).map { sentTransaction(it) })
+
+      val receiptRecords = records.filterIsInstance<TransactionReceiptRecord>()
+      val logRecords = records.filterIsInstance<LogRecord>()
+
+      receiptRecords.map { it.transactionIndex } shouldBe listOf(0, 1, 2, 3)
+      receiptRecords.map { it.cumulativeGasUsed } shouldBe listOf(21_000L, 21_000L, 74_500L, 100_000L)
+      receiptRecords.map { it.gasUsed } shouldBe listOf(21_000L, 0L, 53_500L, 25_500L)
+
+      // log indices run across the receipts of the block, each following its receipt
+      logRecords.map { it.logIndex } shouldBe (0..5).toList()
+      logRecords.map { it.transactionIndex } shouldBe listOf(0, 0, 2, 2, 2, 3)
+      logRecords.map { it.data.first().toInt() } shouldBe (1..6).toList()
+
+      records.map { it.javaClass.simpleName } shouldBe listOf(
+        "TransactionReceiptRecord", "LogRecord", "LogRecord",
+        "TransactionReceiptRecord",
+        "TransactionReceiptRecord", "LogRecord", "LogRecord", "LogRecord",
+        "TransactionReceiptRecord", "LogRecord"
+      )
+    }
+
+    test("receipts which do not line up with the transactions of the block should be rejected") {
+
+      val receipts = listOf(plainReceipt(21_000L), plainReceipt(42_000L))
+
+      shouldThrow<IllegalArgumentException> { receipts.toReceiptRecords(header, listOf(sentTransaction(0))) }
+      shouldThrow<IllegalArgumentException> { receipts.toReceiptRecords(header, (0..2).map { sentTransaction(it) }) }
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.extensions
+
+import io.exflo.ingestion.postgres.BlockNotification
+import io.exflo.ingestion.postgres.NotificationRecorder
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.postgres.jooq.Tables.ACCOUNT_LATEST
+import io.exflo.postgres.jooq.Tables.BLOCK_HEADER
+import io.exflo.postgres.jooq.Tables.TOKEN_BALANCE
+import io.exflo.postgres.jooq.enums.ContractEventType
+import io.exflo.postgres.jooq.tables.records.AccountRecord
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.kotlintest.TestCase
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.hyperledger.besu.ethereum.core.Hash
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import java.math.BigDecimal
+
+class JooqExtSpec : FunSpec() {
+
+  private val dataSource = PostgresTestDatabase.dataSource
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private val token = address(100)
+
+  private val a = address(1)
+  private val b = address(2)
+
+  private fun address(n: Int) = ByteArray(20).also { it[19] = n.toByte() }
+
+  private fun <T> transaction(block: (DSLContext) -> T): T =
+    dbContext.transactionResult { txConfig -> block(DSL.using(txConfig)) }
+
+  private fun account(header: BlockHeaderRecord, address: ByteArray, nonce: Long) =
+    AccountRecord()
+      .apply {
+        setAddress(*address)
+        setBlockHash(*header.hash)
+        blockNumber = header.number
+        this.nonce = nonce
+        balance = BigDecimal.ZERO
+      }
+
+  private fun transfer(header: BlockHeaderRecord, from: ByteArray, to: ByteArray, value: Long) =
+    ContractEventRecord()
+      .apply {
+        blockNumber = header.number
+        setBlockHash(*header.hash)
+        setTransactionHash(*ByteArray(32))
+        setContractAddress(*token)
+        type = ContractEventType.fungible_transfer
+        setFromAddress(*from)
+        setToAddress(*to)
+        this.value = BigDecimal.valueOf(value)
+      }
+
+  /**
+   * Writes the account history and token transfers of canonical [headers] along with what is derived from them, as the
+   * import stages would.
+   */
+  private fun importBlocks(
+    headers: List<BlockHeaderRecord>,
+    accounts: List<AccountRecord>,
+    events: List<ContractEventRecord>
+  ) =
+    transaction { txCtx ->
+      txCtx.execute("set local session_replication_role = replica")
+      txCtx.copyInsert(accounts)
+      txCtx.copyInsert(events)
+      txCtx.upsertAccountLatest(headers, accounts)
+      txCtx.applyTokenBalances(headers, events)
+    }
+
+  private fun canonicalHashes(numbers: LongRange): List<Hash> =
+    dbContext.canonicalChain(numbers).sortedBy { it.number }.map { it.hash.toHash() }
+
+  private fun isCanonical(hash: Hash): Boolean =
+    dbContext
+      .select(BLOCK_HEADER.IS_CANONICAL)
+      .from(BLOCK_HEADER)
+      .where(BLOCK_HEADER.HASH.eq(hash.toArrayUnsafe()))
+      .fetchOne()
+      .value1()
+
+  private fun latestNonces(): Map<Int, Long> =
+    dbContext
+      .selectFrom(ACCOUNT_LATEST)
+      .fetch()
+      .map { it.address.last().toInt() to it.nonce }
+      .toMap()
+
+  private fun balances(): Map<Int, Long> =
+    dbContext
+      .selectFrom(TOKEN_BALANCE)
+      .fetch()
+      .map { it.holder.last().toInt() to it.balance.longValueExact() }
+      .toMap()
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+  }
+
+  init {
+
+    test("entries for numbers beyond the canonical chain should be added without replacing anything") {
+
+      val headers = (0L..2L).map { TestBlocks.header(it) }
+
+      TestBlocks.insert(dbContext, headers.take(2), canonical = true)
+      TestBlocks.insert(dbContext, headers.drop(2))
+
+      transaction { it.updateCanonicalChain(headers.drop(2)) } shouldBe emptyList<Long>()
+
+      canonicalHashes(0L..2L) shouldBe headers.map { it.hash.toHash() }
+    }
+
+    test("a reorg should replace the entry, flip is_canonical, notify and revert what was derived from the block") {
+
+      val headers = (0L..2L).map { TestBlocks.header(it) }
+      val forked = TestBlocks.header(2L, fork = 1)
+
+      TestBlocks.insert(dbContext, headers, stage = 3, canonical = true)
+      TestBlocks.insert(dbContext, listOf(forked))
+
+      importBlocks(
+        headers,
+        listOf(account(headers[1], a, 1), account(headers[2], a, 2), account(headers[2], b, 1)),
+        listOf(transfer(headers[1], ByteArray(20), a, 100), transfer(headers[2], a, b, 30))
+      )
+
+      latestNonces() shouldBe mapOf(1 to 2L, 2 to 1L)
+      balances() shouldBe mapOf(1 to 70L, 2 to 30L)
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        transaction { it.updateCanonicalChain(listOf(forked)) } shouldBe listOf(2L)
+
+        recorder.await(1) shouldBe listOf(BlockNotification(2L, TestBlocks.hash(2L), 3, false))
+      }
+
+      canonicalHashes(0L..2L) shouldBe listOf(TestBlocks.hash(0L), TestBlocks.hash(1L), TestBlocks.hash(2L, fork = 1))
+
+      isCanonical(TestBlocks.hash(2L)) shouldBe false
+      isCanonical(TestBlocks.hash(2L, fork = 1)) shouldBe true
+
+      // a falls back to its state at block 1, b has no canonical history left
+      latestNonces() shouldBe mapOf(1 to 1L)
+      balances() shouldBe mapOf(1 to 100L, 2 to 0L)
+    }
+
+    test("re-pointing an entry at the hash it already had should leave everything derived from the block in place") {
+
+      val headers = (0L..2L).map { TestBlocks.header(it) }
+
+      TestBlocks.insert(dbContext, headers, stage = 3, canonical = true)
+
+      importBlocks(
+        headers,
+        listOf(account(headers[1], a, 1), account(headers[2], a, 2)),
+        listOf(transfer(headers[1], ByteArray(20), a, 100), transfer(headers[2], a, b, 30))
+      )
+
+      NotificationRecorder(dataSource).use { recorder ->
+
+        transaction { it.updateCanonicalChain(headers.drop(1)) } shouldBe listOf(1L, 2L)
+
+        Thread.sleep(200)
+        recorder.notifications shouldBe emptyList<BlockNotification>()
+      }
+
+      canonicalHashes(0L..2L) shouldBe headers.map { it.hash.toHash() }
+      headers.forEach { isCanonical(it.hash.toHash()) shouldBe true }
+
+      latestNonces() shouldBe mapOf(1 to 2L)
+      balances() shouldBe mapOf(1 to 70L, 2 to 30L)
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.extensions
+
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.postgres.jooq.Tables.TOKEN_BALANCE
+import io.exflo.postgres.jooq.enums.ContractEventType
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.exflo.postgres.jooq.tables.records.ContractEventRecord
+import io.kotlintest.TestCase
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import java.math.BigDecimal
+
+class TokenBalanceExtSpec : FunSpec() {
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private val token = address(100)
+
+  private val a = address(1)
+  private val b = address(2)
+  private val c = address(3)
+  private val d = address(4)
+
+  private fun address(n: Int) = ByteArray(20).also { it[19] = n.toByte() }
+
+  private fun transfer(header: BlockHeaderRecord, from: ByteArray, to: ByteArray, value: Long) =
+    ContractEventRecord()
+      .apply {
+        blockNumber = header.number
+        setBlockHash(*header.hash)
+        setTransactionHash(*ByteArray(32))
+        setContractAddress(*token)
+        type = ContractEventType.fungible_transfer
+        setFromAddress(*from)
+        setToAddress(*to)
+        this.value = BigDecimal.valueOf(value)
+      }
+
+  private fun <T> transaction(block: (DSLContext) -> T): T =
+    dbContext.transactionResult { txConfig -> block(DSL.using(txConfig)) }
+
+  /**
+   * Writes [events] as the receipts stage would, without the transactions they reference.
+   */
+  private fun insertEvents(events: List<ContractEventRecord>) =
+    transaction { txCtx ->
+      txCtx.execute("set local session_replication_role = replica")
+      txCtx.copyInsert(events)
+    }
+
+  private fun balances(): Map<Int, Long> =
+    dbContext
+      .selectFrom(TOKEN_BALANCE)
+      .fetch()
+      .map { it.holder.last().toInt() to it.balance.longValueExact() }
+      .toMap()
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+  }
+
+  init {
+
+    test("transfers should be netted into one change per holding, ignoring the zero address") {
+
+      val header = TestBlocks.header(1L)
+
+      val changes = listOf(
+        transfer(header, ByteArray(20), a, 100),
+        transfer(header, a, b, 30),
+        transfer(header, b, c, 10)
+      ).toTokenBalanceChanges()
+
+      changes.map { it.holder.last().toInt() to it.balance.longValueExact() } shouldBe listOf(1 to 70L, 2 to 20L, 3 to 10L)
+      changes.map { it.lastBlock } shouldBe listOf(1L, 1L, 1L)
+    }
+
+    test("reverting should negate the netted changes") {
+
+      val header = TestBlocks.header(1L)
+
+      listOf(transfer(header, a, b, 30), transfer(header, b, a, 5))
+        .toTokenBalanceChanges(revert = true)
+        .map { it.holder.last().toInt() to it.balance.longValueExact() } shouldBe listOf(1 to 25L, 2 to -25L)
+    }
+
+    test("batch transfers should change the balance of each token id") {
+
+      val header = TestBlocks.header(1L)
+
+      val batch = ContractEventRecord()
+        .apply {
+          blockNumber = header.number
+          setBlockHash(*header.hash)
+          setTransactionHash(*ByteArray(32))
+          setContractAddress(*token)
+          type = ContractEventType.transfer_batch
+          setFromAddress(*a)
+          setToAddress(*b)
+          setIds(BigDecimal.ONE, BigDecimal("2.0"))
+          setValues(BigDecimal.TEN, BigDecimal.ONE)
+        }
+
+      listOf(batch)
+        .toTokenBalanceChanges()
+        .map { Triple(it.holder.last().toInt(), it.tokenId.toInt(), it.balance.longValueExact()) } shouldBe
+        listOf(Triple(1, 1, -10L), Triple(1, 2, -1L), Triple(2, 1, 10L), Triple(2, 2, 1L))
+    }
+
+    test("transfers missing a holder, amount or token id should be skipped rather than failing") {
+
+      val header = TestBlocks.header(1L)
+
+      fun event(type: ContractEventType, configure: ContractEventRecord.() -> Unit) =
+        ContractEventRecord()
+          .apply {
+            blockNumber = header.number
+            setBlockHash(*header.hash)
+            setTransactionHash(*ByteArray(32))
+            setContractAddress(*token)
+            this.type = type
+          }
+          .apply(configure)
+
+      val events = listOf(
+        // no sender, only the recipient is credited
+        event(ContractEventType.fungible_transfer) { setToAddress(*a); value = BigDecimal.TEN },
+        event(ContractEventType.fungible_transfer) { setFromAddress(*a); setToAddress(*b) },
+        event(ContractEventType.non_fungible_transfer) { setFromAddress(*a); setToAddress(*b) },
+        event(ContractEventType.transfer_single) { setFromAddress(*a); setToAddress(*b); value = BigDecimal.ONE },
+        event(ContractEventType.transfer_batch) { setFromAddress(*a); setToAddress(*b) },
+        event(ContractEventType.transfer_batch) {
+          setFromAddress(*a)
+          setToAddress(*c)
+          setIds(BigDecimal.ONE, null, BigDecimal("3"))
+          setValues(BigDecimal.ONE, BigDecimal.ONE, null)
+        }
+      )
+
+      events
+        .toTokenBalanceChanges()
+        .map { Triple(it.holder.last().toInt(), it.tokenId.toInt(), it.balance.longValueExact()) } shouldBe
+        listOf(Triple(1, 0, 10L), Triple(1, 1, -1L), Triple(3, 1, 1L))
+    }
+
+    test("transfers of canonical blocks should be applied once") {
+
+      val headers = (1L..2L).map { TestBlocks.header(it) }
+      TestBlocks.insert(dbContext, headers, canonical = true)
+
+      val events = listOf(
+        transfer(headers[0], ByteArray(20), a, 100),
+        transfer(headers[0], a, b, 30),
+        transfer(headers[1], b, c, 10)
+      )
+
+      transaction { it.applyTokenBalances(headers, events) } shouldBe 3
+      balances() shouldBe mapOf(1 to 70L, 2 to 20L, 3 to 10L)
+
+      // e.g. the same blocks delivered by the startup replay and the stage handoff
+      transaction { it.applyTokenBalances(headers, events) } shouldBe 0
+      balances() shouldBe mapOf(1 to 70L, 2 to 20L, 3 to 10L)
+    }
+
+    test("transfers of blocks which are not canonical should not be applied") {
+
+      val header = TestBlocks.header(1L)
+      TestBlocks.insert(dbContext, listOf(header))
+
+      transaction { it.applyTokenBalances(listOf(header), listOf(transfer(header, a, b, 30))) } shouldBe 0
+      balances() shouldBe emptyMap<Int, Long>()
+    }
+
+    test("transfers of blocks replaced by a reorg should be reverted") {
+
+      val headers = (1L..2L).map { TestBlocks.header(it) }
+      TestBlocks.insert(dbContext, headers, canonical = true)
+
+      val events = listOf(
+        transfer(headers[0], ByteArray(20), a, 100),
+        transfer(headers[0], a, b, 30),
+        transfer(headers[1], b, c, 10)
+      )
+      insertEvents(events)
+
+      transaction { it.applyTokenBalances(headers, events) }
+
+      // block 2 is replaced by a fork which sends to d instead
+
+      val forked = TestBlocks.header(2L, fork = 1)
+      TestBlocks.insert(dbContext, listOf(forked))
+
+      val forkedEvents = listOf(transfer(forked, b, d, 5))
+      insertEvents(forkedEvents)
+
+      transaction { txCtx ->
+        txCtx.updateCanonicalChain(listOf(forked)) shouldBe listOf(2L)
+        txCtx.applyTokenBalances(listOf(forked), forkedEvents)
+      }
+
+      balances() shouldBe mapOf(1 to 70L, 2 to 25L, 3 to 0L, 4 to 5L)
+
+      // switching back reverts the fork and applies the original block 2 again
+
+      transaction { txCtx ->
+        txCtx.updateCanonicalChain(listOf(headers[1]))
+        txCtx.applyTokenBalances(listOf(headers[1]), events.filter { it.blockNumber == 2L })
+      }
+
+      balances() shouldBe mapOf(1 to 70L, 2 to 20L, 3 to 10L, 4 to 0L)
+    }
+
+    test("transfers of deleted blocks should be reverted") {
+
+      val headers = (1L..2L).map { TestBlocks.header(it) }
+      TestBlocks.insert(dbContext, headers, canonical = true)
+
+      val events = listOf(
+        transfer(headers[0], ByteArray(20), a, 100),
+        transfer(headers[1], a, b, 30)
+      )
+      insertEvents(events)
+
+      transaction { it.applyTokenBalances(headers, events) }
+      transaction { it.deleteBlocks(2L..2L) } shouldBe 1
+
+      balances() shouldBe mapOf(1 to 100L, 2 to 0L)
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.postgres.jooq.tables.records.AccountRecord
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import java.math.BigDecimal
+
+class AccountHistoryFilterSpec : FunSpec() {
+
+  private fun account(header: BlockHeaderRecord, address: Int, nonce: Long, balance: String) =
+    AccountRecord()
+      .apply {
+        setAddress(*ByteArray(20).also { it[19] = address.toByte() })
+        blockNumber = header.number
+        setBlockHash(*header.hash)
+        this.nonce = nonce
+        this.balance = BigDecimal(balance)
+      }
+
+  private fun AccountHistoryFilter.changed(vararg blocks: Pair<BlockHeaderRecord, List<AccountRecord>>) =
+    changed(blocks.toList())
+
+  private fun List<AccountRecord>.summary() = map { it.blockNumber to it.address.last().toInt() }
+
+  init {
+
+    test("an account should be compared with the state last recorded for it, whichever block that was in") {
+
+      val filter = AccountHistoryFilter()
+      val headers = (1L..4L).map { TestBlocks.header(it) }
+
+      filter.changed(headers[0] to listOf(account(headers[0], 1, 0, "10"), account(headers[0], 2, 0, "10")))
+        .also { it.records.summary() shouldBe listOf(1L to 1, 1L to 2) }
+        .commit()
+
+      filter.changed(headers[1] to listOf(account(headers[1], 2, 1, "5")))
+        .also { it.records.summary() shouldBe listOf(2L to 2) }
+        .commit()
+
+      // account 1 was last recorded two blocks earlier
+      filter.changed(headers[2] to listOf(account(headers[2], 1, 0, "10.00"), account(headers[2], 2, 1, "5")))
+        .also { it.records.summary() shouldBe emptyList<Pair<Long, Int>>() }
+        .commit()
+
+      filter.changed(headers[3] to listOf(account(headers[3], 1, 1, "10"), account(headers[3], 2, 1, "6")))
+        .records.summary() shouldBe listOf(4L to 1, 4L to 2)
+    }
+
+    test("blocks written together should be compared with each other") {
+
+      val filter = AccountHistoryFilter()
+      val headers = (1L..3L).map { TestBlocks.header(it) }
+
+      filter
+        .changed(
+          headers[0] to listOf(account(headers[0], 1, 0, "10")),
+          headers[1] to listOf(account(headers[1], 1, 0, "10")),
+          headers[2] to listOf(account(headers[2], 1, 1, "10"))
+        )
+        .records.summary() shouldBe listOf(1L to 1, 3L to 1)
+    }
+
+    test("states should only be remembered once committed") {
+
+      val filter = AccountHistoryFilter()
+      val headers = (1L..2L).map { TestBlocks.header(it) }
+
+      filter.changed(headers[0] to listOf(account(headers[0], 1, 0, "10"))).commit()
+
+      // the first attempt at writing block 2 fails, so its history must be written again
+      filter.changed(headers[1] to listOf(account(headers[1], 1, 1, "10")))
+        .records.summary() shouldBe listOf(2L to 1)
+
+      filter.changed(headers[1] to listOf(account(headers[1], 1, 1, "10")))
+        .records.summary() shouldBe listOf(2L to 1)
+    }
+
+    test("states should be forgotten when a block does not follow on from the last one recorded") {
+
+      val filter = AccountHistoryFilter()
+      val headers = (1L..3L).map { TestBlocks.header(it) }
+
+      filter.changed(headers[0] to listOf(account(headers[0], 1, 0, "10"))).commit()
+
+      // block 2 has not been seen and may have changed the account in between
+      filter.changed(headers[2] to listOf(account(headers[2], 1, 0, "10")))
+        .also { it.records.summary() shouldBe listOf(3L to 1) }
+        .commit()
+
+      // written towards genesis
+      filter.changed(headers[1] to listOf(account(headers[1], 1, 0, "10")))
+        .records.summary() shouldBe listOf(2L to 1)
+    }
+
+    test("states recorded for a block which has been reorged out should be forgotten") {
+
+      val filter = AccountHistoryFilter()
+
+      val header1 = TestBlocks.header(1L)
+      val header2 = TestBlocks.header(2L)
+      val forked2 = TestBlocks.header(2L, fork = 1).apply { setParentHash(*header1.hash) }
+
+      filter
+        .changed(
+          header1 to listOf(account(header1, 1, 0, "10")),
+          header2 to listOf(account(header2, 1, 1, "5"))
+        )
+        .commit()
+
+      filter.changed(forked2 to listOf(account(forked2, 1, 1, "5")))
+        .records.summary() shouldBe listOf(2L to 1)
+    }
+
+    test("the least recently touched accounts should be forgotten beyond the max size") {
+
+      val filter = AccountHistoryFilter(maxSize = 1)
+      val headers = (1L..2L).map { TestBlocks.header(it) }
+
+      filter.changed(headers[0] to listOf(account(headers[0], 1, 0, "10"), account(headers[0], 2, 0, "10"))).commit()
+
+      filter.changed(headers[1] to listOf(account(headers[1], 1, 0, "10"), account(headers[1], 2, 0, "10")))
+        .records.summary() shouldBe listOf(2L to 1)
+    }
+  }
+}
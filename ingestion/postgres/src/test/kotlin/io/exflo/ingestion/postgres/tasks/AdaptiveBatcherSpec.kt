@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.ingestion.postgres.TestBlocks
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import io.reactivex.rxjava3.core.Flowable
+import java.time.Duration
+
+class AdaptiveBatcherSpec : FunSpec() {
+
+  private val mb = 1024L * 1024
+
+  // items are their own estimated size in bytes
+  private fun batcher(maxItems: Int = 1024, maxLinger: Duration = Duration.ofSeconds(10)) =
+    AdaptiveBatcher<Long>({ it }, maxLinger = maxLinger, maxItems = maxItems)
+
+  private fun batches(batcher: AdaptiveBatcher<Long>, items: List<Long>): List<List<Long>> =
+    Flowable.fromIterable(items)
+      .compose(batcher)
+      .toList()
+      .blockingGet()
+
+  init {
+
+    test("a batch should be emitted once the target bytes have been reached, including the item reaching it") {
+
+      val batcher = batcher()
+      batcher.targetBytes shouldBe 4 * mb
+
+      batches(batcher, List(10) { mb }).map { it.size } shouldBe listOf(4, 4, 2)
+      batches(batcher, List(3) { 2 * mb - 1 } + listOf(mb)).map { it.size } shouldBe listOf(3, 1)
+    }
+
+    test("a batch should be emitted once the max items have been collected") {
+
+      batches(batcher(maxItems = 3), List(7) { 1L }).map { it.size } shouldBe listOf(3, 3, 1)
+    }
+
+    test("the remaining items should be emitted when the upstream completes") {
+
+      batches(batcher(), listOf(mb)) shouldBe listOf(listOf(mb))
+      batches(batcher(), emptyList()) shouldBe emptyList<List<Long>>()
+    }
+
+    test("a partial batch should be emitted once the max linger has passed") {
+
+      val subscriber = Flowable.just(1L, 2L)
+        .concatWith(Flowable.never())
+        .compose(batcher(maxLinger = Duration.ofMillis(100)))
+        .test()
+
+      subscriber.awaitCount(1)
+      subscriber.values() shouldBe listOf(listOf(1L, 2L))
+      subscriber.cancel()
+    }
+
+    test("a new subscription should start with an empty batch") {
+
+      val batcher = batcher()
+
+      // leaves 2 mb collected when the first pass completes
+      batches(batcher, List(2) { mb }).map { it.size } shouldBe listOf(2)
+      batches(batcher, List(4) { mb }).map { it.size } shouldBe listOf(4)
+    }
+
+    test("a commit taking longer than the target commit time should shrink the target bytes half way") {
+
+      val batcher = batcher()
+
+      // 4 mb committed in 1000 ms suggests 2 mb for the 500 ms target
+      batcher.committed(List(4) { mb }, 1000L)
+      batcher.targetBytes shouldBe 3 * mb
+
+      // 3 mb committed in 250 ms suggests 6 mb
+      batcher.committed(List(3) { mb }, 250L)
+      batcher.targetBytes shouldBe (4.5 * mb).toLong()
+    }
+
+    test("batches below half the target bytes should not change the target") {
+
+      val batcher = batcher()
+
+      batcher.committed(List(1) { mb }, 10_000L)
+      batcher.targetBytes shouldBe 4 * mb
+    }
+
+    test("the target bytes should stay within the min and max bytes") {
+
+      val batcher = batcher()
+
+      repeat(20) { batcher.committed(List(4) { batcher.targetBytes / 4 }, 100_000L) }
+      batcher.targetBytes shouldBe 64L * 1024
+
+      repeat(20) { batcher.committed(List(4) { batcher.targetBytes / 4 }, 1L) }
+      batcher.targetBytes shouldBe 64 * mb
+    }
+
+    test("the target items should follow the bytes per item of committed batches") {
+
+      val batcher = batcher(maxItems = 100)
+
+      // nothing is known about the size of items yet
+      batcher.targetItems shouldBe 100
+
+      batcher.committed(List(4) { mb }, 500L)
+      batcher.targetItems shouldBe 4
+
+      // tiny items are capped by the max items
+      repeat(20) { batcher.committed(List(4) { 1L }, 500L) }
+      batcher.targetItems shouldBe 100
+    }
+
+    test("a take sized by the target items should fill a single batch") {
+
+      val batcher = batcher()
+      batcher.committed(List(4) { mb }, 500L)
+
+      val handoff = StageHandoff(2)
+      handoff.offer(0, List(10) { TestBlocks.header(it.toLong()) })
+
+      handoff.take(0, batcher.targetItems, Duration.ofMillis(100)).size shouldBe 4
+    }
+  }
+}
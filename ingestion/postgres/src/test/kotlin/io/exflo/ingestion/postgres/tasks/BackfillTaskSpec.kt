@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.ingestion.postgres.extensions.deferredDdlCount
+import io.exflo.ingestion.postgres.extensions.deferredDdlStatements
+import io.kotlintest.TestCase
+import io.kotlintest.TestResult
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.jooq.DSLContext
+import org.jooq.Record
+import org.jooq.SQLDialect
+import org.jooq.impl.DSL
+
+class BackfillTaskSpec : FunSpec() {
+
+  private val dataSource = PostgresTestDatabase.dataSource
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  /**
+   * An index or foreign key, with indexes defined from their access method onwards so that partition indexes rebuilt
+   * under another name still compare equal. Inherited objects are those created for partitions by their parent.
+   */
+  private data class SchemaObject(
+    val table: String,
+    val name: String,
+    val definition: String,
+    val valid: Boolean,
+    val inherited: Boolean
+  )
+
+  private fun List<SchemaObject>.unnamed() = map { it.copy(name = "") }.sortedBy { it.toString() }
+
+  private fun indexes(): List<SchemaObject> =
+    dbContext
+      .resultQuery(
+        "select t.relname, i.relname, substring(pg_get_indexdef(i.oid) from ' USING .*$'), x.indisvalid, " +
+          "i.relispartition from pg_index x join pg_class i on i.oid = x.indexrelid " +
+          "join pg_class t on t.oid = x.indrelid join pg_namespace n on n.oid = t.relnamespace " +
+          "where n.nspname = 'public' and not x.indisprimary and not x.indisunique"
+      )
+      .fetch()
+      .map { it.toSchemaObject() }
+
+  private fun foreignKeys(): List<SchemaObject> =
+    dbContext
+      .resultQuery(
+        "select t.relname, c.conname, pg_get_constraintdef(c.oid), c.convalidated, c.conparentid <> 0 " +
+          "from pg_constraint c join pg_class t on t.oid = c.conrelid " +
+          "join pg_namespace n on n.oid = t.relnamespace where n.nspname = 'public' and c.contype = 'f'"
+      )
+      .fetch()
+      .map { it.toSchemaObject() }
+
+  private fun Record.toSchemaObject() =
+    SchemaObject(
+      get(0, String::class.java),
+      get(1, String::class.java),
+      get(2, String::class.java),
+      get(3, Boolean::class.java),
+      get(4, Boolean::class.java)
+    )
+
+  private fun deferredNames(): Set<String> =
+    dbContext.resultQuery("select name from deferred_ddl").fetch().map { it.get(0, String::class.java) }.toSet()
+
+  private fun task(outstanding: Long) = BackfillTask(dataSource, THRESHOLD) { outstanding }
+
+  /**
+   * Runs statements outside of a transaction block, as concurrent index builds require.
+   */
+  private fun autoCommit(block: (DSLContext) -> Unit) =
+    dataSource.connection.use { connection ->
+      connection.autoCommit = true
+      block(DSL.using(connection, SQLDialect.POSTGRES))
+    }
+
+  private fun markInvalid(ctx: DSLContext, index: String) =
+    ctx.execute("update pg_index set indisvalid = false where indexrelid = {0}::regclass", DSL.inline(index))
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+  }
+
+  // the schema is shared with the other specs so anything still deferred is rebuilt
+  override fun afterTest(testCase: TestCase, result: TestResult) {
+    if (dbContext.deferredDdlCount() > 0) task(0L).run()
+  }
+
+  init {
+
+    test("prepare should only defer indexes and foreign keys when the import is more than the threshold behind") {
+
+      val indexes = indexes()
+      val foreignKeys = foreignKeys()
+
+      task(THRESHOLD).prepare()
+
+      dbContext.deferredDdlCount() shouldBe 0
+      indexes() shouldBe indexes
+      foreignKeys() shouldBe foreignKeys
+
+      task(THRESHOLD + 1).prepare()
+
+      val droppedIndexes = indexes - indexes()
+      val droppedForeignKeys = foreignKeys - foreignKeys()
+
+      // dropping a partitioned index or foreign key drops those inherited from it
+      deferredNames() shouldBe
+        (droppedIndexes + droppedForeignKeys).filterNot { it.inherited }.map { it.name }.toSet()
+
+      droppedIndexes.map { it.table }.toSet().containsAll(setOf("block_header", "transaction", "log")) shouldBe true
+      droppedForeignKeys.map { it.table }.toSet().containsAll(setOf("contract_created", "transaction")) shouldBe true
+
+      // the import relies on the block number index and primary keys are never deferred
+      indexes().map { it.name }.contains("idx_block_header__number_desc") shouldBe true
+
+      // a restart whilst the backfill is in progress resumes it rather than deferring again
+      val deferred = dbContext.deferredDdlCount()
+      task(THRESHOLD + 1).prepare()
+      dbContext.deferredDdlCount() shouldBe deferred
+    }
+
+    test("run should rebuild every deferred index and foreign key once the import is within the threshold") {
+
+      val indexes = indexes()
+      val foreignKeys = foreignKeys()
+
+      task(THRESHOLD + 1).prepare()
+      (dbContext.deferredDdlCount() > 0) shouldBe true
+
+      task(THRESHOLD).run()
+
+      dbContext.deferredDdlCount() shouldBe 0
+
+      // valid partitioned indexes have every partition index attached
+      indexes().unnamed() shouldBe indexes.unnamed()
+      indexes().all { it.valid } shouldBe true
+      indexes().any { it.inherited } shouldBe true
+
+      foreignKeys().unnamed() shouldBe foreignKeys.unnamed()
+      foreignKeys().all { it.valid } shouldBe true
+    }
+
+    test("an interrupted rebuild should be resumed from what was left behind") {
+
+      val indexes = indexes()
+      val foreignKeys = foreignKeys()
+
+      task(THRESHOLD + 1).prepare()
+
+      val statements = dbContext.deferredDdlStatements()
+
+      val (rebuilt, rebuiltStatements) = statements.entries.first()
+
+      val partitioned = statements.entries
+        .first { (name, ddl) -> name != rebuilt && ddl.first().contains(" on only ") }
+
+      val plain = statements.entries
+        .first { (name, ddl) -> name != rebuilt && ddl.size == 1 && ddl.first().startsWith("create index") }
+
+      val foreignKey = statements.entries
+        .first { (name, ddl) -> name != rebuilt && ddl.size == 2 && ddl.last().contains(" validate constraint ") }
+
+      autoCommit { ctx ->
+
+        // completed but not yet removed from deferred_ddl
+        rebuiltStatements.forEach { ctx.execute(it) }
+
+        // concurrent builds which were interrupted leave invalid indexes behind
+        val partitionIndex = Regex("if not exists (\\S+) on").find(partitioned.value[1])!!.groupValues[1]
+        ctx.execute(partitioned.value[0])
+        ctx.execute(partitioned.value[1])
+        markInvalid(ctx, partitionIndex)
+
+        ctx.execute(plain.value.first())
+        markInvalid(ctx, plain.key)
+
+        // added as not valid but not yet validated
+        ctx.execute(foreignKey.value.first())
+      }
+
+      indexes().any { !it.valid } shouldBe true
+      foreignKeys().any { !it.valid } shouldBe true
+      dbContext.deferredDdlCount() shouldBe statements.size
+
+      task(THRESHOLD + 1).prepare()
+      task(THRESHOLD).run()
+
+      dbContext.deferredDdlCount() shouldBe 0
+
+      indexes().unnamed() shouldBe indexes.unnamed()
+      indexes().all { it.valid } shouldBe true
+
+      foreignKeys().unnamed() shouldBe foreignKeys.unnamed()
+      foreignKeys().all { it.valid } shouldBe true
+    }
+  }
+
+  companion object {
+    private const val THRESHOLD = 100L
+  }
+}
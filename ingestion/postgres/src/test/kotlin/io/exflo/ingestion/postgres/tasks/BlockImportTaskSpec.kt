@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.exflo.ingestion.ExfloCliOptions.ProcessableEntity.HEADER
+import io.exflo.ingestion.postgres.BlockNotification
+import io.exflo.ingestion.postgres.NotificationRecorder
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.ingestion.postgres.extensions.toHash
+import io.exflo.ingestion.tracker.BlockReader
+import io.exflo.ingestion.tracker.ChainTracker
+import io.exflo.postgres.jooq.Tables.BLOCK_HEADER
+import io.exflo.postgres.jooq.Tables.CANONICAL_CHAIN
+import io.exflo.postgres.jooq.Tables.IMPORT_QUEUE
+import io.kotlintest.TestCase
+import io.kotlintest.eventually
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import io.mockk.clearMocks
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.hyperledger.besu.ethereum.core.Hash
+import java.time.Duration
+import kotlin.concurrent.thread
+
+class BlockImportTaskSpec : FunSpec() {
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private val blockReader = mockk<BlockReader>()
+
+  private val chainTracker = mockk<ChainTracker>(relaxUnitFun = true)
+
+  private fun blocks(range: LongRange, fork: Int = 0) = range.map { TestBlocks.fullBlock(it, fork) }
+
+  private fun headers(): List<Hash> =
+    dbContext
+      .select(BLOCK_HEADER.HASH)
+      .from(BLOCK_HEADER)
+      .orderBy(BLOCK_HEADER.NUMBER)
+      .fetch(BLOCK_HEADER.HASH)
+      .map { it.toHash() }
+
+  private fun canonicalChain(): List<Hash> =
+    dbContext
+      .select(CANONICAL_CHAIN.HASH)
+      .from(CANONICAL_CHAIN)
+      .orderBy(CANONICAL_CHAIN.NUMBER)
+      .fetch(CANONICAL_CHAIN.HASH)
+      .map { it.toHash() }
+
+  private fun importQueue(): List<Hash> =
+    dbContext
+      .select(IMPORT_QUEUE.HASH)
+      .from(IMPORT_QUEUE)
+      .orderBy(IMPORT_QUEUE.NUMBER)
+      .fetch(IMPORT_QUEUE.HASH)
+      .map { it.toHash() }
+
+  /**
+   * Runs a header level import which is handed [lease] once, until [done] holds.
+   */
+  private fun import(lease: ChainTracker.Lease, done: () -> Unit) {
+
+    every { chainTracker.lease(any()) } returnsMany listOf(lease, null)
+
+    val task = BlockImportTask(ObjectMapper(), blockReader, PostgresTestDatabase.dataSource, chainTracker, HEADER, 2)
+    val running = thread { task.run() }
+
+    try {
+      eventually(Duration.ofSeconds(10)) { done() }
+    } finally {
+      task.stop()
+      running.join(10_000)
+    }
+  }
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+    clearMocks(blockReader, chainTracker)
+    every { chainTracker.commit(any<ChainTracker.Lease>()) } returns true
+  }
+
+  init {
+
+    test("a leased range should be written with its import queue and canonical chain entries") {
+
+      every { blockReader.fullBlocks(0L..4L, true, false, false, false) } returns blocks(0L..4L)
+
+      val lease = ChainTracker.Lease(0L, 0L..4L, null)
+
+      import(lease) { verify { chainTracker.commit(lease) } }
+
+      val hashes = (0L..4L).map { TestBlocks.hash(it) }
+
+      headers() shouldBe hashes
+      canonicalChain() shouldBe hashes
+      importQueue() shouldBe hashes
+    }
+
+    test("an incomplete range should be released without writing anything") {
+
+      // the chain was shortened after the range was leased
+      every { blockReader.fullBlocks(0L..4L, true, false, false, false) } returns blocks(0L..2L)
+
+      val lease = ChainTracker.Lease(0L, 0L..4L, null)
+
+      import(lease) { verify { chainTracker.release(lease) } }
+
+      verify(exactly = 0) { chainTracker.commit(any<ChainTracker.Lease>()) }
+
+      headers() shouldBe emptyList<Hash>()
+      importQueue() shouldBe emptyList<Hash>()
+    }
+
+    test("blocks within the numbers to delete should be removed along with those of the leased range") {
+
+      // a previous run imported blocks 0 to 9 of a chain which has since been replaced from block 0
+      TestBlocks.insert(dbContext, (0L..9L).map { TestBlocks.header(it, fork = 1) }, canonical = true)
+
+      every { blockReader.fullBlocks(0L..4L, true, false, false, false) } returns blocks(0L..4L)
+
+      val lease = ChainTracker.Lease(0L, 0L..4L, 5L..9L)
+
+      import(lease) { verify { chainTracker.commit(lease) } }
+
+      val hashes = (0L..4L).map { TestBlocks.hash(it) }
+
+      headers() shouldBe hashes
+      canonicalChain() shouldBe hashes
+      importQueue() shouldBe hashes
+    }
+
+    test("previously canonical blocks which were not written again should be notified as reorged") {
+
+      TestBlocks.insert(dbContext, (0L..9L).map { TestBlocks.header(it, fork = 1) }, canonical = true)
+
+      every { blockReader.fullBlocks(0L..4L, true, false, false, false) } returns blocks(0L..4L)
+
+      val lease = ChainTracker.Lease(0L, 0L..4L, 5L..9L)
+
+      NotificationRecorder(PostgresTestDatabase.dataSource).use { recorder ->
+
+        import(lease) { verify { chainTracker.commit(lease) } }
+
+        val notifications = recorder.await(15)
+
+        notifications.filterNot { it.canonical }.sortedBy { it.number } shouldBe
+          (0L..9L).map { BlockNotification(it, TestBlocks.hash(it, fork = 1), 0, false) }
+
+        notifications.filter { it.canonical }.sortedBy { it.number } shouldBe
+          (0L..4L).map { BlockNotification(it, TestBlocks.hash(it), 0, true) }
+      }
+    }
+
+    test("blocks rewritten with the same hash should not be notified as reorged") {
+
+      TestBlocks.insert(dbContext, (0L..4L).map { TestBlocks.header(it) }, canonical = true)
+
+      every { blockReader.fullBlocks(0L..4L, true, false, false, false) } returns blocks(0L..4L)
+
+      val lease = ChainTracker.Lease(0L, 0L..4L, null)
+
+      NotificationRecorder(PostgresTestDatabase.dataSource).use { recorder ->
+
+        import(lease) { verify { chainTracker.commit(lease) } }
+
+        recorder.await(5).all { it.canonical } shouldBe true
+      }
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.exflo.ingestion.postgres.TestBlocks
+import io.exflo.ingestion.tracker.BlockReader
+import io.exflo.postgres.jooq.Tables.IMPORT_QUEUE
+import io.exflo.postgres.jooq.tables.records.BlockHeaderRecord
+import io.kotlintest.TestCase
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import io.mockk.every
+import io.mockk.mockk
+import org.hyperledger.besu.ethereum.core.BlockBody
+import java.time.Duration
+import kotlin.concurrent.thread
+
+class BodyImportTaskSpec : FunSpec() {
+
+  private val dbContext = PostgresTestDatabase.dbContext
+
+  private val blockReader = mockk<BlockReader>()
+
+  private fun stages(): Map<Long, Short> =
+    dbContext
+      .select(IMPORT_QUEUE.NUMBER, IMPORT_QUEUE.STAGE)
+      .from(IMPORT_QUEUE)
+      .fetch()
+      .associate { it.value1() to it.value2() }
+
+  /**
+   * Collects the headers handed over to the receipts stage until [count] have arrived or [wait] has passed.
+   */
+  private fun handedOver(
+    handoff: StageHandoff,
+    count: Int,
+    wait: Duration = Duration.ofSeconds(10)
+  ): List<BlockHeaderRecord> {
+    val headers = ArrayList<BlockHeaderRecord>()
+    val deadline = System.currentTimeMillis() + wait.toMillis()
+    while (headers.size < count && System.currentTimeMillis() < deadline) {
+      headers += handoff.take(1, count, Duration.ofMillis(100))
+    }
+    return headers
+  }
+
+  private fun <T> withTask(handoff: StageHandoff, block: () -> T): T {
+    val task = BodyImportTask(ObjectMapper(), blockReader, PostgresTestDatabase.dataSource, handoff)
+    val running = thread { task.run() }
+    try {
+      return block()
+    } finally {
+      task.stop()
+      handoff.close()
+      running.join(10_000)
+    }
+  }
+
+  override fun beforeTest(testCase: TestCase) {
+    PostgresTestDatabase.truncate()
+    every { blockReader.body(any()) } returns BlockBody(emptyList(), emptyList())
+  }
+
+  init {
+
+    test("blocks checkpointed in the import queue should be replayed on start") {
+
+      TestBlocks.insert(dbContext, (0L..4L).map { TestBlocks.header(it) }, stage = 0)
+      TestBlocks.insert(dbContext, (5L..6L).map { TestBlocks.header(it) }, stage = 1)
+
+      val handoff = StageHandoff(3)
+
+      val replayed = withTask(handoff) { handedOver(handoff, 5) }
+
+      replayed.map { it.number }.sorted() shouldBe (0L..4L).toList()
+      stages() shouldBe (0L..6L).associateWith { 1.toShort() }
+    }
+
+    test("once replayed blocks should be taken from the stage handoff") {
+
+      TestBlocks.insert(dbContext, (0L..1L).map { TestBlocks.header(it) }, stage = 0)
+
+      val handoff = StageHandoff(3)
+
+      val handed = withTask(handoff) {
+
+        val replayed = handedOver(handoff, 2)
+
+        val header = TestBlocks.header(2L)
+        TestBlocks.insert(dbContext, listOf(header), stage = 0)
+        handoff.offer(0, listOf(header))
+
+        replayed + handedOver(handoff, 1)
+      }
+
+      handed.map { it.number }.sorted() shouldBe listOf(0L, 1L, 2L)
+      stages() shouldBe (0L..2L).associateWith { 1.toShort() }
+    }
+
+    test("blocks delivered by both the replay and the stage handoff should only be handed over once") {
+
+      val headers = (0L..2L).map { TestBlocks.header(it) }
+      TestBlocks.insert(dbContext, headers, stage = 0)
+
+      val handoff = StageHandoff(3)
+
+      // the header stage hands over blocks which the replay also finds in the import queue
+      handoff.offer(0, headers)
+
+      val handed = withTask(handoff) { handedOver(handoff, 6, Duration.ofSeconds(3)) }
+
+      handed.map { it.number }.sorted() shouldBe listOf(0L, 1L, 2L)
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tasks
+
+import io.exflo.ingestion.postgres.TestBlocks
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import java.time.Duration
+import kotlin.concurrent.thread
+
+class StageHandoffSpec : FunSpec() {
+
+  private val timeout = Duration.ofMillis(100)
+
+  private fun headers(range: LongRange) = range.map { TestBlocks.header(it) }
+
+  init {
+
+    test("headers offered by a stage should be taken in order by the next stage") {
+
+      val handoff = StageHandoff(3)
+
+      handoff.offer(0, headers(0L..4L))
+      handoff.offer(1, headers(5L..6L))
+
+      handoff.take(0, 10, timeout).map { it.number } shouldBe (0L..4L).toList()
+      handoff.take(1, 10, timeout).map { it.number } shouldBe listOf(5L, 6L)
+    }
+
+    test("a take should drain no more than the max given") {
+
+      val handoff = StageHandoff(2)
+
+      handoff.offer(0, headers(0L..9L))
+
+      handoff.take(0, 4, timeout).map { it.number } shouldBe (0L..3L).toList()
+      handoff.take(0, 4, timeout).map { it.number } shouldBe (4L..7L).toList()
+      handoff.take(0, 4, timeout).map { it.number } shouldBe listOf(8L, 9L)
+    }
+
+    test("a take should return nothing once the timeout has passed") {
+
+      val handoff = StageHandoff(2)
+
+      handoff.take(0, 4, timeout) shouldBe emptyList()
+    }
+
+    test("headers offered by the final stage should be dropped") {
+
+      val handoff = StageHandoff(2)
+
+      handoff.finalStage shouldBe 1
+      handoff.offer(1, headers(0L..4L))
+
+      handoff.take(0, 10, timeout) shouldBe emptyList()
+    }
+
+    test("an offer blocked on a full channel should return once the handoff is closed") {
+
+      val handoff = StageHandoff(2, capacity = 2)
+
+      val offering = thread { handoff.offer(0, headers(0L..4L)) }
+
+      offering.join(500)
+      offering.isAlive shouldBe true
+
+      handoff.close()
+
+      offering.join(1000)
+      offering.isAlive shouldBe false
+
+      handoff.take(0, 10, timeout).map { it.number } shouldBe listOf(0L, 1L)
+    }
+  }
+}
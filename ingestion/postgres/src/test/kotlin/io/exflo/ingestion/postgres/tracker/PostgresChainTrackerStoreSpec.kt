@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020 41North.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.exflo.ingestion.postgres.tracker
+
+import io.exflo.ingestion.postgres.PostgresTestDatabase
+import io.kotlintest.TestCase
+import io.kotlintest.shouldBe
+import io.kotlintest.specs.FunSpec
+import org.apache.tuweni.bytes.Bytes
+import org.apache.tuweni.bytes.Bytes32
+import org.hyperledger.besu.ethereum.core.Hash
+import java.math.BigInteger
+
+class PostgresChainTrackerStoreSpec : FunSpec() {
+
+  private val dataSource = PostgresTestDatabase.dataSource
+
+  private val networkId = BigInteger.ONE
+
+  private fun hash(number: Long): Hash = Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(number + 1)))
+
+  private fun store(networkId: BigInteger = this.networkId) = PostgresChainTrackerStore(dataSource, networkId)
+
+  override fun beforeTest(testCase: TestCase) = PostgresTestDatabase.truncate()
+
+  init {
+
+    test("a new store should have no tail or block hashes") {
+
+      val store = store()
+
+      store.getTail() shouldBe null
+      store.getBlockHash(0L) shouldBe null
+
+      store.stop()
+    }
+
+    test("tail and block hashes should survive a restart") {
+
+      val store = store()
+      LongRange(0L, 9L).forEach { store.setBlockHash(it, hash(it)) }
+      store.setTail(9L)
+      store.stop()
+
+      val reloaded = store()
+      reloaded.getTail() shouldBe 9L
+      LongRange(0L, 9L).forEach { reloaded.getBlockHash(it) shouldBe hash(it) }
+      reloaded.stop()
+    }
+
+    test("updated block hashes should replace the persisted ones") {
+
+      val store = store()
+      LongRange(0L, 9L).forEach { store.setBlockHash(it, hash(it)) }
+      store.setTail(9L)
+      store.stop()
+
+      // a reorg replacing blocks 5 through 9
+      val reorged = store()
+      LongRange(5L, 9L).forEach { reorged.setBlockHash(it, hash(it + 100L)) }
+      reorged.stop()
+
+      val reloaded = store()
+      LongRange(0L, 4L).forEach { reloaded.getBlockHash(it) shouldBe hash(it) }
+      LongRange(5L, 9L).forEach { reloaded.getBlockHash(it) shouldBe hash(it + 100L) }
+      reloaded.stop()
+    }
+
+    test("rewinding the tail should be persisted") {
+
+      val store = store()
+      LongRange(0L, 9L).forEach { store.setBlockHash(it, hash(it)) }
+      store.setTail(9L)
+      store.stop()
+
+      val rewound = store()
+      rewound.setTail(4L)
+      rewound.stop()
+
+      val reloaded = store()
+      reloaded.getTail() shouldBe 4L
+      LongRange(0L, 9L).forEach { reloaded.getBlockHash(it) shouldBe hash(it) }
+      reloaded.stop()
+    }
+
+    test("block hashes removed before a number should stay removed after a restart") {
+
+      val store = store()
+      LongRange(0L, 9L).forEach { store.setBlockHash(it, hash(it)) }
+      store.stop()
+
+      val pruned = store()
+      pruned.removeBlockHashesBefore(5L)
+      LongRange(0L, 4L).forEach { pruned.getBlockHash(it) shouldBe null }
+      pruned.stop()
+
+      val reloaded = store()
+      LongRange(0L, 4L).forEach { reloaded.getBlockHash(it) shouldBe null }
+      LongRange(5L, 9L).forEach { reloaded.getBlockHash(it) shouldBe hash(it) }
+      reloaded.stop()
+    }
+
+    test("block hashes set and removed between flushes should not be persisted") {
+
+      val store = store()
+      LongRange(0L, 9L).forEach { store.setBlockHash(it, hash(it)) }
+      store.removeBlockHashesBefore(5L)
+      store.stop()
+
+      val reloaded = store()
+      LongRange(0L, 4L).forEach { reloaded.getBlockHash(it) shouldBe null }
+      LongRange(5L, 9L).forEach { reloaded.getBlockHash(it) shouldBe hash(it) }
+      reloaded.stop()
+    }
+
+    test("state should be kept separately per network") {
+
+      val mainnet = store(BigInteger.ONE)
+      mainnet.setBlockHash(0L, hash(0L))
+      mainnet.setTail(0L)
+      mainnet.stop()
+
+      val ropsten = store(BigInteger.valueOf(3L))
+      ropsten.getTail() shouldBe null
+      ropsten.getBlockHash(0L) shouldBe null
+      ropsten.stop()
+
+      val reloaded = store(BigInteger.ONE)
+      reloaded.getBlockHash(0L) shouldBe hash(0L)
+      reloaded.stop()
+    }
+  }
+}